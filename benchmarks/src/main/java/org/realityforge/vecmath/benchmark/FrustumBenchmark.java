@@ -0,0 +1,90 @@
+package org.realityforge.vecmath.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.realityforge.vecmath.Frustum;
+import org.realityforge.vecmath.Matrix4d;
+import org.realityforge.vecmath.Vector3d;
+import org.realityforge.vecmath.Vector3dArray;
+
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+@State( Scope.Thread )
+public class FrustumBenchmark
+{
+  private static final int OBJECT_COUNT = 100_000;
+  private Matrix4d _viewProjection;
+  private Frustum _frustum;
+  private Vector3dArray _centers;
+  private double[] _radii;
+  private double[] _points;
+  private int[] _visibility;
+  private Vector3d _point;
+
+  @Setup
+  public void setup()
+  {
+    final Matrix4d projection = new Matrix4d().setPerspective( Math.PI / 3, 1.5, 0.1, 100 );
+    final Matrix4d view = new Matrix4d().lookAt( 0, 10, 10, 1, 2, 3, 0, 1, 0 );
+    _viewProjection = new Matrix4d();
+    Matrix4d.multiply( _viewProjection, view, projection );
+    _frustum = new Frustum();
+    _centers = new Vector3dArray( OBJECT_COUNT );
+    _radii = new double[ OBJECT_COUNT ];
+    _points = new double[ OBJECT_COUNT * 3 ];
+    final Random random = new Random( 42 );
+    for ( int i = 0; i < OBJECT_COUNT; i++ )
+    {
+      final double x = random.nextDouble() * 200 - 100;
+      final double y = random.nextDouble() * 200 - 100;
+      final double z = random.nextDouble() * 200 - 100;
+      _centers.set( i, x, y, z );
+      _radii[ i ] = random.nextDouble() * 2;
+      _points[ i * 3 ] = x;
+      _points[ i * 3 + 1 ] = y;
+      _points[ i * 3 + 2 ] = z;
+    }
+    _visibility = new int[ ( OBJECT_COUNT + 31 ) >>> 5 ];
+    _point = new Vector3d();
+  }
+
+  @Benchmark
+  public int cullSpheres()
+  {
+    return _frustum.set( _viewProjection ).testSpheres( _centers, _radii, _visibility );
+  }
+
+  @Benchmark
+  public int cullPoints()
+  {
+    return _frustum.set( _viewProjection ).testPoints( _points, 0, 3, OBJECT_COUNT, _visibility );
+  }
+
+  @Benchmark
+  public int cullPointsByTransform()
+  {
+    int visible = 0;
+    for ( int i = 0; i < OBJECT_COUNT; i++ )
+    {
+      _point.set( _points[ i * 3 ], _points[ i * 3 + 1 ], _points[ i * 3 + 2 ] ).mul( _viewProjection );
+      if ( Math.abs( _point.x ) <= 1 && Math.abs( _point.y ) <= 1 && Math.abs( _point.z ) <= 1 )
+      {
+        visible++;
+      }
+    }
+    return visible;
+  }
+}
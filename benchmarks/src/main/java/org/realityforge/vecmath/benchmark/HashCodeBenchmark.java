@@ -0,0 +1,90 @@
+package org.realityforge.vecmath.benchmark;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.realityforge.vecmath.Matrix4d;
+import org.realityforge.vecmath.Vector3d;
+
+/**
+ * Measure hashing and equality of geometric types with <code>vecmath.isObjectEqualsImplemented</code> enabled.
+ * The <code>objectsHash</code> benchmarks hash the same components via {@link Objects#hash(Object...)} for
+ * comparison. Run with the JMH <code>gc</code> profiler to verify that the vecmath methods do not allocate.
+ */
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( value = 1, jvmArgsAppend = "-Dvecmath.isObjectEqualsImplemented=true" )
+@State( Scope.Thread )
+public class HashCodeBenchmark
+{
+  private Matrix4d _matrix1;
+  private Matrix4d _matrix2;
+  private Vector3d _vector1;
+  private Vector3d _vector2;
+
+  @Setup
+  public void setup()
+  {
+    _matrix1 = new Matrix4d().setTranslation( 1, 2, 3 ).rotateY( 0.3 ).scale( 2 );
+    _matrix2 = new Matrix4d().setTranslation( 1, 2, 3 ).rotateY( 0.3 ).scale( 2 );
+    _vector1 = new Vector3d( 1, 2, 3 );
+    _vector2 = new Vector3d( 1, 2, 3 );
+  }
+
+  @Benchmark
+  public int matrixHashCode()
+  {
+    return _matrix1.hashCode();
+  }
+
+  @Benchmark
+  public int matrixObjectsHash()
+  {
+    final Matrix4d m = _matrix1;
+    return Objects.hash( m.m00, m.m01, m.m02, m.m03,
+                         m.m10, m.m11, m.m12, m.m13,
+                         m.m20, m.m21, m.m22, m.m23,
+                         m.m30, m.m31, m.m32, m.m33 );
+  }
+
+  @Benchmark
+  public boolean matrixEquals()
+  {
+    return _matrix1.equals( _matrix2 );
+  }
+
+  @Benchmark
+  public boolean matrixIsEqualToUlps()
+  {
+    return _matrix1.isEqualToUlps( _matrix2, 4 );
+  }
+
+  @Benchmark
+  public int vectorHashCode()
+  {
+    return _vector1.hashCode();
+  }
+
+  @Benchmark
+  public int vectorObjectsHash()
+  {
+    return Objects.hash( _vector1.x, _vector1.y, _vector1.z );
+  }
+
+  @Benchmark
+  public boolean vectorEquals()
+  {
+    return _vector1.equals( _vector2 );
+  }
+}
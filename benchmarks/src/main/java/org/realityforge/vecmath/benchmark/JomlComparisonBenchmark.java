@@ -0,0 +1,140 @@
+package org.realityforge.vecmath.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.realityforge.vecmath.Matrix4d;
+import org.realityforge.vecmath.Vector3d;
+
+/**
+ * Run identical workloads through vecmath and JOML.
+ * Each workload has a <code>_vecmath</code> and a <code>_joml</code> variant so that the results sort side by side.
+ * Run with the <code>gc</code> profiler (i.e. <code>buildr vecmath:benchmarks:compare</code>) to also report the
+ * allocation rate of each variant.
+ */
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+@State( Scope.Thread )
+public class JomlComparisonBenchmark
+{
+  @Param( { "1024" } )
+  public int vectorCount;
+  private Matrix4d _vecmathA;
+  private Matrix4d _vecmathB;
+  private Matrix4d _vecmathC;
+  private Matrix4d _vecmathD;
+  private Matrix4d _vecmathResult;
+  private Vector3d _vecmathEye;
+  private Vector3d _vecmathCenter;
+  private Vector3d _vecmathUp;
+  private Vector3d[] _vecmathVectors;
+  private Vector3d[] _vecmathTransformed;
+  private org.joml.Matrix4d _jomlA;
+  private org.joml.Matrix4d _jomlB;
+  private org.joml.Matrix4d _jomlC;
+  private org.joml.Matrix4d _jomlD;
+  private org.joml.Matrix4d _jomlResult;
+  private org.joml.Vector3d _jomlEye;
+  private org.joml.Vector3d _jomlCenter;
+  private org.joml.Vector3d _jomlUp;
+  private org.joml.Vector3d[] _jomlVectors;
+  private org.joml.Vector3d[] _jomlTransformed;
+
+  @Setup
+  public void setup()
+  {
+    _vecmathA = new Matrix4d().setPerspective( Math.PI / 3, 1.5, 0.1, 100 );
+    _vecmathB = new Matrix4d().lookAt( 0, 10, 10, 1, 2, 3, 0, 1, 0 );
+    _vecmathC = new Matrix4d().setTranslation( 1, 2, 3 ).rotateY( 0.3 );
+    _vecmathD = new Matrix4d().setScale( 2, 3, 4 ).rotateX( 0.7 );
+    _vecmathResult = new Matrix4d();
+    _vecmathEye = new Vector3d( 0, 10, 10 );
+    _vecmathCenter = new Vector3d( 1, 2, 3 );
+    _vecmathUp = new Vector3d( 0, 1, 0 );
+
+    _jomlA = new org.joml.Matrix4d().setPerspective( Math.PI / 3, 1.5, 0.1, 100 );
+    _jomlB = new org.joml.Matrix4d().lookAt( 0, 10, 10, 1, 2, 3, 0, 1, 0 );
+    _jomlC = new org.joml.Matrix4d().translation( 1, 2, 3 ).rotateY( 0.3 );
+    _jomlD = new org.joml.Matrix4d().scaling( 2, 3, 4 ).rotateX( 0.7 );
+    _jomlResult = new org.joml.Matrix4d();
+    _jomlEye = new org.joml.Vector3d( 0, 10, 10 );
+    _jomlCenter = new org.joml.Vector3d( 1, 2, 3 );
+    _jomlUp = new org.joml.Vector3d( 0, 1, 0 );
+
+    _vecmathVectors = new Vector3d[ vectorCount ];
+    _vecmathTransformed = new Vector3d[ vectorCount ];
+    _jomlVectors = new org.joml.Vector3d[ vectorCount ];
+    _jomlTransformed = new org.joml.Vector3d[ vectorCount ];
+    for ( int i = 0; i < vectorCount; i++ )
+    {
+      final double x = i * 0.5;
+      final double y = i * 0.25 - 3;
+      final double z = 100 - i * 0.125;
+      _vecmathVectors[ i ] = new Vector3d( x, y, z );
+      _vecmathTransformed[ i ] = new Vector3d();
+      _jomlVectors[ i ] = new org.joml.Vector3d( x, y, z );
+      _jomlTransformed[ i ] = new org.joml.Vector3d();
+    }
+  }
+
+  @Benchmark
+  public Matrix4d multiplyChain_vecmath()
+  {
+    Matrix4d.multiply( _vecmathResult, _vecmathA, _vecmathB );
+    return _vecmathResult.multiply( _vecmathC ).multiply( _vecmathD );
+  }
+
+  @Benchmark
+  public org.joml.Matrix4d multiplyChain_joml()
+  {
+    return _jomlA.mul( _jomlB, _jomlResult ).mul( _jomlC ).mul( _jomlD );
+  }
+
+  @Benchmark
+  public Matrix4d lookAtPerspective_vecmath()
+  {
+    return _vecmathResult
+      .setPerspective( Math.PI / 3, 1.5, 0.1, 100 )
+      .lookAt( _vecmathEye, _vecmathCenter, _vecmathUp );
+  }
+
+  @Benchmark
+  public org.joml.Matrix4d lookAtPerspective_joml()
+  {
+    return _jomlResult
+      .setPerspective( Math.PI / 3, 1.5, 0.1, 100 )
+      .lookAt( _jomlEye, _jomlCenter, _jomlUp );
+  }
+
+  @Benchmark
+  public Vector3d[] bulkTransform_vecmath()
+  {
+    for ( int i = 0; i < vectorCount; i++ )
+    {
+      _vecmathTransformed[ i ].set( _vecmathVectors[ i ] ).mul( _vecmathA );
+    }
+    return _vecmathTransformed;
+  }
+
+  @Benchmark
+  public org.joml.Vector3d[] bulkTransform_joml()
+  {
+    for ( int i = 0; i < vectorCount; i++ )
+    {
+      _jomlA.transformProject( _jomlVectors[ i ], _jomlTransformed[ i ] );
+    }
+    return _jomlTransformed;
+  }
+}
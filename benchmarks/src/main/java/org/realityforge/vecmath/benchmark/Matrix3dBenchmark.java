@@ -0,0 +1,76 @@
+package org.realityforge.vecmath.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.realityforge.vecmath.Matrix3d;
+import org.realityforge.vecmath.Matrix4d;
+import org.realityforge.vecmath.Vector3d;
+
+/**
+ * Compare deriving and applying normal matrices as {@link Matrix3d} against the equivalent {@link Matrix4d} path.
+ */
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+@State( Scope.Thread )
+public class Matrix3dBenchmark
+{
+  private Matrix4d _model;
+  private Matrix4d _normal4;
+  private Matrix3d _normal3;
+  private Matrix3d _left;
+  private Matrix3d _right;
+  private Vector3d _vector;
+
+  @Setup
+  public void setup()
+  {
+    _model = new Matrix4d().setTranslation( 1, 2, 3 ).rotateX( 0.3 ).rotateY( 1.2 ).scale( 2, 3, 4 );
+    _normal4 = new Matrix4d().set( _model ).normal();
+    _normal3 = new Matrix3d().setNormal( _model );
+    _left = new Matrix3d( _model );
+    _right = new Matrix3d( _normal4 );
+    _vector = new Vector3d( 0, 1, 0 );
+  }
+
+  @Benchmark
+  public Matrix4d normalMatrix4d()
+  {
+    return _normal4.set( _model ).normal();
+  }
+
+  @Benchmark
+  public Matrix3d normalMatrix3d()
+  {
+    return _normal3.setNormal( _model );
+  }
+
+  @Benchmark
+  public Vector3d transformMatrix4d()
+  {
+    return _vector.set( 0, 1, 0 ).mul( _normal4 );
+  }
+
+  @Benchmark
+  public Vector3d transformMatrix3d()
+  {
+    return _vector.set( 0, 1, 0 ).mul( _normal3 );
+  }
+
+  @Benchmark
+  public Matrix3d multiply()
+  {
+    return _left.multiply( _right );
+  }
+}
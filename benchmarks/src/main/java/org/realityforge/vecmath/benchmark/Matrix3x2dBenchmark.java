@@ -0,0 +1,79 @@
+package org.realityforge.vecmath.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.realityforge.vecmath.Matrix3x2d;
+import org.realityforge.vecmath.Matrix4d;
+
+/**
+ * Compare composing and applying 2-dimensional transformations as {@link Matrix3x2d} against {@link Matrix4d}.
+ */
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+@State( Scope.Thread )
+public class Matrix3x2dBenchmark
+{
+  private static final int POSITION_COUNT = 1024;
+  private Matrix3x2d _left2;
+  private Matrix3x2d _right2;
+  private Matrix4d _left4;
+  private Matrix4d _right4;
+  private double[] _positions2;
+  private double[] _transformed2;
+  private double[] _positions3;
+  private double[] _transformed3;
+
+  @Setup
+  public void setup()
+  {
+    _left2 = new Matrix3x2d().setTranslation( 1, 2 ).rotate( 0.3 ).scale( 2, 3 );
+    _right2 = new Matrix3x2d().setRotation( -0.7 ).translate( 5, 6 );
+    _left4 = new Matrix4d().set( _left2 );
+    _right4 = new Matrix4d().set( _right2 );
+    _positions2 = new double[ POSITION_COUNT * 2 ];
+    _transformed2 = new double[ POSITION_COUNT * 2 ];
+    _positions3 = new double[ POSITION_COUNT * 3 ];
+    _transformed3 = new double[ POSITION_COUNT * 3 ];
+    for ( int i = 0; i < POSITION_COUNT; i++ )
+    {
+      _positions2[ i * 2 ] = _positions3[ i * 3 ] = i * 0.5;
+      _positions2[ i * 2 + 1 ] = _positions3[ i * 3 + 1 ] = i * 0.25;
+    }
+  }
+
+  @Benchmark
+  public Matrix3x2d multiplyMatrix3x2d()
+  {
+    return _left2.multiply( _right2 );
+  }
+
+  @Benchmark
+  public Matrix4d multiplyMatrix4d()
+  {
+    return _left4.multiply( _right4 );
+  }
+
+  @Benchmark
+  public double[] transformPositionsMatrix3x2d()
+  {
+    return _left2.transformPositions( _positions2, 0, 2, _transformed2, 0, 2, POSITION_COUNT );
+  }
+
+  @Benchmark
+  public double[] transformPositionsMatrix4d()
+  {
+    return _left4.transformPositions( _positions3, 0, 3, _transformed3, 0, 3, POSITION_COUNT );
+  }
+}
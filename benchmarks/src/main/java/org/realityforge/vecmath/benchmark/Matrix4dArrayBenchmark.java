@@ -0,0 +1,68 @@
+package org.realityforge.vecmath.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.realityforge.vecmath.Matrix4d;
+import org.realityforge.vecmath.Matrix4fArray;
+
+/**
+ * Compare updating and serializing per-object instance transforms against updating a packed matrix array
+ * that can be uploaded directly.
+ */
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+@State( Scope.Thread )
+public class Matrix4dArrayBenchmark
+{
+  @Param( { "1024", "16384" } )
+  public int size;
+  private Matrix4d[] _matrices;
+  private float[] _uploadBuffer;
+  private Matrix4fArray _array;
+
+  @Setup
+  public void setup()
+  {
+    _matrices = new Matrix4d[ size ];
+    _uploadBuffer = new float[ size * Matrix4d.COMPONENTS ];
+    _array = new Matrix4fArray( size );
+    for ( int i = 0; i < size; i++ )
+    {
+      _matrices[ i ] = new Matrix4d().translate( i, 0, -i );
+      _array.translate( i, i, 0, -i );
+    }
+  }
+
+  @Benchmark
+  public float[] updateAndSerializeObjects()
+  {
+    for ( int i = 0; i < size; i++ )
+    {
+      _matrices[ i ].rotateY( 0.01 ).toArray( _uploadBuffer, i * Matrix4d.COMPONENTS );
+    }
+    return _uploadBuffer;
+  }
+
+  @Benchmark
+  public float[] updatePackedArray()
+  {
+    for ( int i = 0; i < size; i++ )
+    {
+      _array.rotateY( i, 0.01 );
+    }
+    return _array.components;
+  }
+}
@@ -0,0 +1,104 @@
+package org.realityforge.vecmath.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.realityforge.vecmath.Matrix4d;
+import org.realityforge.vecmath.Matrix4dBatch;
+
+/**
+ * Compare the packed batch multiply kernels against the equivalent loop over per-object matrices.
+ */
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+@State( Scope.Thread )
+public class Matrix4dBatchBenchmark
+{
+  @Param( { "1024", "65536" } )
+  public int size;
+  private Matrix4d[] _left;
+  private Matrix4d[] _right;
+  private Matrix4d[] _result;
+  private Matrix4d _shared;
+  private double[] _leftArray;
+  private double[] _rightArray;
+  private double[] _resultArray;
+
+  @Setup
+  public void setup()
+  {
+    final Random random = new Random( 42 );
+    _left = new Matrix4d[ size ];
+    _right = new Matrix4d[ size ];
+    _result = new Matrix4d[ size ];
+    _shared = new Matrix4d().setPerspective( Math.PI / 3, 1.4, 1, 10 ).lookAt( 1, 2, 3, 7, -2, 5, 0, 1, 0 );
+    _leftArray = new double[ size * Matrix4d.COMPONENTS ];
+    _rightArray = new double[ size * Matrix4d.COMPONENTS ];
+    _resultArray = new double[ size * Matrix4d.COMPONENTS ];
+    for ( int i = 0; i < size; i++ )
+    {
+      _left[ i ] = new Matrix4d().rotateY( random.nextDouble() ).translate( random.nextDouble(), 0, 1 );
+      _right[ i ] = new Matrix4d().rotateX( random.nextDouble() ).scale( 2, random.nextDouble(), 1 );
+      _result[ i ] = new Matrix4d();
+      _left[ i ].toArray( _leftArray, i * Matrix4d.COMPONENTS );
+      _right[ i ].toArray( _rightArray, i * Matrix4d.COMPONENTS );
+    }
+  }
+
+  @Benchmark
+  public Matrix4d[] multiplyObjects()
+  {
+    for ( int i = 0; i < size; i++ )
+    {
+      Matrix4d.multiply( _result[ i ], _left[ i ], _right[ i ] );
+    }
+    return _result;
+  }
+
+  @Benchmark
+  public double[] multiplyBatch()
+  {
+    return Matrix4dBatch.multiply( _resultArray, 0, _leftArray, 0, _rightArray, 0, size );
+  }
+
+  @Benchmark
+  public double[] multiplyBatchParallel()
+  {
+    return Matrix4dBatch.multiplyParallel( _resultArray, 0, _leftArray, 0, _rightArray, 0, size );
+  }
+
+  @Benchmark
+  public Matrix4d[] multiplySharedObjects()
+  {
+    for ( int i = 0; i < size; i++ )
+    {
+      Matrix4d.multiply( _result[ i ], _left[ i ], _shared );
+    }
+    return _result;
+  }
+
+  @Benchmark
+  public double[] multiplySharedBatch()
+  {
+    return Matrix4dBatch.multiply( _resultArray, 0, _leftArray, 0, _shared, size );
+  }
+
+  @Benchmark
+  public double[] multiplySharedBatchParallel()
+  {
+    return Matrix4dBatch.multiplyParallel( _resultArray, 0, _leftArray, 0, _shared, size );
+  }
+}
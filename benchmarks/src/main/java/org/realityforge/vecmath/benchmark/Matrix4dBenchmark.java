@@ -0,0 +1,161 @@
+package org.realityforge.vecmath.benchmark;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.realityforge.vecmath.Matrix4d;
+import org.realityforge.vecmath.Vector3d;
+
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+@State( Scope.Thread )
+public class Matrix4dBenchmark
+{
+  private static final int POSITION_COUNT = 1024;
+  private Matrix4d _left;
+  private Matrix4d _right;
+  private Matrix4d _translation;
+  private Matrix4d _result;
+  private Matrix4d _rotation;
+  private Matrix4d _view;
+  private Matrix4d _projection;
+  private Vector3d _eye;
+  private Vector3d _center;
+  private Vector3d _up;
+  private double[] _positions;
+  private double[] _transformed;
+  private float[] _floats;
+  private ByteBuffer _buffer;
+
+  @Setup
+  public void setup()
+  {
+    _left = new Matrix4d().setPerspective( Math.PI / 3, 1.5, 0.1, 100 );
+    _right = new Matrix4d().setTranslation( 1, 2, 3 ).rotateY( 0.3 ).scale( 2 );
+    _translation = new Matrix4d().setTranslation( 4, 5, 6 );
+    _result = new Matrix4d();
+    _rotation = new Matrix4d();
+    _view = new Matrix4d();
+    _projection = new Matrix4d();
+    _eye = new Vector3d( 0, 10, 10 );
+    _center = new Vector3d( 1, 2, 3 );
+    _up = new Vector3d( 0, 1, 0 );
+    _positions = new double[ POSITION_COUNT * 3 ];
+    for ( int i = 0; i < _positions.length; i++ )
+    {
+      _positions[ i ] = i * 0.5;
+    }
+    _transformed = new double[ POSITION_COUNT * 3 ];
+    _floats = new float[ Matrix4d.COMPONENTS ];
+    _buffer = ByteBuffer.allocateDirect( Matrix4d.FLOAT_BYTES ).order( ByteOrder.nativeOrder() );
+  }
+
+  @Benchmark
+  public Matrix4d multiply()
+  {
+    Matrix4d.multiply( _result, _left, _right );
+    return _result;
+  }
+
+  @Benchmark
+  public Matrix4d multiplyAffine()
+  {
+    Matrix4d.multiply( _result, _right, _right );
+    return _result;
+  }
+
+  @Benchmark
+  public Matrix4d multiplyTranslation()
+  {
+    Matrix4d.multiply( _result, _translation, _right );
+    return _result;
+  }
+
+  @Benchmark
+  public Matrix4d rotateX()
+  {
+    return _rotation.rotateX( 0.01 );
+  }
+
+  @Benchmark
+  public Matrix4d rotateY()
+  {
+    return _rotation.rotateY( 0.01 );
+  }
+
+  @Benchmark
+  public Matrix4d rotateZ()
+  {
+    return _rotation.rotateZ( 0.01 );
+  }
+
+  /**
+   * The view is reset before each lookAt as the operation is applied to the existing matrix.
+   */
+  @Benchmark
+  public Matrix4d lookAt()
+  {
+    return _view.setIdentity().lookAt( _eye, _center, _up );
+  }
+
+  @Benchmark
+  public Matrix4d setPerspective()
+  {
+    return _projection.setPerspective( Math.PI / 3, 1.5, 0.1, 100 );
+  }
+
+  @Benchmark
+  public double[] transformPositions()
+  {
+    return _right.transformPositions( _positions, 0, 3, _transformed, 0, 3, POSITION_COUNT );
+  }
+
+  @Benchmark
+  public double[] transformProjective()
+  {
+    return _right.transformProjective( _positions, 0, 3, _transformed, 0, 3, POSITION_COUNT );
+  }
+
+  @Benchmark
+  public Matrix4d invert()
+  {
+    return _result.set( _right ).invert();
+  }
+
+  @Benchmark
+  public Matrix4d invertAffine()
+  {
+    return _result.set( _right ).invertAffine();
+  }
+
+  @Benchmark
+  public Matrix4d invertRigid()
+  {
+    return _result.set( _view ).invertRigid();
+  }
+
+  @Benchmark
+  public float[] toFloatArray()
+  {
+    return _right.toArray( _floats, 0 );
+  }
+
+  @Benchmark
+  public ByteBuffer getFloats()
+  {
+    return _right.getFloats( _buffer, 0 );
+  }
+}
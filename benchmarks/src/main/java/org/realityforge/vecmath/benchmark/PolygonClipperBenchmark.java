@@ -0,0 +1,75 @@
+package org.realityforge.vecmath.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.realityforge.vecmath.Matrix4d;
+import org.realityforge.vecmath.PolygonClipper;
+
+/**
+ * Measure transforming triangles into clip space and clipping them against the view volume.
+ * The triangles are scattered around the camera so that some are inside, some are outside and some are clipped.
+ */
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+@State( Scope.Thread )
+public class PolygonClipperBenchmark
+{
+  private static final int TRIANGLE_COUNT = 1024;
+  private Matrix4d _viewProjection;
+  private PolygonClipper _clipper;
+  private double[] _positions;
+  private double[] _clip;
+  private double[] _clipped;
+
+  @Setup
+  public void setup()
+  {
+    final Random random = new Random( 42 );
+    _viewProjection = new Matrix4d()
+      .lookAt( 0, 0, 0, 0, 0, -1, 0, 1, 0 )
+      .multiply( new Matrix4d().setPerspective( Math.PI / 3, 1.5, 0.1, 100 ) );
+    _clipper = new PolygonClipper();
+    _positions = new double[ TRIANGLE_COUNT * 3 * 3 ];
+    for ( int i = 0; i < TRIANGLE_COUNT; i++ )
+    {
+      final double x = random.nextDouble() * 40 - 20;
+      final double y = random.nextDouble() * 40 - 20;
+      final double z = random.nextDouble() * -60 + 10;
+      for ( int j = 0; j < 3; j++ )
+      {
+        final int o = ( i * 3 + j ) * 3;
+        _positions[ o ] = x + random.nextDouble() * 10;
+        _positions[ o + 1 ] = y + random.nextDouble() * 10;
+        _positions[ o + 2 ] = z + random.nextDouble() * 10;
+      }
+    }
+    _clip = new double[ TRIANGLE_COUNT * 3 * PolygonClipper.VERTEX_COMPONENTS ];
+    _clipped = new double[ TRIANGLE_COUNT * PolygonClipper.MAX_TRIANGLES_PER_TRIANGLE * 3 * PolygonClipper.VERTEX_COMPONENTS ];
+  }
+
+  @Benchmark
+  public double[] transformToClip()
+  {
+    return _viewProjection.transformToClip( _positions, 0, 3, _clip, 0, 4, TRIANGLE_COUNT * 3 );
+  }
+
+  @Benchmark
+  public int transformAndClipTriangles()
+  {
+    _viewProjection.transformToClip( _positions, 0, 3, _clip, 0, 4, TRIANGLE_COUNT * 3 );
+    return _clipper.clipTriangles( _clip, 0, TRIANGLE_COUNT, _clipped, 0 );
+  }
+}
@@ -0,0 +1,76 @@
+package org.realityforge.vecmath.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.realityforge.vecmath.Matrix4d;
+import org.realityforge.vecmath.Quaterniond;
+import org.realityforge.vecmath.Vector3d;
+
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+@State( Scope.Thread )
+public class QuaterniondBenchmark
+{
+  private Quaterniond _left;
+  private Quaterniond _right;
+  private Quaterniond _result;
+  private Matrix4d _leftMatrix;
+  private Matrix4d _rightMatrix;
+  private Matrix4d _resultMatrix;
+  private Vector3d _vector;
+
+  @Setup
+  public void setup()
+  {
+    _left = new Quaterniond().setAxisAngle( new Vector3d( 1, 2, 3 ).normalize(), 0.3 );
+    _right = new Quaterniond().setAxisAngle( new Vector3d( -2, 1, 0.5 ).normalize(), 1.2 );
+    _result = new Quaterniond();
+    _leftMatrix = new Matrix4d().setRotation( _left );
+    _rightMatrix = new Matrix4d().setRotation( _right );
+    _resultMatrix = new Matrix4d();
+    _vector = new Vector3d( 1, 2, 3 );
+  }
+
+  @Benchmark
+  public Quaterniond mul()
+  {
+    return _result.mul( _left, _right );
+  }
+
+  @Benchmark
+  public Matrix4d mulAsMatrix()
+  {
+    Matrix4d.multiply( _resultMatrix, _rightMatrix, _leftMatrix );
+    return _resultMatrix;
+  }
+
+  @Benchmark
+  public Quaterniond slerp()
+  {
+    return _result.slerp( _left, _right, 0.35 );
+  }
+
+  @Benchmark
+  public Quaterniond nlerp()
+  {
+    return _result.nlerp( _left, _right, 0.35 );
+  }
+
+  @Benchmark
+  public Vector3d transform()
+  {
+    return _left.transform( _vector.set( 1, 2, 3 ) );
+  }
+}
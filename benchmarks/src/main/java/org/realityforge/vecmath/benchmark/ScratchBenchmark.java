@@ -0,0 +1,67 @@
+package org.realityforge.vecmath.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.realityforge.vecmath.Scratch;
+import org.realityforge.vecmath.Vector3d;
+
+/**
+ * Compare computing a triangle normal using freshly allocated temporaries against using temporaries
+ * from the {@link Scratch} allocator. Run with the JMH <code>gc</code> profiler to compare allocation rates.
+ */
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+@State( Scope.Thread )
+public class ScratchBenchmark
+{
+  private Vector3d _a;
+  private Vector3d _b;
+  private Vector3d _c;
+  private Vector3d _result;
+
+  @Setup
+  public void setup()
+  {
+    _a = new Vector3d( 1, 2, 3 );
+    _b = new Vector3d( 4, 6, 5 );
+    _c = new Vector3d( 9, 7, 8 );
+    _result = new Vector3d();
+  }
+
+  @Benchmark
+  public Vector3d normalAllocating()
+  {
+    final Vector3d edge1 = _b.dup().sub( _a );
+    final Vector3d edge2 = _c.dup().sub( _a );
+    return _result.cross( edge1, edge2 ).normalize();
+  }
+
+  @Benchmark
+  public Vector3d normalScratch()
+  {
+    final Scratch scratch = Scratch.get();
+    scratch.push();
+    try
+    {
+      final Vector3d edge1 = scratch.vector3d().sub( _b, _a );
+      final Vector3d edge2 = scratch.vector3d().sub( _c, _a );
+      return _result.cross( edge1, edge2 ).normalize();
+    }
+    finally
+    {
+      scratch.pop();
+    }
+  }
+}
@@ -0,0 +1,71 @@
+package org.realityforge.vecmath.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.realityforge.vecmath.Matrix4d;
+import org.realityforge.vecmath.Quaterniond;
+import org.realityforge.vecmath.Transform;
+import org.realityforge.vecmath.Vector3d;
+
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+@State( Scope.Thread )
+public class TransformBenchmark
+{
+  private Vector3d _translation;
+  private Quaterniond _rotation;
+  private Vector3d _scale;
+  private Matrix4d _result;
+  private Transform _transform;
+  private double _x;
+
+  @Setup
+  public void setup()
+  {
+    _translation = new Vector3d( 1, 2, 3 );
+    _rotation = new Quaterniond().rotateX( 0.3 ).rotateY( 1.2 ).rotateZ( -0.7 );
+    _scale = new Vector3d( 2, 3, 4 );
+    _result = new Matrix4d();
+    _transform = new Transform( _translation, _rotation, _scale );
+  }
+
+  /**
+   * Compose the matrix by applying each transformation in turn, the approach replaced by {@link Transform}.
+   */
+  @Benchmark
+  public Matrix4d composeChained()
+  {
+    return _result.setTranslation( 1, 2, 3 ).rotateX( 0.3 ).rotateY( 1.2 ).rotateZ( -0.7 ).scale( 2, 3, 4 );
+  }
+
+  @Benchmark
+  public Matrix4d composeDirect()
+  {
+    return _result.setTranslationRotationScale( _translation, _rotation, _scale );
+  }
+
+  @Benchmark
+  public Matrix4d transformUnchanged()
+  {
+    return _transform.setTranslation( _translation ).matrix();
+  }
+
+  @Benchmark
+  public Matrix4d transformTranslated()
+  {
+    _x += 1;
+    return _transform.setTranslation( _x, 2, 3 ).matrix();
+  }
+}
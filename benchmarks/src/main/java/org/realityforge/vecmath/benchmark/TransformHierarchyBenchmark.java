@@ -0,0 +1,110 @@
+package org.realityforge.vecmath.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.realityforge.vecmath.Matrix4d;
+import org.realityforge.vecmath.Quaterniond;
+import org.realityforge.vecmath.Transform;
+import org.realityforge.vecmath.TransformHierarchy;
+
+/**
+ * Compare propagating world matrices through a {@link TransformHierarchy} against walking a graph of
+ * {@link Transform} instances. Each invocation moves the roots so that every world matrix is recomputed.
+ */
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+@State( Scope.Thread )
+public class TransformHierarchyBenchmark
+{
+  private static final int ROOT_COUNT = 16;
+  @Param( { "4096", "65536" } )
+  public int size;
+  private int[] _parents;
+  private Transform[] _transforms;
+  private Matrix4d[] _worlds;
+  private TransformHierarchy _hierarchy;
+  private double _x;
+
+  @Setup
+  public void setup()
+  {
+    final Random random = new Random( 42 );
+    _parents = new int[ size ];
+    _transforms = new Transform[ size ];
+    _worlds = new Matrix4d[ size ];
+    _hierarchy = new TransformHierarchy( size );
+    for ( int i = 0; i < size; i++ )
+    {
+      final int parent = i < ROOT_COUNT ? TransformHierarchy.NO_PARENT : random.nextInt( i );
+      final double x = random.nextDouble();
+      final double y = random.nextDouble();
+      final double z = random.nextDouble();
+      final Quaterniond rotation = new Quaterniond().rotateX( x ).rotateY( y );
+      _parents[ i ] = parent;
+      _transforms[ i ] = new Transform().setTranslation( x, y, z ).setRotation( rotation ).setScale( 1 + z );
+      _worlds[ i ] = new Matrix4d();
+      _hierarchy.add( parent );
+      _hierarchy.setTranslation( i, x, y, z ).setRotation( i, rotation ).setScale( i, 1 + z, 1 + z, 1 + z );
+    }
+  }
+
+  @Benchmark
+  public Matrix4d[] updateObjects()
+  {
+    moveRoots();
+    for ( int i = 0; i < size; i++ )
+    {
+      final int parent = _parents[ i ];
+      final Matrix4d local = _transforms[ i ].matrix();
+      if ( TransformHierarchy.NO_PARENT == parent )
+      {
+        _worlds[ i ].set( local );
+      }
+      else
+      {
+        Matrix4d.multiply( _worlds[ i ], local, _worlds[ parent ] );
+      }
+    }
+    return _worlds;
+  }
+
+  @Benchmark
+  public double[] updateHierarchy()
+  {
+    moveRoots();
+    _hierarchy.update();
+    return _hierarchy.worldComponents();
+  }
+
+  @Benchmark
+  public double[] updateHierarchyParallel()
+  {
+    moveRoots();
+    _hierarchy.updateParallel();
+    return _hierarchy.worldComponents();
+  }
+
+  private void moveRoots()
+  {
+    _x += 1;
+    for ( int i = 0; i < ROOT_COUNT; i++ )
+    {
+      _transforms[ i ].setTranslation( _x, 0, i );
+      _hierarchy.setTranslation( i, _x, 0, i );
+    }
+  }
+}
@@ -0,0 +1,51 @@
+package org.realityforge.vecmath.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.realityforge.vecmath.Vector2d;
+
+/**
+ * Benchmarks for {@link Vector2d}.
+ * The type has no cross product so only normalize and angle are measured.
+ */
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+@State( Scope.Thread )
+public class Vector2dBenchmark
+{
+  private Vector2d _value1;
+  private Vector2d _value2;
+  private Vector2d _result;
+
+  @Setup
+  public void setup()
+  {
+    _value1 = new Vector2d( 1, 2 );
+    _value2 = new Vector2d( 4, 5 );
+    _result = new Vector2d();
+  }
+
+  @Benchmark
+  public Vector2d normalize()
+  {
+    return _result.set( _value1 ).normalize();
+  }
+
+  @Benchmark
+  public double angle()
+  {
+    return _value1.angle( _value2 );
+  }
+}
@@ -0,0 +1,65 @@
+package org.realityforge.vecmath.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.realityforge.vecmath.Matrix4d;
+import org.realityforge.vecmath.Vector3d;
+
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+@State( Scope.Thread )
+public class Vector3dBenchmark
+{
+  private Vector3d _value1;
+  private Vector3d _value2;
+  private Vector3d _result;
+  private Matrix4d _matrix;
+
+  @Setup
+  public void setup()
+  {
+    _value1 = new Vector3d( 1, 2, 3 );
+    _value2 = new Vector3d( 4, 5, 6 );
+    _result = new Vector3d();
+    _matrix = new Matrix4d().setTranslation( 1, 2, 3 ).rotateY( 0.3 ).scale( 2 );
+  }
+
+  /**
+   * The result is reset before each multiply so that repeated transforms do not overflow.
+   */
+  @Benchmark
+  public Vector3d mulMatrix4d()
+  {
+    return _result.set( _value1 ).mul( _matrix );
+  }
+
+  @Benchmark
+  public Vector3d normalize()
+  {
+    return _result.set( _value1 ).normalize();
+  }
+
+  @Benchmark
+  public Vector3d cross()
+  {
+    return _result.cross( _value1, _value2 );
+  }
+
+  @Benchmark
+  public double angle()
+  {
+    return _value1.angle( _value2 );
+  }
+}
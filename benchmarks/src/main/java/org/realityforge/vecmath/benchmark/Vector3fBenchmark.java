@@ -0,0 +1,77 @@
+package org.realityforge.vecmath.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.realityforge.vecmath.Matrix4d;
+import org.realityforge.vecmath.Matrix4f;
+import org.realityforge.vecmath.Vector3f;
+
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+@State( Scope.Thread )
+public class Vector3fBenchmark
+{
+  private Vector3f _value1;
+  private Vector3f _value2;
+  private Vector3f _result;
+  private Matrix4f _matrix;
+  private float[] _array;
+
+  @Setup
+  public void setup()
+  {
+    _value1 = new Vector3f( 1F, 2F, 3F );
+    _value2 = new Vector3f( 4F, 5F, 6F );
+    _result = new Vector3f();
+    _matrix = new Matrix4f( new Matrix4d().setTranslation( 1, 2, 3 ).rotateY( 0.5 ) );
+    _array = new float[ Vector3f.COMPONENTS ];
+  }
+
+  @Benchmark
+  public Vector3f normalize()
+  {
+    return _result.set( _value1 ).normalize();
+  }
+
+  @Benchmark
+  public Vector3f cross()
+  {
+    return _result.cross( _value1, _value2 );
+  }
+
+  @Benchmark
+  public float angle()
+  {
+    return _value1.angle( _value2 );
+  }
+
+  @Benchmark
+  public float lengthSquared()
+  {
+    return _value1.lengthSquared();
+  }
+
+  @Benchmark
+  public Vector3f mulPosition()
+  {
+    return _result.set( _value1 ).mulPosition( _matrix );
+  }
+
+  @Benchmark
+  public float[] toArray()
+  {
+    return _value1.toArray( _array );
+  }
+}
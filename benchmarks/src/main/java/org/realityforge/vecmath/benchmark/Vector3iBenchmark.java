@@ -0,0 +1,54 @@
+package org.realityforge.vecmath.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.realityforge.vecmath.Vector3d;
+import org.realityforge.vecmath.Vector3i;
+
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+@State( Scope.Thread )
+public class Vector3iBenchmark
+{
+  private Vector3d _position;
+  private Vector3i _cell;
+  private long _key;
+
+  @Setup
+  public void setup()
+  {
+    _position = new Vector3d( 17.5, -3.25, 130.75 );
+    _cell = new Vector3i();
+    _key = Vector3i.pack( 17, -4, 130 );
+  }
+
+  @Benchmark
+  public Vector3i floor()
+  {
+    return _cell.floor( _position, 16 );
+  }
+
+  @Benchmark
+  public long floorAndPack()
+  {
+    return _cell.floor( _position ).floorDiv( 16 ).pack();
+  }
+
+  @Benchmark
+  public Vector3i unpack()
+  {
+    return _cell.unpack( _key );
+  }
+}
@@ -0,0 +1,51 @@
+package org.realityforge.vecmath.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.realityforge.vecmath.Vector4d;
+
+/**
+ * Benchmarks for {@link Vector4d}.
+ * The type has no cross product so only normalize and angle are measured.
+ */
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+@State( Scope.Thread )
+public class Vector4dBenchmark
+{
+  private Vector4d _value1;
+  private Vector4d _value2;
+  private Vector4d _result;
+
+  @Setup
+  public void setup()
+  {
+    _value1 = new Vector4d( 1, 2, 3, 4 );
+    _value2 = new Vector4d( 5, 6, 7, 8 );
+    _result = new Vector4d();
+  }
+
+  @Benchmark
+  public Vector4d normalize()
+  {
+    return _result.set( _value1 ).normalize();
+  }
+
+  @Benchmark
+  public double angle()
+  {
+    return _value1.angle( _value2 );
+  }
+}
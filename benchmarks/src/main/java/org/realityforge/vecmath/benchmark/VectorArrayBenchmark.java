@@ -0,0 +1,134 @@
+package org.realityforge.vecmath.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.realityforge.vecmath.Vector3d;
+import org.realityforge.vecmath.Vector3dArray;
+import org.realityforge.vecmath.Vector3dCursor;
+import org.realityforge.vecmath.Vector4d;
+import org.realityforge.vecmath.Vector4dArray;
+
+/**
+ * Compare the bulk structure-of-arrays kernels against the equivalent loops over per-object vectors.
+ * Run with <code>-prof perfasm</code> to confirm that the JIT emits packed SIMD instructions for the kernels.
+ */
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+@State( Scope.Thread )
+public class VectorArrayBenchmark
+{
+  @Param( { "1024", "65536" } )
+  public int size;
+  private Vector3d[] _normals;
+  private Vector3dArray _normalArray;
+  private Vector3dCursor _normalCursor;
+  private Vector4d[] _weights1;
+  private Vector4d[] _weights2;
+  private Vector4d[] _blended;
+  private Vector4dArray _weightArray1;
+  private Vector4dArray _weightArray2;
+  private Vector4dArray _blendedArray;
+  private double[] _dots;
+
+  @Setup
+  public void setup()
+  {
+    final Random random = new Random( 42 );
+    _normals = new Vector3d[ size ];
+    _normalArray = new Vector3dArray( size );
+    final double[] packedNormals = new double[ size * Vector3d.COMPONENTS ];
+    _weights1 = new Vector4d[ size ];
+    _weights2 = new Vector4d[ size ];
+    _blended = new Vector4d[ size ];
+    _weightArray1 = new Vector4dArray( size );
+    _weightArray2 = new Vector4dArray( size );
+    _blendedArray = new Vector4dArray( size );
+    _dots = new double[ size ];
+    for ( int i = 0; i < size; i++ )
+    {
+      _normals[ i ] = new Vector3d( random.nextDouble(), random.nextDouble(), random.nextDouble() );
+      _normalArray.set( i, _normals[ i ] );
+      _normals[ i ].toArray( packedNormals, i * Vector3d.COMPONENTS );
+      _weights1[ i ] = new Vector4d( random.nextDouble(), random.nextDouble(), random.nextDouble(), random.nextDouble() );
+      _weights2[ i ] = new Vector4d( random.nextDouble(), random.nextDouble(), random.nextDouble(), random.nextDouble() );
+      _blended[ i ] = new Vector4d();
+      _weightArray1.set( i, _weights1[ i ] );
+      _weightArray2.set( i, _weights2[ i ] );
+    }
+    _normalCursor = Vector3dCursor.wrap( packedNormals );
+  }
+
+  @Benchmark
+  public Vector3d[] normalizeObjects()
+  {
+    for ( final Vector3d normal : _normals )
+    {
+      normal.normalize();
+    }
+    return _normals;
+  }
+
+  @Benchmark
+  public Vector3dArray normalizeArray()
+  {
+    return _normalArray.normalize();
+  }
+
+  @Benchmark
+  public Vector3dCursor normalizeCursor()
+  {
+    final Vector3dCursor cursor = _normalCursor;
+    final int count = cursor.count();
+    for ( int i = 0; i < count; i++ )
+    {
+      cursor.moveTo( i ).normalize();
+    }
+    return cursor;
+  }
+
+  @Benchmark
+  public Vector4d[] lerpObjects()
+  {
+    for ( int i = 0; i < size; i++ )
+    {
+      _blended[ i ].lerp( _weights1[ i ], _weights2[ i ], 0.3 );
+    }
+    return _blended;
+  }
+
+  @Benchmark
+  public Vector4dArray lerpArray()
+  {
+    return _blendedArray.lerp( _weightArray1, _weightArray2, 0.3 );
+  }
+
+  @Benchmark
+  public double[] dotObjects()
+  {
+    for ( int i = 0; i < size; i++ )
+    {
+      _dots[ i ] = _weights1[ i ].dot( _weights2[ i ] );
+    }
+    return _dots;
+  }
+
+  @Benchmark
+  public double[] dotArray()
+  {
+    return _weightArray1.dot( _weightArray2, _dots );
+  }
+}
@@ -0,0 +1,429 @@
+package org.realityforge.vecmath;
+
+import grim.annotations.OmitSymbol;
+import javax.annotation.Nonnull;
+
+/**
+ * The six planes of a view frustum, used to cull points, spheres and axis-aligned bounding boxes.
+ *
+ * <p>The planes are extracted once from a view-projection matrix via {@link #set(Matrix4d)} and the
+ * objects are then tested directly against the planes in world space rather than transforming each object
+ * by the matrix. The matrix is expected to transform positions in the same way as {@link Vector3d#mul(Matrix4d)}
+ * into clip space with the WebGL NDC z range <code>[-1..+1]</code>. i.e. A view-projection matrix
+ * composed via <code>Matrix4d.multiply( viewProjection, view, projection )</code> where the view is created by
+ * {@link Matrix4d#lookAt(Vector3d, Vector3d, Vector3d)} and the projection is created by
+ * {@link Matrix4d#setPerspective(double, double, double, double)} or
+ * {@link Matrix4d#setOrthographic(double, double, double, double, double, double)}.</p>
+ *
+ * <p>The bulk methods write the results into a visibility bitset where the visibility of the object
+ * at index <code>i</code> is stored in bit <code>i &amp; 31</code> of the element <code>i &gt;&gt;&gt; 5</code>.
+ * The bitset must contain at least <code>(count + 31) / 32</code> elements.</p>
+ *
+ * <p>The planes are extracted using the approach described by Gribb and Hartmann in
+ * "Fast Extraction of Viewing Frustum Planes from the World-View-Projection Matrix".</p>
+ */
+public final class Frustum
+{
+  /**
+   * The index of the plane on the left of the frustum.
+   */
+  public static final int PLANE_LEFT = 0;
+  /**
+   * The index of the plane on the right of the frustum.
+   */
+  public static final int PLANE_RIGHT = 1;
+  /**
+   * The index of the plane on the bottom of the frustum.
+   */
+  public static final int PLANE_BOTTOM = 2;
+  /**
+   * The index of the plane on the top of the frustum.
+   */
+  public static final int PLANE_TOP = 3;
+  /**
+   * The index of the near plane of the frustum.
+   */
+  public static final int PLANE_NEAR = 4;
+  /**
+   * The index of the far plane of the frustum.
+   */
+  public static final int PLANE_FAR = 5;
+  /**
+   * The number of planes in the frustum.
+   */
+  public static final int PLANE_COUNT = 6;
+  /**
+   * The normalized planes stored as <code>a, b, c, d</code> for each plane where a point <code>(x, y, z)</code>
+   * is on the inside of the plane if <code>a*x + b*y + c*z + d &gt;= 0</code>.
+   */
+  @Nonnull
+  private final double[] _planes = new double[ PLANE_COUNT * 4 ];
+
+  /**
+   * Create a frustum where every point is on the inside of every plane.
+   * The frustum must be initialized via {@link #set(Matrix4d)} before it is useful.
+   */
+  public Frustum()
+  {
+    for ( int i = 0; i < PLANE_COUNT; i++ )
+    {
+      _planes[ i * 4 + 3 ] = Double.POSITIVE_INFINITY;
+    }
+  }
+
+  /**
+   * Create a frustum from the specified view-projection matrix.
+   *
+   * @param viewProjection the view-projection matrix.
+   */
+  public Frustum( @Nonnull final Matrix4d viewProjection )
+  {
+    set( viewProjection );
+  }
+
+  /**
+   * Extract the planes of the frustum from the specified view-projection matrix.
+   *
+   * @param viewProjection the view-projection matrix.
+   * @return this
+   */
+  @Nonnull
+  public Frustum set( @Nonnull final Matrix4d viewProjection )
+  {
+    final Matrix4d m = viewProjection;
+    setPlane( PLANE_LEFT, m.m03 + m.m00, m.m13 + m.m10, m.m23 + m.m20, m.m33 + m.m30 );
+    setPlane( PLANE_RIGHT, m.m03 - m.m00, m.m13 - m.m10, m.m23 - m.m20, m.m33 - m.m30 );
+    setPlane( PLANE_BOTTOM, m.m03 + m.m01, m.m13 + m.m11, m.m23 + m.m21, m.m33 + m.m31 );
+    setPlane( PLANE_TOP, m.m03 - m.m01, m.m13 - m.m11, m.m23 - m.m21, m.m33 - m.m31 );
+    setPlane( PLANE_NEAR, m.m03 + m.m02, m.m13 + m.m12, m.m23 + m.m22, m.m33 + m.m32 );
+    setPlane( PLANE_FAR, m.m03 - m.m02, m.m13 - m.m12, m.m23 - m.m22, m.m33 - m.m32 );
+    return this;
+  }
+
+  private void setPlane( final int plane, final double a, final double b, final double c, final double d )
+  {
+    final double invLength = 1.0 / Math.sqrt( a * a + b * b + c * c );
+    final int offset = plane * 4;
+    _planes[ offset ] = a * invLength;
+    _planes[ offset + 1 ] = b * invLength;
+    _planes[ offset + 2 ] = c * invLength;
+    _planes[ offset + 3 ] = d * invLength;
+  }
+
+  /**
+   * Fill the specified target with the normalized equation of the specified plane.
+   * The x, y and z components contain the normal of the plane pointing into the frustum and the w component
+   * contains the distance of the plane from the origin.
+   *
+   * @param plane  the index of the plane. One of the PLANE_* constants.
+   * @param target the vector in which to store the plane.
+   * @return the target.
+   */
+  @Nonnull
+  public Vector4d getPlane( final int plane, @Nonnull final Vector4d target )
+  {
+    assert plane >= 0 && plane < PLANE_COUNT;
+    final int offset = plane * 4;
+    return target.set( _planes[ offset ], _planes[ offset + 1 ], _planes[ offset + 2 ], _planes[ offset + 3 ] );
+  }
+
+  /**
+   * Return true if the specified point is inside the frustum.
+   *
+   * @param x the x component of the point.
+   * @param y the y component of the point.
+   * @param z the z component of the point.
+   * @return true if the specified point is inside the frustum, otherwise false.
+   */
+  public boolean testPoint( final double x, final double y, final double z )
+  {
+    final double[] planes = _planes;
+    for ( int i = 0; i < PLANE_COUNT * 4; i += 4 )
+    {
+      if ( planes[ i ] * x + planes[ i + 1 ] * y + planes[ i + 2 ] * z + planes[ i + 3 ] < 0 )
+      {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Return true if the specified point is inside the frustum.
+   *
+   * @param point the point.
+   * @return true if the specified point is inside the frustum, otherwise false.
+   */
+  public boolean testPoint( @Nonnull final Vector3d point )
+  {
+    return testPoint( point.x, point.y, point.z );
+  }
+
+  /**
+   * Return true if the specified sphere is inside or intersects the frustum.
+   * The test is conservative and may return true for some spheres near the corners of the frustum that
+   * are outside the frustum.
+   *
+   * @param x      the x component of the center of the sphere.
+   * @param y      the y component of the center of the sphere.
+   * @param z      the z component of the center of the sphere.
+   * @param radius the radius of the sphere.
+   * @return true if the specified sphere is inside or intersects the frustum, otherwise false.
+   */
+  public boolean testSphere( final double x, final double y, final double z, final double radius )
+  {
+    final double[] planes = _planes;
+    for ( int i = 0; i < PLANE_COUNT * 4; i += 4 )
+    {
+      if ( planes[ i ] * x + planes[ i + 1 ] * y + planes[ i + 2 ] * z + planes[ i + 3 ] < -radius )
+      {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Return true if the specified sphere is inside or intersects the frustum.
+   * See {@link #testSphere(double, double, double, double)} for further details.
+   *
+   * @param center the center of the sphere.
+   * @param radius the radius of the sphere.
+   * @return true if the specified sphere is inside or intersects the frustum, otherwise false.
+   */
+  public boolean testSphere( @Nonnull final Vector3d center, final double radius )
+  {
+    return testSphere( center.x, center.y, center.z, radius );
+  }
+
+  /**
+   * Return true if the specified axis-aligned bounding box is inside or intersects the frustum.
+   * The test is conservative and may return true for some boxes near the corners of the frustum that
+   * are outside the frustum.
+   *
+   * @param minX the minimum x component of the box.
+   * @param minY the minimum y component of the box.
+   * @param minZ the minimum z component of the box.
+   * @param maxX the maximum x component of the box.
+   * @param maxY the maximum y component of the box.
+   * @param maxZ the maximum z component of the box.
+   * @return true if the specified box is inside or intersects the frustum, otherwise false.
+   */
+  public boolean testAabb( final double minX,
+                           final double minY,
+                           final double minZ,
+                           final double maxX,
+                           final double maxY,
+                           final double maxZ )
+  {
+    final double[] planes = _planes;
+    for ( int i = 0; i < PLANE_COUNT * 4; i += 4 )
+    {
+      final double a = planes[ i ];
+      final double b = planes[ i + 1 ];
+      final double c = planes[ i + 2 ];
+      // Test the corner of the box that is furthest along the normal of the plane
+      if ( a * ( a < 0 ? minX : maxX ) + b * ( b < 0 ? minY : maxY ) + c * ( c < 0 ? minZ : maxZ ) + planes[ i + 3 ] < 0 )
+      {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Return true if the specified axis-aligned bounding box is inside or intersects the frustum.
+   * See {@link #testAabb(double, double, double, double, double, double)} for further details.
+   *
+   * @param min the minimum corner of the box.
+   * @param max the maximum corner of the box.
+   * @return true if the specified box is inside or intersects the frustum, otherwise false.
+   */
+  public boolean testAabb( @Nonnull final Vector3d min, @Nonnull final Vector3d max )
+  {
+    return testAabb( min.x, min.y, min.z, max.x, max.y, max.z );
+  }
+
+  /**
+   * Test a batch of points against the frustum and store the results in the specified visibility bitset.
+   * The points are stored as <code>x, y, z</code> triples in the <code>positions</code> array.
+   *
+   * @param positions  the array containing the points.
+   * @param offset     the offset of the first component of the first point in the array.
+   * @param stride     the distance between the start of consecutive points in the array. Must be at least 3.
+   * @param count      the number of points to test.
+   * @param visibility the bitset in which to store the result of each test.
+   * @return the number of points inside the frustum.
+   */
+  public int testPoints( @Nonnull final double[] positions,
+                         final int offset,
+                         final int stride,
+                         final int count,
+                         @Nonnull final int[] visibility )
+  {
+    assert stride >= 3;
+    assert visibility.length >= ( count + 31 ) >>> 5;
+    int visible = 0;
+    for ( int i = 0, s = offset; i < count; i++, s += stride )
+    {
+      visible += setVisibility( visibility, i, testPoint( positions[ s ], positions[ s + 1 ], positions[ s + 2 ] ) );
+    }
+    return visible;
+  }
+
+  /**
+   * Test a batch of spheres against the frustum and store the results in the specified visibility bitset.
+   * The spheres are stored as <code>x, y, z, radius</code> tuples in the <code>spheres</code> array.
+   * See {@link #testSphere(double, double, double, double)} for further details.
+   *
+   * @param spheres    the array containing the spheres.
+   * @param offset     the offset of the first component of the first sphere in the array.
+   * @param stride     the distance between the start of consecutive spheres in the array. Must be at least 4.
+   * @param count      the number of spheres to test.
+   * @param visibility the bitset in which to store the result of each test.
+   * @return the number of spheres inside or intersecting the frustum.
+   */
+  public int testSpheres( @Nonnull final double[] spheres,
+                          final int offset,
+                          final int stride,
+                          final int count,
+                          @Nonnull final int[] visibility )
+  {
+    assert stride >= 4;
+    assert visibility.length >= ( count + 31 ) >>> 5;
+    int visible = 0;
+    for ( int i = 0, s = offset; i < count; i++, s += stride )
+    {
+      visible +=
+        setVisibility( visibility, i, testSphere( spheres[ s ], spheres[ s + 1 ], spheres[ s + 2 ], spheres[ s + 3 ] ) );
+    }
+    return visible;
+  }
+
+  /**
+   * Test a batch of spheres against the frustum and store the results in the specified visibility bitset.
+   * See {@link #testSphere(double, double, double, double)} for further details.
+   *
+   * @param centers    the centers of the spheres.
+   * @param radii      the radius of each sphere. Must be at least as long as <code>centers</code>.
+   * @param visibility the bitset in which to store the result of each test.
+   * @return the number of spheres inside or intersecting the frustum.
+   */
+  public int testSpheres( @Nonnull final Vector3dArray centers,
+                          @Nonnull final double[] radii,
+                          @Nonnull final int[] visibility )
+  {
+    final int count = centers.size();
+    assert radii.length >= count;
+    assert visibility.length >= ( count + 31 ) >>> 5;
+    final double[] x = centers.x;
+    final double[] y = centers.y;
+    final double[] z = centers.z;
+    int visible = 0;
+    for ( int i = 0; i < count; i++ )
+    {
+      visible += setVisibility( visibility, i, testSphere( x[ i ], y[ i ], z[ i ], radii[ i ] ) );
+    }
+    return visible;
+  }
+
+  /**
+   * Test a batch of axis-aligned bounding boxes against the frustum and store the results in the specified
+   * visibility bitset. The boxes are stored as <code>minX, minY, minZ, maxX, maxY, maxZ</code> tuples in the
+   * <code>boxes</code> array. See {@link #testAabb(double, double, double, double, double, double)} for further details.
+   *
+   * @param boxes      the array containing the boxes.
+   * @param offset     the offset of the first component of the first box in the array.
+   * @param stride     the distance between the start of consecutive boxes in the array. Must be at least 6.
+   * @param count      the number of boxes to test.
+   * @param visibility the bitset in which to store the result of each test.
+   * @return the number of boxes inside or intersecting the frustum.
+   */
+  public int testAabbs( @Nonnull final double[] boxes,
+                        final int offset,
+                        final int stride,
+                        final int count,
+                        @Nonnull final int[] visibility )
+  {
+    assert stride >= 6;
+    assert visibility.length >= ( count + 31 ) >>> 5;
+    int visible = 0;
+    for ( int i = 0, s = offset; i < count; i++, s += stride )
+    {
+      visible += setVisibility( visibility,
+                                i,
+                                testAabb( boxes[ s ],
+                                          boxes[ s + 1 ],
+                                          boxes[ s + 2 ],
+                                          boxes[ s + 3 ],
+                                          boxes[ s + 4 ],
+                                          boxes[ s + 5 ] ) );
+    }
+    return visible;
+  }
+
+  /**
+   * Return true if the specified bit is set in the visibility bitset.
+   *
+   * @param visibility the visibility bitset populated by one of the bulk test methods.
+   * @param index      the index of the object.
+   * @return true if the specified bit is set in the visibility bitset, otherwise false.
+   */
+  public static boolean isVisible( @Nonnull final int[] visibility, final int index )
+  {
+    return 0 != ( visibility[ index >>> 5 ] & ( 1 << index ) );
+  }
+
+  private static int setVisibility( @Nonnull final int[] visibility, final int index, final boolean visible )
+  {
+    final int mask = 1 << index;
+    if ( visible )
+    {
+      visibility[ index >>> 5 ] |= mask;
+      return 1;
+    }
+    else
+    {
+      visibility[ index >>> 5 ] &= ~mask;
+      return 0;
+    }
+  }
+
+  /**
+   * Returns a string representation of the frustum.
+   *
+   * @return a string representation of the frustum.
+   */
+  @Nonnull
+  public String asString()
+  {
+    final StringBuilder sb = new StringBuilder();
+    for ( int i = 0; i < PLANE_COUNT * 4; i += 4 )
+    {
+      sb.append( "(" )
+        .append( _planes[ i ] )
+        .append( ", " )
+        .append( _planes[ i + 1 ] )
+        .append( ", " )
+        .append( _planes[ i + 2 ] )
+        .append( ", " )
+        .append( _planes[ i + 3 ] )
+        .append( ")\n" );
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Returns a string representation of the frustum.
+   * This method only produces a useful representation if {@link Vecmath#isDebugToStringEnabled()}
+   * returns <code>true</code>.
+   *
+   * @return a string representation of the object.
+   */
+  @OmitSymbol( unless = "vecmath.isDebugToStringEnabled" )
+  @Override
+  public String toString()
+  {
+    return Vecmath.isDebugToStringEnabled() ? asString() : super.toString();
+  }
+}
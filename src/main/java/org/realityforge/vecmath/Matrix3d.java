@@ -0,0 +1,554 @@
+package org.realityforge.vecmath;
+
+import grim.annotations.OmitSymbol;
+import javax.annotation.Nonnull;
+
+/**
+ * A 3x3-dimensional, double-precision, floating-point matrix.
+ * The type is typically used to represent rotations and normal matrices where the translation and
+ * projection parts of a {@link Matrix4d} are not required. The components use the same naming and
+ * the operations use the same conventions as the upper-left 3x3 part of {@link Matrix4d}.
+ *
+ * <p>If the matrix was laid out in row-major form it looks like:</p>
+ * <pre>
+ * m00  m01  m02
+ * m10  m11  m12
+ * m20  m21  m22
+ * </pre>
+ *
+ * <p>If the matrix was laid out in column-major form it looks like:</p>
+ * <pre>
+ * m00  m10  m20
+ * m01  m11  m21
+ * m02  m12  m22
+ * </pre>
+ */
+public final class Matrix3d
+{
+  /**
+   * The number of components in the {@code Matrix3d}.
+   */
+  public static final int COMPONENTS = 9;
+  /**
+   * The number of bits used to represent a {@code Matrix3d} value.
+   */
+  public static final int SIZE = Double.SIZE * COMPONENTS;
+  /**
+   * The number of bytes used to represent a {@code Matrix3d} value.
+   */
+  public static final int BYTES = Double.BYTES * COMPONENTS;
+  public double m00;
+  public double m01;
+  public double m02;
+  public double m10;
+  public double m11;
+  public double m12;
+  public double m20;
+  public double m21;
+  public double m22;
+
+  /**
+   * Create a new matrix representing the identity matrix.
+   */
+  public Matrix3d()
+  {
+    m00 = m11 = m22 = 1;
+  }
+
+  /**
+   * Create a new matrix with the specified components.
+   *
+   * @param m00 the m00 component.
+   * @param m01 the m01 component.
+   * @param m02 the m02 component.
+   * @param m10 the m10 component.
+   * @param m11 the m11 component.
+   * @param m12 the m12 component.
+   * @param m20 the m20 component.
+   * @param m21 the m21 component.
+   * @param m22 the m22 component.
+   */
+  public Matrix3d( final double m00, final double m10, final double m20,
+                   final double m01, final double m11, final double m21,
+                   final double m02, final double m12, final double m22 )
+  {
+    this.m00 = m00;
+    this.m10 = m10;
+    this.m20 = m20;
+    this.m01 = m01;
+    this.m11 = m11;
+    this.m21 = m21;
+    this.m02 = m02;
+    this.m12 = m12;
+    this.m22 = m22;
+  }
+
+  /**
+   * Create a new matrix from the other matrix.
+   *
+   * @param other the other matrix.
+   */
+  public Matrix3d( @Nonnull final Matrix3d other )
+  {
+    this( other.m00, other.m10, other.m20, other.m01, other.m11, other.m21, other.m02, other.m12, other.m22 );
+  }
+
+  /**
+   * Create a new matrix from the upper-left 3x3 part of the specified matrix.
+   *
+   * @param other the matrix from which the components are extracted.
+   */
+  public Matrix3d( @Nonnull final Matrix4d other )
+  {
+    this( other.m00, other.m10, other.m20, other.m01, other.m11, other.m21, other.m02, other.m12, other.m22 );
+  }
+
+  /**
+   * Duplicate the matrix.
+   *
+   * @return a new matrix with the same component values as the current matrix.
+   */
+  @Nonnull
+  public Matrix3d dup()
+  {
+    return new Matrix3d( this );
+  }
+
+  /**
+   * Set the components of this matrix to the components in the other matrix.
+   *
+   * @param other the other matrix.
+   * @return this
+   */
+  @Nonnull
+  public Matrix3d set( @Nonnull final Matrix3d other )
+  {
+    return set( other.m00, other.m10, other.m20, other.m01, other.m11, other.m21, other.m02, other.m12, other.m22 );
+  }
+
+  /**
+   * Set the components of this matrix to the upper-left 3x3 part of the specified matrix.
+   * This discards the translation and projection parts of the matrix.
+   *
+   * @param other the matrix from which the components are extracted.
+   * @return this
+   */
+  @Nonnull
+  public Matrix3d set( @Nonnull final Matrix4d other )
+  {
+    return set( other.m00, other.m10, other.m20, other.m01, other.m11, other.m21, other.m02, other.m12, other.m22 );
+  }
+
+  /**
+   * Set the components of this matrix to the specified components.
+   *
+   * @param m00 the m00 component.
+   * @param m01 the m01 component.
+   * @param m02 the m02 component.
+   * @param m10 the m10 component.
+   * @param m11 the m11 component.
+   * @param m12 the m12 component.
+   * @param m20 the m20 component.
+   * @param m21 the m21 component.
+   * @param m22 the m22 component.
+   * @return this
+   */
+  @Nonnull
+  public Matrix3d set( final double m00, final double m10, final double m20,
+                       final double m01, final double m11, final double m21,
+                       final double m02, final double m12, final double m22 )
+  {
+    this.m00 = m00;
+    this.m10 = m10;
+    this.m20 = m20;
+    this.m01 = m01;
+    this.m11 = m11;
+    this.m21 = m21;
+    this.m02 = m02;
+    this.m12 = m12;
+    this.m22 = m22;
+    return this;
+  }
+
+  /**
+   * Set the matrix to the identity matrix.
+   *
+   * @return this
+   */
+  @Nonnull
+  public Matrix3d setIdentity()
+  {
+    return set(
+      1, 0, 0,
+      0, 1, 0,
+      0, 0, 1
+    );
+  }
+
+  /**
+   * Set this matrix to the normal matrix of the specified matrix.
+   * The normal matrix is the inverse transpose of the upper-left 3x3 part of the matrix and is used to
+   * transform surface normals so that they remain perpendicular to the surface. This produces the same
+   * components as the upper-left 3x3 part of {@link Matrix4d#normal()} without modifying the specified matrix.
+   * The result is undefined if the upper-left 3x3 part of the matrix is not invertible.
+   *
+   * @param other the matrix from which the normal matrix is derived.
+   * @return this
+   * @see <a href="https://github.com/JOML-CI/JOML/blob/main/src/org/joml/Matrix4d.java">Derived from equivalent in org.joml.Matrix4d</a>
+   */
+  @Nonnull
+  public Matrix3d setNormal( @Nonnull final Matrix4d other )
+  {
+    if ( 0 != ( other.properties() & ( Matrix4d.PROPERTY_IDENTITY | Matrix4d.PROPERTY_TRANSLATION ) ) )
+    {
+      return setIdentity();
+    }
+    final double a00 = other.m00;
+    final double a01 = other.m01;
+    final double a02 = other.m02;
+    final double a10 = other.m10;
+    final double a11 = other.m11;
+    final double a12 = other.m12;
+    final double a20 = other.m20;
+    final double a21 = other.m21;
+    final double a22 = other.m22;
+    final double m00m11 = a00 * a11;
+    final double m01m10 = a01 * a10;
+    final double m02m10 = a02 * a10;
+    final double m00m12 = a00 * a12;
+    final double m01m12 = a01 * a12;
+    final double m02m11 = a02 * a11;
+    final double invDet = 1.0 / ( ( m00m11 - m01m10 ) * a22 + ( m02m10 - m00m12 ) * a21 + ( m01m12 - m02m11 ) * a20 );
+    return set( ( a11 * a22 - a21 * a12 ) * invDet,
+                ( a21 * a02 - a01 * a22 ) * invDet,
+                ( m01m12 - m02m11 ) * invDet,
+                ( a20 * a12 - a10 * a22 ) * invDet,
+                ( a00 * a22 - a20 * a02 ) * invDet,
+                ( m02m10 - m00m12 ) * invDet,
+                ( a10 * a21 - a20 * a11 ) * invDet,
+                ( a20 * a01 - a00 * a21 ) * invDet,
+                ( m00m11 - m01m10 ) * invDet );
+  }
+
+  /**
+   * Multiply this matrix by the matrix <code>right</code> and store the result in this matrix.
+   * This has the same semantics as {@link Matrix4d#multiply(Matrix4d)}.
+   *
+   * @param right the right operand of the multiplication.
+   * @return this the result of the operation.
+   */
+  @Nonnull
+  public Matrix3d multiply( @Nonnull final Matrix3d right )
+  {
+    multiply( this, this, right );
+    return this;
+  }
+
+  /**
+   * Multiply the matrix <code>left</code> by the matrix <code>right</code> and place the result in <code>result</code>.
+   * This has the same semantics as {@link Matrix4d#multiply(Matrix4d, Matrix4d, Matrix4d)}.
+   *
+   * @param result the matrix where the result is stored. May be the same instance as the other parameters.
+   * @param left   the left operand of the multiplication.
+   * @param right  the right operand of the multiplication.
+   */
+  public static void multiply( @Nonnull final Matrix3d result,
+                               @Nonnull final Matrix3d left,
+                               @Nonnull final Matrix3d right )
+  {
+    final double a00 = left.m00;
+    final double a01 = left.m01;
+    final double a02 = left.m02;
+    final double a10 = left.m10;
+    final double a11 = left.m11;
+    final double a12 = left.m12;
+    final double a20 = left.m20;
+    final double a21 = left.m21;
+    final double a22 = left.m22;
+
+    final double b00 = right.m00;
+    final double b01 = right.m01;
+    final double b02 = right.m02;
+    final double b10 = right.m10;
+    final double b11 = right.m11;
+    final double b12 = right.m12;
+    final double b20 = right.m20;
+    final double b21 = right.m21;
+    final double b22 = right.m22;
+    result.set( a00 * b00 + a01 * b10 + a02 * b20,
+                a10 * b00 + a11 * b10 + a12 * b20,
+                a20 * b00 + a21 * b10 + a22 * b20,
+
+                a00 * b01 + a01 * b11 + a02 * b21,
+                a10 * b01 + a11 * b11 + a12 * b21,
+                a20 * b01 + a21 * b11 + a22 * b21,
+
+                a00 * b02 + a01 * b12 + a02 * b22,
+                a10 * b02 + a11 * b12 + a12 * b22,
+                a20 * b02 + a21 * b12 + a22 * b22 );
+  }
+
+  /**
+   * Transpose this matrix.
+   *
+   * @return this
+   */
+  @Nonnull
+  public Matrix3d transpose()
+  {
+    return set( m00, m01, m02,
+                m10, m11, m12,
+                m20, m21, m22 );
+  }
+
+  /**
+   * Return the determinant of this matrix.
+   *
+   * @return the determinant of this matrix.
+   */
+  public double determinant()
+  {
+    return m00 * ( m11 * m22 - m12 * m21 ) + m01 * ( m12 * m20 - m10 * m22 ) + m02 * ( m10 * m21 - m11 * m20 );
+  }
+
+  /**
+   * Invert this matrix.
+   * The result is undefined if the matrix is not invertible.
+   *
+   * @return this
+   */
+  @Nonnull
+  public Matrix3d invert()
+  {
+    final double c00 = m11 * m22 - m12 * m21;
+    final double c10 = m12 * m20 - m10 * m22;
+    final double c20 = m10 * m21 - m11 * m20;
+    final double invDet = 1.0 / ( m00 * c00 + m01 * c10 + m02 * c20 );
+    return set( c00 * invDet,
+                c10 * invDet,
+                c20 * invDet,
+                ( m02 * m21 - m01 * m22 ) * invDet,
+                ( m00 * m22 - m02 * m20 ) * invDet,
+                ( m01 * m20 - m00 * m21 ) * invDet,
+                ( m01 * m12 - m02 * m11 ) * invDet,
+                ( m02 * m10 - m00 * m12 ) * invDet,
+                ( m00 * m11 - m01 * m10 ) * invDet );
+  }
+
+  /**
+   * Transform the specified vector by this matrix and store the result in the vector.
+   * This has the same semantics as {@link Vector3d#mulDirection(Matrix4d)} applied to a {@link Matrix4d}
+   * with the same upper-left 3x3 part.
+   *
+   * @param vector the vector to transform.
+   * @return the vector.
+   */
+  @Nonnull
+  public Vector3d transform( @Nonnull final Vector3d vector )
+  {
+    return transform( vector, vector );
+  }
+
+  /**
+   * Transform the specified vector by this matrix and store the result in the target.
+   * This has the same semantics as {@link Vector3d#mulDirection(Matrix4d)} applied to a {@link Matrix4d}
+   * with the same upper-left 3x3 part.
+   *
+   * @param vector the vector to transform.
+   * @param target the vector in which to store the result. May be the same instance as the vector.
+   * @return the target.
+   */
+  @Nonnull
+  public Vector3d transform( @Nonnull final Vector3d vector, @Nonnull final Vector3d target )
+  {
+    final double x = vector.x;
+    final double y = vector.y;
+    final double z = vector.z;
+    return target.set( m00 * x + m10 * y + m20 * z, m01 * x + m11 * y + m21 * z, m02 * x + m12 * y + m22 * z );
+  }
+
+  /**
+   * Fill the specified target with the matrix components starting at the specified offset.
+   * The components are emitted in column-major form.
+   *
+   * @param target the array in which to store the matrix components. The target must be large enough to contain the matrix.
+   * @param offset the offset in the target array to start storing the matrix components.
+   * @return the matrix represented as an array.
+   */
+  @Nonnull
+  public double[] toArray( @Nonnull final double[] target, final int offset )
+  {
+    target[ offset ] = m00;
+    target[ offset + 1 ] = m01;
+    target[ offset + 2 ] = m02;
+    target[ offset + 3 ] = m10;
+    target[ offset + 4 ] = m11;
+    target[ offset + 5 ] = m12;
+    target[ offset + 6 ] = m20;
+    target[ offset + 7 ] = m21;
+    target[ offset + 8 ] = m22;
+    return target;
+  }
+
+  /**
+   * Fill the specified target with the matrix components.
+   * The components are emitted in column-major form.
+   *
+   * @param target the array in which to store the matrix components. The target must be large enough to contain the matrix.
+   * @return the matrix represented as an array.
+   */
+  @Nonnull
+  public double[] toArray( @Nonnull final double[] target )
+  {
+    return toArray( target, 0 );
+  }
+
+  /**
+   * Create an array to represent the matrix.
+   * The components are emitted in column-major form.
+   *
+   * @return the matrix represented as an array.
+   */
+  @Nonnull
+  public double[] toArray()
+  {
+    return toArray( new double[ COMPONENTS ] );
+  }
+
+  /**
+   * Fill the specified target with the matrix components narrowed to floats starting at the specified offset.
+   * The components are emitted in column-major form.
+   *
+   * @param target the array in which to store the matrix components. The target must be large enough to contain the matrix.
+   * @param offset the offset in the target array to start storing the matrix components.
+   * @return the matrix represented as an array.
+   */
+  @Nonnull
+  public float[] toArray( @Nonnull final float[] target, final int offset )
+  {
+    target[ offset ] = (float) m00;
+    target[ offset + 1 ] = (float) m01;
+    target[ offset + 2 ] = (float) m02;
+    target[ offset + 3 ] = (float) m10;
+    target[ offset + 4 ] = (float) m11;
+    target[ offset + 5 ] = (float) m12;
+    target[ offset + 6 ] = (float) m20;
+    target[ offset + 7 ] = (float) m21;
+    target[ offset + 8 ] = (float) m22;
+    return target;
+  }
+
+  /**
+   * Fill the specified target with the matrix components narrowed to floats.
+   * The components are emitted in column-major form.
+   *
+   * @param target the array in which to store the matrix components. The target must be large enough to contain the matrix.
+   * @return the matrix represented as an array.
+   */
+  @Nonnull
+  public float[] toArray( @Nonnull final float[] target )
+  {
+    return toArray( target, 0 );
+  }
+
+  /**
+   * Returns true if the other matrix has components with the same values.
+   *
+   * @param other the other matrix.
+   * @return true if the other matrix has components with the same values, otherwise false.
+   */
+  public boolean isEqualTo( @Nonnull final Matrix3d other )
+  {
+    return
+      m00 == other.m00 && m01 == other.m01 && m02 == other.m02 &&
+      m10 == other.m10 && m11 == other.m11 && m12 == other.m12 &&
+      m20 == other.m20 && m21 == other.m21 && m22 == other.m22;
+  }
+
+  /**
+   * Returns true if every component of the other matrix differs from the corresponding component of this matrix
+   * by no more than the specified tolerance.
+   *
+   * @param other   the other matrix.
+   * @param epsilon the maximum absolute difference between corresponding components.
+   * @return true if the matrices are equal within the specified tolerance, otherwise false.
+   */
+  public boolean isEqualTo( @Nonnull final Matrix3d other, final double epsilon )
+  {
+    return VecmathUtil.isEqualTo( m00, other.m00, epsilon ) &&
+           VecmathUtil.isEqualTo( m01, other.m01, epsilon ) &&
+           VecmathUtil.isEqualTo( m02, other.m02, epsilon ) &&
+           VecmathUtil.isEqualTo( m10, other.m10, epsilon ) &&
+           VecmathUtil.isEqualTo( m11, other.m11, epsilon ) &&
+           VecmathUtil.isEqualTo( m12, other.m12, epsilon ) &&
+           VecmathUtil.isEqualTo( m20, other.m20, epsilon ) &&
+           VecmathUtil.isEqualTo( m21, other.m21, epsilon ) &&
+           VecmathUtil.isEqualTo( m22, other.m22, epsilon );
+  }
+
+  /**
+   * Returns a string representation of the matrix.
+   * The string is in column-major form. See {@link Matrix4d#asColumnMajorString()}.
+   *
+   * @return a string representation of the matrix.
+   */
+  @Nonnull
+  public String asString()
+  {
+    return
+      m00 + " " + m10 + " " + m20 + "\n" +
+      m01 + " " + m11 + " " + m21 + "\n" +
+      m02 + " " + m12 + " " + m22 + "\n";
+  }
+
+  @Override
+  public int hashCode()
+  {
+    if ( Vecmath.isObjectEqualsImplemented() )
+    {
+      int hash = 1;
+      hash = VecmathUtil.hash( hash, m00 );
+      hash = VecmathUtil.hash( hash, m01 );
+      hash = VecmathUtil.hash( hash, m02 );
+      hash = VecmathUtil.hash( hash, m10 );
+      hash = VecmathUtil.hash( hash, m11 );
+      hash = VecmathUtil.hash( hash, m12 );
+      hash = VecmathUtil.hash( hash, m20 );
+      hash = VecmathUtil.hash( hash, m21 );
+      hash = VecmathUtil.hash( hash, m22 );
+      return hash;
+    }
+    else
+    {
+      return super.hashCode();
+    }
+  }
+
+  /**
+   * Returns true if the specified object is the same type and has components with the same values.
+   * This method only produces a useful representation if {@link Vecmath#isObjectEqualsImplemented()}
+   * returns <code>true</code>.
+   *
+   * @param o the object.
+   * @return true if the specified object is the same type and has components with the same values, otherwise false.
+   */
+  @Override
+  public boolean equals( final Object o )
+  {
+    return Vecmath.isObjectEqualsImplemented() ? o instanceof Matrix3d && isEqualTo( (Matrix3d) o ) : super.equals( o );
+  }
+
+  /**
+   * Returns a string representation of the matrix.
+   * This method only produces a useful representation if {@link Vecmath#isDebugToStringEnabled()}
+   * returns <code>true</code>.
+   *
+   * @return a string representation of the object.
+   */
+  @OmitSymbol( unless = "vecmath.isDebugToStringEnabled" )
+  @Override
+  public String toString()
+  {
+    return Vecmath.isDebugToStringEnabled() ? asString() : super.toString();
+  }
+}
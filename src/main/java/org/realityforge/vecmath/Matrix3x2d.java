@@ -0,0 +1,686 @@
+package org.realityforge.vecmath;
+
+import grim.annotations.OmitSymbol;
+import javax.annotation.Nonnull;
+
+/**
+ * A 3x2-dimensional, double-precision, floating-point matrix representing a 2-dimensional affine transformation.
+ * The type stores the six components of a 3x3 matrix whose last row is <code>0 0 1</code> and is used to transform
+ * {@link Vector2d} values without the cost of a {@link Matrix4d}. The components use the same naming and the
+ * operations use the same conventions as {@link Matrix4d} restricted to the x and y axes, where the
+ * <code>m20</code> and <code>m21</code> components hold the translation.
+ *
+ * <p>If the matrix was laid out in row-major form it looks like:</p>
+ * <pre>
+ * m00  m01
+ * m10  m11
+ * m20  m21
+ * </pre>
+ *
+ * <p>If the matrix was laid out in column-major form it looks like:</p>
+ * <pre>
+ * m00  m10  m20
+ * m01  m11  m21
+ * </pre>
+ *
+ * <p>The equivalent {@link Matrix4d} can be obtained via {@link Matrix4d#set(Matrix3x2d)}.</p>
+ */
+public final class Matrix3x2d
+{
+  /**
+   * The number of components in the {@code Matrix3x2d}.
+   */
+  public static final int COMPONENTS = 6;
+  /**
+   * The number of bits used to represent a {@code Matrix3x2d} value.
+   */
+  public static final int SIZE = Double.SIZE * COMPONENTS;
+  /**
+   * The number of bytes used to represent a {@code Matrix3x2d} value.
+   */
+  public static final int BYTES = Double.BYTES * COMPONENTS;
+  public double m00;
+  public double m01;
+  public double m10;
+  public double m11;
+  public double m20;
+  public double m21;
+
+  /**
+   * Create a new matrix representing the identity matrix.
+   */
+  public Matrix3x2d()
+  {
+    m00 = m11 = 1;
+  }
+
+  /**
+   * Create a new matrix with the specified components.
+   *
+   * @param m00 the m00 component.
+   * @param m01 the m01 component.
+   * @param m10 the m10 component.
+   * @param m11 the m11 component.
+   * @param m20 the m20 component.
+   * @param m21 the m21 component.
+   */
+  public Matrix3x2d( final double m00, final double m10, final double m20,
+                     final double m01, final double m11, final double m21 )
+  {
+    this.m00 = m00;
+    this.m10 = m10;
+    this.m20 = m20;
+    this.m01 = m01;
+    this.m11 = m11;
+    this.m21 = m21;
+  }
+
+  /**
+   * Create a new matrix from the other matrix.
+   *
+   * @param other the other matrix.
+   */
+  public Matrix3x2d( @Nonnull final Matrix3x2d other )
+  {
+    this( other.m00, other.m10, other.m20, other.m01, other.m11, other.m21 );
+  }
+
+  /**
+   * Duplicate the matrix.
+   *
+   * @return a new matrix with the same component values as the current matrix.
+   */
+  @Nonnull
+  public Matrix3x2d dup()
+  {
+    return new Matrix3x2d( this );
+  }
+
+  /**
+   * Set the components of this matrix to the components in the other matrix.
+   *
+   * @param other the other matrix.
+   * @return this
+   */
+  @Nonnull
+  public Matrix3x2d set( @Nonnull final Matrix3x2d other )
+  {
+    return set( other.m00, other.m10, other.m20, other.m01, other.m11, other.m21 );
+  }
+
+  /**
+   * Set the components of this matrix to the specified components.
+   *
+   * @param m00 the m00 component.
+   * @param m01 the m01 component.
+   * @param m10 the m10 component.
+   * @param m11 the m11 component.
+   * @param m20 the m20 component.
+   * @param m21 the m21 component.
+   * @return this
+   */
+  @Nonnull
+  public Matrix3x2d set( final double m00, final double m10, final double m20,
+                         final double m01, final double m11, final double m21 )
+  {
+    this.m00 = m00;
+    this.m10 = m10;
+    this.m20 = m20;
+    this.m01 = m01;
+    this.m11 = m11;
+    this.m21 = m21;
+    return this;
+  }
+
+  /**
+   * Set the matrix to the identity matrix.
+   *
+   * @return this
+   */
+  @Nonnull
+  public Matrix3x2d setIdentity()
+  {
+    return set(
+      1, 0, 0,
+      0, 1, 0
+    );
+  }
+
+  /**
+   * Set the matrix to the translation matrix.
+   * The matrix is:
+   *
+   * <pre>
+   * 1 0 x
+   * 0 1 y
+   * </pre>
+   *
+   * @param x the translation in x.
+   * @param y the translation in y.
+   * @return this
+   */
+  @Nonnull
+  public Matrix3x2d setTranslation( final double x, final double y )
+  {
+    return set(
+      1, 0, x,
+      0, 1, y
+    );
+  }
+
+  /**
+   * Apply a translation to this matrix by the specified units.
+   * This is equivalent to multiplying this matrix by the matrix:
+   *
+   * <pre>
+   * 1 0 x
+   * 0 1 y
+   * </pre>
+   *
+   * @param x the translation in x.
+   * @param y the translation in y.
+   * @return this
+   */
+  @Nonnull
+  public Matrix3x2d translate( final double x, final double y )
+  {
+    m20 = m00 * x + m10 * y + m20;
+    m21 = m01 * x + m11 * y + m21;
+    return this;
+  }
+
+  /**
+   * Apply a translation to this matrix by the specified vector.
+   * See {@link #translate(double, double)} for a more detail explanation.
+   *
+   * @param vector the translation vector.
+   * @return this
+   */
+  @Nonnull
+  public Matrix3x2d translate( @Nonnull final Vector2d vector )
+  {
+    return translate( vector.x, vector.y );
+  }
+
+  /**
+   * Set the matrix to a uniform scaling matrix.
+   *
+   * @param k the uniform scaling applied to all dimensions.
+   * @return this
+   */
+  @Nonnull
+  public Matrix3x2d setScale( final double k )
+  {
+    return setScale( k, k );
+  }
+
+  /**
+   * Set the matrix to the scaling matrix.
+   * The matrix is:
+   *
+   * <pre>
+   * x 0 0
+   * 0 y 0
+   * </pre>
+   *
+   * @param x the scaling in x.
+   * @param y the scaling in y.
+   * @return this
+   */
+  @Nonnull
+  public Matrix3x2d setScale( final double x, final double y )
+  {
+    return set(
+      x, 0, 0,
+      0, y, 0
+    );
+  }
+
+  /**
+   * Apply a scaling transformation to this matrix by the specified units.
+   * This has the same semantics as {@link Matrix4d#scale(double, double, double)} and so also scales the translation.
+   *
+   * @param x the scaling in x.
+   * @param y the scaling in y.
+   * @return this
+   */
+  @Nonnull
+  public Matrix3x2d scale( final double x, final double y )
+  {
+    m00 *= x;
+    m10 *= x;
+    m20 *= x;
+    m01 *= y;
+    m11 *= y;
+    m21 *= y;
+    return this;
+  }
+
+  /**
+   * Apply a uniform scaling transformation to this matrix.
+   * See {@link #scale(double, double)} for a more detail explanation.
+   *
+   * @param k the uniform scaling applied to all dimensions.
+   * @return this
+   */
+  @Nonnull
+  public Matrix3x2d scale( final double k )
+  {
+    return scale( k, k );
+  }
+
+  /**
+   * Set the matrix to a rotation by the specified amount of radians.
+   *
+   * @param angleInRadians the angle in radians
+   * @return this
+   */
+  @Nonnull
+  public Matrix3x2d setRotation( final double angleInRadians )
+  {
+    final double sin = Math.sin( angleInRadians );
+    final double cos = Math.cos( angleInRadians );
+    return set(
+      cos, -sin, 0,
+      sin, cos, 0
+    );
+  }
+
+  /**
+   * Apply a rotation by the specified amount of radians.
+   * This has the same semantics as {@link Matrix4d#rotateZ(double)}.
+   *
+   * @param angleInRadians the angle in radians
+   * @return this
+   */
+  @Nonnull
+  public Matrix3x2d rotate( final double angleInRadians )
+  {
+    final double sin = Math.sin( angleInRadians );
+    final double cos = Math.cos( angleInRadians );
+    final double nm00 = m00 * cos + m10 * sin;
+    final double nm01 = m01 * cos + m11 * sin;
+    m10 = m00 * -sin + m10 * cos;
+    m11 = m01 * -sin + m11 * cos;
+    m00 = nm00;
+    m01 = nm01;
+    return this;
+  }
+
+  /**
+   * Multiply this matrix by the matrix <code>right</code> and store the result in this matrix.
+   * This has the same semantics as {@link Matrix4d#multiply(Matrix4d)}.
+   *
+   * @param right the right operand of the multiplication.
+   * @return this the result of the operation.
+   */
+  @Nonnull
+  public Matrix3x2d multiply( @Nonnull final Matrix3x2d right )
+  {
+    multiply( this, this, right );
+    return this;
+  }
+
+  /**
+   * Multiply the matrix <code>left</code> by the matrix <code>right</code> and place the result in <code>result</code>.
+   * This has the same semantics as {@link Matrix4d#multiply(Matrix4d, Matrix4d, Matrix4d)}.
+   *
+   * @param result the matrix where the result is stored. May be the same instance as the other parameters.
+   * @param left   the left operand of the multiplication.
+   * @param right  the right operand of the multiplication.
+   */
+  public static void multiply( @Nonnull final Matrix3x2d result,
+                               @Nonnull final Matrix3x2d left,
+                               @Nonnull final Matrix3x2d right )
+  {
+    final double a00 = left.m00;
+    final double a01 = left.m01;
+    final double a10 = left.m10;
+    final double a11 = left.m11;
+    final double a20 = left.m20;
+    final double a21 = left.m21;
+
+    final double b00 = right.m00;
+    final double b01 = right.m01;
+    final double b10 = right.m10;
+    final double b11 = right.m11;
+    final double b20 = right.m20;
+    final double b21 = right.m21;
+    result.set( a00 * b00 + a01 * b10,
+                a10 * b00 + a11 * b10,
+                a20 * b00 + a21 * b10 + b20,
+
+                a00 * b01 + a01 * b11,
+                a10 * b01 + a11 * b11,
+                a20 * b01 + a21 * b11 + b21 );
+  }
+
+  /**
+   * Return the determinant of this matrix.
+   *
+   * @return the determinant of this matrix.
+   */
+  public double determinant()
+  {
+    return m00 * m11 - m01 * m10;
+  }
+
+  /**
+   * Invert this matrix.
+   * The result is undefined if the matrix is not invertible.
+   *
+   * @return this
+   */
+  @Nonnull
+  public Matrix3x2d invert()
+  {
+    final double invDet = 1.0 / determinant();
+    final double nm00 = m11 * invDet;
+    final double nm01 = -m01 * invDet;
+    final double nm10 = -m10 * invDet;
+    final double nm11 = m00 * invDet;
+    return set( nm00, nm10, -( nm00 * m20 + nm10 * m21 ),
+                nm01, nm11, -( nm01 * m20 + nm11 * m21 ) );
+  }
+
+  /**
+   * Transform the specified vector by this matrix, treating the vector as a position.
+   * The translation is applied to the vector.
+   *
+   * @param vector the vector to transform.
+   * @return the vector.
+   */
+  @Nonnull
+  public Vector2d transformPosition( @Nonnull final Vector2d vector )
+  {
+    final double x = vector.x;
+    final double y = vector.y;
+    return vector.set( m00 * x + m10 * y + m20, m01 * x + m11 * y + m21 );
+  }
+
+  /**
+   * Transform the specified vector by this matrix, treating the vector as a direction.
+   * The translation is not applied to the vector.
+   *
+   * @param vector the vector to transform.
+   * @return the vector.
+   */
+  @Nonnull
+  public Vector2d transformDirection( @Nonnull final Vector2d vector )
+  {
+    final double x = vector.x;
+    final double y = vector.y;
+    return vector.set( m00 * x + m10 * y, m01 * x + m11 * y );
+  }
+
+  /**
+   * Transform the positions in the specified range of the array in place.
+   * See {@link #transformPosition(Vector2d)} for a more detailed explanation.
+   *
+   * @param vectors the array containing the vectors.
+   * @param offset  the index of the first vector to transform.
+   * @param count   the number of vectors to transform.
+   * @return the array.
+   */
+  @Nonnull
+  public Vector2d[] transformPositions( @Nonnull final Vector2d[] vectors, final int offset, final int count )
+  {
+    assert offset + count <= vectors.length;
+    final double m00 = this.m00;
+    final double m01 = this.m01;
+    final double m10 = this.m10;
+    final double m11 = this.m11;
+    final double m20 = this.m20;
+    final double m21 = this.m21;
+    for ( int i = offset, end = offset + count; i < end; i++ )
+    {
+      final Vector2d vector = vectors[ i ];
+      final double x = vector.x;
+      final double y = vector.y;
+      vector.x = m00 * x + m10 * y + m20;
+      vector.y = m01 * x + m11 * y + m21;
+    }
+    return vectors;
+  }
+
+  /**
+   * Transform every position in the specified array in place.
+   * See {@link #transformPosition(Vector2d)} for a more detailed explanation.
+   *
+   * @param vectors the array containing the vectors.
+   * @return the array.
+   */
+  @Nonnull
+  public Vector2d[] transformPositions( @Nonnull final Vector2d[] vectors )
+  {
+    return transformPositions( vectors, 0, vectors.length );
+  }
+
+  /**
+   * Transform the positions in <code>source</code> by this matrix and store the results in <code>target</code>.
+   * The source and target may be the same array to transform in place.
+   *
+   * @param source the array containing the source vectors.
+   * @param target the array in which to store the transformed vectors. Must be the same size as the source array.
+   * @return the target array.
+   */
+  @Nonnull
+  public Vector2dArray transformPositions( @Nonnull final Vector2dArray source, @Nonnull final Vector2dArray target )
+  {
+    assert source.size() == target.size();
+    final double m00 = this.m00;
+    final double m01 = this.m01;
+    final double m10 = this.m10;
+    final double m11 = this.m11;
+    final double m20 = this.m20;
+    final double m21 = this.m21;
+    final double[] sx = source.x;
+    final double[] sy = source.y;
+    final double[] tx = target.x;
+    final double[] ty = target.y;
+    final int size = sx.length;
+    for ( int i = 0; i < size; i++ )
+    {
+      final double x = sx[ i ];
+      final double y = sy[ i ];
+      tx[ i ] = m00 * x + m10 * y + m20;
+      ty[ i ] = m01 * x + m11 * y + m21;
+    }
+    return target;
+  }
+
+  /**
+   * Transform the packed 2-component positions in <code>source</code> by this matrix and store the results in <code>target</code>.
+   * The source and target may be the same array and the same region to transform in place.
+   *
+   * @param source       the array containing the source components.
+   * @param sourceOffset the offset of the first component of the first element in the source array.
+   * @param sourceStride the number of array elements between the start of consecutive elements in the source array. Must be at least 2.
+   * @param target       the array in which to store the transformed components.
+   * @param targetOffset the offset of the first component of the first element in the target array.
+   * @param targetStride the number of array elements between the start of consecutive elements in the target array. Must be at least 2.
+   * @param count        the number of elements to transform.
+   * @return the target array.
+   */
+  @Nonnull
+  public double[] transformPositions( @Nonnull final double[] source,
+                                      final int sourceOffset,
+                                      final int sourceStride,
+                                      @Nonnull final double[] target,
+                                      final int targetOffset,
+                                      final int targetStride,
+                                      final int count )
+  {
+    assert sourceStride >= 2;
+    assert targetStride >= 2;
+    final double m00 = this.m00;
+    final double m01 = this.m01;
+    final double m10 = this.m10;
+    final double m11 = this.m11;
+    final double m20 = this.m20;
+    final double m21 = this.m21;
+    for ( int i = 0, s = sourceOffset, t = targetOffset; i < count; i++, s += sourceStride, t += targetStride )
+    {
+      final double x = source[ s ];
+      final double y = source[ s + 1 ];
+      target[ t ] = m00 * x + m10 * y + m20;
+      target[ t + 1 ] = m01 * x + m11 * y + m21;
+    }
+    return target;
+  }
+
+  /**
+   * Transform the packed 2-component elements in the specified array in place.
+   * See {@link #transformPositions(double[], int, int, double[], int, int, int)} for a more detailed explanation.
+   *
+   * @param data   the array containing the components.
+   * @param offset the offset of the first component of the first element in the array.
+   * @param stride the number of array elements between the start of consecutive elements. Must be at least 2.
+   * @param count  the number of elements to transform.
+   * @return the data array.
+   */
+  @Nonnull
+  public double[] transformPositions( @Nonnull final double[] data, final int offset, final int stride, final int count )
+  {
+    return transformPositions( data, offset, stride, data, offset, stride, count );
+  }
+
+  /**
+   * Fill the specified target with the matrix components starting at the specified offset.
+   * The components are emitted in column-major form.
+   *
+   * @param target the array in which to store the matrix components. The target must be large enough to contain the matrix.
+   * @param offset the offset in the target array to start storing the matrix components.
+   * @return the matrix represented as an array.
+   */
+  @Nonnull
+  public double[] toArray( @Nonnull final double[] target, final int offset )
+  {
+    target[ offset ] = m00;
+    target[ offset + 1 ] = m01;
+    target[ offset + 2 ] = m10;
+    target[ offset + 3 ] = m11;
+    target[ offset + 4 ] = m20;
+    target[ offset + 5 ] = m21;
+    return target;
+  }
+
+  /**
+   * Fill the specified target with the matrix components.
+   * The components are emitted in column-major form.
+   *
+   * @param target the array in which to store the matrix components. The target must be large enough to contain the matrix.
+   * @return the matrix represented as an array.
+   */
+  @Nonnull
+  public double[] toArray( @Nonnull final double[] target )
+  {
+    return toArray( target, 0 );
+  }
+
+  /**
+   * Create an array to represent the matrix.
+   * The components are emitted in column-major form.
+   *
+   * @return the matrix represented as an array.
+   */
+  @Nonnull
+  public double[] toArray()
+  {
+    return toArray( new double[ COMPONENTS ] );
+  }
+
+  /**
+   * Returns true if the other matrix has components with the same values.
+   *
+   * @param other the other matrix.
+   * @return true if the other matrix has components with the same values, otherwise false.
+   */
+  public boolean isEqualTo( @Nonnull final Matrix3x2d other )
+  {
+    return
+      m00 == other.m00 && m01 == other.m01 &&
+      m10 == other.m10 && m11 == other.m11 &&
+      m20 == other.m20 && m21 == other.m21;
+  }
+
+  /**
+   * Returns true if every component of the other matrix differs from the corresponding component of this matrix
+   * by no more than the specified tolerance.
+   *
+   * @param other   the other matrix.
+   * @param epsilon the maximum absolute difference between corresponding components.
+   * @return true if the matrices are equal within the specified tolerance, otherwise false.
+   */
+  public boolean isEqualTo( @Nonnull final Matrix3x2d other, final double epsilon )
+  {
+    return VecmathUtil.isEqualTo( m00, other.m00, epsilon ) &&
+           VecmathUtil.isEqualTo( m01, other.m01, epsilon ) &&
+           VecmathUtil.isEqualTo( m10, other.m10, epsilon ) &&
+           VecmathUtil.isEqualTo( m11, other.m11, epsilon ) &&
+           VecmathUtil.isEqualTo( m20, other.m20, epsilon ) &&
+           VecmathUtil.isEqualTo( m21, other.m21, epsilon );
+  }
+
+  /**
+   * Returns a string representation of the matrix.
+   * The string is in column-major form. See {@link Matrix4d#asColumnMajorString()}.
+   *
+   * @return a string representation of the matrix.
+   */
+  @Nonnull
+  public String asString()
+  {
+    return
+      m00 + " " + m10 + " " + m20 + "\n" +
+      m01 + " " + m11 + " " + m21 + "\n";
+  }
+
+  @Override
+  public int hashCode()
+  {
+    if ( Vecmath.isObjectEqualsImplemented() )
+    {
+      int hash = 1;
+      hash = VecmathUtil.hash( hash, m00 );
+      hash = VecmathUtil.hash( hash, m01 );
+      hash = VecmathUtil.hash( hash, m10 );
+      hash = VecmathUtil.hash( hash, m11 );
+      hash = VecmathUtil.hash( hash, m20 );
+      hash = VecmathUtil.hash( hash, m21 );
+      return hash;
+    }
+    else
+    {
+      return super.hashCode();
+    }
+  }
+
+  /**
+   * Returns true if the specified object is the same type and has components with the same values.
+   * This method only produces a useful representation if {@link Vecmath#isObjectEqualsImplemented()}
+   * returns <code>true</code>.
+   *
+   * @param o the object.
+   * @return true if the specified object is the same type and has components with the same values, otherwise false.
+   */
+  @Override
+  public boolean equals( final Object o )
+  {
+    return Vecmath.isObjectEqualsImplemented() ? o instanceof Matrix3x2d && isEqualTo( (Matrix3x2d) o ) : super.equals( o );
+  }
+
+  /**
+   * Returns a string representation of the matrix.
+   * This method only produces a useful representation if {@link Vecmath#isDebugToStringEnabled()}
+   * returns <code>true</code>.
+   *
+   * @return a string representation of the object.
+   */
+  @OmitSymbol( unless = "vecmath.isDebugToStringEnabled" )
+  @Override
+  public String toString()
+  {
+    return Vecmath.isDebugToStringEnabled() ? asString() : super.toString();
+  }
+}
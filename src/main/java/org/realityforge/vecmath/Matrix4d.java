@@ -1,7 +1,6 @@
 package org.realityforge.vecmath;
 
 import grim.annotations.OmitSymbol;
-import java.util.Objects;
 import javax.annotation.Nonnull;
 
 /**
@@ -22,6 +21,16 @@ import javax.annotation.Nonnull;
  * m02  m12  m22  m32
  * m03  m13  m23  m33
  * </pre>
+ *
+ * <p>The matrix tracks a set of properties (See {@link #properties()}) that are likely to hold for the matrix.
+ * The properties are maintained by the methods on the matrix and are used as a hint to select cheaper
+ * algorithms in operations such as {@link #multiply(Matrix4d, Matrix4d, Matrix4d)} and {@link #invert()}.
+ * A cheaper algorithm is only selected after the components that it relies upon have been checked, so
+ * modifying the components of the matrix directly produces correct results but may disable the cheaper
+ * algorithms until {@link #determineProperties()} is invoked.</p>
+ *
+ * <p>The matrix also maintains a modification version (See {@link #version()}) that changes whenever the
+ * matrix is modified and is used to detect when values derived from the matrix need to be recomputed.</p>
  */
 public final class Matrix4d
 {
@@ -49,6 +58,26 @@ public final class Matrix4d
    * such as WebGL or WebGPU.
    */
   public static final int FLOAT_BYTES = Float.BYTES * COMPONENTS;
+  /**
+   * Property flag indicating that the matrix is the identity matrix.
+   */
+  public static final int PROPERTY_IDENTITY = 1;
+  /**
+   * Property flag indicating that the matrix only represents a translation.
+   * i.e. The upper-left 3x3 part of the matrix is the identity matrix and the last row is <code>0 0 0 1</code>.
+   */
+  public static final int PROPERTY_TRANSLATION = 1 << 1;
+  /**
+   * Property flag indicating that the matrix is an affine matrix.
+   * i.e. The last row of the matrix is <code>0 0 0 1</code>.
+   */
+  public static final int PROPERTY_AFFINE = 1 << 2;
+  /**
+   * Property flag indicating that the matrix has the form of a perspective projection matrix
+   * as created by {@link #setPerspective(double, double, double, double)}. i.e. The only components that
+   * may be non-zero are <code>m00</code>, <code>m11</code>, <code>m22</code>, <code>m23</code> and <code>m32</code>.
+   */
+  public static final int PROPERTY_PERSPECTIVE = 1 << 3;
   public double m00;
   public double m01;
   public double m02;
@@ -65,6 +94,14 @@ public final class Matrix4d
   public double m31;
   public double m32;
   public double m33;
+  /**
+   * The PROPERTY_* flags that are known to hold for the matrix.
+   */
+  private int _properties;
+  /**
+   * A counter that is incremented every time the matrix is modified.
+   */
+  private int _version;
 
   /**
    * Create a new matrix representing the identity matrix.
@@ -72,6 +109,7 @@ public final class Matrix4d
   public Matrix4d()
   {
     m00 = m11 = m22 = m33 = 1;
+    _properties = PROPERTY_IDENTITY | PROPERTY_TRANSLATION | PROPERTY_AFFINE;
   }
 
   /**
@@ -115,6 +153,7 @@ public final class Matrix4d
     this.m13 = m13;
     this.m23 = m23;
     this.m33 = m33;
+    _properties = computeProperties();
   }
 
   /**
@@ -140,6 +179,7 @@ public final class Matrix4d
     m13 = other.m13;
     m23 = other.m23;
     m33 = other.m33;
+    _properties = other._properties;
   }
 
   /**
@@ -178,9 +218,35 @@ public final class Matrix4d
     m13 = other.m13;
     m23 = other.m23;
     m33 = other.m33;
+    _properties = other._properties;
+    _version++;
     return this;
   }
 
+  /**
+   * Set this matrix to the 3-dimensional equivalent of the specified 2-dimensional affine matrix.
+   * The x and y axes are transformed by the specified matrix and the z axis is left unchanged.
+   * The matrix is:
+   *
+   * <pre>
+   * m00 m10 0 m20
+   * m01 m11 0 m21
+   * 0   0   1 0
+   * 0   0   0 1
+   * </pre>
+   *
+   * @param other the 2-dimensional matrix.
+   * @return this
+   */
+  @Nonnull
+  public Matrix4d set( @Nonnull final Matrix3x2d other )
+  {
+    return set( other.m00, other.m10, 0, other.m20,
+                other.m01, other.m11, 0, other.m21,
+                0, 0, 1, 0,
+                0, 0, 0, 1 );
+  }
+
   /**
    * Set the components of this matrix to the specified components.
    *
@@ -207,6 +273,24 @@ public final class Matrix4d
                        final double m01, final double m11, final double m21, final double m31,
                        final double m02, final double m12, final double m22, final double m32,
                        final double m03, final double m13, final double m23, final double m33 )
+  {
+    return assign( m00, m10, m20, m30,
+                   m01, m11, m21, m31,
+                   m02, m12, m22, m32,
+                   m03, m13, m23, m33,
+                   0 ).determineProperties();
+  }
+
+  /**
+   * Set the components of this matrix to the specified components and the properties to the specified properties.
+   * The caller is responsible for ensuring that the properties hold for the components.
+   */
+  @Nonnull
+  private Matrix4d assign( final double m00, final double m10, final double m20, final double m30,
+                           final double m01, final double m11, final double m21, final double m31,
+                           final double m02, final double m12, final double m22, final double m32,
+                           final double m03, final double m13, final double m23, final double m33,
+                           final int properties )
   {
     this.m00 = m00;
     this.m10 = m10;
@@ -224,9 +308,85 @@ public final class Matrix4d
     this.m13 = m13;
     this.m23 = m23;
     this.m33 = m33;
+    _properties = properties;
+    _version++;
+    return this;
+  }
+
+  /**
+   * Return the PROPERTY_* flags that are known to hold for this matrix.
+   * A flag that is not present does not mean that the property does not hold, only that it is not known to hold.
+   * The tracked flags are confirmed against the components of the matrix so a flag is never returned for a
+   * property that no longer holds because the components were modified directly.
+   *
+   * @return the PROPERTY_* flags that are known to hold for this matrix.
+   */
+  public int properties()
+  {
+    final int properties = _properties;
+    // The components are public so the tracked flags are only a hint until confirmed
+    return 0 == properties ? 0 : properties & computeProperties();
+  }
+
+  /**
+   * Return the modification version of the matrix.
+   * The version is changed by every method that modifies the matrix so that data derived from the matrix,
+   * such as that cached by {@link Matrix4dCache}, can detect when it is stale. Modifying the components
+   * directly does not change the version until {@link #determineProperties()} is invoked. The version of a
+   * new matrix is <code>0</code> and the version wraps around on overflow.
+   *
+   * @return the modification version of the matrix.
+   */
+  public int version()
+  {
+    return _version;
+  }
+
+  /**
+   * Inspect the components of the matrix and recompute the properties of the matrix.
+   * This should be invoked after the components of the matrix are modified directly so that the cheaper
+   * algorithms remain available and so that the modification version is changed.
+   *
+   * @return this
+   */
+  @Nonnull
+  public Matrix4d determineProperties()
+  {
+    _properties = computeProperties();
+    _version++;
     return this;
   }
 
+  private int computeProperties()
+  {
+    if ( 0 == m03 && 0 == m13 && 0 == m23 && 1 == m33 )
+    {
+      if ( 1 == m00 && 0 == m01 && 0 == m02 &&
+           0 == m10 && 1 == m11 && 0 == m12 &&
+           0 == m20 && 0 == m21 && 1 == m22 )
+      {
+        return 0 == m30 && 0 == m31 && 0 == m32 ?
+               PROPERTY_IDENTITY | PROPERTY_TRANSLATION | PROPERTY_AFFINE :
+               PROPERTY_TRANSLATION | PROPERTY_AFFINE;
+      }
+      else
+      {
+        return PROPERTY_AFFINE;
+      }
+    }
+    else if ( 0 == m01 && 0 == m02 && 0 == m03 &&
+              0 == m10 && 0 == m12 && 0 == m13 &&
+              0 == m20 && 0 == m21 &&
+              0 == m30 && 0 == m31 && 0 == m33 )
+    {
+      return PROPERTY_PERSPECTIVE;
+    }
+    else
+    {
+      return 0;
+    }
+  }
+
   /**
    * Set the matrix to the identity matrix.
    *
@@ -235,11 +395,12 @@ public final class Matrix4d
   @Nonnull
   public Matrix4d setIdentity()
   {
-    return set(
+    return assign(
       1, 0, 0, 0,
       0, 1, 0, 0,
       0, 0, 1, 0,
-      0, 0, 0, 1
+      0, 0, 0, 1,
+      PROPERTY_IDENTITY | PROPERTY_TRANSLATION | PROPERTY_AFFINE
     );
   }
 
@@ -262,11 +423,12 @@ public final class Matrix4d
   @Nonnull
   public Matrix4d setTranslation( final double x, final double y, final double z )
   {
-    return set(
+    return assign(
       1, 0, 0, x,
       0, 1, 0, y,
       0, 0, 1, z,
-      0, 0, 0, 1
+      0, 0, 0, 1,
+      PROPERTY_TRANSLATION | PROPERTY_AFFINE
     );
   }
 
@@ -293,6 +455,8 @@ public final class Matrix4d
     m31 = m01 * x + m11 * y + m21 * z + m31;
     m32 = m02 * x + m12 * y + m22 * z + m32;
     m33 = m03 * x + m13 * y + m23 * z + m33;
+    _properties &= PROPERTY_TRANSLATION | PROPERTY_AFFINE;
+    _version++;
     return this;
   }
 
@@ -348,11 +512,12 @@ public final class Matrix4d
   @Nonnull
   public Matrix4d setScale( final double x, final double y, final double z )
   {
-    return set(
+    return assign(
       x, 0, 0, 0,
       0, y, 0, 0,
       0, 0, z, 0,
-      0, 0, 0, 1
+      0, 0, 0, 1,
+      PROPERTY_AFFINE
     );
   }
 
@@ -387,6 +552,8 @@ public final class Matrix4d
     m12 *= z;
     m22 *= z;
     m32 *= z;
+    _properties &= PROPERTY_AFFINE | PROPERTY_PERSPECTIVE;
+    _version++;
     return this;
   }
 
@@ -436,6 +603,8 @@ public final class Matrix4d
     m11 = nm11;
     m12 = nm12;
     m13 = nm13;
+    _properties &= PROPERTY_AFFINE;
+    _version++;
     return this;
   }
 
@@ -464,6 +633,8 @@ public final class Matrix4d
     m01 = nm01;
     m02 = nm02;
     m03 = nm03;
+    _properties &= PROPERTY_AFFINE;
+    _version++;
     return this;
   }
 
@@ -491,9 +662,173 @@ public final class Matrix4d
     m01 = nm01;
     m02 = nm02;
     m03 = nm03;
+    _properties &= PROPERTY_AFFINE;
+    _version++;
     return this;
   }
 
+  /**
+   * Set this matrix to the rotation represented by the specified quaternion.
+   * The quaternion must be a unit quaternion.
+   *
+   * @param rotation the quaternion representing the rotation.
+   * @return this
+   */
+  @Nonnull
+  public Matrix4d setRotation( @Nonnull final Quaterniond rotation )
+  {
+    final double x = rotation.x;
+    final double y = rotation.y;
+    final double z = rotation.z;
+    final double w = rotation.w;
+    final double xx = x * x;
+    final double yy = y * y;
+    final double zz = z * z;
+    final double xy = x * y;
+    final double xz = x * z;
+    final double yz = y * z;
+    final double xw = x * w;
+    final double yw = y * w;
+    final double zw = z * w;
+    return assign( 1.0 - 2.0 * ( yy + zz ), 2.0 * ( xy - zw ), 2.0 * ( xz + yw ), 0,
+                   2.0 * ( xy + zw ), 1.0 - 2.0 * ( xx + zz ), 2.0 * ( yz - xw ), 0,
+                   2.0 * ( xz - yw ), 2.0 * ( yz + xw ), 1.0 - 2.0 * ( xx + yy ), 0,
+                   0, 0, 0, 1,
+                   PROPERTY_AFFINE );
+  }
+
+  /**
+   * Apply the rotation represented by the specified quaternion to this matrix.
+   * This is equivalent to multiplying this matrix by the matrix produced by {@link #setRotation(Quaterniond)}
+   * in the same way that {@link #rotateX(double)} applies a rotation about the X axis.
+   * The quaternion must be a unit quaternion.
+   *
+   * @param rotation the quaternion representing the rotation.
+   * @return this
+   */
+  @Nonnull
+  public Matrix4d rotate( @Nonnull final Quaterniond rotation )
+  {
+    final double x = rotation.x;
+    final double y = rotation.y;
+    final double z = rotation.z;
+    final double w = rotation.w;
+    final double xx = x * x;
+    final double yy = y * y;
+    final double zz = z * z;
+    final double xy = x * y;
+    final double xz = x * z;
+    final double yz = y * z;
+    final double xw = x * w;
+    final double yw = y * w;
+    final double zw = z * w;
+    final double r00 = 1.0 - 2.0 * ( yy + zz );
+    final double r01 = 2.0 * ( xy - zw );
+    final double r02 = 2.0 * ( xz + yw );
+    final double r10 = 2.0 * ( xy + zw );
+    final double r11 = 1.0 - 2.0 * ( xx + zz );
+    final double r12 = 2.0 * ( yz - xw );
+    final double r20 = 2.0 * ( xz - yw );
+    final double r21 = 2.0 * ( yz + xw );
+    final double r22 = 1.0 - 2.0 * ( xx + yy );
+
+    final double nm00 = m00 * r00 + m10 * r10 + m20 * r20;
+    final double nm01 = m01 * r00 + m11 * r10 + m21 * r20;
+    final double nm02 = m02 * r00 + m12 * r10 + m22 * r20;
+    final double nm03 = m03 * r00 + m13 * r10 + m23 * r20;
+    final double nm10 = m00 * r01 + m10 * r11 + m20 * r21;
+    final double nm11 = m01 * r01 + m11 * r11 + m21 * r21;
+    final double nm12 = m02 * r01 + m12 * r11 + m22 * r21;
+    final double nm13 = m03 * r01 + m13 * r11 + m23 * r21;
+
+    m20 = m00 * r02 + m10 * r12 + m20 * r22;
+    m21 = m01 * r02 + m11 * r12 + m21 * r22;
+    m22 = m02 * r02 + m12 * r12 + m22 * r22;
+    m23 = m03 * r02 + m13 * r12 + m23 * r22;
+    m00 = nm00;
+    m01 = nm01;
+    m02 = nm02;
+    m03 = nm03;
+    m10 = nm10;
+    m11 = nm11;
+    m12 = nm12;
+    m13 = nm13;
+    _properties &= PROPERTY_AFFINE;
+    _version++;
+    return this;
+  }
+
+  /**
+   * Set this matrix to the transformation that scales, then rotates and then translates.
+   * This produces the same result as
+   * <code>setScale( scale ).multiply( new Matrix4d().setRotation( rotation ) ).multiply( new Matrix4d().setTranslation( translation ) )</code>
+   * but computes the components directly rather than composing each transformation in turn.
+   * The quaternion must be a unit quaternion.
+   *
+   * @param translation the translation.
+   * @param rotation    the quaternion representing the rotation.
+   * @param scale       the scaling in each dimension.
+   * @return this
+   */
+  @Nonnull
+  public Matrix4d setTranslationRotationScale( @Nonnull final Vector3d translation,
+                                               @Nonnull final Quaterniond rotation,
+                                               @Nonnull final Vector3d scale )
+  {
+    return setTranslationRotationScale( translation.x, translation.y, translation.z,
+                                        rotation.x, rotation.y, rotation.z, rotation.w,
+                                        scale.x, scale.y, scale.z );
+  }
+
+  /**
+   * Set this matrix to the transformation that scales, then rotates and then translates.
+   * See {@link #setTranslationRotationScale(Vector3d, Quaterniond, Vector3d)} for a more detail explanation.
+   * The quaternion must be a unit quaternion.
+   *
+   * @param tx the translation in x.
+   * @param ty the translation in y.
+   * @param tz the translation in z.
+   * @param qx the x component of the quaternion representing the rotation.
+   * @param qy the y component of the quaternion representing the rotation.
+   * @param qz the z component of the quaternion representing the rotation.
+   * @param qw the w component of the quaternion representing the rotation.
+   * @param sx the scaling in x.
+   * @param sy the scaling in y.
+   * @param sz the scaling in z.
+   * @return this
+   */
+  @Nonnull
+  public Matrix4d setTranslationRotationScale( final double tx, final double ty, final double tz,
+                                               final double qx, final double qy, final double qz, final double qw,
+                                               final double sx, final double sy, final double sz )
+  {
+    final double xx = qx * qx;
+    final double yy = qy * qy;
+    final double zz = qz * qz;
+    final double xy = qx * qy;
+    final double xz = qx * qz;
+    final double yz = qy * qz;
+    final double xw = qx * qw;
+    final double yw = qy * qw;
+    final double zw = qz * qw;
+    final int properties;
+    if ( 0 == qx && 0 == qy && 0 == qz && 1 == sx && 1 == sy && 1 == sz )
+    {
+      properties = 0 == tx && 0 == ty && 0 == tz ?
+                   PROPERTY_IDENTITY | PROPERTY_TRANSLATION | PROPERTY_AFFINE :
+                   PROPERTY_TRANSLATION | PROPERTY_AFFINE;
+    }
+    else
+    {
+      properties = PROPERTY_AFFINE;
+    }
+    return assign( ( 1.0 - 2.0 * ( yy + zz ) ) * sx, 2.0 * ( xy - zw ) * sy, 2.0 * ( xz + yw ) * sz, tx,
+                   2.0 * ( xy + zw ) * sx, ( 1.0 - 2.0 * ( xx + zz ) ) * sy, 2.0 * ( yz - xw ) * sz, ty,
+                   2.0 * ( xz - yw ) * sx, 2.0 * ( yz + xw ) * sy, ( 1.0 - 2.0 * ( xx + yy ) ) * sz, tz,
+                   0, 0, 0, 1,
+                   properties );
+  }
+
   /**
    * Multiply this matrix by the matrix <code>right</code> and store the result in this matrix.
    *
@@ -509,6 +844,8 @@ public final class Matrix4d
 
   /**
    * Multiply the matrix <code>left</code> by the matrix <code>right</code> and place the result in <code>result</code>.
+   * The properties of the operands are used to select a cheaper algorithm when one or both of the operands
+   * are known to be identity, translation, affine or perspective matrices.
    *
    * @param result the matrix where the result is stored. May be the same instance as the other parameters.
    * @param left   the left operand of the multiplication.
@@ -517,6 +854,49 @@ public final class Matrix4d
   public static void multiply( @Nonnull final Matrix4d result,
                                @Nonnull final Matrix4d left,
                                @Nonnull final Matrix4d right )
+  {
+    final int leftProperties = left.properties();
+    final int rightProperties = right.properties();
+    if ( 0 != ( leftProperties & PROPERTY_IDENTITY ) )
+    {
+      result.set( right );
+    }
+    else if ( 0 != ( rightProperties & PROPERTY_IDENTITY ) )
+    {
+      result.set( left );
+    }
+    else if ( 0 != ( leftProperties & PROPERTY_AFFINE ) )
+    {
+      if ( 0 != ( rightProperties & PROPERTY_TRANSLATION ) )
+      {
+        multiplyAffineByTranslation( result, left, right, leftProperties );
+      }
+      else if ( 0 != ( leftProperties & PROPERTY_TRANSLATION ) && 0 != ( rightProperties & PROPERTY_AFFINE ) )
+      {
+        multiplyTranslationByAffine( result, left, right );
+      }
+      else if ( 0 != ( rightProperties & PROPERTY_AFFINE ) )
+      {
+        multiplyAffine( result, left, right );
+      }
+      else if ( 0 != ( rightProperties & PROPERTY_PERSPECTIVE ) )
+      {
+        multiplyAffineByPerspective( result, left, right );
+      }
+      else
+      {
+        multiplyGeneric( result, left, right );
+      }
+    }
+    else
+    {
+      multiplyGeneric( result, left, right );
+    }
+  }
+
+  private static void multiplyGeneric( @Nonnull final Matrix4d result,
+                                       @Nonnull final Matrix4d left,
+                                       @Nonnull final Matrix4d right )
   {
     final double a00 = left.m00;
     final double a01 = left.m01;
@@ -551,25 +931,322 @@ public final class Matrix4d
     final double b31 = right.m31;
     final double b32 = right.m32;
     final double b33 = right.m33;
-    result.set( a00 * b00 + a01 * b10 + a02 * b20 + a03 * b30,
-                a10 * b00 + a11 * b10 + a12 * b20 + a13 * b30,
-                a20 * b00 + a21 * b10 + a22 * b20 + a23 * b30,
-                a30 * b00 + a31 * b10 + a32 * b20 + a33 * b30,
+    result.assign( a00 * b00 + a01 * b10 + a02 * b20 + a03 * b30,
+                   a10 * b00 + a11 * b10 + a12 * b20 + a13 * b30,
+                   a20 * b00 + a21 * b10 + a22 * b20 + a23 * b30,
+                   a30 * b00 + a31 * b10 + a32 * b20 + a33 * b30,
 
-                a00 * b01 + a01 * b11 + a02 * b21 + a03 * b31,
-                a10 * b01 + a11 * b11 + a12 * b21 + a13 * b31,
-                a20 * b01 + a21 * b11 + a22 * b21 + a23 * b31,
-                a30 * b01 + a31 * b11 + a32 * b21 + a33 * b31,
+                   a00 * b01 + a01 * b11 + a02 * b21 + a03 * b31,
+                   a10 * b01 + a11 * b11 + a12 * b21 + a13 * b31,
+                   a20 * b01 + a21 * b11 + a22 * b21 + a23 * b31,
+                   a30 * b01 + a31 * b11 + a32 * b21 + a33 * b31,
 
-                a00 * b02 + a01 * b12 + a02 * b22 + a03 * b32,
-                a10 * b02 + a11 * b12 + a12 * b22 + a13 * b32,
-                a20 * b02 + a21 * b12 + a22 * b22 + a23 * b32,
-                a30 * b02 + a31 * b12 + a32 * b22 + a33 * b32,
+                   a00 * b02 + a01 * b12 + a02 * b22 + a03 * b32,
+                   a10 * b02 + a11 * b12 + a12 * b22 + a13 * b32,
+                   a20 * b02 + a21 * b12 + a22 * b22 + a23 * b32,
+                   a30 * b02 + a31 * b12 + a32 * b22 + a33 * b32,
 
-                a00 * b03 + a01 * b13 + a02 * b23 + a03 * b33,
-                a10 * b03 + a11 * b13 + a12 * b23 + a13 * b33,
-                a20 * b03 + a21 * b13 + a22 * b23 + a23 * b33,
-                a30 * b03 + a31 * b13 + a32 * b23 + a33 * b33 );
+                   a00 * b03 + a01 * b13 + a02 * b23 + a03 * b33,
+                   a10 * b03 + a11 * b13 + a12 * b23 + a13 * b33,
+                   a20 * b03 + a21 * b13 + a22 * b23 + a23 * b33,
+                   a30 * b03 + a31 * b13 + a32 * b23 + a33 * b33,
+                   0 );
+  }
+
+  /**
+   * Multiply two affine matrices.
+   * The last row of both matrices is <code>0 0 0 1</code> so it is skipped in the calculation.
+   */
+  private static void multiplyAffine( @Nonnull final Matrix4d result,
+                                      @Nonnull final Matrix4d left,
+                                      @Nonnull final Matrix4d right )
+  {
+    final double a00 = left.m00;
+    final double a01 = left.m01;
+    final double a02 = left.m02;
+    final double a10 = left.m10;
+    final double a11 = left.m11;
+    final double a12 = left.m12;
+    final double a20 = left.m20;
+    final double a21 = left.m21;
+    final double a22 = left.m22;
+    final double a30 = left.m30;
+    final double a31 = left.m31;
+    final double a32 = left.m32;
+
+    final double b00 = right.m00;
+    final double b01 = right.m01;
+    final double b02 = right.m02;
+    final double b10 = right.m10;
+    final double b11 = right.m11;
+    final double b12 = right.m12;
+    final double b20 = right.m20;
+    final double b21 = right.m21;
+    final double b22 = right.m22;
+    final double b30 = right.m30;
+    final double b31 = right.m31;
+    final double b32 = right.m32;
+    result.assign( a00 * b00 + a01 * b10 + a02 * b20,
+                   a10 * b00 + a11 * b10 + a12 * b20,
+                   a20 * b00 + a21 * b10 + a22 * b20,
+                   a30 * b00 + a31 * b10 + a32 * b20 + b30,
+
+                   a00 * b01 + a01 * b11 + a02 * b21,
+                   a10 * b01 + a11 * b11 + a12 * b21,
+                   a20 * b01 + a21 * b11 + a22 * b21,
+                   a30 * b01 + a31 * b11 + a32 * b21 + b31,
+
+                   a00 * b02 + a01 * b12 + a02 * b22,
+                   a10 * b02 + a11 * b12 + a12 * b22,
+                   a20 * b02 + a21 * b12 + a22 * b22,
+                   a30 * b02 + a31 * b12 + a32 * b22 + b32,
+
+                   0, 0, 0, 1,
+                   PROPERTY_AFFINE );
+  }
+
+  /**
+   * Multiply an affine matrix by a translation matrix.
+   * The upper-left 3x3 part of the result is the upper-left 3x3 part of the <code>left</code> matrix
+   * and the translations are summed.
+   */
+  private static void multiplyAffineByTranslation( @Nonnull final Matrix4d result,
+                                                   @Nonnull final Matrix4d left,
+                                                   @Nonnull final Matrix4d right,
+                                                   final int leftProperties )
+  {
+    result.assign( left.m00, left.m10, left.m20, left.m30 + right.m30,
+                   left.m01, left.m11, left.m21, left.m31 + right.m31,
+                   left.m02, left.m12, left.m22, left.m32 + right.m32,
+                   0, 0, 0, 1,
+                   leftProperties & PROPERTY_TRANSLATION | PROPERTY_AFFINE );
+  }
+
+  /**
+   * Multiply a translation matrix by an affine matrix.
+   * The upper-left 3x3 part of the result is the upper-left 3x3 part of the <code>right</code> matrix
+   * and the translation of the <code>left</code> matrix is transformed by the <code>right</code> matrix.
+   */
+  private static void multiplyTranslationByAffine( @Nonnull final Matrix4d result,
+                                                   @Nonnull final Matrix4d left,
+                                                   @Nonnull final Matrix4d right )
+  {
+    final double a30 = left.m30;
+    final double a31 = left.m31;
+    final double a32 = left.m32;
+    result.assign( right.m00, right.m10, right.m20, a30 * right.m00 + a31 * right.m10 + a32 * right.m20 + right.m30,
+                   right.m01, right.m11, right.m21, a30 * right.m01 + a31 * right.m11 + a32 * right.m21 + right.m31,
+                   right.m02, right.m12, right.m22, a30 * right.m02 + a31 * right.m12 + a32 * right.m22 + right.m32,
+                   0, 0, 0, 1,
+                   PROPERTY_AFFINE );
+  }
+
+  /**
+   * Multiply an affine matrix by a perspective projection matrix.
+   * Most of the components of the perspective matrix are zero and are skipped in the calculation.
+   */
+  private static void multiplyAffineByPerspective( @Nonnull final Matrix4d result,
+                                                   @Nonnull final Matrix4d left,
+                                                   @Nonnull final Matrix4d right )
+  {
+    final double b00 = right.m00;
+    final double b11 = right.m11;
+    final double b22 = right.m22;
+    final double b23 = right.m23;
+    final double b32 = right.m32;
+    result.assign( left.m00 * b00, left.m10 * b00, left.m20 * b00, left.m30 * b00,
+                   left.m01 * b11, left.m11 * b11, left.m21 * b11, left.m31 * b11,
+                   left.m02 * b22, left.m12 * b22, left.m22 * b22, left.m32 * b22 + b32,
+                   left.m02 * b23, left.m12 * b23, left.m22 * b23, left.m32 * b23,
+                   0 );
+  }
+
+  /**
+   * Transpose this matrix.
+   *
+   * @return this
+   */
+  @Nonnull
+  public Matrix4d transpose()
+  {
+    return set( m00, m01, m02, m03,
+                m10, m11, m12, m13,
+                m20, m21, m22, m23,
+                m30, m31, m32, m33 );
+  }
+
+  /**
+   * Return the determinant of this matrix.
+   *
+   * @return the determinant of this matrix.
+   * @see <a href="https://github.com/JOML-CI/JOML/blob/main/src/org/joml/Matrix4d.java">Derived from equivalent in org.joml.Matrix4d</a>
+   */
+  public double determinant()
+  {
+    if ( 0 != ( properties() & PROPERTY_AFFINE ) )
+    {
+      return m00 * ( m11 * m22 - m12 * m21 ) + m01 * ( m12 * m20 - m10 * m22 ) + m02 * ( m10 * m21 - m11 * m20 );
+    }
+    return ( m00 * m11 - m01 * m10 ) * ( m22 * m33 - m23 * m32 )
+           + ( m02 * m10 - m00 * m12 ) * ( m21 * m33 - m23 * m31 )
+           + ( m00 * m13 - m03 * m10 ) * ( m21 * m32 - m22 * m31 )
+           + ( m01 * m12 - m02 * m11 ) * ( m20 * m33 - m23 * m30 )
+           + ( m03 * m11 - m01 * m13 ) * ( m20 * m32 - m22 * m30 )
+           + ( m02 * m13 - m03 * m12 ) * ( m20 * m31 - m21 * m30 );
+  }
+
+  /**
+   * Invert this matrix.
+   * This method works for any invertible matrix. The properties of the matrix are used to select
+   * a cheaper algorithm for identity, translation and affine matrices. If the matrix is known to be
+   * rigid then {@link #invertRigid()} produces the same result with less work.
+   * The result is undefined if the matrix is not invertible.
+   *
+   * @return this
+   * @see <a href="https://github.com/JOML-CI/JOML/blob/main/src/org/joml/Matrix4d.java">Derived from equivalent in org.joml.Matrix4d</a>
+   */
+  @Nonnull
+  public Matrix4d invert()
+  {
+    final int properties = properties();
+    if ( 0 != ( properties & PROPERTY_IDENTITY ) )
+    {
+      return this;
+    }
+    else if ( 0 != ( properties & PROPERTY_TRANSLATION ) )
+    {
+      m30 = -m30;
+      m31 = -m31;
+      m32 = -m32;
+      _version++;
+      return this;
+    }
+    else if ( 0 != ( properties & PROPERTY_AFFINE ) )
+    {
+      return invertAffine();
+    }
+    final double a = m00 * m11 - m01 * m10;
+    final double b = m00 * m12 - m02 * m10;
+    final double c = m00 * m13 - m03 * m10;
+    final double d = m01 * m12 - m02 * m11;
+    final double e = m01 * m13 - m03 * m11;
+    final double f = m02 * m13 - m03 * m12;
+    final double g = m20 * m31 - m21 * m30;
+    final double h = m20 * m32 - m22 * m30;
+    final double i = m20 * m33 - m23 * m30;
+    final double j = m21 * m32 - m22 * m31;
+    final double k = m21 * m33 - m23 * m31;
+    final double l = m22 * m33 - m23 * m32;
+    final double invDet = 1.0 / ( a * l - b * k + c * j + d * i - e * h + f * g );
+    return assign( ( m11 * l - m12 * k + m13 * j ) * invDet,
+                   ( -m10 * l + m12 * i - m13 * h ) * invDet,
+                   ( m10 * k - m11 * i + m13 * g ) * invDet,
+                   ( -m10 * j + m11 * h - m12 * g ) * invDet,
+
+                   ( -m01 * l + m02 * k - m03 * j ) * invDet,
+                   ( m00 * l - m02 * i + m03 * h ) * invDet,
+                   ( -m00 * k + m01 * i - m03 * g ) * invDet,
+                   ( m00 * j - m01 * h + m02 * g ) * invDet,
+
+                   ( m31 * f - m32 * e + m33 * d ) * invDet,
+                   ( -m30 * f + m32 * c - m33 * b ) * invDet,
+                   ( m30 * e - m31 * c + m33 * a ) * invDet,
+                   ( -m30 * d + m31 * b - m32 * a ) * invDet,
+
+                   ( -m21 * f + m22 * e - m23 * d ) * invDet,
+                   ( m20 * f - m22 * c + m23 * b ) * invDet,
+                   ( -m20 * e + m21 * c - m23 * a ) * invDet,
+                   ( m20 * d - m21 * b + m22 * a ) * invDet,
+                   0 );
+  }
+
+  /**
+   * Invert this matrix assuming that it is an affine matrix.
+   * i.e. The last row of the matrix is <code>0 0 0 1</code>. The upper-left 3x3 part of the matrix
+   * is inverted and the inverted translation is derived from it. The result is undefined if the
+   * matrix is not affine or is not invertible.
+   *
+   * @return this
+   */
+  @Nonnull
+  public Matrix4d invertAffine()
+  {
+    final double c00 = m11 * m22 - m12 * m21;
+    final double c10 = m12 * m20 - m10 * m22;
+    final double c20 = m10 * m21 - m11 * m20;
+    final double invDet = 1.0 / ( m00 * c00 + m01 * c10 + m02 * c20 );
+    final double nm00 = c00 * invDet;
+    final double nm01 = ( m02 * m21 - m01 * m22 ) * invDet;
+    final double nm02 = ( m01 * m12 - m02 * m11 ) * invDet;
+    final double nm10 = c10 * invDet;
+    final double nm11 = ( m00 * m22 - m02 * m20 ) * invDet;
+    final double nm12 = ( m02 * m10 - m00 * m12 ) * invDet;
+    final double nm20 = c20 * invDet;
+    final double nm21 = ( m01 * m20 - m00 * m21 ) * invDet;
+    final double nm22 = ( m00 * m11 - m01 * m10 ) * invDet;
+    return assign( nm00, nm10, nm20, -( nm00 * m30 + nm10 * m31 + nm20 * m32 ),
+                   nm01, nm11, nm21, -( nm01 * m30 + nm11 * m31 + nm21 * m32 ),
+                   nm02, nm12, nm22, -( nm02 * m30 + nm12 * m31 + nm22 * m32 ),
+                   0, 0, 0, 1,
+                   properties() & ( PROPERTY_IDENTITY | PROPERTY_TRANSLATION ) | PROPERTY_AFFINE );
+  }
+
+  /**
+   * Invert this matrix assuming that it is a rigid-body transformation.
+   * i.e. The matrix is composed only of rotations and translations. The rotation is inverted by
+   * transposing the upper-left 3x3 part of the matrix and the inverted translation is derived from it.
+   * The result is undefined if the matrix is not a rigid-body transformation.
+   *
+   * @return this
+   */
+  @Nonnull
+  public Matrix4d invertRigid()
+  {
+    return assign( m00, m01, m02, -( m00 * m30 + m01 * m31 + m02 * m32 ),
+                   m10, m11, m12, -( m10 * m30 + m11 * m31 + m12 * m32 ),
+                   m20, m21, m22, -( m20 * m30 + m21 * m31 + m22 * m32 ),
+                   0, 0, 0, 1,
+                   properties() & ( PROPERTY_IDENTITY | PROPERTY_TRANSLATION ) | PROPERTY_AFFINE );
+  }
+
+  /**
+   * Set this matrix to the normal matrix of this matrix.
+   * The normal matrix is the inverse transpose of the upper-left 3x3 part of the matrix and is used to
+   * transform surface normals so that they remain perpendicular to the surface. The translation is removed
+   * and the last row and column are set to those of the identity matrix. The result is undefined if the
+   * upper-left 3x3 part of the matrix is not invertible.
+   *
+   * @return this
+   * @see <a href="https://github.com/JOML-CI/JOML/blob/main/src/org/joml/Matrix4d.java">Derived from equivalent in org.joml.Matrix4d</a>
+   */
+  @Nonnull
+  public Matrix4d normal()
+  {
+    if ( 0 != ( properties() & ( PROPERTY_IDENTITY | PROPERTY_TRANSLATION ) ) )
+    {
+      return setIdentity();
+    }
+    final double m00m11 = m00 * m11;
+    final double m01m10 = m01 * m10;
+    final double m02m10 = m02 * m10;
+    final double m00m12 = m00 * m12;
+    final double m01m12 = m01 * m12;
+    final double m02m11 = m02 * m11;
+    final double invDet = 1.0 / ( ( m00m11 - m01m10 ) * m22 + ( m02m10 - m00m12 ) * m21 + ( m01m12 - m02m11 ) * m20 );
+    return assign( ( m11 * m22 - m21 * m12 ) * invDet,
+                   ( m21 * m02 - m01 * m22 ) * invDet,
+                   ( m01m12 - m02m11 ) * invDet,
+                   0,
+                   ( m20 * m12 - m10 * m22 ) * invDet,
+                   ( m00 * m22 - m20 * m02 ) * invDet,
+                   ( m02m10 - m00m12 ) * invDet,
+                   0,
+                   ( m10 * m21 - m20 * m11 ) * invDet,
+                   ( m20 * m01 - m00 * m21 ) * invDet,
+                   ( m00m11 - m01m10 ) * invDet,
+                   0,
+                   0, 0, 0, 1,
+                   PROPERTY_AFFINE );
   }
 
   /**
@@ -623,13 +1300,13 @@ public final class Matrix4d
     final double m00 = 2 / ( right - left );
     final double m11 = 2 / ( top - bottom );
     final double m22 = ( zZeroToOne ? 1.0 : 2.0 ) / ( near - far );
-    final double m03 = ( right + left ) / ( right - left );
-    final double m13 = ( top + bottom ) / ( top - bottom );
-    final double m23 = ( zZeroToOne ? near : ( far + near ) ) / ( near - far );
-    return set( m00, 0, 0, 0,
-                0, m11, 0, 0,
-                0, 0, m22, 0,
-                m03, m13, m23, 1 );
+    final double m30 = ( right + left ) / ( left - right );
+    final double m31 = ( top + bottom ) / ( bottom - top );
+    final double m32 = ( zZeroToOne ? near : ( far + near ) ) / ( near - far );
+    return set( m00, 0, 0, m30,
+                0, m11, 0, m31,
+                0, 0, m22, m32,
+                0, 0, 0, 1 );
   }
 
   /**
@@ -651,10 +1328,11 @@ public final class Matrix4d
     assert !Double.isInfinite( zFar );
 
     final double h = Math.tan( fovY * 0.5 );
-    return set( 1 / ( h * aspect ), 0, 0, 0,
-                0, 1.0 / h, 0, 0,
-                0, 0, ( zFar + zNear ) / ( zNear - zFar ), ( zFar + zFar ) * zNear / ( zNear - zFar ),
-                0, 0, -1, 0 );
+    return assign( 1 / ( h * aspect ), 0, 0, 0,
+                   0, 1.0 / h, 0, 0,
+                   0, 0, ( zFar + zNear ) / ( zNear - zFar ), ( zFar + zFar ) * zNear / ( zNear - zFar ),
+                   0, 0, -1, 0,
+                   PROPERTY_PERSPECTIVE );
   }
 
   /**
@@ -751,10 +1429,478 @@ public final class Matrix4d
     final double nm31 = m01 * rm30 + m11 * rm31 + m21 * rm32 + m31;
     final double nm32 = m02 * rm30 + m12 * rm31 + m22 * rm32 + m32;
     final double nm33 = m03 * rm30 + m13 * rm31 + m23 * rm32 + m33;
-    return set( nm00, nm10, nm20, nm30,
-                nm01, nm11, nm21, nm31,
-                nm02, nm12, nm22, nm32,
-                nm03, nm13, nm23, nm33 );
+    return assign( nm00, nm10, nm20, nm30,
+                   nm01, nm11, nm21, nm31,
+                   nm02, nm12, nm22, nm32,
+                   nm03, nm13, nm23, nm33,
+                   _properties & PROPERTY_AFFINE );
+  }
+
+  /**
+   * Transform the packed 3-component positions in <code>source</code> by this matrix and store the results in <code>target</code>.
+   * The positions are treated as having <code>w=1.0</code> and no perspective division is performed, so this
+   * method is only correct for affine matrices. i.e. matrices where the last row is <code>0 0 0 1</code>.
+   * Use {@link #transformProjective(double[], int, int, double[], int, int, int)} for matrices that are not affine.
+   * The source and target may be the same array and the same region to transform in place.
+   *
+   * @param source       the array containing the source components.
+   * @param sourceOffset the offset of the first component of the first element in the source array.
+   * @param sourceStride the number of array elements between the start of consecutive elements in the source array. Must be at least 3.
+   * @param target       the array in which to store the transformed components.
+   * @param targetOffset the offset of the first component of the first element in the target array.
+   * @param targetStride the number of array elements between the start of consecutive elements in the target array. Must be at least 3.
+   * @param count        the number of elements to transform.
+   * @return the target array.
+   */
+  @Nonnull
+  public double[] transformPositions( @Nonnull final double[] source,
+                                      final int sourceOffset,
+                                      final int sourceStride,
+                                      @Nonnull final double[] target,
+                                      final int targetOffset,
+                                      final int targetStride,
+                                      final int count )
+  {
+    assert sourceStride >= 3;
+    assert targetStride >= 3;
+    final double m00 = this.m00;
+    final double m01 = this.m01;
+    final double m02 = this.m02;
+    final double m10 = this.m10;
+    final double m11 = this.m11;
+    final double m12 = this.m12;
+    final double m20 = this.m20;
+    final double m21 = this.m21;
+    final double m22 = this.m22;
+    final double m30 = this.m30;
+    final double m31 = this.m31;
+    final double m32 = this.m32;
+    for ( int i = 0, s = sourceOffset, t = targetOffset; i < count; i++, s += sourceStride, t += targetStride )
+    {
+      final double x = source[ s ];
+      final double y = source[ s + 1 ];
+      final double z = source[ s + 2 ];
+      target[ t ] = m00 * x + m10 * y + m20 * z + m30;
+      target[ t + 1 ] = m01 * x + m11 * y + m21 * z + m31;
+      target[ t + 2 ] = m02 * x + m12 * y + m22 * z + m32;
+    }
+    return target;
+  }
+
+  /**
+   * Transform the packed 3-component elements in the specified array in place.
+   * See {@link #transformPositions(double[], int, int, double[], int, int, int)} for a more detailed explanation.
+   *
+   * @param data   the array containing the components.
+   * @param offset the offset of the first component of the first element in the array.
+   * @param stride the number of array elements between the start of consecutive elements. Must be at least 3.
+   * @param count  the number of elements to transform.
+   * @return the data array.
+   */
+  @Nonnull
+  public double[] transformPositions( @Nonnull final double[] data, final int offset, final int stride, final int count )
+  {
+    return transformPositions( data, offset, stride, data, offset, stride, count );
+  }
+
+  /**
+   * Transform the packed 3-component positions in <code>source</code> by this matrix and store the results in <code>target</code>.
+   * The positions are treated as having <code>w=1.0</code> and no perspective division is performed, so this
+   * method is only correct for affine matrices. i.e. matrices where the last row is <code>0 0 0 1</code>.
+   * Use {@link #transformProjective(float[], int, int, float[], int, int, int)} for matrices that are not affine.
+   * The source and target may be the same array and the same region to transform in place.
+   *
+   * @param source       the array containing the source components.
+   * @param sourceOffset the offset of the first component of the first element in the source array.
+   * @param sourceStride the number of array elements between the start of consecutive elements in the source array. Must be at least 3.
+   * @param target       the array in which to store the transformed components.
+   * @param targetOffset the offset of the first component of the first element in the target array.
+   * @param targetStride the number of array elements between the start of consecutive elements in the target array. Must be at least 3.
+   * @param count        the number of elements to transform.
+   * @return the target array.
+   */
+  @Nonnull
+  public float[] transformPositions( @Nonnull final float[] source,
+                                     final int sourceOffset,
+                                     final int sourceStride,
+                                     @Nonnull final float[] target,
+                                     final int targetOffset,
+                                     final int targetStride,
+                                     final int count )
+  {
+    assert sourceStride >= 3;
+    assert targetStride >= 3;
+    final double m00 = this.m00;
+    final double m01 = this.m01;
+    final double m02 = this.m02;
+    final double m10 = this.m10;
+    final double m11 = this.m11;
+    final double m12 = this.m12;
+    final double m20 = this.m20;
+    final double m21 = this.m21;
+    final double m22 = this.m22;
+    final double m30 = this.m30;
+    final double m31 = this.m31;
+    final double m32 = this.m32;
+    for ( int i = 0, s = sourceOffset, t = targetOffset; i < count; i++, s += sourceStride, t += targetStride )
+    {
+      final double x = source[ s ];
+      final double y = source[ s + 1 ];
+      final double z = source[ s + 2 ];
+      target[ t ] = (float) ( m00 * x + m10 * y + m20 * z + m30 );
+      target[ t + 1 ] = (float) ( m01 * x + m11 * y + m21 * z + m31 );
+      target[ t + 2 ] = (float) ( m02 * x + m12 * y + m22 * z + m32 );
+    }
+    return target;
+  }
+
+  /**
+   * Transform the packed 3-component elements in the specified array in place.
+   * See {@link #transformPositions(float[], int, int, float[], int, int, int)} for a more detailed explanation.
+   *
+   * @param data   the array containing the components.
+   * @param offset the offset of the first component of the first element in the array.
+   * @param stride the number of array elements between the start of consecutive elements. Must be at least 3.
+   * @param count  the number of elements to transform.
+   * @return the data array.
+   */
+  @Nonnull
+  public float[] transformPositions( @Nonnull final float[] data, final int offset, final int stride, final int count )
+  {
+    return transformPositions( data, offset, stride, data, offset, stride, count );
+  }
+
+  /**
+   * Transform the packed 3-component directions in <code>source</code> by this matrix and store the results in <code>target</code>.
+   * The directions are treated as having <code>w=0.0</code> so only the upper-left 3x3 part of the matrix is applied
+   * and the translation is ignored.
+   * The source and target may be the same array and the same region to transform in place.
+   *
+   * @param source       the array containing the source components.
+   * @param sourceOffset the offset of the first component of the first element in the source array.
+   * @param sourceStride the number of array elements between the start of consecutive elements in the source array. Must be at least 3.
+   * @param target       the array in which to store the transformed components.
+   * @param targetOffset the offset of the first component of the first element in the target array.
+   * @param targetStride the number of array elements between the start of consecutive elements in the target array. Must be at least 3.
+   * @param count        the number of elements to transform.
+   * @return the target array.
+   */
+  @Nonnull
+  public double[] transformDirections( @Nonnull final double[] source,
+                                       final int sourceOffset,
+                                       final int sourceStride,
+                                       @Nonnull final double[] target,
+                                       final int targetOffset,
+                                       final int targetStride,
+                                       final int count )
+  {
+    assert sourceStride >= 3;
+    assert targetStride >= 3;
+    final double m00 = this.m00;
+    final double m01 = this.m01;
+    final double m02 = this.m02;
+    final double m10 = this.m10;
+    final double m11 = this.m11;
+    final double m12 = this.m12;
+    final double m20 = this.m20;
+    final double m21 = this.m21;
+    final double m22 = this.m22;
+    for ( int i = 0, s = sourceOffset, t = targetOffset; i < count; i++, s += sourceStride, t += targetStride )
+    {
+      final double x = source[ s ];
+      final double y = source[ s + 1 ];
+      final double z = source[ s + 2 ];
+      target[ t ] = m00 * x + m10 * y + m20 * z;
+      target[ t + 1 ] = m01 * x + m11 * y + m21 * z;
+      target[ t + 2 ] = m02 * x + m12 * y + m22 * z;
+    }
+    return target;
+  }
+
+  /**
+   * Transform the packed 3-component elements in the specified array in place.
+   * See {@link #transformDirections(double[], int, int, double[], int, int, int)} for a more detailed explanation.
+   *
+   * @param data   the array containing the components.
+   * @param offset the offset of the first component of the first element in the array.
+   * @param stride the number of array elements between the start of consecutive elements. Must be at least 3.
+   * @param count  the number of elements to transform.
+   * @return the data array.
+   */
+  @Nonnull
+  public double[] transformDirections( @Nonnull final double[] data, final int offset, final int stride, final int count )
+  {
+    return transformDirections( data, offset, stride, data, offset, stride, count );
+  }
+
+  /**
+   * Transform the packed 3-component directions in <code>source</code> by this matrix and store the results in <code>target</code>.
+   * The directions are treated as having <code>w=0.0</code> so only the upper-left 3x3 part of the matrix is applied
+   * and the translation is ignored.
+   * The source and target may be the same array and the same region to transform in place.
+   *
+   * @param source       the array containing the source components.
+   * @param sourceOffset the offset of the first component of the first element in the source array.
+   * @param sourceStride the number of array elements between the start of consecutive elements in the source array. Must be at least 3.
+   * @param target       the array in which to store the transformed components.
+   * @param targetOffset the offset of the first component of the first element in the target array.
+   * @param targetStride the number of array elements between the start of consecutive elements in the target array. Must be at least 3.
+   * @param count        the number of elements to transform.
+   * @return the target array.
+   */
+  @Nonnull
+  public float[] transformDirections( @Nonnull final float[] source,
+                                      final int sourceOffset,
+                                      final int sourceStride,
+                                      @Nonnull final float[] target,
+                                      final int targetOffset,
+                                      final int targetStride,
+                                      final int count )
+  {
+    assert sourceStride >= 3;
+    assert targetStride >= 3;
+    final double m00 = this.m00;
+    final double m01 = this.m01;
+    final double m02 = this.m02;
+    final double m10 = this.m10;
+    final double m11 = this.m11;
+    final double m12 = this.m12;
+    final double m20 = this.m20;
+    final double m21 = this.m21;
+    final double m22 = this.m22;
+    for ( int i = 0, s = sourceOffset, t = targetOffset; i < count; i++, s += sourceStride, t += targetStride )
+    {
+      final double x = source[ s ];
+      final double y = source[ s + 1 ];
+      final double z = source[ s + 2 ];
+      target[ t ] = (float) ( m00 * x + m10 * y + m20 * z );
+      target[ t + 1 ] = (float) ( m01 * x + m11 * y + m21 * z );
+      target[ t + 2 ] = (float) ( m02 * x + m12 * y + m22 * z );
+    }
+    return target;
+  }
+
+  /**
+   * Transform the packed 3-component elements in the specified array in place.
+   * See {@link #transformDirections(float[], int, int, float[], int, int, int)} for a more detailed explanation.
+   *
+   * @param data   the array containing the components.
+   * @param offset the offset of the first component of the first element in the array.
+   * @param stride the number of array elements between the start of consecutive elements. Must be at least 3.
+   * @param count  the number of elements to transform.
+   * @return the data array.
+   */
+  @Nonnull
+  public float[] transformDirections( @Nonnull final float[] data, final int offset, final int stride, final int count )
+  {
+    return transformDirections( data, offset, stride, data, offset, stride, count );
+  }
+
+  /**
+   * Transform the packed 3-component positions in <code>source</code> by this matrix, performing perspective division,
+   * and store the results in <code>target</code>. The positions are treated as having <code>w=1.0</code>.
+   * This is the bulk equivalent of {@link Vector3d#mul(Matrix4d)}.
+   * The source and target may be the same array and the same region to transform in place.
+   *
+   * @param source       the array containing the source components.
+   * @param sourceOffset the offset of the first component of the first element in the source array.
+   * @param sourceStride the number of array elements between the start of consecutive elements in the source array. Must be at least 3.
+   * @param target       the array in which to store the transformed components.
+   * @param targetOffset the offset of the first component of the first element in the target array.
+   * @param targetStride the number of array elements between the start of consecutive elements in the target array. Must be at least 3.
+   * @param count        the number of elements to transform.
+   * @return the target array.
+   */
+  @Nonnull
+  public double[] transformProjective( @Nonnull final double[] source,
+                                       final int sourceOffset,
+                                       final int sourceStride,
+                                       @Nonnull final double[] target,
+                                       final int targetOffset,
+                                       final int targetStride,
+                                       final int count )
+  {
+    assert sourceStride >= 3;
+    assert targetStride >= 3;
+    if ( 0 != ( properties() & PROPERTY_AFFINE ) )
+    {
+      return transformPositions( source, sourceOffset, sourceStride, target, targetOffset, targetStride, count );
+    }
+    final double m00 = this.m00;
+    final double m01 = this.m01;
+    final double m02 = this.m02;
+    final double m03 = this.m03;
+    final double m10 = this.m10;
+    final double m11 = this.m11;
+    final double m12 = this.m12;
+    final double m13 = this.m13;
+    final double m20 = this.m20;
+    final double m21 = this.m21;
+    final double m22 = this.m22;
+    final double m23 = this.m23;
+    final double m30 = this.m30;
+    final double m31 = this.m31;
+    final double m32 = this.m32;
+    final double m33 = this.m33;
+    for ( int i = 0, s = sourceOffset, t = targetOffset; i < count; i++, s += sourceStride, t += targetStride )
+    {
+      final double x = source[ s ];
+      final double y = source[ s + 1 ];
+      final double z = source[ s + 2 ];
+      final double invW = 1.0 / ( m03 * x + m13 * y + m23 * z + m33 );
+      target[ t ] = ( m00 * x + m10 * y + m20 * z + m30 ) * invW;
+      target[ t + 1 ] = ( m01 * x + m11 * y + m21 * z + m31 ) * invW;
+      target[ t + 2 ] = ( m02 * x + m12 * y + m22 * z + m32 ) * invW;
+    }
+    return target;
+  }
+
+  /**
+   * Transform the packed 3-component elements in the specified array in place.
+   * See {@link #transformProjective(double[], int, int, double[], int, int, int)} for a more detailed explanation.
+   *
+   * @param data   the array containing the components.
+   * @param offset the offset of the first component of the first element in the array.
+   * @param stride the number of array elements between the start of consecutive elements. Must be at least 3.
+   * @param count  the number of elements to transform.
+   * @return the data array.
+   */
+  @Nonnull
+  public double[] transformProjective( @Nonnull final double[] data, final int offset, final int stride, final int count )
+  {
+    return transformProjective( data, offset, stride, data, offset, stride, count );
+  }
+
+  /**
+   * Transform the packed 3-component positions in <code>source</code> by this matrix, performing perspective division,
+   * and store the results in <code>target</code>. The positions are treated as having <code>w=1.0</code>.
+   * This is the bulk equivalent of {@link Vector3d#mul(Matrix4d)}.
+   * The source and target may be the same array and the same region to transform in place.
+   *
+   * @param source       the array containing the source components.
+   * @param sourceOffset the offset of the first component of the first element in the source array.
+   * @param sourceStride the number of array elements between the start of consecutive elements in the source array. Must be at least 3.
+   * @param target       the array in which to store the transformed components.
+   * @param targetOffset the offset of the first component of the first element in the target array.
+   * @param targetStride the number of array elements between the start of consecutive elements in the target array. Must be at least 3.
+   * @param count        the number of elements to transform.
+   * @return the target array.
+   */
+  @Nonnull
+  public float[] transformProjective( @Nonnull final float[] source,
+                                      final int sourceOffset,
+                                      final int sourceStride,
+                                      @Nonnull final float[] target,
+                                      final int targetOffset,
+                                      final int targetStride,
+                                      final int count )
+  {
+    assert sourceStride >= 3;
+    assert targetStride >= 3;
+    if ( 0 != ( properties() & PROPERTY_AFFINE ) )
+    {
+      return transformPositions( source, sourceOffset, sourceStride, target, targetOffset, targetStride, count );
+    }
+    final double m00 = this.m00;
+    final double m01 = this.m01;
+    final double m02 = this.m02;
+    final double m03 = this.m03;
+    final double m10 = this.m10;
+    final double m11 = this.m11;
+    final double m12 = this.m12;
+    final double m13 = this.m13;
+    final double m20 = this.m20;
+    final double m21 = this.m21;
+    final double m22 = this.m22;
+    final double m23 = this.m23;
+    final double m30 = this.m30;
+    final double m31 = this.m31;
+    final double m32 = this.m32;
+    final double m33 = this.m33;
+    for ( int i = 0, s = sourceOffset, t = targetOffset; i < count; i++, s += sourceStride, t += targetStride )
+    {
+      final double x = source[ s ];
+      final double y = source[ s + 1 ];
+      final double z = source[ s + 2 ];
+      final double invW = 1.0 / ( m03 * x + m13 * y + m23 * z + m33 );
+      target[ t ] = (float) ( ( m00 * x + m10 * y + m20 * z + m30 ) * invW );
+      target[ t + 1 ] = (float) ( ( m01 * x + m11 * y + m21 * z + m31 ) * invW );
+      target[ t + 2 ] = (float) ( ( m02 * x + m12 * y + m22 * z + m32 ) * invW );
+    }
+    return target;
+  }
+
+  /**
+   * Transform the packed 3-component elements in the specified array in place.
+   * See {@link #transformProjective(float[], int, int, float[], int, int, int)} for a more detailed explanation.
+   *
+   * @param data   the array containing the components.
+   * @param offset the offset of the first component of the first element in the array.
+   * @param stride the number of array elements between the start of consecutive elements. Must be at least 3.
+   * @param count  the number of elements to transform.
+   * @return the data array.
+   */
+  @Nonnull
+  public float[] transformProjective( @Nonnull final float[] data, final int offset, final int stride, final int count )
+  {
+    return transformProjective( data, offset, stride, data, offset, stride, count );
+  }
+
+  /**
+   * Transform the packed 3-component positions in <code>source</code> by this matrix into packed 4-component
+   * homogeneous coordinates and store the results in <code>target</code>. The positions are treated as having
+   * <code>w=1.0</code> and no perspective division is performed so, when this matrix is a view-projection matrix,
+   * the results are clip space positions suitable for {@link PolygonClipper}.
+   * This is the bulk equivalent of {@link Vector4d#mul(Matrix4d)}.
+   * The source and target may be the same array but the regions must not overlap.
+   *
+   * @param source       the array containing the source components.
+   * @param sourceOffset the offset of the first component of the first element in the source array.
+   * @param sourceStride the number of array elements between the start of consecutive elements in the source array. Must be at least 3.
+   * @param target       the array in which to store the transformed components.
+   * @param targetOffset the offset of the first component of the first element in the target array.
+   * @param targetStride the number of array elements between the start of consecutive elements in the target array. Must be at least 4.
+   * @param count        the number of elements to transform.
+   * @return the target array.
+   */
+  @Nonnull
+  public double[] transformToClip( @Nonnull final double[] source,
+                                   final int sourceOffset,
+                                   final int sourceStride,
+                                   @Nonnull final double[] target,
+                                   final int targetOffset,
+                                   final int targetStride,
+                                   final int count )
+  {
+    assert sourceStride >= 3;
+    assert targetStride >= 4;
+    final double m00 = this.m00;
+    final double m01 = this.m01;
+    final double m02 = this.m02;
+    final double m03 = this.m03;
+    final double m10 = this.m10;
+    final double m11 = this.m11;
+    final double m12 = this.m12;
+    final double m13 = this.m13;
+    final double m20 = this.m20;
+    final double m21 = this.m21;
+    final double m22 = this.m22;
+    final double m23 = this.m23;
+    final double m30 = this.m30;
+    final double m31 = this.m31;
+    final double m32 = this.m32;
+    final double m33 = this.m33;
+    for ( int i = 0, s = sourceOffset, t = targetOffset; i < count; i++, s += sourceStride, t += targetStride )
+    {
+      final double x = source[ s ];
+      final double y = source[ s + 1 ];
+      final double z = source[ s + 2 ];
+      target[ t ] = m00 * x + m10 * y + m20 * z + m30;
+      target[ t + 1 ] = m01 * x + m11 * y + m21 * z + m31;
+      target[ t + 2 ] = m02 * x + m12 * y + m22 * z + m32;
+      target[ t + 3 ] = m03 * x + m13 * y + m23 * z + m33;
+    }
+    return target;
   }
 
   /**
@@ -812,6 +1958,246 @@ public final class Matrix4d
     return toArray( new double[ 16 ] );
   }
 
+  /**
+   * Fill the specified target with the matrix components narrowed to floats starting at the specified offset.
+   * The components are emitted in column-major form.
+   *
+   * @param target the array in which to store the matrix components. The target must be large enough to contain the matrix.
+   * @param offset the offset in the target array to start storing the matrix components.
+   * @return the matrix represented as an array.
+   */
+  @Nonnull
+  public float[] toArray( @Nonnull final float[] target, final int offset )
+  {
+    target[ offset ] = (float) m00;
+    target[ offset + 1 ] = (float) m01;
+    target[ offset + 2 ] = (float) m02;
+    target[ offset + 3 ] = (float) m03;
+    target[ offset + 4 ] = (float) m10;
+    target[ offset + 5 ] = (float) m11;
+    target[ offset + 6 ] = (float) m12;
+    target[ offset + 7 ] = (float) m13;
+    target[ offset + 8 ] = (float) m20;
+    target[ offset + 9 ] = (float) m21;
+    target[ offset + 10 ] = (float) m22;
+    target[ offset + 11 ] = (float) m23;
+    target[ offset + 12 ] = (float) m30;
+    target[ offset + 13 ] = (float) m31;
+    target[ offset + 14 ] = (float) m32;
+    target[ offset + 15 ] = (float) m33;
+    return target;
+  }
+
+  /**
+   * Fill the specified target with the matrix components narrowed to floats.
+   * The components are emitted in column-major form.
+   *
+   * @param target the array in which to store the matrix components. The target must be large enough to contain the matrix.
+   * @return the matrix represented as an array.
+   */
+  @Nonnull
+  public float[] toArray( @Nonnull final float[] target )
+  {
+    return toArray( target, 0 );
+  }
+
+  /**
+   * Store the matrix components narrowed to floats into the specified buffer starting at the specified absolute
+   * float index. The components are emitted in column-major form. The position of the buffer is not modified.
+   *
+   * @param buffer the buffer in which to store the matrix components. The buffer must have {@link #COMPONENTS} floats remaining after the index.
+   * @param index  the absolute index in the buffer to start storing the matrix components.
+   * @return the buffer.
+   */
+  @GwtIncompatible
+  @Nonnull
+  public java.nio.FloatBuffer get( @Nonnull final java.nio.FloatBuffer buffer, final int index )
+  {
+    buffer.put( index, (float) m00 );
+    buffer.put( index + 1, (float) m01 );
+    buffer.put( index + 2, (float) m02 );
+    buffer.put( index + 3, (float) m03 );
+    buffer.put( index + 4, (float) m10 );
+    buffer.put( index + 5, (float) m11 );
+    buffer.put( index + 6, (float) m12 );
+    buffer.put( index + 7, (float) m13 );
+    buffer.put( index + 8, (float) m20 );
+    buffer.put( index + 9, (float) m21 );
+    buffer.put( index + 10, (float) m22 );
+    buffer.put( index + 11, (float) m23 );
+    buffer.put( index + 12, (float) m30 );
+    buffer.put( index + 13, (float) m31 );
+    buffer.put( index + 14, (float) m32 );
+    buffer.put( index + 15, (float) m33 );
+    return buffer;
+  }
+
+  /**
+   * Store the matrix components narrowed to floats into the specified buffer starting at the specified absolute
+   * byte index. The components are emitted in column-major form using the byte order of the buffer.
+   * The position of the buffer is not modified.
+   *
+   * @param buffer the buffer in which to store the matrix components. The buffer must have {@link #FLOAT_BYTES} bytes remaining after the index.
+   * @param index  the absolute byte index in the buffer to start storing the matrix components.
+   * @return the buffer.
+   */
+  @GwtIncompatible
+  @Nonnull
+  public java.nio.ByteBuffer getFloats( @Nonnull final java.nio.ByteBuffer buffer, final int index )
+  {
+    buffer.putFloat( index, (float) m00 );
+    buffer.putFloat( index + 4, (float) m01 );
+    buffer.putFloat( index + 8, (float) m02 );
+    buffer.putFloat( index + 12, (float) m03 );
+    buffer.putFloat( index + 16, (float) m10 );
+    buffer.putFloat( index + 20, (float) m11 );
+    buffer.putFloat( index + 24, (float) m12 );
+    buffer.putFloat( index + 28, (float) m13 );
+    buffer.putFloat( index + 32, (float) m20 );
+    buffer.putFloat( index + 36, (float) m21 );
+    buffer.putFloat( index + 40, (float) m22 );
+    buffer.putFloat( index + 44, (float) m23 );
+    buffer.putFloat( index + 48, (float) m30 );
+    buffer.putFloat( index + 52, (float) m31 );
+    buffer.putFloat( index + 56, (float) m32 );
+    buffer.putFloat( index + 60, (float) m33 );
+    return buffer;
+  }
+
+  /**
+   * Store the matrix components into the specified buffer starting at the specified absolute index.
+   * The components are emitted in column-major form. The position of the buffer is not modified.
+   *
+   * @param buffer the buffer in which to store the matrix components. The buffer must have {@link #COMPONENTS} doubles remaining after the index.
+   * @param index  the absolute index in the buffer to start storing the matrix components.
+   * @return the buffer.
+   */
+  @GwtIncompatible
+  @Nonnull
+  public java.nio.DoubleBuffer get( @Nonnull final java.nio.DoubleBuffer buffer, final int index )
+  {
+    buffer.put( index, m00 );
+    buffer.put( index + 1, m01 );
+    buffer.put( index + 2, m02 );
+    buffer.put( index + 3, m03 );
+    buffer.put( index + 4, m10 );
+    buffer.put( index + 5, m11 );
+    buffer.put( index + 6, m12 );
+    buffer.put( index + 7, m13 );
+    buffer.put( index + 8, m20 );
+    buffer.put( index + 9, m21 );
+    buffer.put( index + 10, m22 );
+    buffer.put( index + 11, m23 );
+    buffer.put( index + 12, m30 );
+    buffer.put( index + 13, m31 );
+    buffer.put( index + 14, m32 );
+    buffer.put( index + 15, m33 );
+    return buffer;
+  }
+
+  /**
+   * Set the components of this matrix to the components in the specified buffer starting at the specified absolute index.
+   * The components are read in column-major form. The position of the buffer is not modified.
+   *
+   * @param buffer the buffer from which to read the matrix components. The buffer must have {@link #COMPONENTS} doubles remaining after the index.
+   * @param index  the absolute index in the buffer to start reading the matrix components.
+   * @return this
+   */
+  @GwtIncompatible
+  @Nonnull
+  public Matrix4d set( @Nonnull final java.nio.DoubleBuffer buffer, final int index )
+  {
+    return set( buffer.get( index ), buffer.get( index + 4 ), buffer.get( index + 8 ), buffer.get( index + 12 ),
+                buffer.get( index + 1 ), buffer.get( index + 5 ), buffer.get( index + 9 ), buffer.get( index + 13 ),
+                buffer.get( index + 2 ), buffer.get( index + 6 ), buffer.get( index + 10 ), buffer.get( index + 14 ),
+                buffer.get( index + 3 ), buffer.get( index + 7 ), buffer.get( index + 11 ), buffer.get( index + 15 ) );
+  }
+
+  /**
+   * Set the components of this matrix to the widened float components in the specified buffer starting at the specified absolute index.
+   * The components are read in column-major form. The position of the buffer is not modified.
+   *
+   * @param buffer the buffer from which to read the matrix components. The buffer must have {@link #COMPONENTS} floats remaining after the index.
+   * @param index  the absolute index in the buffer to start reading the matrix components.
+   * @return this
+   */
+  @GwtIncompatible
+  @Nonnull
+  public Matrix4d set( @Nonnull final java.nio.FloatBuffer buffer, final int index )
+  {
+    return set( buffer.get( index ), buffer.get( index + 4 ), buffer.get( index + 8 ), buffer.get( index + 12 ),
+                buffer.get( index + 1 ), buffer.get( index + 5 ), buffer.get( index + 9 ), buffer.get( index + 13 ),
+                buffer.get( index + 2 ), buffer.get( index + 6 ), buffer.get( index + 10 ), buffer.get( index + 14 ),
+                buffer.get( index + 3 ), buffer.get( index + 7 ), buffer.get( index + 11 ), buffer.get( index + 15 ) );
+  }
+
+  /**
+   * Store the matrix components into the specified buffer starting at the specified absolute byte index.
+   * The components are emitted in column-major form using the byte order of the buffer. The position of the buffer is not modified.
+   *
+   * @param buffer the buffer in which to store the matrix components. The buffer must have {@link #BYTES} bytes remaining after the index.
+   * @param index  the absolute byte index in the buffer to start storing the matrix components.
+   * @return the buffer.
+   */
+  @GwtIncompatible
+  @Nonnull
+  public java.nio.ByteBuffer get( @Nonnull final java.nio.ByteBuffer buffer, final int index )
+  {
+    buffer.putDouble( index, m00 );
+    buffer.putDouble( index + 8, m01 );
+    buffer.putDouble( index + 16, m02 );
+    buffer.putDouble( index + 24, m03 );
+    buffer.putDouble( index + 32, m10 );
+    buffer.putDouble( index + 40, m11 );
+    buffer.putDouble( index + 48, m12 );
+    buffer.putDouble( index + 56, m13 );
+    buffer.putDouble( index + 64, m20 );
+    buffer.putDouble( index + 72, m21 );
+    buffer.putDouble( index + 80, m22 );
+    buffer.putDouble( index + 88, m23 );
+    buffer.putDouble( index + 96, m30 );
+    buffer.putDouble( index + 104, m31 );
+    buffer.putDouble( index + 112, m32 );
+    buffer.putDouble( index + 120, m33 );
+    return buffer;
+  }
+
+  /**
+   * Set the components of this matrix to the components in the specified buffer starting at the specified absolute byte index.
+   * The components are read in column-major form using the byte order of the buffer. The position of the buffer is not modified.
+   *
+   * @param buffer the buffer from which to read the matrix components. The buffer must have {@link #BYTES} bytes remaining after the index.
+   * @param index  the absolute byte index in the buffer to start reading the matrix components.
+   * @return this
+   */
+  @GwtIncompatible
+  @Nonnull
+  public Matrix4d set( @Nonnull final java.nio.ByteBuffer buffer, final int index )
+  {
+    return set( buffer.getDouble( index ), buffer.getDouble( index + 32 ), buffer.getDouble( index + 64 ), buffer.getDouble( index + 96 ),
+                buffer.getDouble( index + 8 ), buffer.getDouble( index + 40 ), buffer.getDouble( index + 72 ), buffer.getDouble( index + 104 ),
+                buffer.getDouble( index + 16 ), buffer.getDouble( index + 48 ), buffer.getDouble( index + 80 ), buffer.getDouble( index + 112 ),
+                buffer.getDouble( index + 24 ), buffer.getDouble( index + 56 ), buffer.getDouble( index + 88 ), buffer.getDouble( index + 120 ) );
+  }
+
+  /**
+   * Set the components of this matrix to the widened float components in the specified buffer starting at the specified absolute byte index.
+   * The components are read in column-major form using the byte order of the buffer. The position of the buffer is not modified.
+   *
+   * @param buffer the buffer from which to read the matrix components. The buffer must have {@link #FLOAT_BYTES} bytes remaining after the index.
+   * @param index  the absolute byte index in the buffer to start reading the matrix components.
+   * @return this
+   */
+  @GwtIncompatible
+  @Nonnull
+  public Matrix4d setFloats( @Nonnull final java.nio.ByteBuffer buffer, final int index )
+  {
+    return set( buffer.getFloat( index ), buffer.getFloat( index + 16 ), buffer.getFloat( index + 32 ), buffer.getFloat( index + 48 ),
+                buffer.getFloat( index + 4 ), buffer.getFloat( index + 20 ), buffer.getFloat( index + 36 ), buffer.getFloat( index + 52 ),
+                buffer.getFloat( index + 8 ), buffer.getFloat( index + 24 ), buffer.getFloat( index + 40 ), buffer.getFloat( index + 56 ),
+                buffer.getFloat( index + 12 ), buffer.getFloat( index + 28 ), buffer.getFloat( index + 44 ), buffer.getFloat( index + 60 ) );
+  }
+
   /**
    * Returns true if the other matrix has components with the same values.
    *
@@ -827,6 +2213,62 @@ public final class Matrix4d
       m30 == other.m30 && m31 == other.m31 && m32 == other.m32 && m33 == other.m33;
   }
 
+  /**
+   * Returns true if every component of the other matrix differs from the corresponding component of this matrix
+   * by no more than the specified tolerance.
+   *
+   * @param other   the other matrix.
+   * @param epsilon the maximum absolute difference between corresponding components.
+   * @return true if the matrices are equal within the specified tolerance, otherwise false.
+   */
+  public boolean isEqualTo( @Nonnull final Matrix4d other, final double epsilon )
+  {
+    return VecmathUtil.isEqualTo( m00, other.m00, epsilon ) &&
+           VecmathUtil.isEqualTo( m01, other.m01, epsilon ) &&
+           VecmathUtil.isEqualTo( m02, other.m02, epsilon ) &&
+           VecmathUtil.isEqualTo( m03, other.m03, epsilon ) &&
+           VecmathUtil.isEqualTo( m10, other.m10, epsilon ) &&
+           VecmathUtil.isEqualTo( m11, other.m11, epsilon ) &&
+           VecmathUtil.isEqualTo( m12, other.m12, epsilon ) &&
+           VecmathUtil.isEqualTo( m13, other.m13, epsilon ) &&
+           VecmathUtil.isEqualTo( m20, other.m20, epsilon ) &&
+           VecmathUtil.isEqualTo( m21, other.m21, epsilon ) &&
+           VecmathUtil.isEqualTo( m22, other.m22, epsilon ) &&
+           VecmathUtil.isEqualTo( m23, other.m23, epsilon ) &&
+           VecmathUtil.isEqualTo( m30, other.m30, epsilon ) &&
+           VecmathUtil.isEqualTo( m31, other.m31, epsilon ) &&
+           VecmathUtil.isEqualTo( m32, other.m32, epsilon ) &&
+           VecmathUtil.isEqualTo( m33, other.m33, epsilon );
+  }
+
+  /**
+   * Returns true if every component of the other matrix is separated from the corresponding component of this
+   * matrix by no more than the specified number of representable doubles (units in the last place).
+   *
+   * @param other   the other matrix.
+   * @param maxUlps the maximum number of units in the last place that corresponding components may differ by.
+   * @return true if the matrices are equal within the specified number of units in the last place, otherwise false.
+   */
+  public boolean isEqualToUlps( @Nonnull final Matrix4d other, final int maxUlps )
+  {
+    return VecmathUtil.isEqualToUlps( m00, other.m00, maxUlps ) &&
+           VecmathUtil.isEqualToUlps( m01, other.m01, maxUlps ) &&
+           VecmathUtil.isEqualToUlps( m02, other.m02, maxUlps ) &&
+           VecmathUtil.isEqualToUlps( m03, other.m03, maxUlps ) &&
+           VecmathUtil.isEqualToUlps( m10, other.m10, maxUlps ) &&
+           VecmathUtil.isEqualToUlps( m11, other.m11, maxUlps ) &&
+           VecmathUtil.isEqualToUlps( m12, other.m12, maxUlps ) &&
+           VecmathUtil.isEqualToUlps( m13, other.m13, maxUlps ) &&
+           VecmathUtil.isEqualToUlps( m20, other.m20, maxUlps ) &&
+           VecmathUtil.isEqualToUlps( m21, other.m21, maxUlps ) &&
+           VecmathUtil.isEqualToUlps( m22, other.m22, maxUlps ) &&
+           VecmathUtil.isEqualToUlps( m23, other.m23, maxUlps ) &&
+           VecmathUtil.isEqualToUlps( m30, other.m30, maxUlps ) &&
+           VecmathUtil.isEqualToUlps( m31, other.m31, maxUlps ) &&
+           VecmathUtil.isEqualToUlps( m32, other.m32, maxUlps ) &&
+           VecmathUtil.isEqualToUlps( m33, other.m33, maxUlps );
+  }
+
   /**
    * Returns a string representation of the matrix.
    *
@@ -883,12 +2325,33 @@ public final class Matrix4d
   @Override
   public int hashCode()
   {
-    return Vecmath.isObjectEqualsImplemented() ?
-           Objects.hash( m00, m01, m02, m03,
-                         m10, m11, m12, m13,
-                         m20, m21, m22, m23,
-                         m30, m31, m32, m33 ) :
-           super.hashCode();
+    return Vecmath.isObjectEqualsImplemented() ? contentHash() : super.hashCode();
+  }
+
+  /**
+   * Return a hash of the components of the matrix that is consistent with {@link #isEqualTo(Matrix4d)}.
+   * This is used by {@link #hashCode()} and by types that key matrices by their contents.
+   */
+  int contentHash()
+  {
+    int hash = 1;
+    hash = VecmathUtil.hash( hash, m00 );
+    hash = VecmathUtil.hash( hash, m01 );
+    hash = VecmathUtil.hash( hash, m02 );
+    hash = VecmathUtil.hash( hash, m03 );
+    hash = VecmathUtil.hash( hash, m10 );
+    hash = VecmathUtil.hash( hash, m11 );
+    hash = VecmathUtil.hash( hash, m12 );
+    hash = VecmathUtil.hash( hash, m13 );
+    hash = VecmathUtil.hash( hash, m20 );
+    hash = VecmathUtil.hash( hash, m21 );
+    hash = VecmathUtil.hash( hash, m22 );
+    hash = VecmathUtil.hash( hash, m23 );
+    hash = VecmathUtil.hash( hash, m30 );
+    hash = VecmathUtil.hash( hash, m31 );
+    hash = VecmathUtil.hash( hash, m32 );
+    hash = VecmathUtil.hash( hash, m33 );
+    return hash;
   }
 
   /**
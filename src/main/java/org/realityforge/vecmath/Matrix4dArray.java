@@ -0,0 +1,313 @@
+package org.realityforge.vecmath;
+
+import javax.annotation.Nonnull;
+
+/**
+ * A fixed-size array of 4x4-dimensional, double-precision, floating-point matrices.
+ *
+ * <p>The matrices are stored in a single, contiguous <code>double[]</code> with each matrix occupying
+ * {@link Matrix4d#COMPONENTS} consecutive elements in the column-major order emitted by
+ * {@link Matrix4d#toArray(double[], int)}. This avoids the per-object overhead of an array of {@link Matrix4d}
+ * instances and allows the backing array to be uploaded directly to frameworks such as WebGL or WebGPU.
+ * The operations that take an index mirror the equivalent operations on {@link Matrix4d}.</p>
+ */
+public final class Matrix4dArray
+{
+  /**
+   * The components of the matrices.
+   */
+  @Nonnull
+  public final double[] components;
+
+  /**
+   * Create an array containing the specified number of identity matrices.
+   *
+   * @param size the number of matrices in the array.
+   */
+  public Matrix4dArray( final int size )
+  {
+    components = new double[ size * Matrix4d.COMPONENTS ];
+    for ( int i = 0; i < size; i++ )
+    {
+      setIdentity( i );
+    }
+  }
+
+  /**
+   * Return the number of matrices in the array.
+   *
+   * @return the number of matrices in the array.
+   */
+  public int size()
+  {
+    return components.length / Matrix4d.COMPONENTS;
+  }
+
+  /**
+   * Copy the matrix at the specified index into the target matrix.
+   *
+   * @param index  the index of the matrix.
+   * @param target the matrix in which to store the components.
+   * @return the target matrix.
+   */
+  @Nonnull
+  public Matrix4d get( final int index, @Nonnull final Matrix4d target )
+  {
+    final double[] c = components;
+    final int o = index * Matrix4d.COMPONENTS;
+    return target.set( c[ o ], c[ o + 4 ], c[ o + 8 ], c[ o + 12 ],
+                       c[ o + 1 ], c[ o + 5 ], c[ o + 9 ], c[ o + 13 ],
+                       c[ o + 2 ], c[ o + 6 ], c[ o + 10 ], c[ o + 14 ],
+                       c[ o + 3 ], c[ o + 7 ], c[ o + 11 ], c[ o + 15 ] );
+  }
+
+  /**
+   * Set the matrix at the specified index to the components of the specified matrix.
+   *
+   * @param index the index of the matrix.
+   * @param value the matrix.
+   * @return this
+   */
+  @Nonnull
+  public Matrix4dArray set( final int index, @Nonnull final Matrix4d value )
+  {
+    value.toArray( components, index * Matrix4d.COMPONENTS );
+    return this;
+  }
+
+  /**
+   * Set the matrix at the specified index to the identity matrix.
+   *
+   * @param index the index of the matrix.
+   * @return this
+   */
+  @Nonnull
+  public Matrix4dArray setIdentity( final int index )
+  {
+    final double[] c = components;
+    final int o = index * Matrix4d.COMPONENTS;
+    for ( int i = 0; i < Matrix4d.COMPONENTS; i++ )
+    {
+      c[ o + i ] = 0;
+    }
+    c[ o ] = 1;
+    c[ o + 5 ] = 1;
+    c[ o + 10 ] = 1;
+    c[ o + 15 ] = 1;
+    return this;
+  }
+
+  /**
+   * Translate the matrix at the specified index by the specified amounts.
+   * See {@link Matrix4d#translate(double, double, double)} for further details.
+   *
+   * @param index the index of the matrix.
+   * @param x     the amount to translate along the x-axis.
+   * @param y     the amount to translate along the y-axis.
+   * @param z     the amount to translate along the z-axis.
+   * @return this
+   */
+  @Nonnull
+  public Matrix4dArray translate( final int index, final double x, final double y, final double z )
+  {
+    final double[] c = components;
+    final int o = index * Matrix4d.COMPONENTS;
+    c[ o + 12 ] = c[ o ] * x + c[ o + 4 ] * y + c[ o + 8 ] * z + c[ o + 12 ];
+    c[ o + 13 ] = c[ o + 1 ] * x + c[ o + 5 ] * y + c[ o + 9 ] * z + c[ o + 13 ];
+    c[ o + 14 ] = c[ o + 2 ] * x + c[ o + 6 ] * y + c[ o + 10 ] * z + c[ o + 14 ];
+    c[ o + 15 ] = c[ o + 3 ] * x + c[ o + 7 ] * y + c[ o + 11 ] * z + c[ o + 15 ];
+    return this;
+  }
+
+  /**
+   * Scale the matrix at the specified index by the specified amounts.
+   * See {@link Matrix4d#scale(double, double, double)} for further details.
+   *
+   * @param index the index of the matrix.
+   * @param x     the amount to scale along the x-axis.
+   * @param y     the amount to scale along the y-axis.
+   * @param z     the amount to scale along the z-axis.
+   * @return this
+   */
+  @Nonnull
+  public Matrix4dArray scale( final int index, final double x, final double y, final double z )
+  {
+    final double[] c = components;
+    final int o = index * Matrix4d.COMPONENTS;
+    c[ o ] *= x;
+    c[ o + 4 ] *= x;
+    c[ o + 8 ] *= x;
+    c[ o + 12 ] *= x;
+    c[ o + 1 ] *= y;
+    c[ o + 5 ] *= y;
+    c[ o + 9 ] *= y;
+    c[ o + 13 ] *= y;
+    c[ o + 2 ] *= z;
+    c[ o + 6 ] *= z;
+    c[ o + 10 ] *= z;
+    c[ o + 14 ] *= z;
+    return this;
+  }
+
+  /**
+   * Scale the matrix at the specified index uniformly by the specified amount.
+   *
+   * @param index the index of the matrix.
+   * @param k     the amount to scale along each axis.
+   * @return this
+   */
+  @Nonnull
+  public Matrix4dArray scale( final int index, final double k )
+  {
+    return scale( index, k, k, k );
+  }
+
+  /**
+   * Rotate the matrix at the specified index around the x-axis.
+   * See {@link Matrix4d#rotateX(double)} for further details.
+   *
+   * @param index          the index of the matrix.
+   * @param angleInRadians the angle to rotate in radians.
+   * @return this
+   */
+  @Nonnull
+  public Matrix4dArray rotateX( final int index, final double angleInRadians )
+  {
+    final double sin = Math.sin( angleInRadians );
+    final double cos = Math.cos( angleInRadians );
+    final double[] c = components;
+    final int o = index * Matrix4d.COMPONENTS;
+    final double m10 = c[ o + 4 ];
+    final double m20 = c[ o + 8 ];
+    final double m11 = c[ o + 5 ];
+    final double m21 = c[ o + 9 ];
+    final double m12 = c[ o + 6 ];
+    final double m22 = c[ o + 10 ];
+    final double m13 = c[ o + 7 ];
+    final double m23 = c[ o + 11 ];
+    c[ o + 4 ] = m10 * cos + m20 * sin;
+    c[ o + 8 ] = m10 * -sin + m20 * cos;
+    c[ o + 5 ] = m11 * cos + m21 * sin;
+    c[ o + 9 ] = m11 * -sin + m21 * cos;
+    c[ o + 6 ] = m12 * cos + m22 * sin;
+    c[ o + 10 ] = m12 * -sin + m22 * cos;
+    c[ o + 7 ] = m13 * cos + m23 * sin;
+    c[ o + 11 ] = m13 * -sin + m23 * cos;
+    return this;
+  }
+
+  /**
+   * Rotate the matrix at the specified index around the y-axis.
+   * See {@link Matrix4d#rotateY(double)} for further details.
+   *
+   * @param index          the index of the matrix.
+   * @param angleInRadians the angle to rotate in radians.
+   * @return this
+   */
+  @Nonnull
+  public Matrix4dArray rotateY( final int index, final double angleInRadians )
+  {
+    final double sin = Math.sin( angleInRadians );
+    final double cos = Math.cos( angleInRadians );
+    final double[] c = components;
+    final int o = index * Matrix4d.COMPONENTS;
+    final double m00 = c[ o ];
+    final double m20 = c[ o + 8 ];
+    final double m01 = c[ o + 1 ];
+    final double m21 = c[ o + 9 ];
+    final double m02 = c[ o + 2 ];
+    final double m22 = c[ o + 10 ];
+    final double m03 = c[ o + 3 ];
+    final double m23 = c[ o + 11 ];
+    c[ o ] = m00 * cos + m20 * -sin;
+    c[ o + 8 ] = m00 * sin + m20 * cos;
+    c[ o + 1 ] = m01 * cos + m21 * -sin;
+    c[ o + 9 ] = m01 * sin + m21 * cos;
+    c[ o + 2 ] = m02 * cos + m22 * -sin;
+    c[ o + 10 ] = m02 * sin + m22 * cos;
+    c[ o + 3 ] = m03 * cos + m23 * -sin;
+    c[ o + 11 ] = m03 * sin + m23 * cos;
+    return this;
+  }
+
+  /**
+   * Rotate the matrix at the specified index around the z-axis.
+   * See {@link Matrix4d#rotateZ(double)} for further details.
+   *
+   * @param index          the index of the matrix.
+   * @param angleInRadians the angle to rotate in radians.
+   * @return this
+   */
+  @Nonnull
+  public Matrix4dArray rotateZ( final int index, final double angleInRadians )
+  {
+    final double sin = Math.sin( angleInRadians );
+    final double cos = Math.cos( angleInRadians );
+    final double[] c = components;
+    final int o = index * Matrix4d.COMPONENTS;
+    final double m00 = c[ o ];
+    final double m10 = c[ o + 4 ];
+    final double m01 = c[ o + 1 ];
+    final double m11 = c[ o + 5 ];
+    final double m02 = c[ o + 2 ];
+    final double m12 = c[ o + 6 ];
+    final double m03 = c[ o + 3 ];
+    final double m13 = c[ o + 7 ];
+    c[ o ] = m00 * cos + m10 * sin;
+    c[ o + 4 ] = m00 * -sin + m10 * cos;
+    c[ o + 1 ] = m01 * cos + m11 * sin;
+    c[ o + 5 ] = m01 * -sin + m11 * cos;
+    c[ o + 2 ] = m02 * cos + m12 * sin;
+    c[ o + 6 ] = m02 * -sin + m12 * cos;
+    c[ o + 3 ] = m03 * cos + m13 * sin;
+    c[ o + 7 ] = m03 * -sin + m13 * cos;
+    return this;
+  }
+
+  /**
+   * Multiply the matrix at the specified index by the matrix <code>right</code> and store the result at the same index.
+   * See {@link Matrix4d#multiply(Matrix4d)} for further details.
+   *
+   * @param index the index of the matrix.
+   * @param right the right operand of the multiplication.
+   * @return this
+   */
+  @Nonnull
+  public Matrix4dArray multiply( final int index, @Nonnull final Matrix4d right )
+  {
+    final int o = index * Matrix4d.COMPONENTS;
+    Matrix4dBatch.multiply( components, o, components, o, right, 1 );
+    return this;
+  }
+
+  /**
+   * Multiply the matrix at the specified index by the matrix at <code>rightIndex</code> in the <code>right</code>
+   * array and store the result at the same index.
+   * See {@link Matrix4d#multiply(Matrix4d)} for further details.
+   *
+   * @param index      the index of the matrix.
+   * @param right      the array containing the right operand of the multiplication. May be this array.
+   * @param rightIndex the index of the right operand in the <code>right</code> array.
+   * @return this
+   */
+  @Nonnull
+  public Matrix4dArray multiply( final int index, @Nonnull final Matrix4dArray right, final int rightIndex )
+  {
+    final int o = index * Matrix4d.COMPONENTS;
+    Matrix4dBatch.multiply( components, o, components, o, right.components, rightIndex * Matrix4d.COMPONENTS, 1 );
+    return this;
+  }
+
+  /**
+   * Multiply every matrix in the array by the matrix <code>right</code>.
+   *
+   * @param right the right operand of the multiplications.
+   * @return this
+   */
+  @Nonnull
+  public Matrix4dArray multiply( @Nonnull final Matrix4d right )
+  {
+    Matrix4dBatch.multiply( components, 0, components, 0, right, size() );
+    return this;
+  }
+}
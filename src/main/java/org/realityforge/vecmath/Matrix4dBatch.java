@@ -0,0 +1,505 @@
+package org.realityforge.vecmath;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Operations that process batches of 4x4 matrices packed into <code>double[]</code> arrays.
+ *
+ * <p>Each matrix occupies {@link Matrix4d#COMPONENTS} consecutive elements in the column-major order emitted by
+ * {@link Matrix4d#toArray(double[], int)} and consecutive matrices are stored one after the other. Processing the
+ * matrices in packed form avoids the per-object field loads and pointer chasing of a loop over {@link Matrix4d}
+ * instances. The multiplications have the same semantics as {@link Matrix4d#multiply(Matrix4d, Matrix4d, Matrix4d)}
+ * and produce bit-identical results to the general product computed by that method.</p>
+ */
+public final class Matrix4dBatch
+{
+  /**
+   * The minimum number of matrices processed by a single task in the <code>multiplyParallel(...)</code> methods.
+   * Batches containing fewer than twice this number of matrices are processed on the calling thread.
+   */
+  public static final int PARALLEL_THRESHOLD = 4096;
+
+  private Matrix4dBatch()
+  {
+  }
+
+  /**
+   * Multiply each matrix in the <code>left</code> array by the corresponding matrix in the <code>right</code> array
+   * and store the results in the <code>result</code> array.
+   * The <code>result</code> array may be the same array as either operand as long as the matrices are either
+   * at the same offset or do not overlap.
+   *
+   * @param result       the array in which the results are stored.
+   * @param resultOffset the offset of the first component of the first result matrix in the <code>result</code> array.
+   * @param left         the array containing the left operands of the multiplications.
+   * @param leftOffset   the offset of the first component of the first left operand in the <code>left</code> array.
+   * @param right        the array containing the right operands of the multiplications.
+   * @param rightOffset  the offset of the first component of the first right operand in the <code>right</code> array.
+   * @param count        the number of matrices to multiply.
+   * @return the result array.
+   */
+  @Nonnull
+  public static double[] multiply( @Nonnull final double[] result,
+                                   final int resultOffset,
+                                   @Nonnull final double[] left,
+                                   final int leftOffset,
+                                   @Nonnull final double[] right,
+                                   final int rightOffset,
+                                   final int count )
+  {
+    assert resultOffset + count * Matrix4d.COMPONENTS <= result.length;
+    assert leftOffset + count * Matrix4d.COMPONENTS <= left.length;
+    assert rightOffset + count * Matrix4d.COMPONENTS <= right.length;
+    for ( int i = 0, o = resultOffset, l = leftOffset, r = rightOffset;
+          i < count;
+          i++, o += Matrix4d.COMPONENTS, l += Matrix4d.COMPONENTS, r += Matrix4d.COMPONENTS )
+    {
+      final double a00 = left[ l ];
+      final double a01 = left[ l + 1 ];
+      final double a02 = left[ l + 2 ];
+      final double a03 = left[ l + 3 ];
+      final double a10 = left[ l + 4 ];
+      final double a11 = left[ l + 5 ];
+      final double a12 = left[ l + 6 ];
+      final double a13 = left[ l + 7 ];
+      final double a20 = left[ l + 8 ];
+      final double a21 = left[ l + 9 ];
+      final double a22 = left[ l + 10 ];
+      final double a23 = left[ l + 11 ];
+      final double a30 = left[ l + 12 ];
+      final double a31 = left[ l + 13 ];
+      final double a32 = left[ l + 14 ];
+      final double a33 = left[ l + 15 ];
+      final double b00 = right[ r ];
+      final double b01 = right[ r + 1 ];
+      final double b02 = right[ r + 2 ];
+      final double b03 = right[ r + 3 ];
+      final double b10 = right[ r + 4 ];
+      final double b11 = right[ r + 5 ];
+      final double b12 = right[ r + 6 ];
+      final double b13 = right[ r + 7 ];
+      final double b20 = right[ r + 8 ];
+      final double b21 = right[ r + 9 ];
+      final double b22 = right[ r + 10 ];
+      final double b23 = right[ r + 11 ];
+      final double b30 = right[ r + 12 ];
+      final double b31 = right[ r + 13 ];
+      final double b32 = right[ r + 14 ];
+      final double b33 = right[ r + 15 ];
+      result[ o ] = a00 * b00 + a01 * b10 + a02 * b20 + a03 * b30;
+      result[ o + 1 ] = a00 * b01 + a01 * b11 + a02 * b21 + a03 * b31;
+      result[ o + 2 ] = a00 * b02 + a01 * b12 + a02 * b22 + a03 * b32;
+      result[ o + 3 ] = a00 * b03 + a01 * b13 + a02 * b23 + a03 * b33;
+      result[ o + 4 ] = a10 * b00 + a11 * b10 + a12 * b20 + a13 * b30;
+      result[ o + 5 ] = a10 * b01 + a11 * b11 + a12 * b21 + a13 * b31;
+      result[ o + 6 ] = a10 * b02 + a11 * b12 + a12 * b22 + a13 * b32;
+      result[ o + 7 ] = a10 * b03 + a11 * b13 + a12 * b23 + a13 * b33;
+      result[ o + 8 ] = a20 * b00 + a21 * b10 + a22 * b20 + a23 * b30;
+      result[ o + 9 ] = a20 * b01 + a21 * b11 + a22 * b21 + a23 * b31;
+      result[ o + 10 ] = a20 * b02 + a21 * b12 + a22 * b22 + a23 * b32;
+      result[ o + 11 ] = a20 * b03 + a21 * b13 + a22 * b23 + a23 * b33;
+      result[ o + 12 ] = a30 * b00 + a31 * b10 + a32 * b20 + a33 * b30;
+      result[ o + 13 ] = a30 * b01 + a31 * b11 + a32 * b21 + a33 * b31;
+      result[ o + 14 ] = a30 * b02 + a31 * b12 + a32 * b22 + a33 * b32;
+      result[ o + 15 ] = a30 * b03 + a31 * b13 + a32 * b23 + a33 * b33;
+    }
+    return result;
+  }
+
+  /**
+   * Multiply each matrix in the <code>left</code> array by the shared <code>right</code> matrix
+   * and store the results in the <code>result</code> array.
+   * The <code>result</code> array may be the same array as the <code>left</code> array as long as the matrices
+   * are either at the same offset or do not overlap.
+   *
+   * @param result       the array in which the results are stored.
+   * @param resultOffset the offset of the first component of the first result matrix in the <code>result</code> array.
+   * @param left         the array containing the left operands of the multiplications.
+   * @param leftOffset   the offset of the first component of the first left operand in the <code>left</code> array.
+   * @param right        the right operand of every multiplication.
+   * @param count        the number of matrices to multiply.
+   * @return the result array.
+   */
+  @Nonnull
+  public static double[] multiply( @Nonnull final double[] result,
+                                   final int resultOffset,
+                                   @Nonnull final double[] left,
+                                   final int leftOffset,
+                                   @Nonnull final Matrix4d right,
+                                   final int count )
+  {
+    assert resultOffset + count * Matrix4d.COMPONENTS <= result.length;
+    assert leftOffset + count * Matrix4d.COMPONENTS <= left.length;
+    final double b00 = right.m00;
+    final double b01 = right.m01;
+    final double b02 = right.m02;
+    final double b03 = right.m03;
+    final double b10 = right.m10;
+    final double b11 = right.m11;
+    final double b12 = right.m12;
+    final double b13 = right.m13;
+    final double b20 = right.m20;
+    final double b21 = right.m21;
+    final double b22 = right.m22;
+    final double b23 = right.m23;
+    final double b30 = right.m30;
+    final double b31 = right.m31;
+    final double b32 = right.m32;
+    final double b33 = right.m33;
+    for ( int i = 0, o = resultOffset, l = leftOffset;
+          i < count;
+          i++, o += Matrix4d.COMPONENTS, l += Matrix4d.COMPONENTS )
+    {
+      final double a00 = left[ l ];
+      final double a01 = left[ l + 1 ];
+      final double a02 = left[ l + 2 ];
+      final double a03 = left[ l + 3 ];
+      final double a10 = left[ l + 4 ];
+      final double a11 = left[ l + 5 ];
+      final double a12 = left[ l + 6 ];
+      final double a13 = left[ l + 7 ];
+      final double a20 = left[ l + 8 ];
+      final double a21 = left[ l + 9 ];
+      final double a22 = left[ l + 10 ];
+      final double a23 = left[ l + 11 ];
+      final double a30 = left[ l + 12 ];
+      final double a31 = left[ l + 13 ];
+      final double a32 = left[ l + 14 ];
+      final double a33 = left[ l + 15 ];
+      result[ o ] = a00 * b00 + a01 * b10 + a02 * b20 + a03 * b30;
+      result[ o + 1 ] = a00 * b01 + a01 * b11 + a02 * b21 + a03 * b31;
+      result[ o + 2 ] = a00 * b02 + a01 * b12 + a02 * b22 + a03 * b32;
+      result[ o + 3 ] = a00 * b03 + a01 * b13 + a02 * b23 + a03 * b33;
+      result[ o + 4 ] = a10 * b00 + a11 * b10 + a12 * b20 + a13 * b30;
+      result[ o + 5 ] = a10 * b01 + a11 * b11 + a12 * b21 + a13 * b31;
+      result[ o + 6 ] = a10 * b02 + a11 * b12 + a12 * b22 + a13 * b32;
+      result[ o + 7 ] = a10 * b03 + a11 * b13 + a12 * b23 + a13 * b33;
+      result[ o + 8 ] = a20 * b00 + a21 * b10 + a22 * b20 + a23 * b30;
+      result[ o + 9 ] = a20 * b01 + a21 * b11 + a22 * b21 + a23 * b31;
+      result[ o + 10 ] = a20 * b02 + a21 * b12 + a22 * b22 + a23 * b32;
+      result[ o + 11 ] = a20 * b03 + a21 * b13 + a22 * b23 + a23 * b33;
+      result[ o + 12 ] = a30 * b00 + a31 * b10 + a32 * b20 + a33 * b30;
+      result[ o + 13 ] = a30 * b01 + a31 * b11 + a32 * b21 + a33 * b31;
+      result[ o + 14 ] = a30 * b02 + a31 * b12 + a32 * b22 + a33 * b32;
+      result[ o + 15 ] = a30 * b03 + a31 * b13 + a32 * b23 + a33 * b33;
+    }
+    return result;
+  }
+
+  /**
+   * Multiply the shared <code>left</code> matrix by each matrix in the <code>right</code> array
+   * and store the results in the <code>result</code> array.
+   * The <code>result</code> array may be the same array as the <code>right</code> array as long as the matrices
+   * are either at the same offset or do not overlap.
+   *
+   * @param result       the array in which the results are stored.
+   * @param resultOffset the offset of the first component of the first result matrix in the <code>result</code> array.
+   * @param left         the left operand of every multiplication.
+   * @param right        the array containing the right operands of the multiplications.
+   * @param rightOffset  the offset of the first component of the first right operand in the <code>right</code> array.
+   * @param count        the number of matrices to multiply.
+   * @return the result array.
+   */
+  @Nonnull
+  public static double[] multiply( @Nonnull final double[] result,
+                                   final int resultOffset,
+                                   @Nonnull final Matrix4d left,
+                                   @Nonnull final double[] right,
+                                   final int rightOffset,
+                                   final int count )
+  {
+    assert resultOffset + count * Matrix4d.COMPONENTS <= result.length;
+    assert rightOffset + count * Matrix4d.COMPONENTS <= right.length;
+    final double a00 = left.m00;
+    final double a01 = left.m01;
+    final double a02 = left.m02;
+    final double a03 = left.m03;
+    final double a10 = left.m10;
+    final double a11 = left.m11;
+    final double a12 = left.m12;
+    final double a13 = left.m13;
+    final double a20 = left.m20;
+    final double a21 = left.m21;
+    final double a22 = left.m22;
+    final double a23 = left.m23;
+    final double a30 = left.m30;
+    final double a31 = left.m31;
+    final double a32 = left.m32;
+    final double a33 = left.m33;
+    for ( int i = 0, o = resultOffset, r = rightOffset;
+          i < count;
+          i++, o += Matrix4d.COMPONENTS, r += Matrix4d.COMPONENTS )
+    {
+      final double b00 = right[ r ];
+      final double b01 = right[ r + 1 ];
+      final double b02 = right[ r + 2 ];
+      final double b03 = right[ r + 3 ];
+      final double b10 = right[ r + 4 ];
+      final double b11 = right[ r + 5 ];
+      final double b12 = right[ r + 6 ];
+      final double b13 = right[ r + 7 ];
+      final double b20 = right[ r + 8 ];
+      final double b21 = right[ r + 9 ];
+      final double b22 = right[ r + 10 ];
+      final double b23 = right[ r + 11 ];
+      final double b30 = right[ r + 12 ];
+      final double b31 = right[ r + 13 ];
+      final double b32 = right[ r + 14 ];
+      final double b33 = right[ r + 15 ];
+      result[ o ] = a00 * b00 + a01 * b10 + a02 * b20 + a03 * b30;
+      result[ o + 1 ] = a00 * b01 + a01 * b11 + a02 * b21 + a03 * b31;
+      result[ o + 2 ] = a00 * b02 + a01 * b12 + a02 * b22 + a03 * b32;
+      result[ o + 3 ] = a00 * b03 + a01 * b13 + a02 * b23 + a03 * b33;
+      result[ o + 4 ] = a10 * b00 + a11 * b10 + a12 * b20 + a13 * b30;
+      result[ o + 5 ] = a10 * b01 + a11 * b11 + a12 * b21 + a13 * b31;
+      result[ o + 6 ] = a10 * b02 + a11 * b12 + a12 * b22 + a13 * b32;
+      result[ o + 7 ] = a10 * b03 + a11 * b13 + a12 * b23 + a13 * b33;
+      result[ o + 8 ] = a20 * b00 + a21 * b10 + a22 * b20 + a23 * b30;
+      result[ o + 9 ] = a20 * b01 + a21 * b11 + a22 * b21 + a23 * b31;
+      result[ o + 10 ] = a20 * b02 + a21 * b12 + a22 * b22 + a23 * b32;
+      result[ o + 11 ] = a20 * b03 + a21 * b13 + a22 * b23 + a23 * b33;
+      result[ o + 12 ] = a30 * b00 + a31 * b10 + a32 * b20 + a33 * b30;
+      result[ o + 13 ] = a30 * b01 + a31 * b11 + a32 * b21 + a33 * b31;
+      result[ o + 14 ] = a30 * b02 + a31 * b12 + a32 * b22 + a33 * b32;
+      result[ o + 15 ] = a30 * b03 + a31 * b13 + a32 * b23 + a33 * b33;
+    }
+    return result;
+  }
+
+  /**
+   * Multiply each matrix in the <code>left</code> array by the corresponding matrix in the <code>right</code> array
+   * and store the results in the <code>result</code> array, splitting the work across the common fork-join pool.
+   * Batches containing fewer than twice {@link #PARALLEL_THRESHOLD} matrices are processed on the calling thread.
+   * See {@link #multiply(double[], int, double[], int, double[], int, int)} for further details.
+   *
+   * @param result       the array in which the results are stored.
+   * @param resultOffset the offset of the first component of the first result matrix in the <code>result</code> array.
+   * @param left         the array containing the left operands of the multiplications.
+   * @param leftOffset   the offset of the first component of the first left operand in the <code>left</code> array.
+   * @param right        the array containing the right operands of the multiplications.
+   * @param rightOffset  the offset of the first component of the first right operand in the <code>right</code> array.
+   * @param count        the number of matrices to multiply.
+   * @return the result array.
+   */
+  @GwtIncompatible
+  @Nonnull
+  public static double[] multiplyParallel( @Nonnull final double[] result,
+                                           final int resultOffset,
+                                           @Nonnull final double[] left,
+                                           final int leftOffset,
+                                           @Nonnull final double[] right,
+                                           final int rightOffset,
+                                           final int count )
+  {
+    if ( count < PARALLEL_THRESHOLD * 2 )
+    {
+      return multiply( result, resultOffset, left, leftOffset, right, rightOffset, count );
+    }
+    else
+    {
+      java.util.concurrent.ForkJoinPool.commonPool()
+        .invoke( new MultiplyTask( result, resultOffset, left, leftOffset, right, rightOffset, count ) );
+      return result;
+    }
+  }
+
+  /**
+   * Multiply each matrix in the <code>left</code> array by the shared <code>right</code> matrix
+   * and store the results in the <code>result</code> array, splitting the work across the common fork-join pool.
+   * Batches containing fewer than twice {@link #PARALLEL_THRESHOLD} matrices are processed on the calling thread.
+   * The <code>right</code> matrix MUST NOT be modified until the method returns.
+   * See {@link #multiply(double[], int, double[], int, Matrix4d, int)} for further details.
+   *
+   * @param result       the array in which the results are stored.
+   * @param resultOffset the offset of the first component of the first result matrix in the <code>result</code> array.
+   * @param left         the array containing the left operands of the multiplications.
+   * @param leftOffset   the offset of the first component of the first left operand in the <code>left</code> array.
+   * @param right        the right operand of every multiplication.
+   * @param count        the number of matrices to multiply.
+   * @return the result array.
+   */
+  @GwtIncompatible
+  @Nonnull
+  public static double[] multiplyParallel( @Nonnull final double[] result,
+                                           final int resultOffset,
+                                           @Nonnull final double[] left,
+                                           final int leftOffset,
+                                           @Nonnull final Matrix4d right,
+                                           final int count )
+  {
+    if ( count < PARALLEL_THRESHOLD * 2 )
+    {
+      return multiply( result, resultOffset, left, leftOffset, right, count );
+    }
+    else
+    {
+      java.util.concurrent.ForkJoinPool.commonPool()
+        .invoke( new MultiplySharedTask( result, resultOffset, left, leftOffset, right, false, count ) );
+      return result;
+    }
+  }
+
+  /**
+   * Multiply the shared <code>left</code> matrix by each matrix in the <code>right</code> array
+   * and store the results in the <code>result</code> array, splitting the work across the common fork-join pool.
+   * Batches containing fewer than twice {@link #PARALLEL_THRESHOLD} matrices are processed on the calling thread.
+   * The <code>left</code> matrix MUST NOT be modified until the method returns.
+   * See {@link #multiply(double[], int, Matrix4d, double[], int, int)} for further details.
+   *
+   * @param result       the array in which the results are stored.
+   * @param resultOffset the offset of the first component of the first result matrix in the <code>result</code> array.
+   * @param left         the left operand of every multiplication.
+   * @param right        the array containing the right operands of the multiplications.
+   * @param rightOffset  the offset of the first component of the first right operand in the <code>right</code> array.
+   * @param count        the number of matrices to multiply.
+   * @return the result array.
+   */
+  @GwtIncompatible
+  @Nonnull
+  public static double[] multiplyParallel( @Nonnull final double[] result,
+                                           final int resultOffset,
+                                           @Nonnull final Matrix4d left,
+                                           @Nonnull final double[] right,
+                                           final int rightOffset,
+                                           final int count )
+  {
+    if ( count < PARALLEL_THRESHOLD * 2 )
+    {
+      return multiply( result, resultOffset, left, right, rightOffset, count );
+    }
+    else
+    {
+      java.util.concurrent.ForkJoinPool.commonPool()
+        .invoke( new MultiplySharedTask( result, resultOffset, right, rightOffset, left, true, count ) );
+      return result;
+    }
+  }
+
+  @GwtIncompatible
+  private static final class MultiplyTask
+    extends java.util.concurrent.RecursiveAction
+  {
+    private static final long serialVersionUID = 1L;
+    @Nonnull
+    private final double[] _result;
+    private final int _resultOffset;
+    @Nonnull
+    private final double[] _left;
+    private final int _leftOffset;
+    @Nonnull
+    private final double[] _right;
+    private final int _rightOffset;
+    private final int _count;
+
+    MultiplyTask( @Nonnull final double[] result,
+                  final int resultOffset,
+                  @Nonnull final double[] left,
+                  final int leftOffset,
+                  @Nonnull final double[] right,
+                  final int rightOffset,
+                  final int count )
+    {
+      _result = result;
+      _resultOffset = resultOffset;
+      _left = left;
+      _leftOffset = leftOffset;
+      _right = right;
+      _rightOffset = rightOffset;
+      _count = count;
+    }
+
+    @Override
+    protected void compute()
+    {
+      if ( _count < PARALLEL_THRESHOLD * 2 )
+      {
+        multiply( _result, _resultOffset, _left, _leftOffset, _right, _rightOffset, _count );
+      }
+      else
+      {
+        final int half = _count / 2;
+        final int offset = half * Matrix4d.COMPONENTS;
+        invokeAll( new MultiplyTask( _result, _resultOffset, _left, _leftOffset, _right, _rightOffset, half ),
+                   new MultiplyTask( _result,
+                                     _resultOffset + offset,
+                                     _left,
+                                     _leftOffset + offset,
+                                     _right,
+                                     _rightOffset + offset,
+                                     _count - half ) );
+      }
+    }
+  }
+
+  @GwtIncompatible
+  private static final class MultiplySharedTask
+    extends java.util.concurrent.RecursiveAction
+  {
+    private static final long serialVersionUID = 1L;
+    @Nonnull
+    private final double[] _result;
+    private final int _resultOffset;
+    @Nonnull
+    private final double[] _matrices;
+    private final int _matricesOffset;
+    @Nonnull
+    private final Matrix4d _shared;
+    /**
+     * True if the shared matrix is the left operand of each multiplication, false if it is the right operand.
+     */
+    private final boolean _sharedLeft;
+    private final int _count;
+
+    MultiplySharedTask( @Nonnull final double[] result,
+                        final int resultOffset,
+                        @Nonnull final double[] matrices,
+                        final int matricesOffset,
+                        @Nonnull final Matrix4d shared,
+                        final boolean sharedLeft,
+                        final int count )
+    {
+      _result = result;
+      _resultOffset = resultOffset;
+      _matrices = matrices;
+      _matricesOffset = matricesOffset;
+      _shared = shared;
+      _sharedLeft = sharedLeft;
+      _count = count;
+    }
+
+    @Override
+    protected void compute()
+    {
+      if ( _count < PARALLEL_THRESHOLD * 2 )
+      {
+        if ( _sharedLeft )
+        {
+          multiply( _result, _resultOffset, _shared, _matrices, _matricesOffset, _count );
+        }
+        else
+        {
+          multiply( _result, _resultOffset, _matrices, _matricesOffset, _shared, _count );
+        }
+      }
+      else
+      {
+        final int half = _count / 2;
+        final int offset = half * Matrix4d.COMPONENTS;
+        invokeAll( new MultiplySharedTask( _result,
+                                           _resultOffset,
+                                           _matrices,
+                                           _matricesOffset,
+                                           _shared,
+                                           _sharedLeft,
+                                           half ),
+                   new MultiplySharedTask( _result,
+                                           _resultOffset + offset,
+                                           _matrices,
+                                           _matricesOffset + offset,
+                                           _shared,
+                                           _sharedLeft,
+                                           _count - half ) );
+      }
+    }
+  }
+}
@@ -0,0 +1,123 @@
+package org.realityforge.vecmath;
+
+import javax.annotation.Nonnull;
+
+/**
+ * A cache of values derived from a matrix that are recomputed only when the matrix changes.
+ *
+ * <p>The cache lazily computes the inverse, the normal matrix and the determinant of the source matrix
+ * the first time each value is requested and returns the memoized value until the {@link Matrix4d#version()}
+ * of the source matrix changes. This avoids repeatedly deriving the same values from matrices that do not
+ * change between frames, such as the camera or a static object.</p>
+ *
+ * <p>The matrices returned by {@link #inverse()} and {@link #normal()} are owned by the cache and
+ * MUST NOT be modified. If the components of the source matrix are modified directly then
+ * {@link Matrix4d#determineProperties()} MUST be invoked for the cache to observe the change.</p>
+ */
+public final class Matrix4dCache
+{
+  /**
+   * The matrix from which the values are derived.
+   */
+  @Nonnull
+  private final Matrix4d _matrix;
+  @Nonnull
+  private final Matrix4d _inverse = new Matrix4d();
+  @Nonnull
+  private final Matrix4d _normal = new Matrix4d();
+  private double _determinant;
+  private boolean _inverseValid;
+  private boolean _normalValid;
+  private boolean _determinantValid;
+  /**
+   * The version of the matrix from which the cached values were derived.
+   */
+  private int _version;
+
+  /**
+   * Create a cache of values derived from the specified matrix.
+   *
+   * @param matrix the matrix from which values are derived.
+   */
+  public Matrix4dCache( @Nonnull final Matrix4d matrix )
+  {
+    _matrix = matrix;
+    _version = matrix.version();
+  }
+
+  /**
+   * Return the matrix from which the values are derived.
+   *
+   * @return the matrix from which the values are derived.
+   */
+  @Nonnull
+  public Matrix4d matrix()
+  {
+    return _matrix;
+  }
+
+  /**
+   * Return the inverse of the matrix as computed by {@link Matrix4d#invert()}.
+   *
+   * @return the inverse of the matrix.
+   */
+  @Nonnull
+  public Matrix4d inverse()
+  {
+    validate();
+    if ( !_inverseValid )
+    {
+      _inverse.set( _matrix ).invert();
+      _inverseValid = true;
+    }
+    return _inverse;
+  }
+
+  /**
+   * Return the normal matrix of the matrix as computed by {@link Matrix4d#normal()}.
+   *
+   * @return the normal matrix of the matrix.
+   */
+  @Nonnull
+  public Matrix4d normal()
+  {
+    validate();
+    if ( !_normalValid )
+    {
+      _normal.set( _matrix ).normal();
+      _normalValid = true;
+    }
+    return _normal;
+  }
+
+  /**
+   * Return the determinant of the matrix as computed by {@link Matrix4d#determinant()}.
+   *
+   * @return the determinant of the matrix.
+   */
+  public double determinant()
+  {
+    validate();
+    if ( !_determinantValid )
+    {
+      _determinant = _matrix.determinant();
+      _determinantValid = true;
+    }
+    return _determinant;
+  }
+
+  /**
+   * Discard the cached values if the matrix has been modified since they were derived.
+   */
+  private void validate()
+  {
+    final int version = _matrix.version();
+    if ( version != _version )
+    {
+      _version = version;
+      _inverseValid = false;
+      _normalValid = false;
+      _determinantValid = false;
+    }
+  }
+}
@@ -0,0 +1,273 @@
+package org.realityforge.vecmath;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.annotation.Nonnull;
+
+/**
+ * A bounded cache that maps matrices to a canonical instance with the same components.
+ *
+ * <p>Interning lets an application replace the many identical matrices in a scene (shared prefab transforms,
+ * the identity matrix, common scales etc.) with a single canonical instance. Two interned matrices are
+ * equal according to {@link Matrix4d#isEqualTo(Matrix4d)} if and only if they are the same instance, so
+ * data derived from a matrix such as an uploaded uniform or an inverse can be keyed by the identity of the
+ * canonical instance and reused when the same transform is encountered again.</p>
+ *
+ * <p>The interner holds at most {@link #capacity()} canonical instances and evicts the least recently
+ * used instance when a new matrix is interned into a full interner. Looking up a matrix that is already
+ * interned does not allocate. Matrices that contain a <code>NaN</code> component are never equal to another
+ * matrix and thus are never matched.</p>
+ *
+ * <p>The canonical instances are owned by the interner and MUST NOT be modified as modifying a canonical instance
+ * breaks the guarantee that the identity of the instance implies its components. When the library is in the
+ * development environment, the interner recomputes the hash of a canonical instance whenever it is compared
+ * during a lookup and throws an {@link IllegalStateException} if the instance has been modified since it was
+ * interned. This check is compiled out in the production environment. The interner is not thread-safe.</p>
+ */
+public final class Matrix4dInterner
+{
+  /**
+   * The canonical instances keyed by their components and ordered from least to most recently used.
+   */
+  @Nonnull
+  private final Map<Key, Matrix4d> _entries;
+  /**
+   * The key used to look up a matrix without allocating.
+   */
+  @Nonnull
+  private final Key _probe = new Key();
+  /**
+   * The maximum number of canonical instances retained.
+   */
+  private final int _capacity;
+  private long _hitCount;
+  private long _missCount;
+  private long _evictionCount;
+
+  /**
+   * Create an interner that retains at most the specified number of canonical instances.
+   *
+   * @param capacity the maximum number of canonical instances retained. Must be greater than zero.
+   */
+  public Matrix4dInterner( final int capacity )
+  {
+    assert capacity > 0;
+    _capacity = capacity;
+    _entries = new Entries();
+  }
+
+  /**
+   * Return the canonical instance with the same components as the specified matrix.
+   * If no such instance is present then a copy of the matrix is added as the canonical instance,
+   * evicting the least recently used instance if the interner is full.
+   *
+   * @param matrix the matrix.
+   * @return the canonical instance with the same components as the specified matrix.
+   */
+  @Nonnull
+  public Matrix4d intern( @Nonnull final Matrix4d matrix )
+  {
+    _probe.set( matrix );
+    final Matrix4d canonical = _entries.get( _probe );
+    _probe.clear();
+    if ( null != canonical )
+    {
+      _hitCount++;
+      return canonical;
+    }
+    else
+    {
+      _missCount++;
+      final Matrix4d copy = matrix.dup();
+      _entries.put( new Key( copy ), copy );
+      return copy;
+    }
+  }
+
+  /**
+   * Return true if a canonical instance with the same components as the specified matrix is present.
+   * This does not affect the recency of the canonical instance or the hit and miss counters.
+   *
+   * @param matrix the matrix.
+   * @return true if a canonical instance with the same components as the specified matrix is present.
+   */
+  public boolean contains( @Nonnull final Matrix4d matrix )
+  {
+    _probe.set( matrix );
+    final boolean contains = _entries.containsKey( _probe );
+    _probe.clear();
+    return contains;
+  }
+
+  /**
+   * Return the maximum number of canonical instances retained.
+   *
+   * @return the maximum number of canonical instances retained.
+   */
+  public int capacity()
+  {
+    return _capacity;
+  }
+
+  /**
+   * Return the number of canonical instances currently retained.
+   *
+   * @return the number of canonical instances currently retained.
+   */
+  public int size()
+  {
+    return _entries.size();
+  }
+
+  /**
+   * Return the number of invocations of {@link #intern(Matrix4d)} that returned an existing canonical instance.
+   *
+   * @return the number of hits.
+   */
+  public long hitCount()
+  {
+    return _hitCount;
+  }
+
+  /**
+   * Return the number of invocations of {@link #intern(Matrix4d)} that added a new canonical instance.
+   *
+   * @return the number of misses.
+   */
+  public long missCount()
+  {
+    return _missCount;
+  }
+
+  /**
+   * Return the number of canonical instances evicted to stay within the capacity.
+   *
+   * @return the number of evictions.
+   */
+  public long evictionCount()
+  {
+    return _evictionCount;
+  }
+
+  /**
+   * Reset the hit, miss and eviction counters to zero.
+   */
+  public void resetStatistics()
+  {
+    _hitCount = 0;
+    _missCount = 0;
+    _evictionCount = 0;
+  }
+
+  /**
+   * Remove all canonical instances from the interner. The counters are not modified.
+   */
+  public void clear()
+  {
+    _entries.clear();
+  }
+
+  /**
+   * A key that compares matrices by their components.
+   * The hash of the matrix is computed once when the key is set.
+   */
+  private static final class Key
+  {
+    private Matrix4d _matrix;
+    private int _hash;
+
+    Key()
+    {
+    }
+
+    Key( @Nonnull final Matrix4d matrix )
+    {
+      set( matrix );
+    }
+
+    void set( @Nonnull final Matrix4d matrix )
+    {
+      _matrix = matrix;
+      _hash = matrix.contentHash();
+    }
+
+    void clear()
+    {
+      _matrix = null;
+    }
+
+    /**
+     * Ensure that the matrix has not been modified since the key was created.
+     * This is only invoked in the development environment.
+     */
+    void ensureUnmodified()
+    {
+      if ( _matrix.contentHash() != _hash )
+      {
+        throw new IllegalStateException( "Matrix4dInterner contains the canonical instance " + _matrix.asString() +
+                                         " that was modified after it was interned. Canonical instances MUST NOT" +
+                                         " be modified" );
+      }
+    }
+
+    @Override
+    public int hashCode()
+    {
+      return _hash;
+    }
+
+    @Override
+    public boolean equals( final Object o )
+    {
+      if ( o instanceof Key )
+      {
+        final Key other = (Key) o;
+        if ( _hash != other._hash )
+        {
+          return false;
+        }
+        else
+        {
+          if ( VecmathConfig.isDevelopmentEnvironment() )
+          {
+            ensureUnmodified();
+            other.ensureUnmodified();
+          }
+          return _matrix.isEqualTo( other._matrix );
+        }
+      }
+      else
+      {
+        return false;
+      }
+    }
+  }
+
+  /**
+   * The map of canonical instances in access order that evicts the eldest entry when the capacity is exceeded.
+   */
+  private final class Entries
+    extends LinkedHashMap<Key, Matrix4d>
+  {
+    private static final long serialVersionUID = 1L;
+
+    Entries()
+    {
+      super( 16, 0.75f, true );
+    }
+
+    @Override
+    protected boolean removeEldestEntry( final Map.Entry<Key, Matrix4d> eldest )
+    {
+      if ( size() > _capacity )
+      {
+        _evictionCount++;
+        return true;
+      }
+      else
+      {
+        return false;
+      }
+    }
+  }
+}
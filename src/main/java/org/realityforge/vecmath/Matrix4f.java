@@ -0,0 +1,562 @@
+package org.realityforge.vecmath;
+
+import grim.annotations.OmitSymbol;
+import javax.annotation.Nonnull;
+
+/**
+ * A 4x4-dimensional, single-precision, floating-point matrix.
+ * The type is typically used to stage matrices before they are passed to frameworks such as WebGL or WebGPU
+ * that consume single-precision data. The layout of the components is identical to {@link Matrix4d}.
+ */
+public final class Matrix4f
+{
+  /**
+   * The number of components in the {@code Matrix4f}.
+   */
+  public static final int COMPONENTS = 16;
+  /**
+   * The number of bits used to represent a {@code Matrix4f} value.
+   */
+  public static final int SIZE = Float.SIZE * COMPONENTS;
+  /**
+   * The number of bytes used to represent a {@code Matrix4f} value.
+   */
+  public static final int BYTES = Float.BYTES * COMPONENTS;
+  public float m00;
+  public float m01;
+  public float m02;
+  public float m03;
+  public float m10;
+  public float m11;
+  public float m12;
+  public float m13;
+  public float m20;
+  public float m21;
+  public float m22;
+  public float m23;
+  public float m30;
+  public float m31;
+  public float m32;
+  public float m33;
+
+  /**
+   * Create a new matrix representing the identity matrix.
+   */
+  public Matrix4f()
+  {
+    m00 = 1;
+    m11 = 1;
+    m22 = 1;
+    m33 = 1;
+  }
+
+  /**
+   * Create a new matrix with the specified components.
+   *
+   * @param m00 the m00 component.
+   * @param m01 the m01 component.
+   * @param m02 the m02 component.
+   * @param m03 the m03 component.
+   * @param m10 the m10 component.
+   * @param m11 the m11 component.
+   * @param m12 the m12 component.
+   * @param m13 the m13 component.
+   * @param m20 the m20 component.
+   * @param m21 the m21 component.
+   * @param m22 the m22 component.
+   * @param m23 the m23 component.
+   * @param m30 the m30 component.
+   * @param m31 the m31 component.
+   * @param m32 the m32 component.
+   * @param m33 the m33 component.
+   */
+  public Matrix4f( final float m00, final float m10, final float m20, final float m30,
+                   final float m01, final float m11, final float m21, final float m31,
+                   final float m02, final float m12, final float m22, final float m32,
+                   final float m03, final float m13, final float m23, final float m33 )
+  {
+    this.m00 = m00;
+    this.m10 = m10;
+    this.m20 = m20;
+    this.m30 = m30;
+    this.m01 = m01;
+    this.m11 = m11;
+    this.m21 = m21;
+    this.m31 = m31;
+    this.m02 = m02;
+    this.m12 = m12;
+    this.m22 = m22;
+    this.m32 = m32;
+    this.m03 = m03;
+    this.m13 = m13;
+    this.m23 = m23;
+    this.m33 = m33;
+  }
+
+  /**
+   * Create a new matrix from the other matrix.
+   *
+   * @param other the other matrix.
+   */
+  public Matrix4f( @Nonnull final Matrix4f other )
+  {
+    m00 = other.m00;
+    m10 = other.m10;
+    m20 = other.m20;
+    m30 = other.m30;
+    m01 = other.m01;
+    m11 = other.m11;
+    m21 = other.m21;
+    m31 = other.m31;
+    m02 = other.m02;
+    m12 = other.m12;
+    m22 = other.m22;
+    m32 = other.m32;
+    m03 = other.m03;
+    m13 = other.m13;
+    m23 = other.m23;
+    m33 = other.m33;
+  }
+
+  /**
+   * Create a new matrix from the other double-precision matrix, narrowing the components to floats.
+   *
+   * @param other the other matrix.
+   */
+  public Matrix4f( @Nonnull final Matrix4d other )
+  {
+    m00 = (float) other.m00;
+    m10 = (float) other.m10;
+    m20 = (float) other.m20;
+    m30 = (float) other.m30;
+    m01 = (float) other.m01;
+    m11 = (float) other.m11;
+    m21 = (float) other.m21;
+    m31 = (float) other.m31;
+    m02 = (float) other.m02;
+    m12 = (float) other.m12;
+    m22 = (float) other.m22;
+    m32 = (float) other.m32;
+    m03 = (float) other.m03;
+    m13 = (float) other.m13;
+    m23 = (float) other.m23;
+    m33 = (float) other.m33;
+  }
+
+  /**
+   * Duplicate the matrix.
+   *
+   * @return a new matrix with the same component values as the current matrix.
+   */
+  @Nonnull
+  public Matrix4f dup()
+  {
+    return new Matrix4f( this );
+  }
+
+  /**
+   * Set the components of this matrix to the components in the other matrix.
+   *
+   * @param other the other matrix.
+   * @return this
+   */
+  @Nonnull
+  public Matrix4f set( @Nonnull final Matrix4f other )
+  {
+    m00 = other.m00;
+    m10 = other.m10;
+    m20 = other.m20;
+    m30 = other.m30;
+    m01 = other.m01;
+    m11 = other.m11;
+    m21 = other.m21;
+    m31 = other.m31;
+    m02 = other.m02;
+    m12 = other.m12;
+    m22 = other.m22;
+    m32 = other.m32;
+    m03 = other.m03;
+    m13 = other.m13;
+    m23 = other.m23;
+    m33 = other.m33;
+    return this;
+  }
+
+  /**
+   * Set the components of this matrix to the components in the other double-precision matrix,
+   * narrowing the components to floats.
+   *
+   * @param other the other matrix.
+   * @return this
+   */
+  @Nonnull
+  public Matrix4f set( @Nonnull final Matrix4d other )
+  {
+    m00 = (float) other.m00;
+    m10 = (float) other.m10;
+    m20 = (float) other.m20;
+    m30 = (float) other.m30;
+    m01 = (float) other.m01;
+    m11 = (float) other.m11;
+    m21 = (float) other.m21;
+    m31 = (float) other.m31;
+    m02 = (float) other.m02;
+    m12 = (float) other.m12;
+    m22 = (float) other.m22;
+    m32 = (float) other.m32;
+    m03 = (float) other.m03;
+    m13 = (float) other.m13;
+    m23 = (float) other.m23;
+    m33 = (float) other.m33;
+    return this;
+  }
+
+  /**
+   * Set the components of this matrix to the specified components.
+   *
+   * @param m00 the m00 component.
+   * @param m01 the m01 component.
+   * @param m02 the m02 component.
+   * @param m03 the m03 component.
+   * @param m10 the m10 component.
+   * @param m11 the m11 component.
+   * @param m12 the m12 component.
+   * @param m13 the m13 component.
+   * @param m20 the m20 component.
+   * @param m21 the m21 component.
+   * @param m22 the m22 component.
+   * @param m23 the m23 component.
+   * @param m30 the m30 component.
+   * @param m31 the m31 component.
+   * @param m32 the m32 component.
+   * @param m33 the m33 component.
+   * @return this
+   */
+  @Nonnull
+  public Matrix4f set( final float m00, final float m10, final float m20, final float m30,
+                       final float m01, final float m11, final float m21, final float m31,
+                       final float m02, final float m12, final float m22, final float m32,
+                       final float m03, final float m13, final float m23, final float m33 )
+  {
+    this.m00 = m00;
+    this.m10 = m10;
+    this.m20 = m20;
+    this.m30 = m30;
+    this.m01 = m01;
+    this.m11 = m11;
+    this.m21 = m21;
+    this.m31 = m31;
+    this.m02 = m02;
+    this.m12 = m12;
+    this.m22 = m22;
+    this.m32 = m32;
+    this.m03 = m03;
+    this.m13 = m13;
+    this.m23 = m23;
+    this.m33 = m33;
+    return this;
+  }
+
+  /**
+   * Set the matrix to the identity matrix.
+   *
+   * @return this
+   */
+  @Nonnull
+  public Matrix4f setIdentity()
+  {
+    return set(
+      1, 0, 0, 0,
+      0, 1, 0, 0,
+      0, 0, 1, 0,
+      0, 0, 0, 1
+    );
+  }
+
+  /**
+   * Multiply this matrix by the matrix <code>right</code> and store the result in this matrix.
+   * This has the same semantics as {@link Matrix4d#multiply(Matrix4d)}.
+   *
+   * @param right the right operand of the multiplication.
+   * @return this the result of the operation.
+   */
+  @Nonnull
+  public Matrix4f multiply( @Nonnull final Matrix4f right )
+  {
+    multiply( this, this, right );
+    return this;
+  }
+
+  /**
+   * Multiply the matrix <code>left</code> by the matrix <code>right</code> and place the result in <code>result</code>.
+   * This has the same semantics as {@link Matrix4d#multiply(Matrix4d, Matrix4d, Matrix4d)}.
+   *
+   * @param result the matrix where the result is stored. May be the same instance as the other parameters.
+   * @param left   the left operand of the multiplication.
+   * @param right  the right operand of the multiplication.
+   */
+  public static void multiply( @Nonnull final Matrix4f result,
+                               @Nonnull final Matrix4f left,
+                               @Nonnull final Matrix4f right )
+  {
+    final float a00 = left.m00;
+    final float a01 = left.m01;
+    final float a02 = left.m02;
+    final float a03 = left.m03;
+    final float a10 = left.m10;
+    final float a11 = left.m11;
+    final float a12 = left.m12;
+    final float a13 = left.m13;
+    final float a20 = left.m20;
+    final float a21 = left.m21;
+    final float a22 = left.m22;
+    final float a23 = left.m23;
+    final float a30 = left.m30;
+    final float a31 = left.m31;
+    final float a32 = left.m32;
+    final float a33 = left.m33;
+
+    final float b00 = right.m00;
+    final float b01 = right.m01;
+    final float b02 = right.m02;
+    final float b03 = right.m03;
+    final float b10 = right.m10;
+    final float b11 = right.m11;
+    final float b12 = right.m12;
+    final float b13 = right.m13;
+    final float b20 = right.m20;
+    final float b21 = right.m21;
+    final float b22 = right.m22;
+    final float b23 = right.m23;
+    final float b30 = right.m30;
+    final float b31 = right.m31;
+    final float b32 = right.m32;
+    final float b33 = right.m33;
+    result.set( a00 * b00 + a01 * b10 + a02 * b20 + a03 * b30,
+                a10 * b00 + a11 * b10 + a12 * b20 + a13 * b30,
+                a20 * b00 + a21 * b10 + a22 * b20 + a23 * b30,
+                a30 * b00 + a31 * b10 + a32 * b20 + a33 * b30,
+
+                a00 * b01 + a01 * b11 + a02 * b21 + a03 * b31,
+                a10 * b01 + a11 * b11 + a12 * b21 + a13 * b31,
+                a20 * b01 + a21 * b11 + a22 * b21 + a23 * b31,
+                a30 * b01 + a31 * b11 + a32 * b21 + a33 * b31,
+
+                a00 * b02 + a01 * b12 + a02 * b22 + a03 * b32,
+                a10 * b02 + a11 * b12 + a12 * b22 + a13 * b32,
+                a20 * b02 + a21 * b12 + a22 * b22 + a23 * b32,
+                a30 * b02 + a31 * b12 + a32 * b22 + a33 * b32,
+
+                a00 * b03 + a01 * b13 + a02 * b23 + a03 * b33,
+                a10 * b03 + a11 * b13 + a12 * b23 + a13 * b33,
+                a20 * b03 + a21 * b13 + a22 * b23 + a23 * b33,
+                a30 * b03 + a31 * b13 + a32 * b23 + a33 * b33 );
+  }
+
+  /**
+   * Fill the specified target with the matrix components starting at the specified offset.
+   * The components are emitted in column-major form.
+   *
+   * @param target the array in which to store the matrix components. The target must be large enough to contain the matrix.
+   * @param offset the offset in the target array to start storing the matrix components.
+   * @return the matrix represented as an array.
+   */
+  @Nonnull
+  public float[] toArray( @Nonnull final float[] target, final int offset )
+  {
+    target[ offset ] = m00;
+    target[ offset + 1 ] = m01;
+    target[ offset + 2 ] = m02;
+    target[ offset + 3 ] = m03;
+    target[ offset + 4 ] = m10;
+    target[ offset + 5 ] = m11;
+    target[ offset + 6 ] = m12;
+    target[ offset + 7 ] = m13;
+    target[ offset + 8 ] = m20;
+    target[ offset + 9 ] = m21;
+    target[ offset + 10 ] = m22;
+    target[ offset + 11 ] = m23;
+    target[ offset + 12 ] = m30;
+    target[ offset + 13 ] = m31;
+    target[ offset + 14 ] = m32;
+    target[ offset + 15 ] = m33;
+    return target;
+  }
+
+  /**
+   * Fill the specified target with the matrix components.
+   * The components are emitted in column-major form.
+   *
+   * @param target the array in which to store the matrix components. The target must be large enough to contain the matrix.
+   * @return the matrix represented as an array.
+   */
+  @Nonnull
+  public float[] toArray( @Nonnull final float[] target )
+  {
+    return toArray( target, 0 );
+  }
+
+  /**
+   * Create an array to represent the matrix.
+   * The components are emitted in column-major form.
+   *
+   * @return the matrix represented as an array.
+   */
+  @Nonnull
+  public float[] toArray()
+  {
+    return toArray( new float[ 16 ] );
+  }
+
+  /**
+   * Store the matrix components into the specified buffer starting at the specified absolute float index.
+   * The components are emitted in column-major form. The position of the buffer is not modified.
+   *
+   * @param buffer the buffer in which to store the matrix components. The buffer must have {@link #COMPONENTS} floats remaining after the index.
+   * @param index  the absolute index in the buffer to start storing the matrix components.
+   * @return the buffer.
+   */
+  @GwtIncompatible
+  @Nonnull
+  public java.nio.FloatBuffer get( @Nonnull final java.nio.FloatBuffer buffer, final int index )
+  {
+    buffer.put( index, m00 );
+    buffer.put( index + 1, m01 );
+    buffer.put( index + 2, m02 );
+    buffer.put( index + 3, m03 );
+    buffer.put( index + 4, m10 );
+    buffer.put( index + 5, m11 );
+    buffer.put( index + 6, m12 );
+    buffer.put( index + 7, m13 );
+    buffer.put( index + 8, m20 );
+    buffer.put( index + 9, m21 );
+    buffer.put( index + 10, m22 );
+    buffer.put( index + 11, m23 );
+    buffer.put( index + 12, m30 );
+    buffer.put( index + 13, m31 );
+    buffer.put( index + 14, m32 );
+    buffer.put( index + 15, m33 );
+    return buffer;
+  }
+
+  /**
+   * Store the matrix components into the specified buffer starting at the specified absolute byte index.
+   * The components are emitted in column-major form using the byte order of the buffer.
+   * The position of the buffer is not modified.
+   *
+   * @param buffer the buffer in which to store the matrix components. The buffer must have {@link #BYTES} bytes remaining after the index.
+   * @param index  the absolute byte index in the buffer to start storing the matrix components.
+   * @return the buffer.
+   */
+  @GwtIncompatible
+  @Nonnull
+  public java.nio.ByteBuffer get( @Nonnull final java.nio.ByteBuffer buffer, final int index )
+  {
+    buffer.putFloat( index, m00 );
+    buffer.putFloat( index + 4, m01 );
+    buffer.putFloat( index + 8, m02 );
+    buffer.putFloat( index + 12, m03 );
+    buffer.putFloat( index + 16, m10 );
+    buffer.putFloat( index + 20, m11 );
+    buffer.putFloat( index + 24, m12 );
+    buffer.putFloat( index + 28, m13 );
+    buffer.putFloat( index + 32, m20 );
+    buffer.putFloat( index + 36, m21 );
+    buffer.putFloat( index + 40, m22 );
+    buffer.putFloat( index + 44, m23 );
+    buffer.putFloat( index + 48, m30 );
+    buffer.putFloat( index + 52, m31 );
+    buffer.putFloat( index + 56, m32 );
+    buffer.putFloat( index + 60, m33 );
+    return buffer;
+  }
+
+  /**
+   * Returns true if the other matrix has components with the same values.
+   *
+   * @param other the other matrix.
+   * @return true if the other matrix has components with the same values, otherwise false.
+   */
+  public boolean isEqualTo( @Nonnull final Matrix4f other )
+  {
+    return
+      m00 == other.m00 && m01 == other.m01 && m02 == other.m02 && m03 == other.m03 &&
+      m10 == other.m10 && m11 == other.m11 && m12 == other.m12 && m13 == other.m13 &&
+      m20 == other.m20 && m21 == other.m21 && m22 == other.m22 && m23 == other.m23 &&
+      m30 == other.m30 && m31 == other.m31 && m32 == other.m32 && m33 == other.m33;
+  }
+
+  /**
+   * Returns a string representation of the matrix.
+   * The string is in column-major form. See {@link Matrix4d#asColumnMajorString()}.
+   *
+   * @return a string representation of the matrix.
+   */
+  @Nonnull
+  public String asString()
+  {
+    return
+      m00 + " " + m10 + " " + m20 + " " + m30 + "\n" +
+      m01 + " " + m11 + " " + m21 + " " + m31 + "\n" +
+      m02 + " " + m12 + " " + m22 + " " + m32 + "\n" +
+      m03 + " " + m13 + " " + m23 + " " + m33 + "\n";
+  }
+
+  @Override
+  public int hashCode()
+  {
+    if ( Vecmath.isObjectEqualsImplemented() )
+    {
+      int hash = 1;
+      hash = VecmathUtil.hash( hash, m00 );
+      hash = VecmathUtil.hash( hash, m01 );
+      hash = VecmathUtil.hash( hash, m02 );
+      hash = VecmathUtil.hash( hash, m03 );
+      hash = VecmathUtil.hash( hash, m10 );
+      hash = VecmathUtil.hash( hash, m11 );
+      hash = VecmathUtil.hash( hash, m12 );
+      hash = VecmathUtil.hash( hash, m13 );
+      hash = VecmathUtil.hash( hash, m20 );
+      hash = VecmathUtil.hash( hash, m21 );
+      hash = VecmathUtil.hash( hash, m22 );
+      hash = VecmathUtil.hash( hash, m23 );
+      hash = VecmathUtil.hash( hash, m30 );
+      hash = VecmathUtil.hash( hash, m31 );
+      hash = VecmathUtil.hash( hash, m32 );
+      hash = VecmathUtil.hash( hash, m33 );
+      return hash;
+    }
+    else
+    {
+      return super.hashCode();
+    }
+  }
+
+  /**
+   * Returns true if the specified object is the same type and has components with the same values.
+   * This method only produces a useful representation if {@link Vecmath#isObjectEqualsImplemented()}
+   * returns <code>true</code>.
+   *
+   * @param o the object.
+   * @return true if the specified object is the same type and has components with the same values, otherwise false.
+   */
+  @Override
+  public boolean equals( final Object o )
+  {
+    return Vecmath.isObjectEqualsImplemented() ? o instanceof Matrix4f && isEqualTo( (Matrix4f) o ) : super.equals( o );
+  }
+
+  /**
+   * Returns a string representation of the matrix.
+   * This method only produces a useful representation if {@link Vecmath#isDebugToStringEnabled()}
+   * returns <code>true</code>.
+   *
+   * @return a string representation of the object.
+   */
+  @OmitSymbol( unless = "vecmath.isDebugToStringEnabled" )
+  @Override
+  public String toString()
+  {
+    return Vecmath.isDebugToStringEnabled() ? asString() : super.toString();
+  }
+}
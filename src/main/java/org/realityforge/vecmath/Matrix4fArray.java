@@ -0,0 +1,434 @@
+package org.realityforge.vecmath;
+
+import javax.annotation.Nonnull;
+
+/**
+ * A fixed-size array of 4x4-dimensional, single-precision, floating-point matrices.
+ *
+ * <p>The matrices are stored in a single, contiguous <code>float[]</code> with each matrix occupying
+ * {@link Matrix4f#COMPONENTS} consecutive elements in the column-major order emitted by
+ * {@link Matrix4f#toArray(float[], int)}. This avoids the per-object overhead of an array of {@link Matrix4f}
+ * instances and allows the backing array to be uploaded directly to frameworks such as WebGL or WebGPU.
+ * The operations that take an index mirror the equivalent operations on {@link Matrix4f}.</p>
+ */
+public final class Matrix4fArray
+{
+  /**
+   * The components of the matrices.
+   */
+  @Nonnull
+  public final float[] components;
+
+  /**
+   * Create an array containing the specified number of identity matrices.
+   *
+   * @param size the number of matrices in the array.
+   */
+  public Matrix4fArray( final int size )
+  {
+    components = new float[ size * Matrix4f.COMPONENTS ];
+    for ( int i = 0; i < size; i++ )
+    {
+      setIdentity( i );
+    }
+  }
+
+  /**
+   * Return the number of matrices in the array.
+   *
+   * @return the number of matrices in the array.
+   */
+  public int size()
+  {
+    return components.length / Matrix4f.COMPONENTS;
+  }
+
+  /**
+   * Copy the matrix at the specified index into the target matrix.
+   *
+   * @param index  the index of the matrix.
+   * @param target the matrix in which to store the components.
+   * @return the target matrix.
+   */
+  @Nonnull
+  public Matrix4f get( final int index, @Nonnull final Matrix4f target )
+  {
+    final float[] c = components;
+    final int o = index * Matrix4f.COMPONENTS;
+    return target.set( c[ o ], c[ o + 4 ], c[ o + 8 ], c[ o + 12 ],
+                       c[ o + 1 ], c[ o + 5 ], c[ o + 9 ], c[ o + 13 ],
+                       c[ o + 2 ], c[ o + 6 ], c[ o + 10 ], c[ o + 14 ],
+                       c[ o + 3 ], c[ o + 7 ], c[ o + 11 ], c[ o + 15 ] );
+  }
+
+  /**
+   * Set the matrix at the specified index to the components of the specified matrix.
+   *
+   * @param index the index of the matrix.
+   * @param value the matrix.
+   * @return this
+   */
+  @Nonnull
+  public Matrix4fArray set( final int index, @Nonnull final Matrix4f value )
+  {
+    value.toArray( components, index * Matrix4f.COMPONENTS );
+    return this;
+  }
+
+  /**
+   * Set the matrix at the specified index to the components of the specified double-precision matrix.
+   * The components are narrowed to floats.
+   *
+   * @param index the index of the matrix.
+   * @param value the matrix.
+   * @return this
+   */
+  @Nonnull
+  public Matrix4fArray set( final int index, @Nonnull final Matrix4d value )
+  {
+    value.toArray( components, index * Matrix4f.COMPONENTS );
+    return this;
+  }
+
+  /**
+   * Set the matrix at the specified index to the identity matrix.
+   *
+   * @param index the index of the matrix.
+   * @return this
+   */
+  @Nonnull
+  public Matrix4fArray setIdentity( final int index )
+  {
+    final float[] c = components;
+    final int o = index * Matrix4f.COMPONENTS;
+    for ( int i = 0; i < Matrix4f.COMPONENTS; i++ )
+    {
+      c[ o + i ] = 0;
+    }
+    c[ o ] = 1;
+    c[ o + 5 ] = 1;
+    c[ o + 10 ] = 1;
+    c[ o + 15 ] = 1;
+    return this;
+  }
+
+  /**
+   * Translate the matrix at the specified index by the specified amounts.
+   * See {@link Matrix4d#translate(double, double, double)} for further details.
+   *
+   * @param index the index of the matrix.
+   * @param x     the amount to translate along the x-axis.
+   * @param y     the amount to translate along the y-axis.
+   * @param z     the amount to translate along the z-axis.
+   * @return this
+   */
+  @Nonnull
+  public Matrix4fArray translate( final int index, final float x, final float y, final float z )
+  {
+    final float[] c = components;
+    final int o = index * Matrix4f.COMPONENTS;
+    c[ o + 12 ] = c[ o ] * x + c[ o + 4 ] * y + c[ o + 8 ] * z + c[ o + 12 ];
+    c[ o + 13 ] = c[ o + 1 ] * x + c[ o + 5 ] * y + c[ o + 9 ] * z + c[ o + 13 ];
+    c[ o + 14 ] = c[ o + 2 ] * x + c[ o + 6 ] * y + c[ o + 10 ] * z + c[ o + 14 ];
+    c[ o + 15 ] = c[ o + 3 ] * x + c[ o + 7 ] * y + c[ o + 11 ] * z + c[ o + 15 ];
+    return this;
+  }
+
+  /**
+   * Scale the matrix at the specified index by the specified amounts.
+   * See {@link Matrix4d#scale(double, double, double)} for further details.
+   *
+   * @param index the index of the matrix.
+   * @param x     the amount to scale along the x-axis.
+   * @param y     the amount to scale along the y-axis.
+   * @param z     the amount to scale along the z-axis.
+   * @return this
+   */
+  @Nonnull
+  public Matrix4fArray scale( final int index, final float x, final float y, final float z )
+  {
+    final float[] c = components;
+    final int o = index * Matrix4f.COMPONENTS;
+    c[ o ] *= x;
+    c[ o + 4 ] *= x;
+    c[ o + 8 ] *= x;
+    c[ o + 12 ] *= x;
+    c[ o + 1 ] *= y;
+    c[ o + 5 ] *= y;
+    c[ o + 9 ] *= y;
+    c[ o + 13 ] *= y;
+    c[ o + 2 ] *= z;
+    c[ o + 6 ] *= z;
+    c[ o + 10 ] *= z;
+    c[ o + 14 ] *= z;
+    return this;
+  }
+
+  /**
+   * Scale the matrix at the specified index uniformly by the specified amount.
+   *
+   * @param index the index of the matrix.
+   * @param k     the amount to scale along each axis.
+   * @return this
+   */
+  @Nonnull
+  public Matrix4fArray scale( final int index, final float k )
+  {
+    return scale( index, k, k, k );
+  }
+
+  /**
+   * Rotate the matrix at the specified index around the x-axis.
+   * See {@link Matrix4d#rotateX(double)} for further details.
+   *
+   * @param index          the index of the matrix.
+   * @param angleInRadians the angle to rotate in radians.
+   * @return this
+   */
+  @Nonnull
+  public Matrix4fArray rotateX( final int index, final double angleInRadians )
+  {
+    final float sin = (float) Math.sin( angleInRadians );
+    final float cos = (float) Math.cos( angleInRadians );
+    final float[] c = components;
+    final int o = index * Matrix4f.COMPONENTS;
+    final float m10 = c[ o + 4 ];
+    final float m20 = c[ o + 8 ];
+    final float m11 = c[ o + 5 ];
+    final float m21 = c[ o + 9 ];
+    final float m12 = c[ o + 6 ];
+    final float m22 = c[ o + 10 ];
+    final float m13 = c[ o + 7 ];
+    final float m23 = c[ o + 11 ];
+    c[ o + 4 ] = m10 * cos + m20 * sin;
+    c[ o + 8 ] = m10 * -sin + m20 * cos;
+    c[ o + 5 ] = m11 * cos + m21 * sin;
+    c[ o + 9 ] = m11 * -sin + m21 * cos;
+    c[ o + 6 ] = m12 * cos + m22 * sin;
+    c[ o + 10 ] = m12 * -sin + m22 * cos;
+    c[ o + 7 ] = m13 * cos + m23 * sin;
+    c[ o + 11 ] = m13 * -sin + m23 * cos;
+    return this;
+  }
+
+  /**
+   * Rotate the matrix at the specified index around the y-axis.
+   * See {@link Matrix4d#rotateY(double)} for further details.
+   *
+   * @param index          the index of the matrix.
+   * @param angleInRadians the angle to rotate in radians.
+   * @return this
+   */
+  @Nonnull
+  public Matrix4fArray rotateY( final int index, final double angleInRadians )
+  {
+    final float sin = (float) Math.sin( angleInRadians );
+    final float cos = (float) Math.cos( angleInRadians );
+    final float[] c = components;
+    final int o = index * Matrix4f.COMPONENTS;
+    final float m00 = c[ o ];
+    final float m20 = c[ o + 8 ];
+    final float m01 = c[ o + 1 ];
+    final float m21 = c[ o + 9 ];
+    final float m02 = c[ o + 2 ];
+    final float m22 = c[ o + 10 ];
+    final float m03 = c[ o + 3 ];
+    final float m23 = c[ o + 11 ];
+    c[ o ] = m00 * cos + m20 * -sin;
+    c[ o + 8 ] = m00 * sin + m20 * cos;
+    c[ o + 1 ] = m01 * cos + m21 * -sin;
+    c[ o + 9 ] = m01 * sin + m21 * cos;
+    c[ o + 2 ] = m02 * cos + m22 * -sin;
+    c[ o + 10 ] = m02 * sin + m22 * cos;
+    c[ o + 3 ] = m03 * cos + m23 * -sin;
+    c[ o + 11 ] = m03 * sin + m23 * cos;
+    return this;
+  }
+
+  /**
+   * Rotate the matrix at the specified index around the z-axis.
+   * See {@link Matrix4d#rotateZ(double)} for further details.
+   *
+   * @param index          the index of the matrix.
+   * @param angleInRadians the angle to rotate in radians.
+   * @return this
+   */
+  @Nonnull
+  public Matrix4fArray rotateZ( final int index, final double angleInRadians )
+  {
+    final float sin = (float) Math.sin( angleInRadians );
+    final float cos = (float) Math.cos( angleInRadians );
+    final float[] c = components;
+    final int o = index * Matrix4f.COMPONENTS;
+    final float m00 = c[ o ];
+    final float m10 = c[ o + 4 ];
+    final float m01 = c[ o + 1 ];
+    final float m11 = c[ o + 5 ];
+    final float m02 = c[ o + 2 ];
+    final float m12 = c[ o + 6 ];
+    final float m03 = c[ o + 3 ];
+    final float m13 = c[ o + 7 ];
+    c[ o ] = m00 * cos + m10 * sin;
+    c[ o + 4 ] = m00 * -sin + m10 * cos;
+    c[ o + 1 ] = m01 * cos + m11 * sin;
+    c[ o + 5 ] = m01 * -sin + m11 * cos;
+    c[ o + 2 ] = m02 * cos + m12 * sin;
+    c[ o + 6 ] = m02 * -sin + m12 * cos;
+    c[ o + 3 ] = m03 * cos + m13 * sin;
+    c[ o + 7 ] = m03 * -sin + m13 * cos;
+    return this;
+  }
+
+  /**
+   * Multiply the matrix at the specified index by the matrix <code>right</code> and store the result at the same index.
+   * See {@link Matrix4f#multiply(Matrix4f)} for further details.
+   *
+   * @param index the index of the matrix.
+   * @param right the right operand of the multiplication.
+   * @return this
+   */
+  @Nonnull
+  public Matrix4fArray multiply( final int index, @Nonnull final Matrix4f right )
+  {
+    return multiply( index, 1, right );
+  }
+
+  /**
+   * Multiply the matrix at the specified index by the matrix at <code>rightIndex</code> in the <code>right</code>
+   * array and store the result at the same index.
+   * See {@link Matrix4f#multiply(Matrix4f)} for further details.
+   *
+   * @param index      the index of the matrix.
+   * @param right      the array containing the right operand of the multiplication. May be this array.
+   * @param rightIndex the index of the right operand in the <code>right</code> array.
+   * @return this
+   */
+  @Nonnull
+  public Matrix4fArray multiply( final int index, @Nonnull final Matrix4fArray right, final int rightIndex )
+  {
+    final float[] c = components;
+    final float[] rc = right.components;
+    final int o = index * Matrix4f.COMPONENTS;
+    final int r = rightIndex * Matrix4f.COMPONENTS;
+    final float a00 = c[ o ];
+    final float a01 = c[ o + 1 ];
+    final float a02 = c[ o + 2 ];
+    final float a03 = c[ o + 3 ];
+    final float a10 = c[ o + 4 ];
+    final float a11 = c[ o + 5 ];
+    final float a12 = c[ o + 6 ];
+    final float a13 = c[ o + 7 ];
+    final float a20 = c[ o + 8 ];
+    final float a21 = c[ o + 9 ];
+    final float a22 = c[ o + 10 ];
+    final float a23 = c[ o + 11 ];
+    final float a30 = c[ o + 12 ];
+    final float a31 = c[ o + 13 ];
+    final float a32 = c[ o + 14 ];
+    final float a33 = c[ o + 15 ];
+    final float b00 = rc[ r ];
+    final float b01 = rc[ r + 1 ];
+    final float b02 = rc[ r + 2 ];
+    final float b03 = rc[ r + 3 ];
+    final float b10 = rc[ r + 4 ];
+    final float b11 = rc[ r + 5 ];
+    final float b12 = rc[ r + 6 ];
+    final float b13 = rc[ r + 7 ];
+    final float b20 = rc[ r + 8 ];
+    final float b21 = rc[ r + 9 ];
+    final float b22 = rc[ r + 10 ];
+    final float b23 = rc[ r + 11 ];
+    final float b30 = rc[ r + 12 ];
+    final float b31 = rc[ r + 13 ];
+    final float b32 = rc[ r + 14 ];
+    final float b33 = rc[ r + 15 ];
+    c[ o ] = a00 * b00 + a01 * b10 + a02 * b20 + a03 * b30;
+    c[ o + 1 ] = a00 * b01 + a01 * b11 + a02 * b21 + a03 * b31;
+    c[ o + 2 ] = a00 * b02 + a01 * b12 + a02 * b22 + a03 * b32;
+    c[ o + 3 ] = a00 * b03 + a01 * b13 + a02 * b23 + a03 * b33;
+    c[ o + 4 ] = a10 * b00 + a11 * b10 + a12 * b20 + a13 * b30;
+    c[ o + 5 ] = a10 * b01 + a11 * b11 + a12 * b21 + a13 * b31;
+    c[ o + 6 ] = a10 * b02 + a11 * b12 + a12 * b22 + a13 * b32;
+    c[ o + 7 ] = a10 * b03 + a11 * b13 + a12 * b23 + a13 * b33;
+    c[ o + 8 ] = a20 * b00 + a21 * b10 + a22 * b20 + a23 * b30;
+    c[ o + 9 ] = a20 * b01 + a21 * b11 + a22 * b21 + a23 * b31;
+    c[ o + 10 ] = a20 * b02 + a21 * b12 + a22 * b22 + a23 * b32;
+    c[ o + 11 ] = a20 * b03 + a21 * b13 + a22 * b23 + a23 * b33;
+    c[ o + 12 ] = a30 * b00 + a31 * b10 + a32 * b20 + a33 * b30;
+    c[ o + 13 ] = a30 * b01 + a31 * b11 + a32 * b21 + a33 * b31;
+    c[ o + 14 ] = a30 * b02 + a31 * b12 + a32 * b22 + a33 * b32;
+    c[ o + 15 ] = a30 * b03 + a31 * b13 + a32 * b23 + a33 * b33;
+    return this;
+  }
+
+  /**
+   * Multiply every matrix in the array by the matrix <code>right</code>.
+   *
+   * @param right the right operand of the multiplications.
+   * @return this
+   */
+  @Nonnull
+  public Matrix4fArray multiply( @Nonnull final Matrix4f right )
+  {
+    return multiply( 0, size(), right );
+  }
+
+  @Nonnull
+  private Matrix4fArray multiply( final int first, final int count, @Nonnull final Matrix4f right )
+  {
+    final float[] c = components;
+    final float b00 = right.m00;
+    final float b01 = right.m01;
+    final float b02 = right.m02;
+    final float b03 = right.m03;
+    final float b10 = right.m10;
+    final float b11 = right.m11;
+    final float b12 = right.m12;
+    final float b13 = right.m13;
+    final float b20 = right.m20;
+    final float b21 = right.m21;
+    final float b22 = right.m22;
+    final float b23 = right.m23;
+    final float b30 = right.m30;
+    final float b31 = right.m31;
+    final float b32 = right.m32;
+    final float b33 = right.m33;
+    final int end = ( first + count ) * Matrix4f.COMPONENTS;
+    for ( int o = first * Matrix4f.COMPONENTS; o < end; o += Matrix4f.COMPONENTS )
+    {
+      final float a00 = c[ o ];
+      final float a01 = c[ o + 1 ];
+      final float a02 = c[ o + 2 ];
+      final float a03 = c[ o + 3 ];
+      final float a10 = c[ o + 4 ];
+      final float a11 = c[ o + 5 ];
+      final float a12 = c[ o + 6 ];
+      final float a13 = c[ o + 7 ];
+      final float a20 = c[ o + 8 ];
+      final float a21 = c[ o + 9 ];
+      final float a22 = c[ o + 10 ];
+      final float a23 = c[ o + 11 ];
+      final float a30 = c[ o + 12 ];
+      final float a31 = c[ o + 13 ];
+      final float a32 = c[ o + 14 ];
+      final float a33 = c[ o + 15 ];
+      c[ o ] = a00 * b00 + a01 * b10 + a02 * b20 + a03 * b30;
+      c[ o + 1 ] = a00 * b01 + a01 * b11 + a02 * b21 + a03 * b31;
+      c[ o + 2 ] = a00 * b02 + a01 * b12 + a02 * b22 + a03 * b32;
+      c[ o + 3 ] = a00 * b03 + a01 * b13 + a02 * b23 + a03 * b33;
+      c[ o + 4 ] = a10 * b00 + a11 * b10 + a12 * b20 + a13 * b30;
+      c[ o + 5 ] = a10 * b01 + a11 * b11 + a12 * b21 + a13 * b31;
+      c[ o + 6 ] = a10 * b02 + a11 * b12 + a12 * b22 + a13 * b32;
+      c[ o + 7 ] = a10 * b03 + a11 * b13 + a12 * b23 + a13 * b33;
+      c[ o + 8 ] = a20 * b00 + a21 * b10 + a22 * b20 + a23 * b30;
+      c[ o + 9 ] = a20 * b01 + a21 * b11 + a22 * b21 + a23 * b31;
+      c[ o + 10 ] = a20 * b02 + a21 * b12 + a22 * b22 + a23 * b32;
+      c[ o + 11 ] = a20 * b03 + a21 * b13 + a22 * b23 + a23 * b33;
+      c[ o + 12 ] = a30 * b00 + a31 * b10 + a32 * b20 + a33 * b30;
+      c[ o + 13 ] = a30 * b01 + a31 * b11 + a32 * b21 + a33 * b31;
+      c[ o + 14 ] = a30 * b02 + a31 * b12 + a32 * b22 + a33 * b32;
+      c[ o + 15 ] = a30 * b03 + a31 * b13 + a32 * b23 + a33 * b33;
+    }
+    return this;
+  }
+}
@@ -0,0 +1,239 @@
+package org.realityforge.vecmath;
+
+import java.util.Arrays;
+import javax.annotation.Nonnull;
+
+/**
+ * Clips convex polygons in homogeneous clip space against the canonical view volume.
+ *
+ * <p>The vertices are packed into <code>double[]</code> arrays as <code>x, y, z, w</code> homogeneous clip space
+ * coordinates such as those produced by {@link Vector4d#mul(Matrix4d)} or
+ * {@link Matrix4d#transformToClip(double[], int, int, double[], int, int, int)}. The canonical view volume is
+ * <code>-w &lt;= x &lt;= w</code>, <code>-w &lt;= y &lt;= w</code> and <code>-w &lt;= z &lt;= w</code>, consistent with the
+ * WebGL NDC z range <code>[-1..+1]</code> used by {@link Frustum}. Clipping is performed before perspective division
+ * using the Sutherland-Hodgman algorithm so that geometry crossing the plane <code>w=0</code> is clipped correctly.</p>
+ *
+ * <p>Polygons entirely inside the view volume are copied and polygons entirely outside any single plane are
+ * rejected without clipping. The clipper retains the working buffers between invocations and only allocates when
+ * a polygon has more vertices than any previous polygon, so a single instance can clip many polygons without
+ * allocating. An instance MUST NOT be used from multiple threads concurrently.</p>
+ */
+public final class PolygonClipper
+{
+  /**
+   * The number of components in each vertex.
+   */
+  public static final int VERTEX_COMPONENTS = 4;
+  /**
+   * The maximum number of vertices added to a convex polygon by clipping.
+   * Clipping a convex polygon against each plane adds at most one vertex.
+   */
+  public static final int MAX_ADDED_VERTICES = Frustum.PLANE_COUNT;
+  /**
+   * The maximum number of triangles produced by clipping a single triangle via
+   * {@link #clipTriangles(double[], int, int, double[], int)}.
+   */
+  public static final int MAX_TRIANGLES_PER_TRIANGLE = 1 + MAX_ADDED_VERTICES;
+  private static final int INITIAL_CAPACITY = 16;
+  /**
+   * The vertices input to the current clipping pass.
+   */
+  @Nonnull
+  private double[] _input = new double[ INITIAL_CAPACITY * VERTEX_COMPONENTS ];
+  /**
+   * The vertices output by the current clipping pass.
+   */
+  @Nonnull
+  private double[] _output = new double[ INITIAL_CAPACITY * VERTEX_COMPONENTS ];
+
+  /**
+   * Clip the convex polygon in <code>source</code> against the canonical view volume and store the vertices of
+   * the clipped polygon in <code>target</code>. The target must have space for {@link #MAX_ADDED_VERTICES} more
+   * vertices than the source polygon. The source and target may be the same array.
+   *
+   * @param source       the array containing the vertices of the polygon.
+   * @param sourceOffset the offset of the first component of the first vertex in the source array.
+   * @param vertexCount  the number of vertices in the polygon. Must be at least 3.
+   * @param target       the array in which to store the vertices of the clipped polygon.
+   * @param targetOffset the offset of the first component of the first vertex in the target array.
+   * @return the number of vertices in the clipped polygon or <code>0</code> if the polygon is entirely outside the view volume.
+   */
+  public int clip( @Nonnull final double[] source,
+                   final int sourceOffset,
+                   final int vertexCount,
+                   @Nonnull final double[] target,
+                   final int targetOffset )
+  {
+    assert vertexCount >= 3;
+    int allOutcodes = ~0;
+    int anyOutcodes = 0;
+    for ( int i = 0, o = sourceOffset; i < vertexCount; i++, o += VERTEX_COMPONENTS )
+    {
+      final int outcode = outcode( source[ o ], source[ o + 1 ], source[ o + 2 ], source[ o + 3 ] );
+      allOutcodes &= outcode;
+      anyOutcodes |= outcode;
+    }
+    if ( 0 != allOutcodes )
+    {
+      // Every vertex is outside the same plane
+      return 0;
+    }
+    else if ( 0 == anyOutcodes )
+    {
+      // Every vertex is inside the view volume
+      System.arraycopy( source, sourceOffset, target, targetOffset, vertexCount * VERTEX_COMPONENTS );
+      return vertexCount;
+    }
+    else
+    {
+      if ( _input.length < vertexCount * VERTEX_COMPONENTS )
+      {
+        _input = new double[ vertexCount * VERTEX_COMPONENTS ];
+      }
+      System.arraycopy( source, sourceOffset, _input, 0, vertexCount * VERTEX_COMPONENTS );
+      int count = vertexCount;
+      for ( int plane = 0; plane < Frustum.PLANE_COUNT && count > 0; plane++ )
+      {
+        // Only clip against the planes that some vertex of the original polygon is outside
+        if ( 0 != ( anyOutcodes & ( 1 << plane ) ) )
+        {
+          count = clipAgainstPlane( plane, count );
+          final double[] swap = _input;
+          _input = _output;
+          _output = swap;
+        }
+      }
+      System.arraycopy( _input, 0, target, targetOffset, count * VERTEX_COMPONENTS );
+      return count;
+    }
+  }
+
+  /**
+   * Clip the packed triangles in <code>source</code> against the canonical view volume and store the resulting
+   * triangles in <code>target</code>. Each clipped triangle is a convex polygon that is re-triangulated as a fan
+   * around its first vertex. Each source triangle produces at most {@link #MAX_TRIANGLES_PER_TRIANGLE} triangles
+   * and the target must have space for the triangles produced. The source and target must not overlap.
+   *
+   * @param source        the array containing the vertices of the triangles.
+   * @param sourceOffset  the offset of the first component of the first vertex in the source array.
+   * @param triangleCount the number of triangles in the source array.
+   * @param target        the array in which to store the vertices of the clipped triangles.
+   * @param targetOffset  the offset of the first component of the first vertex in the target array.
+   * @return the number of triangles stored in the target array.
+   */
+  public int clipTriangles( @Nonnull final double[] source,
+                            final int sourceOffset,
+                            final int triangleCount,
+                            @Nonnull final double[] target,
+                            final int targetOffset )
+  {
+    int t = targetOffset;
+    for ( int i = 0, s = sourceOffset; i < triangleCount; i++, s += 3 * VERTEX_COMPONENTS )
+    {
+      // Clip into the target at the current output position and then expand the polygon into a fan in place.
+      // The fan is written from the last triangle backwards so that no vertex of the polygon is overwritten
+      // before it is read.
+      final int count = clip( source, s, 3, target, t );
+      if ( 3 == count )
+      {
+        t += 3 * VERTEX_COMPONENTS;
+      }
+      else if ( count > 3 )
+      {
+        for ( int j = count - 2; j >= 1; j-- )
+        {
+          final int o = t + ( j - 1 ) * 3 * VERTEX_COMPONENTS;
+          System.arraycopy( target, t + ( j + 1 ) * VERTEX_COMPONENTS, target, o + 2 * VERTEX_COMPONENTS, VERTEX_COMPONENTS );
+          System.arraycopy( target, t + j * VERTEX_COMPONENTS, target, o + VERTEX_COMPONENTS, VERTEX_COMPONENTS );
+          if ( 1 != j )
+          {
+            System.arraycopy( target, t, target, o, VERTEX_COMPONENTS );
+          }
+        }
+        t += ( count - 2 ) * 3 * VERTEX_COMPONENTS;
+      }
+    }
+    return ( t - targetOffset ) / ( 3 * VERTEX_COMPONENTS );
+  }
+
+  /**
+   * Clip the polygon in {@link #_input} against the specified plane and store the result in {@link #_output}.
+   *
+   * @return the number of vertices in the clipped polygon.
+   */
+  private int clipAgainstPlane( final int plane, final int vertexCount )
+  {
+    // Each edge emits at most two vertices
+    if ( _output.length < vertexCount * 2 * VERTEX_COMPONENTS )
+    {
+      _output = Arrays.copyOf( _output, vertexCount * 2 * VERTEX_COMPONENTS );
+    }
+    final double[] input = _input;
+    final double[] output = _output;
+    int count = 0;
+    int previous = ( vertexCount - 1 ) * VERTEX_COMPONENTS;
+    double previousDistance = distance( plane, input, previous );
+    for ( int i = 0, current = 0; i < vertexCount; i++, current += VERTEX_COMPONENTS )
+    {
+      final double distance = distance( plane, input, current );
+      if ( ( previousDistance < 0 && distance > 0 ) || ( previousDistance > 0 && distance < 0 ) )
+      {
+        // The edge crosses the plane so emit the intersection. An edge that ends on the plane does not
+        // cross it as the vertex on the plane is emitted as an inside vertex.
+        final double t = previousDistance / ( previousDistance - distance );
+        final int o = count * VERTEX_COMPONENTS;
+        output[ o ] = input[ previous ] + ( input[ current ] - input[ previous ] ) * t;
+        output[ o + 1 ] = input[ previous + 1 ] + ( input[ current + 1 ] - input[ previous + 1 ] ) * t;
+        output[ o + 2 ] = input[ previous + 2 ] + ( input[ current + 2 ] - input[ previous + 2 ] ) * t;
+        output[ o + 3 ] = input[ previous + 3 ] + ( input[ current + 3 ] - input[ previous + 3 ] ) * t;
+        count++;
+      }
+      if ( distance >= 0 )
+      {
+        System.arraycopy( input, current, output, count * VERTEX_COMPONENTS, VERTEX_COMPONENTS );
+        count++;
+      }
+      previous = current;
+      previousDistance = distance;
+    }
+    return count;
+  }
+
+  /**
+   * Return the signed distance of the vertex from the specified plane, scaled by an unspecified positive factor.
+   * The distance is negative if the vertex is outside the plane.
+   */
+  private static double distance( final int plane, @Nonnull final double[] vertices, final int offset )
+  {
+    final double w = vertices[ offset + 3 ];
+    switch ( plane )
+    {
+      case Frustum.PLANE_LEFT:
+        return w + vertices[ offset ];
+      case Frustum.PLANE_RIGHT:
+        return w - vertices[ offset ];
+      case Frustum.PLANE_BOTTOM:
+        return w + vertices[ offset + 1 ];
+      case Frustum.PLANE_TOP:
+        return w - vertices[ offset + 1 ];
+      case Frustum.PLANE_NEAR:
+        return w + vertices[ offset + 2 ];
+      default:
+        assert Frustum.PLANE_FAR == plane;
+        return w - vertices[ offset + 2 ];
+    }
+  }
+
+  /**
+   * Return a bitset where bit <code>1 &lt;&lt; plane</code> is set if the vertex is outside the plane.
+   */
+  private static int outcode( final double x, final double y, final double z, final double w )
+  {
+    return ( w + x < 0 ? 1 << Frustum.PLANE_LEFT : 0 ) |
+           ( w - x < 0 ? 1 << Frustum.PLANE_RIGHT : 0 ) |
+           ( w + y < 0 ? 1 << Frustum.PLANE_BOTTOM : 0 ) |
+           ( w - y < 0 ? 1 << Frustum.PLANE_TOP : 0 ) |
+           ( w + z < 0 ? 1 << Frustum.PLANE_NEAR : 0 ) |
+           ( w - z < 0 ? 1 << Frustum.PLANE_FAR : 0 );
+  }
+}
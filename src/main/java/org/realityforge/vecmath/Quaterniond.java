@@ -0,0 +1,590 @@
+package org.realityforge.vecmath;
+
+import grim.annotations.OmitSymbol;
+import javax.annotation.Nonnull;
+
+/**
+ * A double-precision, floating-point quaternion used to represent rotations.
+ * The quaternion is stored as <code>x*i + y*j + z*k + w</code> where <code>w</code> is the real part.
+ * Most operations assume that the quaternion is a unit quaternion.
+ */
+public final class Quaterniond
+{
+  /**
+   * The number of components in the {@code Quaterniond}.
+   */
+  public static final int COMPONENTS = 4;
+  /**
+   * The number of bits used to represent a {@code Quaterniond} value.
+   */
+  public static final int SIZE = Double.SIZE * COMPONENTS;
+  /**
+   * The number of bytes used to represent a {@code Quaterniond} value.
+   */
+  public static final int BYTES = Double.BYTES * COMPONENTS;
+  /**
+   * The x component of the imaginary part.
+   */
+  public double x;
+  /**
+   * The y component of the imaginary part.
+   */
+  public double y;
+  /**
+   * The z component of the imaginary part.
+   */
+  public double z;
+  /**
+   * The real part.
+   */
+  public double w;
+
+  /**
+   * Create a new quaternion representing the identity rotation.
+   * i.e. <code>x=0, y=0, z=0, w=1</code>.
+   */
+  public Quaterniond()
+  {
+    w = 1.0;
+  }
+
+  /**
+   * Create a new quaternion with the specified components.
+   *
+   * @param x the x component of the imaginary part.
+   * @param y the y component of the imaginary part.
+   * @param z the z component of the imaginary part.
+   * @param w the real part.
+   */
+  public Quaterniond( final double x, final double y, final double z, final double w )
+  {
+    this.x = x;
+    this.y = y;
+    this.z = z;
+    this.w = w;
+  }
+
+  /**
+   * Create a new quaternion from the other quaternion.
+   *
+   * @param other the other quaternion.
+   */
+  public Quaterniond( @Nonnull final Quaterniond other )
+  {
+    this( other.x, other.y, other.z, other.w );
+  }
+
+  /**
+   * Duplicate the quaternion.
+   *
+   * @return a new quaternion with the same component values as the current quaternion.
+   */
+  @Nonnull
+  public Quaterniond dup()
+  {
+    return new Quaterniond( this );
+  }
+
+  /**
+   * Set the components of this quaternion to the components in the other quaternion.
+   *
+   * @param other the other quaternion.
+   * @return this
+   */
+  @Nonnull
+  public Quaterniond set( @Nonnull final Quaterniond other )
+  {
+    x = other.x;
+    y = other.y;
+    z = other.z;
+    w = other.w;
+    return this;
+  }
+
+  /**
+   * Set the components of this quaternion to the specified components.
+   *
+   * @param x the x component of the imaginary part.
+   * @param y the y component of the imaginary part.
+   * @param z the z component of the imaginary part.
+   * @param w the real part.
+   * @return this
+   */
+  @Nonnull
+  public Quaterniond set( final double x, final double y, final double z, final double w )
+  {
+    this.x = x;
+    this.y = y;
+    this.z = z;
+    this.w = w;
+    return this;
+  }
+
+  /**
+   * Set this quaternion to the identity rotation.
+   *
+   * @return this
+   */
+  @Nonnull
+  public Quaterniond setIdentity()
+  {
+    return set( 0, 0, 0, 1 );
+  }
+
+  /**
+   * Set this quaternion to a rotation of the specified angle about the specified axis.
+   *
+   * @param axisX          the x component of the rotation axis. The axis must be normalized.
+   * @param axisY          the y component of the rotation axis. The axis must be normalized.
+   * @param axisZ          the z component of the rotation axis. The axis must be normalized.
+   * @param angleInRadians the angle in radians.
+   * @return this
+   */
+  @Nonnull
+  public Quaterniond setAxisAngle( final double axisX,
+                                   final double axisY,
+                                   final double axisZ,
+                                   final double angleInRadians )
+  {
+    final double halfAngle = angleInRadians * 0.5;
+    final double sin = Math.sin( halfAngle );
+    return set( axisX * sin, axisY * sin, axisZ * sin, Math.cos( halfAngle ) );
+  }
+
+  /**
+   * Set this quaternion to a rotation of the specified angle about the specified axis.
+   *
+   * @param axis           the rotation axis. The axis must be normalized.
+   * @param angleInRadians the angle in radians.
+   * @return this
+   */
+  @Nonnull
+  public Quaterniond setAxisAngle( @Nonnull final Vector3d axis, final double angleInRadians )
+  {
+    return setAxisAngle( axis.x, axis.y, axis.z, angleInRadians );
+  }
+
+  /**
+   * Set this quaternion to the rotation described by the upper-left 3x3 part of the specified matrix.
+   * The upper-left 3x3 part of the matrix must be a pure rotation. i.e. The columns must be normalized
+   * and orthogonal to each other. Any translation in the matrix is ignored.
+   *
+   * @param m the matrix.
+   * @return this
+   * @see <a href="https://github.com/JOML-CI/JOML/blob/main/src/org/joml/Quaterniond.java">Derived from equivalent in org.joml.Quaterniond</a>
+   */
+  @Nonnull
+  public Quaterniond setFromNormalized( @Nonnull final Matrix4d m )
+  {
+    final double trace = m.m00 + m.m11 + m.m22;
+    if ( trace > 0.0 )
+    {
+      final double s = Math.sqrt( trace + 1.0 ) * 2.0;
+      return set( ( m.m12 - m.m21 ) / s, ( m.m20 - m.m02 ) / s, ( m.m01 - m.m10 ) / s, 0.25 * s );
+    }
+    else if ( m.m00 > m.m11 && m.m00 > m.m22 )
+    {
+      final double s = Math.sqrt( 1.0 + m.m00 - m.m11 - m.m22 ) * 2.0;
+      return set( 0.25 * s, ( m.m10 + m.m01 ) / s, ( m.m20 + m.m02 ) / s, ( m.m12 - m.m21 ) / s );
+    }
+    else if ( m.m11 > m.m22 )
+    {
+      final double s = Math.sqrt( 1.0 + m.m11 - m.m00 - m.m22 ) * 2.0;
+      return set( ( m.m10 + m.m01 ) / s, 0.25 * s, ( m.m21 + m.m12 ) / s, ( m.m20 - m.m02 ) / s );
+    }
+    else
+    {
+      final double s = Math.sqrt( 1.0 + m.m22 - m.m00 - m.m11 ) * 2.0;
+      return set( ( m.m20 + m.m02 ) / s, ( m.m21 + m.m12 ) / s, 0.25 * s, ( m.m01 - m.m10 ) / s );
+    }
+  }
+
+  /**
+   * Multiply this quaternion by the other quaternion and store the result in this quaternion.
+   * The resulting rotation applies the rotation of the <code>other</code> quaternion first and then
+   * the rotation of this quaternion.
+   *
+   * @param other the other quaternion.
+   * @return this
+   */
+  @Nonnull
+  public Quaterniond mul( @Nonnull final Quaterniond other )
+  {
+    return mul( this, other );
+  }
+
+  /**
+   * Set this quaternion to the result of multiplying the <code>left</code> quaternion by the <code>right</code> quaternion.
+   * The resulting rotation applies the rotation of the <code>right</code> quaternion first and then
+   * the rotation of the <code>left</code> quaternion.
+   *
+   * @param left  the left operand of the multiplication.
+   * @param right the right operand of the multiplication.
+   * @return this
+   */
+  @Nonnull
+  public Quaterniond mul( @Nonnull final Quaterniond left, @Nonnull final Quaterniond right )
+  {
+    final double lx = left.x;
+    final double ly = left.y;
+    final double lz = left.z;
+    final double lw = left.w;
+    final double rx = right.x;
+    final double ry = right.y;
+    final double rz = right.z;
+    final double rw = right.w;
+    return set( lw * rx + lx * rw + ly * rz - lz * ry,
+                lw * ry - lx * rz + ly * rw + lz * rx,
+                lw * rz + lx * ry - ly * rx + lz * rw,
+                lw * rw - lx * rx - ly * ry - lz * rz );
+  }
+
+  /**
+   * Apply a rotation about the X axis by rotating the specified amount of radians.
+   * This is equivalent to multiplying this quaternion by a quaternion representing the rotation about the X axis.
+   *
+   * @param angleInRadians the angle in radians.
+   * @return this
+   */
+  @Nonnull
+  public Quaterniond rotateX( final double angleInRadians )
+  {
+    final double halfAngle = angleInRadians * 0.5;
+    final double sin = Math.sin( halfAngle );
+    final double cos = Math.cos( halfAngle );
+    return set( x * cos + w * sin, y * cos + z * sin, z * cos - y * sin, w * cos - x * sin );
+  }
+
+  /**
+   * Apply a rotation about the Y axis by rotating the specified amount of radians.
+   * This is equivalent to multiplying this quaternion by a quaternion representing the rotation about the Y axis.
+   *
+   * @param angleInRadians the angle in radians.
+   * @return this
+   */
+  @Nonnull
+  public Quaterniond rotateY( final double angleInRadians )
+  {
+    final double halfAngle = angleInRadians * 0.5;
+    final double sin = Math.sin( halfAngle );
+    final double cos = Math.cos( halfAngle );
+    return set( x * cos - z * sin, y * cos + w * sin, z * cos + x * sin, w * cos - y * sin );
+  }
+
+  /**
+   * Apply a rotation about the Z axis by rotating the specified amount of radians.
+   * This is equivalent to multiplying this quaternion by a quaternion representing the rotation about the Z axis.
+   *
+   * @param angleInRadians the angle in radians.
+   * @return this
+   */
+  @Nonnull
+  public Quaterniond rotateZ( final double angleInRadians )
+  {
+    final double halfAngle = angleInRadians * 0.5;
+    final double sin = Math.sin( halfAngle );
+    final double cos = Math.cos( halfAngle );
+    return set( x * cos + y * sin, y * cos - x * sin, z * cos + w * sin, w * cos - z * sin );
+  }
+
+  /**
+   * Conjugate this quaternion.
+   * For a unit quaternion the conjugate represents the inverse rotation.
+   *
+   * @return this
+   */
+  @Nonnull
+  public Quaterniond conjugate()
+  {
+    x = -x;
+    y = -y;
+    z = -z;
+    return this;
+  }
+
+  /**
+   * Invert this quaternion.
+   * If the quaternion is known to be a unit quaternion then {@link #conjugate()} produces the same result with less work.
+   *
+   * @return this
+   */
+  @Nonnull
+  public Quaterniond invert()
+  {
+    final double invLengthSquared = 1.0 / lengthSquared();
+    return set( -x * invLengthSquared, -y * invLengthSquared, -z * invLengthSquared, w * invLengthSquared );
+  }
+
+  /**
+   * Returns the length or magnitude of this quaternion squared.
+   *
+   * @return the length or magnitude of this quaternion squared.
+   */
+  public double lengthSquared()
+  {
+    return x * x + y * y + z * z + w * w;
+  }
+
+  /**
+   * Returns the length or magnitude of this quaternion.
+   *
+   * @return the length or magnitude of this quaternion
+   */
+  public double length()
+  {
+    return Math.sqrt( lengthSquared() );
+  }
+
+  /**
+   * Normalize this quaternion.
+   *
+   * @return this
+   */
+  @Nonnull
+  public Quaterniond normalize()
+  {
+    final double invLength = 1.0 / length();
+    x *= invLength;
+    y *= invLength;
+    z *= invLength;
+    w *= invLength;
+    return this;
+  }
+
+  /**
+   * Compute the dot product of this quaternion and the other quaternion.
+   *
+   * @param other the other quaternion.
+   * @return the dot product of this quaternion and the other quaternion.
+   */
+  public double dot( @Nonnull final Quaterniond other )
+  {
+    return x * other.x + y * other.y + z * other.z + w * other.w;
+  }
+
+  /**
+   * Normalized linear interpolation between this quaternion and the other quaternion using the specified
+   * interpolation factor and store the result in this quaternion.
+   *
+   * @param other               the other quaternion.
+   * @param interpolationFactor the interpolation factor. A value between 0.0 and 1.0.
+   * @return this
+   */
+  @Nonnull
+  public Quaterniond nlerp( @Nonnull final Quaterniond other, final double interpolationFactor )
+  {
+    return nlerp( this, other, interpolationFactor );
+  }
+
+  /**
+   * Normalized linear interpolation between the <code>value1</code> quaternion and the <code>value2</code>
+   * quaternion using the specified <code>interpolationFactor</code> and store the result in this quaternion.
+   * The interpolation follows the shortest path between the rotations. This is cheaper than
+   * {@link #slerp(Quaterniond, Quaterniond, double)} but does not interpolate at a constant angular velocity.
+   *
+   * @param value1              the first quaternion.
+   * @param value2              the second quaternion.
+   * @param interpolationFactor the interpolation factor. A value between 0.0 and 1.0.
+   * @return this
+   */
+  @Nonnull
+  public Quaterniond nlerp( @Nonnull final Quaterniond value1,
+                            @Nonnull final Quaterniond value2,
+                            final double interpolationFactor )
+  {
+    assert interpolationFactor >= 0.0 && interpolationFactor <= 1.0;
+    final double scale1 = 1.0 - interpolationFactor;
+    final double scale2 = value1.dot( value2 ) < 0.0 ? -interpolationFactor : interpolationFactor;
+    return set( scale1 * value1.x + scale2 * value2.x,
+                scale1 * value1.y + scale2 * value2.y,
+                scale1 * value1.z + scale2 * value2.z,
+                scale1 * value1.w + scale2 * value2.w ).normalize();
+  }
+
+  /**
+   * Spherical linear interpolation between this quaternion and the other quaternion using the specified
+   * interpolation factor and store the result in this quaternion.
+   *
+   * @param other               the other quaternion.
+   * @param interpolationFactor the interpolation factor. A value between 0.0 and 1.0.
+   * @return this
+   */
+  @Nonnull
+  public Quaterniond slerp( @Nonnull final Quaterniond other, final double interpolationFactor )
+  {
+    return slerp( this, other, interpolationFactor );
+  }
+
+  /**
+   * Spherical linear interpolation between the <code>value1</code> quaternion and the <code>value2</code>
+   * quaternion using the specified <code>interpolationFactor</code> and store the result in this quaternion.
+   * The interpolation follows the shortest path between the rotations. Both quaternions must be unit quaternions.
+   *
+   * @param value1              the first quaternion.
+   * @param value2              the second quaternion.
+   * @param interpolationFactor the interpolation factor. A value between 0.0 and 1.0.
+   * @return this
+   * @see <a href="https://github.com/JOML-CI/JOML/blob/main/src/org/joml/Quaterniond.java">Derived from equivalent in org.joml.Quaterniond</a>
+   */
+  @Nonnull
+  public Quaterniond slerp( @Nonnull final Quaterniond value1,
+                            @Nonnull final Quaterniond value2,
+                            final double interpolationFactor )
+  {
+    assert interpolationFactor >= 0.0 && interpolationFactor <= 1.0;
+    final double cosTheta = value1.dot( value2 );
+    final double absCosTheta = Math.abs( cosTheta );
+    double scale1 = 1.0 - interpolationFactor;
+    double scale2 = interpolationFactor;
+    // Fall back to linear interpolation when the rotations are nearly identical to avoid dividing by ~0
+    if ( 1.0 - absCosTheta > 1E-6 )
+    {
+      final double sinSquared = 1.0 - absCosTheta * absCosTheta;
+      final double sinTheta = 1.0 / Math.sqrt( sinSquared );
+      final double theta = Math.atan2( sinSquared * sinTheta, absCosTheta );
+      scale1 = Math.sin( scale1 * theta ) * sinTheta;
+      scale2 = Math.sin( scale2 * theta ) * sinTheta;
+    }
+    if ( cosTheta < 0.0 )
+    {
+      scale2 = -scale2;
+    }
+    return set( scale1 * value1.x + scale2 * value2.x,
+                scale1 * value1.y + scale2 * value2.y,
+                scale1 * value1.z + scale2 * value2.z,
+                scale1 * value1.w + scale2 * value2.w );
+  }
+
+  /**
+   * Rotate the specified vector by this quaternion and store the result in the vector.
+   * The quaternion must be a unit quaternion.
+   *
+   * @param vector the vector to rotate.
+   * @return the vector.
+   */
+  @Nonnull
+  public Vector3d transform( @Nonnull final Vector3d vector )
+  {
+    final double vx = vector.x;
+    final double vy = vector.y;
+    final double vz = vector.z;
+    // t = 2 * cross(q.xyz, v)
+    final double tx = 2.0 * ( y * vz - z * vy );
+    final double ty = 2.0 * ( z * vx - x * vz );
+    final double tz = 2.0 * ( x * vy - y * vx );
+    // v' = v + w * t + cross(q.xyz, t)
+    return vector.set( vx + w * tx + y * tz - z * ty,
+                       vy + w * ty + z * tx - x * tz,
+                       vz + w * tz + x * ty - y * tx );
+  }
+
+  /**
+   * Fill the specified target with the quaternion components starting at the specified offset.
+   *
+   * @param target the array in which to store the quaternion components. The target must be large enough to contain the quaternion.
+   * @param offset the offset in the target array to start storing the quaternion components.
+   * @return the quaternion represented as an array.
+   */
+  @Nonnull
+  public double[] toArray( final double[] target, final int offset )
+  {
+    target[ offset ] = x;
+    target[ offset + 1 ] = y;
+    target[ offset + 2 ] = z;
+    target[ offset + 3 ] = w;
+    return target;
+  }
+
+  /**
+   * Fill the specified target with the quaternion components.
+   *
+   * @param target the array in which to store the quaternion components. The target must be large enough to contain the quaternion.
+   * @return the quaternion represented as an array.
+   */
+  @Nonnull
+  public double[] toArray( final double[] target )
+  {
+    return toArray( target, 0 );
+  }
+
+  /**
+   * Create an array to represent the quaternion.
+   *
+   * @return the quaternion represented as an array.
+   */
+  @Nonnull
+  public double[] toArray()
+  {
+    return toArray( new double[ 4 ] );
+  }
+
+  /**
+   * Returns true if the other quaternion has components with the same values.
+   *
+   * @param other the other quaternion.
+   * @return true if the other quaternion has components with the same values, otherwise false.
+   */
+  public boolean isEqualTo( @Nonnull final Quaterniond other )
+  {
+    return x == other.x && y == other.y && z == other.z && w == other.w;
+  }
+
+  /**
+   * Returns a string representation of the quaternion.
+   *
+   * @return a string representation of the quaternion.
+   */
+  @Nonnull
+  public String asString()
+  {
+    return "(" + x + ", " + y + ", " + z + ", " + w + ")";
+  }
+
+  @Override
+  public int hashCode()
+  {
+    if ( Vecmath.isObjectEqualsImplemented() )
+    {
+      int hash = 1;
+      hash = VecmathUtil.hash( hash, x );
+      hash = VecmathUtil.hash( hash, y );
+      hash = VecmathUtil.hash( hash, z );
+      hash = VecmathUtil.hash( hash, w );
+      return hash;
+    }
+    else
+    {
+      return super.hashCode();
+    }
+  }
+
+  /**
+   * Returns true if the specified object is the same type and has components with the same values.
+   * This method only produces a useful representation if {@link Vecmath#isObjectEqualsImplemented()}
+   * returns <code>true</code>.
+   *
+   * @param o the object.
+   * @return true if the specified object is the same type and has components with the same values, otherwise false.
+   */
+  @Override
+  public boolean equals( final Object o )
+  {
+    return Vecmath.isObjectEqualsImplemented() ?
+           o instanceof Quaterniond && isEqualTo( (Quaterniond) o ) :
+           super.equals( o );
+  }
+
+  /**
+   * Returns a string representation of the quaternion.
+   * This method only produces a useful representation if {@link Vecmath#isDebugToStringEnabled()}
+   * returns <code>true</code>.
+   *
+   * @return a string representation of the object.
+   */
+  @OmitSymbol( unless = "vecmath.isDebugToStringEnabled" )
+  @Override
+  public String toString()
+  {
+    return Vecmath.isDebugToStringEnabled() ? asString() : super.toString();
+  }
+}
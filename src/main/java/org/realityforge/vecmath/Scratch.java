@@ -0,0 +1,334 @@
+package org.realityforge.vecmath;
+
+import java.util.Arrays;
+import javax.annotation.Nonnull;
+
+/**
+ * A stack-style allocator of temporary vectors and matrices.
+ *
+ * <p>The scratch allocator hands out pooled instances of {@link Vector2d}, {@link Vector3d}, {@link Vector3f},
+ * {@link Vector4d} and {@link Matrix4d} so that temporaries used inside hot loops do not need to be allocated.
+ * Temporaries are allocated within a frame that is opened by {@link #push()} and every temporary allocated
+ * within the frame is returned to the pool when the frame is closed by {@link #pop()}. Frames may be nested.
+ * The vectors are returned as the zero vector and the matrices are returned as the identity matrix, the same
+ * values produced by their no-argument constructors.</p>
+ *
+ * <pre>{@code
+ * final Scratch scratch = Scratch.get();
+ * scratch.push();
+ * try
+ * {
+ *   final Vector3d normal = scratch.vector3d().cross( edge1, edge2 ).normalize();
+ *   ...
+ * }
+ * finally
+ * {
+ *   scratch.pop();
+ * }
+ * }</pre>
+ *
+ * <p>A temporary must not be retained after the frame in which it was allocated is closed. When the library is
+ * in the development environment, the scratch allocator detects frames that are closed without being opened,
+ * frames that are closed out of order, temporaries that are allocated outside of a frame and fills every
+ * temporary with <code>NaN</code> when its frame is closed so that a leaked reference is visible to the code
+ * that retained it. These checks are compiled out in the production environment.</p>
+ *
+ * <p>A scratch allocator is not thread-safe. Use {@link #get()} to access the allocator associated with the
+ * current thread.</p>
+ */
+public final class Scratch
+{
+  /**
+   * The initial number of instances of each type that the pools are sized to hold.
+   */
+  private static final int INITIAL_CAPACITY = 16;
+  /**
+   * The number of pool sizes saved in the frame stack for each frame.
+   */
+  private static final int FRAME_SIZE = 5;
+  @Nonnull
+  private Vector2d[] _vector2ds = new Vector2d[ INITIAL_CAPACITY ];
+  private int _vector2dCount;
+  @Nonnull
+  private Vector3d[] _vector3ds = new Vector3d[ INITIAL_CAPACITY ];
+  private int _vector3dCount;
+  @Nonnull
+  private Vector3f[] _vector3fs = new Vector3f[ INITIAL_CAPACITY ];
+  private int _vector3fCount;
+  @Nonnull
+  private Vector4d[] _vector4ds = new Vector4d[ INITIAL_CAPACITY ];
+  private int _vector4dCount;
+  @Nonnull
+  private Matrix4d[] _matrix4ds = new Matrix4d[ INITIAL_CAPACITY ];
+  private int _matrix4dCount;
+  /**
+   * The number of instances of each type that were allocated when each open frame was pushed.
+   */
+  @Nonnull
+  private int[] _frames = new int[ INITIAL_CAPACITY * FRAME_SIZE ];
+  /**
+   * The number of open frames.
+   */
+  private int _depth;
+
+  /**
+   * Return the scratch allocator associated with the current thread.
+   *
+   * @return the scratch allocator associated with the current thread.
+   */
+  @GwtIncompatible
+  @Nonnull
+  public static Scratch get()
+  {
+    return Current.SCRATCH.get();
+  }
+
+  /**
+   * Return the number of open frames.
+   *
+   * @return the number of open frames.
+   */
+  public int depth()
+  {
+    return _depth;
+  }
+
+  /**
+   * Open a new frame in which temporaries can be allocated.
+   *
+   * @return the depth of the newly opened frame. This value can be passed to {@link #pop(int)}.
+   */
+  public int push()
+  {
+    final int offset = _depth * FRAME_SIZE;
+    if ( offset == _frames.length )
+    {
+      _frames = Arrays.copyOf( _frames, offset * 2 );
+    }
+    _frames[ offset ] = _vector2dCount;
+    _frames[ offset + 1 ] = _vector3dCount;
+    _frames[ offset + 2 ] = _vector3fCount;
+    _frames[ offset + 3 ] = _vector4dCount;
+    _frames[ offset + 4 ] = _matrix4dCount;
+    return ++_depth;
+  }
+
+  /**
+   * Close the most recently opened frame, returning every temporary allocated within the frame to the pool.
+   */
+  public void pop()
+  {
+    if ( VecmathConfig.isDevelopmentEnvironment() && 0 == _depth )
+    {
+      throw new IllegalStateException( "Scratch.pop() invoked when no frame is open" );
+    }
+    final int offset = --_depth * FRAME_SIZE;
+    final int vector2dCount = _frames[ offset ];
+    final int vector3dCount = _frames[ offset + 1 ];
+    final int vector3fCount = _frames[ offset + 2 ];
+    final int vector4dCount = _frames[ offset + 3 ];
+    final int matrix4dCount = _frames[ offset + 4 ];
+    if ( VecmathConfig.isDevelopmentEnvironment() )
+    {
+      poison( vector2dCount, vector3dCount, vector3fCount, vector4dCount, matrix4dCount );
+    }
+    _vector2dCount = vector2dCount;
+    _vector3dCount = vector3dCount;
+    _vector3fCount = vector3fCount;
+    _vector4dCount = vector4dCount;
+    _matrix4dCount = matrix4dCount;
+  }
+
+  /**
+   * Close the specified frame which must be the most recently opened frame.
+   * This method behaves the same as {@link #pop()} but when the library is in the development environment it
+   * also verifies that no nested frame was left open.
+   *
+   * @param frame the depth of the frame as returned by {@link #push()}.
+   */
+  public void pop( final int frame )
+  {
+    if ( VecmathConfig.isDevelopmentEnvironment() && frame != _depth )
+    {
+      throw new IllegalStateException( "Scratch.pop(" + frame + ") invoked but the most recently opened frame " +
+                                       "is at depth " + _depth );
+    }
+    pop();
+  }
+
+  /**
+   * Allocate a temporary zero vector in the current frame.
+   *
+   * @return the temporary vector.
+   */
+  @Nonnull
+  public Vector2d vector2d()
+  {
+    ensureFrameOpen();
+    if ( _vector2dCount == _vector2ds.length )
+    {
+      _vector2ds = Arrays.copyOf( _vector2ds, _vector2dCount * 2 );
+    }
+    final Vector2d vector = _vector2ds[ _vector2dCount ];
+    if ( null == vector )
+    {
+      return _vector2ds[ _vector2dCount++ ] = new Vector2d();
+    }
+    else
+    {
+      _vector2dCount++;
+      return vector.set( 0, 0 );
+    }
+  }
+
+  /**
+   * Allocate a temporary zero vector in the current frame.
+   *
+   * @return the temporary vector.
+   */
+  @Nonnull
+  public Vector3d vector3d()
+  {
+    ensureFrameOpen();
+    if ( _vector3dCount == _vector3ds.length )
+    {
+      _vector3ds = Arrays.copyOf( _vector3ds, _vector3dCount * 2 );
+    }
+    final Vector3d vector = _vector3ds[ _vector3dCount ];
+    if ( null == vector )
+    {
+      return _vector3ds[ _vector3dCount++ ] = new Vector3d();
+    }
+    else
+    {
+      _vector3dCount++;
+      return vector.set( 0, 0, 0 );
+    }
+  }
+
+  /**
+   * Allocate a temporary zero vector in the current frame.
+   *
+   * @return the temporary vector.
+   */
+  @Nonnull
+  public Vector3f vector3f()
+  {
+    ensureFrameOpen();
+    if ( _vector3fCount == _vector3fs.length )
+    {
+      _vector3fs = Arrays.copyOf( _vector3fs, _vector3fCount * 2 );
+    }
+    final Vector3f vector = _vector3fs[ _vector3fCount ];
+    if ( null == vector )
+    {
+      return _vector3fs[ _vector3fCount++ ] = new Vector3f();
+    }
+    else
+    {
+      _vector3fCount++;
+      return vector.set( 0, 0, 0 );
+    }
+  }
+
+  /**
+   * Allocate a temporary zero vector in the current frame.
+   *
+   * @return the temporary vector.
+   */
+  @Nonnull
+  public Vector4d vector4d()
+  {
+    ensureFrameOpen();
+    if ( _vector4dCount == _vector4ds.length )
+    {
+      _vector4ds = Arrays.copyOf( _vector4ds, _vector4dCount * 2 );
+    }
+    final Vector4d vector = _vector4ds[ _vector4dCount ];
+    if ( null == vector )
+    {
+      return _vector4ds[ _vector4dCount++ ] = new Vector4d();
+    }
+    else
+    {
+      _vector4dCount++;
+      return vector.set( 0, 0, 0, 0 );
+    }
+  }
+
+  /**
+   * Allocate a temporary identity matrix in the current frame.
+   *
+   * @return the temporary matrix.
+   */
+  @Nonnull
+  public Matrix4d matrix4d()
+  {
+    ensureFrameOpen();
+    if ( _matrix4dCount == _matrix4ds.length )
+    {
+      _matrix4ds = Arrays.copyOf( _matrix4ds, _matrix4dCount * 2 );
+    }
+    final Matrix4d matrix = _matrix4ds[ _matrix4dCount ];
+    if ( null == matrix )
+    {
+      return _matrix4ds[ _matrix4dCount++ ] = new Matrix4d();
+    }
+    else
+    {
+      _matrix4dCount++;
+      return matrix.setIdentity();
+    }
+  }
+
+  private void ensureFrameOpen()
+  {
+    if ( VecmathConfig.isDevelopmentEnvironment() && 0 == _depth )
+    {
+      throw new IllegalStateException( "Scratch allocation attempted when no frame is open. " +
+                                       "Scratch.push() must be invoked before allocating temporaries" );
+    }
+  }
+
+  /**
+   * Fill the temporaries above the specified pool sizes with <code>NaN</code> so that any use of a temporary
+   * after the frame that allocated it has been closed produces an obviously invalid result.
+   */
+  private void poison( final int vector2dCount,
+                       final int vector3dCount,
+                       final int vector3fCount,
+                       final int vector4dCount,
+                       final int matrix4dCount )
+  {
+    for ( int i = vector2dCount; i < _vector2dCount; i++ )
+    {
+      _vector2ds[ i ].set( Double.NaN, Double.NaN );
+    }
+    for ( int i = vector3dCount; i < _vector3dCount; i++ )
+    {
+      _vector3ds[ i ].set( Double.NaN, Double.NaN, Double.NaN );
+    }
+    for ( int i = vector3fCount; i < _vector3fCount; i++ )
+    {
+      _vector3fs[ i ].set( Float.NaN, Float.NaN, Float.NaN );
+    }
+    for ( int i = vector4dCount; i < _vector4dCount; i++ )
+    {
+      _vector4ds[ i ].set( Double.NaN, Double.NaN, Double.NaN, Double.NaN );
+    }
+    for ( int i = matrix4dCount; i < _matrix4dCount; i++ )
+    {
+      _matrix4ds[ i ].set( Double.NaN, Double.NaN, Double.NaN, Double.NaN,
+                           Double.NaN, Double.NaN, Double.NaN, Double.NaN,
+                           Double.NaN, Double.NaN, Double.NaN, Double.NaN,
+                           Double.NaN, Double.NaN, Double.NaN, Double.NaN );
+    }
+  }
+
+  @GwtIncompatible
+  private static final class Current
+  {
+    @Nonnull
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial( Scratch::new );
+  }
+}
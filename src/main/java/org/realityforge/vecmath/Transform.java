@@ -0,0 +1,293 @@
+package org.realityforge.vecmath;
+
+import grim.annotations.OmitSymbol;
+import javax.annotation.Nonnull;
+
+/**
+ * A transformation composed of a translation, a rotation and a scale.
+ *
+ * <p>The transformation scales, then rotates and then translates. The equivalent {@link Matrix4d} is composed
+ * lazily by {@link #matrix()} using {@link Matrix4d#setTranslationRotationScale(Vector3d, Quaterniond, Vector3d)}
+ * and is only recomposed when a component has changed since the matrix was last composed. Setting a component
+ * to the value it already holds does not cause the matrix to be recomposed. As a result the version of the
+ * matrix (See {@link Matrix4d#version()}) only changes when the transformation changes and values derived
+ * from the matrix via {@link Matrix4dCache} remain valid for as long as the transformation is unchanged.</p>
+ *
+ * <p>The components are read via methods that copy them into a target so that they can not be modified
+ * without the transformation observing the change. The matrix returned by {@link #matrix()} is owned by the
+ * transformation and MUST NOT be modified.</p>
+ */
+public final class Transform
+{
+  @Nonnull
+  private final Vector3d _translation = new Vector3d();
+  @Nonnull
+  private final Quaterniond _rotation = new Quaterniond();
+  @Nonnull
+  private final Vector3d _scale = new Vector3d( 1, 1, 1 );
+  @Nonnull
+  private final Matrix4d _matrix = new Matrix4d();
+  /**
+   * True if a component has changed since the matrix was last composed.
+   */
+  private boolean _dirty;
+
+  /**
+   * Create the identity transformation.
+   */
+  public Transform()
+  {
+  }
+
+  /**
+   * Create a transformation with the specified components.
+   *
+   * @param translation the translation.
+   * @param rotation    the quaternion representing the rotation. The quaternion must be a unit quaternion.
+   * @param scale       the scaling in each dimension.
+   */
+  public Transform( @Nonnull final Vector3d translation,
+                    @Nonnull final Quaterniond rotation,
+                    @Nonnull final Vector3d scale )
+  {
+    _translation.set( translation );
+    _rotation.set( rotation );
+    _scale.set( scale );
+    _dirty = true;
+  }
+
+  /**
+   * Set this transformation to the identity transformation.
+   *
+   * @return this
+   */
+  @Nonnull
+  public Transform setIdentity()
+  {
+    setTranslation( 0, 0, 0 );
+    setRotation( 0, 0, 0, 1 );
+    return setScale( 1, 1, 1 );
+  }
+
+  /**
+   * Set the components of this transformation to the components of the other transformation.
+   *
+   * @param other the other transformation.
+   * @return this
+   */
+  @Nonnull
+  public Transform set( @Nonnull final Transform other )
+  {
+    setTranslation( other._translation );
+    setRotation( other._rotation );
+    return setScale( other._scale );
+  }
+
+  /**
+   * Copy the translation into the specified target.
+   *
+   * @param target the vector in which to store the translation.
+   * @return the target.
+   */
+  @Nonnull
+  public Vector3d getTranslation( @Nonnull final Vector3d target )
+  {
+    return target.set( _translation );
+  }
+
+  /**
+   * Set the translation.
+   *
+   * @param translation the translation.
+   * @return this
+   */
+  @Nonnull
+  public Transform setTranslation( @Nonnull final Vector3d translation )
+  {
+    return setTranslation( translation.x, translation.y, translation.z );
+  }
+
+  /**
+   * Set the translation.
+   *
+   * @param x the translation in x.
+   * @param y the translation in y.
+   * @param z the translation in z.
+   * @return this
+   */
+  @Nonnull
+  public Transform setTranslation( final double x, final double y, final double z )
+  {
+    if ( x != _translation.x || y != _translation.y || z != _translation.z )
+    {
+      _translation.set( x, y, z );
+      _dirty = true;
+    }
+    return this;
+  }
+
+  /**
+   * Add the specified offset to the translation.
+   *
+   * @param x the offset in x.
+   * @param y the offset in y.
+   * @param z the offset in z.
+   * @return this
+   */
+  @Nonnull
+  public Transform translate( final double x, final double y, final double z )
+  {
+    return setTranslation( _translation.x + x, _translation.y + y, _translation.z + z );
+  }
+
+  /**
+   * Copy the rotation into the specified target.
+   *
+   * @param target the quaternion in which to store the rotation.
+   * @return the target.
+   */
+  @Nonnull
+  public Quaterniond getRotation( @Nonnull final Quaterniond target )
+  {
+    return target.set( _rotation );
+  }
+
+  /**
+   * Set the rotation.
+   *
+   * @param rotation the quaternion representing the rotation. The quaternion must be a unit quaternion.
+   * @return this
+   */
+  @Nonnull
+  public Transform setRotation( @Nonnull final Quaterniond rotation )
+  {
+    return setRotation( rotation.x, rotation.y, rotation.z, rotation.w );
+  }
+
+  /**
+   * Set the rotation.
+   * The components must represent a unit quaternion.
+   *
+   * @param x the x component of the quaternion.
+   * @param y the y component of the quaternion.
+   * @param z the z component of the quaternion.
+   * @param w the w component of the quaternion.
+   * @return this
+   */
+  @Nonnull
+  public Transform setRotation( final double x, final double y, final double z, final double w )
+  {
+    if ( x != _rotation.x || y != _rotation.y || z != _rotation.z || w != _rotation.w )
+    {
+      _rotation.set( x, y, z, w );
+      _dirty = true;
+    }
+    return this;
+  }
+
+  /**
+   * Copy the scale into the specified target.
+   *
+   * @param target the vector in which to store the scale.
+   * @return the target.
+   */
+  @Nonnull
+  public Vector3d getScale( @Nonnull final Vector3d target )
+  {
+    return target.set( _scale );
+  }
+
+  /**
+   * Set the scale.
+   *
+   * @param scale the scaling in each dimension.
+   * @return this
+   */
+  @Nonnull
+  public Transform setScale( @Nonnull final Vector3d scale )
+  {
+    return setScale( scale.x, scale.y, scale.z );
+  }
+
+  /**
+   * Set a uniform scale.
+   *
+   * @param k the uniform scaling applied to all dimensions.
+   * @return this
+   */
+  @Nonnull
+  public Transform setScale( final double k )
+  {
+    return setScale( k, k, k );
+  }
+
+  /**
+   * Set the scale.
+   *
+   * @param x the scaling in x.
+   * @param y the scaling in y.
+   * @param z the scaling in z.
+   * @return this
+   */
+  @Nonnull
+  public Transform setScale( final double x, final double y, final double z )
+  {
+    if ( x != _scale.x || y != _scale.y || z != _scale.z )
+    {
+      _scale.set( x, y, z );
+      _dirty = true;
+    }
+    return this;
+  }
+
+  /**
+   * Return true if a component has changed since the matrix was last composed.
+   *
+   * @return true if the next invocation of {@link #matrix()} will recompose the matrix.
+   */
+  public boolean isDirty()
+  {
+    return _dirty;
+  }
+
+  /**
+   * Return the matrix equivalent to this transformation, composing it if a component has changed.
+   *
+   * @return the matrix equivalent to this transformation.
+   */
+  @Nonnull
+  public Matrix4d matrix()
+  {
+    if ( _dirty )
+    {
+      _matrix.setTranslationRotationScale( _translation, _rotation, _scale );
+      _dirty = false;
+    }
+    return _matrix;
+  }
+
+  /**
+   * Returns a string representation of the transformation.
+   *
+   * @return a string representation of the transformation.
+   */
+  @Nonnull
+  public String asString()
+  {
+    return "[T=" + _translation.asString() + " R=" + _rotation.asString() + " S=" + _scale.asString() + "]";
+  }
+
+  /**
+   * Returns a string representation of the transformation.
+   * This method only produces a useful representation if {@link Vecmath#isDebugToStringEnabled()}
+   * returns <code>true</code>.
+   *
+   * @return a string representation of the object.
+   */
+  @OmitSymbol( unless = "vecmath.isDebugToStringEnabled" )
+  @Override
+  public String toString()
+  {
+    return Vecmath.isDebugToStringEnabled() ? asString() : super.toString();
+  }
+}
@@ -0,0 +1,602 @@
+package org.realityforge.vecmath;
+
+import java.util.Arrays;
+import javax.annotation.Nonnull;
+
+/**
+ * A hierarchy of transformations stored in structure-of-arrays form.
+ *
+ * <p>Each node has a parent index, a local translation, rotation and scale and a world matrix. Nodes are
+ * identified by the index returned by {@link #add(int)} and a node must be added after its parent so that
+ * the nodes are always in topological order. The local components are stored in packed <code>double[]</code>
+ * arrays and the local and world matrices are stored in packed <code>double[]</code> arrays using the
+ * column-major layout of {@link Matrix4d#toArray(double[], int)}.</p>
+ *
+ * <p>The world matrices are recomputed by {@link #update()} which processes the nodes one depth level at a
+ * time. The world matrix of a root node is its local matrix and the world matrix of any other node is the
+ * product of its local matrix and the world matrix of its parent, computed with the same semantics as
+ * <code>Matrix4d.multiply( world, local, parentWorld )</code>. Only the world matrices of nodes whose local
+ * components have changed and of the descendants of those nodes are recomputed and the local matrix of a node
+ * is only recomposed when its local components have changed. As every node in a level depends only on nodes
+ * in earlier levels, {@link #updateParallel()} can split wide levels across the common fork-join pool.</p>
+ */
+public final class TransformHierarchy
+{
+  /**
+   * The parent index of a root node.
+   */
+  public static final int NO_PARENT = -1;
+  /**
+   * The minimum number of nodes processed by a single task in {@link #updateParallel()}.
+   * Levels containing fewer than twice this number of nodes are processed on the calling thread.
+   */
+  public static final int PARALLEL_THRESHOLD = 1024;
+  private static final int INITIAL_CAPACITY = 16;
+  /**
+   * The index of the parent of each node or {@link #NO_PARENT}.
+   */
+  @Nonnull
+  private int[] _parents;
+  /**
+   * The depth of each node where root nodes have a depth of <code>0</code>.
+   */
+  @Nonnull
+  private int[] _depths;
+  /**
+   * The local translations packed as <code>x, y, z</code> triples.
+   */
+  @Nonnull
+  private double[] _translations;
+  /**
+   * The local rotations packed as <code>x, y, z, w</code> unit quaternions.
+   */
+  @Nonnull
+  private double[] _rotations;
+  /**
+   * The local scales packed as <code>x, y, z</code> triples.
+   */
+  @Nonnull
+  private double[] _scales;
+  /**
+   * The local matrices packed in column-major order.
+   */
+  @Nonnull
+  private double[] _locals;
+  /**
+   * The world matrices packed in column-major order.
+   */
+  @Nonnull
+  private double[] _worlds;
+  /**
+   * Flag per node set when the local components of the node have changed since the last update.
+   */
+  @Nonnull
+  private boolean[] _localDirty;
+  /**
+   * Flag per node set during an update when the world matrix of the node has been recomputed
+   * so that the world matrices of the children are also recomputed.
+   */
+  @Nonnull
+  private boolean[] _worldDirty;
+  /**
+   * The node indexes ordered by depth.
+   */
+  @Nonnull
+  private int[] _levelOrder;
+  /**
+   * The index into {@link #_levelOrder} of the first node of each level followed by the number of nodes.
+   */
+  @Nonnull
+  private int[] _levelStarts = new int[ 1 ];
+  private int _levelCount;
+  /**
+   * True if nodes have been added since the level index was built.
+   */
+  private boolean _levelsStale;
+  /**
+   * True if any node is dirty.
+   */
+  private boolean _anyDirty;
+  private int _size;
+  /**
+   * The matrix used to compose local matrices when updating on the calling thread.
+   */
+  @Nonnull
+  private final Matrix4d _matrix = new Matrix4d();
+
+  /**
+   * Create an empty hierarchy.
+   */
+  public TransformHierarchy()
+  {
+    this( INITIAL_CAPACITY );
+  }
+
+  /**
+   * Create an empty hierarchy with space for the specified number of nodes.
+   * The hierarchy grows as required when nodes are added.
+   *
+   * @param capacity the number of nodes that can be added before the hierarchy grows.
+   */
+  public TransformHierarchy( final int capacity )
+  {
+    assert capacity > 0;
+    _parents = new int[ capacity ];
+    _depths = new int[ capacity ];
+    _translations = new double[ capacity * 3 ];
+    _rotations = new double[ capacity * 4 ];
+    _scales = new double[ capacity * 3 ];
+    _locals = new double[ capacity * Matrix4d.COMPONENTS ];
+    _worlds = new double[ capacity * Matrix4d.COMPONENTS ];
+    _localDirty = new boolean[ capacity ];
+    _worldDirty = new boolean[ capacity ];
+    _levelOrder = new int[ capacity ];
+  }
+
+  /**
+   * Return the number of nodes in the hierarchy.
+   *
+   * @return the number of nodes in the hierarchy.
+   */
+  public int size()
+  {
+    return _size;
+  }
+
+  /**
+   * Add a node with an identity local transformation.
+   *
+   * @param parent the index of the parent node or {@link #NO_PARENT} to add a root node.
+   * @return the index of the new node.
+   */
+  public int add( final int parent )
+  {
+    assert NO_PARENT == parent || ( parent >= 0 && parent < _size );
+    if ( _size == _parents.length )
+    {
+      grow( _size * 2 );
+    }
+    final int index = _size++;
+    _parents[ index ] = parent;
+    _depths[ index ] = NO_PARENT == parent ? 0 : _depths[ parent ] + 1;
+    _rotations[ index * 4 + 3 ] = 1;
+    _scales[ index * 3 ] = 1;
+    _scales[ index * 3 + 1 ] = 1;
+    _scales[ index * 3 + 2 ] = 1;
+    _localDirty[ index ] = true;
+    _anyDirty = true;
+    _levelsStale = true;
+    return index;
+  }
+
+  /**
+   * Return the index of the parent of the specified node.
+   *
+   * @param index the index of the node.
+   * @return the index of the parent node or {@link #NO_PARENT} if the node is a root node.
+   */
+  public int parent( final int index )
+  {
+    assert index >= 0 && index < _size;
+    return _parents[ index ];
+  }
+
+  /**
+   * Return the depth of the specified node where root nodes have a depth of <code>0</code>.
+   *
+   * @param index the index of the node.
+   * @return the depth of the node.
+   */
+  public int depth( final int index )
+  {
+    assert index >= 0 && index < _size;
+    return _depths[ index ];
+  }
+
+  /**
+   * Copy the local translation of the specified node into the target.
+   *
+   * @param index  the index of the node.
+   * @param target the vector in which to store the translation.
+   * @return the target.
+   */
+  @Nonnull
+  public Vector3d getTranslation( final int index, @Nonnull final Vector3d target )
+  {
+    assert index >= 0 && index < _size;
+    final int o = index * 3;
+    return target.set( _translations[ o ], _translations[ o + 1 ], _translations[ o + 2 ] );
+  }
+
+  /**
+   * Set the local translation of the specified node.
+   *
+   * @param index the index of the node.
+   * @param x     the translation in x.
+   * @param y     the translation in y.
+   * @param z     the translation in z.
+   * @return this
+   */
+  @Nonnull
+  public TransformHierarchy setTranslation( final int index, final double x, final double y, final double z )
+  {
+    assert index >= 0 && index < _size;
+    final int o = index * 3;
+    _translations[ o ] = x;
+    _translations[ o + 1 ] = y;
+    _translations[ o + 2 ] = z;
+    return markDirty( index );
+  }
+
+  /**
+   * Copy the local rotation of the specified node into the target.
+   *
+   * @param index  the index of the node.
+   * @param target the quaternion in which to store the rotation.
+   * @return the target.
+   */
+  @Nonnull
+  public Quaterniond getRotation( final int index, @Nonnull final Quaterniond target )
+  {
+    assert index >= 0 && index < _size;
+    final int o = index * 4;
+    return target.set( _rotations[ o ], _rotations[ o + 1 ], _rotations[ o + 2 ], _rotations[ o + 3 ] );
+  }
+
+  /**
+   * Set the local rotation of the specified node.
+   *
+   * @param index    the index of the node.
+   * @param rotation the quaternion representing the rotation. The quaternion must be a unit quaternion.
+   * @return this
+   */
+  @Nonnull
+  public TransformHierarchy setRotation( final int index, @Nonnull final Quaterniond rotation )
+  {
+    return setRotation( index, rotation.x, rotation.y, rotation.z, rotation.w );
+  }
+
+  /**
+   * Set the local rotation of the specified node.
+   * The components must represent a unit quaternion.
+   *
+   * @param index the index of the node.
+   * @param x     the x component of the quaternion.
+   * @param y     the y component of the quaternion.
+   * @param z     the z component of the quaternion.
+   * @param w     the w component of the quaternion.
+   * @return this
+   */
+  @Nonnull
+  public TransformHierarchy setRotation( final int index,
+                                         final double x,
+                                         final double y,
+                                         final double z,
+                                         final double w )
+  {
+    assert index >= 0 && index < _size;
+    final int o = index * 4;
+    _rotations[ o ] = x;
+    _rotations[ o + 1 ] = y;
+    _rotations[ o + 2 ] = z;
+    _rotations[ o + 3 ] = w;
+    return markDirty( index );
+  }
+
+  /**
+   * Copy the local scale of the specified node into the target.
+   *
+   * @param index  the index of the node.
+   * @param target the vector in which to store the scale.
+   * @return the target.
+   */
+  @Nonnull
+  public Vector3d getScale( final int index, @Nonnull final Vector3d target )
+  {
+    assert index >= 0 && index < _size;
+    final int o = index * 3;
+    return target.set( _scales[ o ], _scales[ o + 1 ], _scales[ o + 2 ] );
+  }
+
+  /**
+   * Set the local scale of the specified node.
+   *
+   * @param index the index of the node.
+   * @param x     the scaling in x.
+   * @param y     the scaling in y.
+   * @param z     the scaling in z.
+   * @return this
+   */
+  @Nonnull
+  public TransformHierarchy setScale( final int index, final double x, final double y, final double z )
+  {
+    assert index >= 0 && index < _size;
+    final int o = index * 3;
+    _scales[ o ] = x;
+    _scales[ o + 1 ] = y;
+    _scales[ o + 2 ] = z;
+    return markDirty( index );
+  }
+
+  /**
+   * Return true if the local transformation of any node has changed since the last update.
+   *
+   * @return true if the world matrices need to be updated.
+   */
+  public boolean isDirty()
+  {
+    return _anyDirty;
+  }
+
+  /**
+   * Copy the world matrix of the specified node, as computed by the last update, into the target.
+   *
+   * @param index  the index of the node.
+   * @param target the matrix in which to store the world matrix.
+   * @return the target.
+   */
+  @Nonnull
+  public Matrix4d getWorld( final int index, @Nonnull final Matrix4d target )
+  {
+    assert index >= 0 && index < _size;
+    final double[] c = _worlds;
+    final int o = index * Matrix4d.COMPONENTS;
+    return target.set( c[ o ], c[ o + 4 ], c[ o + 8 ], c[ o + 12 ],
+                       c[ o + 1 ], c[ o + 5 ], c[ o + 9 ], c[ o + 13 ],
+                       c[ o + 2 ], c[ o + 6 ], c[ o + 10 ], c[ o + 14 ],
+                       c[ o + 3 ], c[ o + 7 ], c[ o + 11 ], c[ o + 15 ] );
+  }
+
+  /**
+   * Return the array containing the world matrices as computed by the last update.
+   * The world matrix of a node starts at the index <code>index * Matrix4d.COMPONENTS</code>.
+   * The array MUST NOT be modified and is replaced when the hierarchy grows.
+   *
+   * @return the array containing the world matrices.
+   */
+  @Nonnull
+  public double[] worldComponents()
+  {
+    return _worlds;
+  }
+
+  /**
+   * Recompute the world matrices of the nodes that have changed since the last update.
+   */
+  public void update()
+  {
+    if ( _anyDirty )
+    {
+      ensureLevels();
+      for ( int level = 0; level < _levelCount; level++ )
+      {
+        updateNodes( _levelStarts[ level ], _levelStarts[ level + 1 ], _matrix );
+      }
+      completeUpdate();
+    }
+  }
+
+  /**
+   * Recompute the world matrices of the nodes that have changed since the last update, splitting
+   * levels that contain at least twice {@link #PARALLEL_THRESHOLD} nodes across the common fork-join pool.
+   * The result is identical to {@link #update()}.
+   */
+  @GwtIncompatible
+  public void updateParallel()
+  {
+    if ( _anyDirty )
+    {
+      ensureLevels();
+      for ( int level = 0; level < _levelCount; level++ )
+      {
+        final int start = _levelStarts[ level ];
+        final int end = _levelStarts[ level + 1 ];
+        if ( end - start < PARALLEL_THRESHOLD * 2 )
+        {
+          updateNodes( start, end, _matrix );
+        }
+        else
+        {
+          java.util.concurrent.ForkJoinPool.commonPool().invoke( new UpdateTask( this, start, end ) );
+        }
+      }
+      completeUpdate();
+    }
+  }
+
+  @Nonnull
+  private TransformHierarchy markDirty( final int index )
+  {
+    _localDirty[ index ] = true;
+    _anyDirty = true;
+    return this;
+  }
+
+  /**
+   * Recompute the world matrices of the nodes with changed local components and the children of recomputed
+   * nodes in the specified range of the level order. Every node in the range must be at the same depth.
+   */
+  private void updateNodes( final int start, final int end, @Nonnull final Matrix4d matrix )
+  {
+    final int[] levelOrder = _levelOrder;
+    final int[] parents = _parents;
+    final boolean[] localDirty = _localDirty;
+    final boolean[] worldDirty = _worldDirty;
+    for ( int i = start; i < end; i++ )
+    {
+      final int index = levelOrder[ i ];
+      final int parent = parents[ index ];
+      final boolean isRoot = NO_PARENT == parent;
+      final int o = index * Matrix4d.COMPONENTS;
+      if ( localDirty[ index ] )
+      {
+        final int t = index * 3;
+        final int r = index * 4;
+        matrix.setTranslationRotationScale( _translations[ t ], _translations[ t + 1 ], _translations[ t + 2 ],
+                                            _rotations[ r ], _rotations[ r + 1 ], _rotations[ r + 2 ], _rotations[ r + 3 ],
+                                            _scales[ t ], _scales[ t + 1 ], _scales[ t + 2 ] );
+        matrix.toArray( _locals, o );
+      }
+      if ( localDirty[ index ] || ( !isRoot && worldDirty[ parent ] ) )
+      {
+        if ( isRoot )
+        {
+          System.arraycopy( _locals, o, _worlds, o, Matrix4d.COMPONENTS );
+        }
+        else
+        {
+          multiplyAffine( _worlds, o, _locals, _worlds, parent * Matrix4d.COMPONENTS );
+        }
+        worldDirty[ index ] = true;
+      }
+    }
+  }
+
+  /**
+   * Multiply the packed affine matrix at <code>offset</code> in the <code>left</code> array by the packed affine
+   * matrix at <code>rightOffset</code> in the <code>right</code> array and store the result at <code>offset</code>
+   * in the <code>result</code> array. Every matrix composed from a translation, rotation and scale is affine
+   * so the last row of both matrices is <code>0 0 0 1</code> and it is skipped in the calculation.
+   */
+  private static void multiplyAffine( @Nonnull final double[] result,
+                                      final int offset,
+                                      @Nonnull final double[] left,
+                                      @Nonnull final double[] right,
+                                      final int rightOffset )
+  {
+    final double a00 = left[ offset ];
+    final double a01 = left[ offset + 1 ];
+    final double a02 = left[ offset + 2 ];
+    final double a10 = left[ offset + 4 ];
+    final double a11 = left[ offset + 5 ];
+    final double a12 = left[ offset + 6 ];
+    final double a20 = left[ offset + 8 ];
+    final double a21 = left[ offset + 9 ];
+    final double a22 = left[ offset + 10 ];
+    final double a30 = left[ offset + 12 ];
+    final double a31 = left[ offset + 13 ];
+    final double a32 = left[ offset + 14 ];
+
+    final double b00 = right[ rightOffset ];
+    final double b01 = right[ rightOffset + 1 ];
+    final double b02 = right[ rightOffset + 2 ];
+    final double b10 = right[ rightOffset + 4 ];
+    final double b11 = right[ rightOffset + 5 ];
+    final double b12 = right[ rightOffset + 6 ];
+    final double b20 = right[ rightOffset + 8 ];
+    final double b21 = right[ rightOffset + 9 ];
+    final double b22 = right[ rightOffset + 10 ];
+    final double b30 = right[ rightOffset + 12 ];
+    final double b31 = right[ rightOffset + 13 ];
+    final double b32 = right[ rightOffset + 14 ];
+
+    result[ offset ] = a00 * b00 + a01 * b10 + a02 * b20;
+    result[ offset + 1 ] = a00 * b01 + a01 * b11 + a02 * b21;
+    result[ offset + 2 ] = a00 * b02 + a01 * b12 + a02 * b22;
+    result[ offset + 3 ] = 0;
+    result[ offset + 4 ] = a10 * b00 + a11 * b10 + a12 * b20;
+    result[ offset + 5 ] = a10 * b01 + a11 * b11 + a12 * b21;
+    result[ offset + 6 ] = a10 * b02 + a11 * b12 + a12 * b22;
+    result[ offset + 7 ] = 0;
+    result[ offset + 8 ] = a20 * b00 + a21 * b10 + a22 * b20;
+    result[ offset + 9 ] = a20 * b01 + a21 * b11 + a22 * b21;
+    result[ offset + 10 ] = a20 * b02 + a21 * b12 + a22 * b22;
+    result[ offset + 11 ] = 0;
+    result[ offset + 12 ] = a30 * b00 + a31 * b10 + a32 * b20 + b30;
+    result[ offset + 13 ] = a30 * b01 + a31 * b11 + a32 * b21 + b31;
+    result[ offset + 14 ] = a30 * b02 + a31 * b12 + a32 * b22 + b32;
+    result[ offset + 15 ] = 1;
+  }
+
+  private void completeUpdate()
+  {
+    Arrays.fill( _localDirty, 0, _size, false );
+    Arrays.fill( _worldDirty, 0, _size, false );
+    _anyDirty = false;
+  }
+
+  /**
+   * Rebuild the index of nodes ordered by depth if nodes have been added since it was last built.
+   */
+  private void ensureLevels()
+  {
+    if ( _levelsStale )
+    {
+      int maxDepth = 0;
+      for ( int i = 0; i < _size; i++ )
+      {
+        maxDepth = Math.max( maxDepth, _depths[ i ] );
+      }
+      _levelCount = maxDepth + 1;
+      if ( _levelStarts.length < _levelCount + 1 )
+      {
+        _levelStarts = new int[ _levelCount + 1 ];
+      }
+      else
+      {
+        Arrays.fill( _levelStarts, 0 );
+      }
+      // Counting sort of the nodes by depth. Nodes in a level retain their topological order.
+      for ( int i = 0; i < _size; i++ )
+      {
+        _levelStarts[ _depths[ i ] + 1 ]++;
+      }
+      for ( int level = 0; level < _levelCount; level++ )
+      {
+        _levelStarts[ level + 1 ] += _levelStarts[ level ];
+      }
+      final int[] next = Arrays.copyOf( _levelStarts, _levelCount );
+      for ( int i = 0; i < _size; i++ )
+      {
+        _levelOrder[ next[ _depths[ i ] ]++ ] = i;
+      }
+      _levelsStale = false;
+    }
+  }
+
+  private void grow( final int capacity )
+  {
+    _parents = Arrays.copyOf( _parents, capacity );
+    _depths = Arrays.copyOf( _depths, capacity );
+    _translations = Arrays.copyOf( _translations, capacity * 3 );
+    _rotations = Arrays.copyOf( _rotations, capacity * 4 );
+    _scales = Arrays.copyOf( _scales, capacity * 3 );
+    _locals = Arrays.copyOf( _locals, capacity * Matrix4d.COMPONENTS );
+    _worlds = Arrays.copyOf( _worlds, capacity * Matrix4d.COMPONENTS );
+    _localDirty = Arrays.copyOf( _localDirty, capacity );
+    _worldDirty = Arrays.copyOf( _worldDirty, capacity );
+    _levelOrder = Arrays.copyOf( _levelOrder, capacity );
+  }
+
+  @GwtIncompatible
+  private static final class UpdateTask
+    extends java.util.concurrent.RecursiveAction
+  {
+    private static final long serialVersionUID = 1L;
+    @Nonnull
+    private final TransformHierarchy _hierarchy;
+    private final int _start;
+    private final int _end;
+
+    UpdateTask( @Nonnull final TransformHierarchy hierarchy, final int start, final int end )
+    {
+      _hierarchy = hierarchy;
+      _start = start;
+      _end = end;
+    }
+
+    @Override
+    protected void compute()
+    {
+      if ( _end - _start < PARALLEL_THRESHOLD * 2 )
+      {
+        _hierarchy.updateNodes( _start, _end, new Matrix4d() );
+      }
+      else
+      {
+        final int middle = ( _start + _end ) >>> 1;
+        invokeAll( new UpdateTask( _hierarchy, _start, middle ), new UpdateTask( _hierarchy, middle, _end ) );
+      }
+    }
+  }
+}
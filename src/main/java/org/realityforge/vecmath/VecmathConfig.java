@@ -14,7 +14,7 @@ final class VecmathConfig
   private static final ConfigProvider PROVIDER = new ConfigProvider();
   private static final boolean PRODUCTION_ENVIRONMENT = PROVIDER.isProductionEnvironment();
   private static boolean CONFIG_isDebugToStringEnabled = PROVIDER.isDebugToStringEnabled();
-  private static boolean CONFIG_isObjectEqualsImplemented = PROVIDER.isDebugToStringEnabled();
+  private static boolean CONFIG_isObjectEqualsImplemented = PROVIDER.isObjectEqualsImplemented();
 
   private VecmathConfig()
   {
@@ -0,0 +1,164 @@
+package org.realityforge.vecmath;
+
+/**
+ * Utility methods shared by the geometric types.
+ */
+final class VecmathUtil
+{
+  private VecmathUtil()
+  {
+  }
+
+  /**
+   * Combine the specified hash with the hash of the specified value.
+   * This produces the same result as {@link java.util.Arrays#hashCode(double[])} when applied to each
+   * element in turn, starting with a hash of <code>1</code>, but does not box the value. The value
+   * <code>-0.0</code> hashes the same as <code>0.0</code> as the two values are equal when compared
+   * using <code>==</code> and thus by the <code>isEqualTo(...)</code> methods.
+   *
+   * @param hash  the hash of the preceding values.
+   * @param value the value.
+   * @return the combined hash.
+   */
+  static int hash( final int hash, final double value )
+  {
+    // Adding 0.0 converts -0.0 to 0.0 and leaves every other value unchanged
+    return 31 * hash + Double.hashCode( value + 0.0 );
+  }
+
+  /**
+   * Combine the specified hash with the hash of the specified value.
+   * This produces the same result as {@link java.util.Arrays#hashCode(float[])} when applied to each
+   * element in turn, starting with a hash of <code>1</code>, but does not box the value. The value
+   * <code>-0.0f</code> hashes the same as <code>0.0f</code>.
+   *
+   * @param hash  the hash of the preceding values.
+   * @param value the value.
+   * @return the combined hash.
+   */
+  static int hash( final int hash, final float value )
+  {
+    return 31 * hash + Float.hashCode( value + 0.0f );
+  }
+
+  /**
+   * Return true if the specified values differ by no more than the specified tolerance.
+   *
+   * @param value1  the first value.
+   * @param value2  the second value.
+   * @param epsilon the maximum absolute difference between the values.
+   * @return true if the specified values differ by no more than the specified tolerance.
+   */
+  static boolean isEqualTo( final double value1, final double value2, final double epsilon )
+  {
+    return value1 == value2 || Math.abs( value1 - value2 ) <= epsilon;
+  }
+
+  /**
+   * Return true if the specified values are separated by no more than the specified number of
+   * representable doubles. <code>NaN</code> is not equal to any value and values of different
+   * sign are only equal if both are within <code>maxUlps</code> of zero.
+   *
+   * @param value1  the first value.
+   * @param value2  the second value.
+   * @param maxUlps the maximum number of units in the last place that the values may differ by.
+   * @return true if the values are separated by no more than <code>maxUlps</code> representable doubles.
+   */
+  static boolean isEqualToUlps( final double value1, final double value2, final int maxUlps )
+  {
+    assert maxUlps >= 0;
+    if ( value1 == value2 )
+    {
+      return true;
+    }
+    else if ( Double.isNaN( value1 ) || Double.isNaN( value2 ) )
+    {
+      return false;
+    }
+    else
+    {
+      final long ordered1 = toOrdered( Double.doubleToLongBits( value1 ) );
+      final long ordered2 = toOrdered( Double.doubleToLongBits( value2 ) );
+      if ( ( ordered1 ^ ordered2 ) < 0 )
+      {
+        // The values have different signs so compare the distances to zero to avoid overflow
+        final long distance1 = Math.abs( ordered1 );
+        final long distance2 = Math.abs( ordered2 );
+        return distance1 <= maxUlps && distance2 <= maxUlps - distance1;
+      }
+      else
+      {
+        return Math.abs( ordered1 - ordered2 ) <= maxUlps;
+      }
+    }
+  }
+
+  /**
+   * Return true if the specified values differ by no more than the specified tolerance.
+   *
+   * @param value1  the first value.
+   * @param value2  the second value.
+   * @param epsilon the maximum absolute difference between the values.
+   * @return true if the specified values differ by no more than the specified tolerance.
+   */
+  static boolean isEqualTo( final float value1, final float value2, final float epsilon )
+  {
+    return value1 == value2 || Math.abs( value1 - value2 ) <= epsilon;
+  }
+
+  /**
+   * Return true if the specified values are separated by no more than the specified number of
+   * representable floats. <code>NaN</code> is not equal to any value and values of different
+   * sign are only equal if both are within <code>maxUlps</code> of zero.
+   *
+   * @param value1  the first value.
+   * @param value2  the second value.
+   * @param maxUlps the maximum number of units in the last place that the values may differ by.
+   * @return true if the values are separated by no more than <code>maxUlps</code> representable floats.
+   */
+  static boolean isEqualToUlps( final float value1, final float value2, final int maxUlps )
+  {
+    assert maxUlps >= 0;
+    if ( value1 == value2 )
+    {
+      return true;
+    }
+    else if ( Float.isNaN( value1 ) || Float.isNaN( value2 ) )
+    {
+      return false;
+    }
+    else
+    {
+      final int ordered1 = toOrdered( Float.floatToIntBits( value1 ) );
+      final int ordered2 = toOrdered( Float.floatToIntBits( value2 ) );
+      if ( ( ordered1 ^ ordered2 ) < 0 )
+      {
+        final int distance1 = Math.abs( ordered1 );
+        final int distance2 = Math.abs( ordered2 );
+        return distance1 <= maxUlps && distance2 <= maxUlps - distance1;
+      }
+      else
+      {
+        return Math.abs( ordered1 - ordered2 ) <= maxUlps;
+      }
+    }
+  }
+
+  /**
+   * Convert the sign-magnitude bits of a double into a two's complement value so that adjacent doubles
+   * map to adjacent longs and <code>-0.0</code> and <code>0.0</code> both map to zero.
+   */
+  private static long toOrdered( final long bits )
+  {
+    return bits < 0 ? Long.MIN_VALUE - bits : bits;
+  }
+
+  /**
+   * Convert the sign-magnitude bits of a float into a two's complement value so that adjacent floats
+   * map to adjacent ints and <code>-0.0f</code> and <code>0.0f</code> both map to zero.
+   */
+  private static int toOrdered( final int bits )
+  {
+    return bits < 0 ? Integer.MIN_VALUE - bits : bits;
+  }
+}
@@ -1,7 +1,6 @@
 package org.realityforge.vecmath;
 
 import grim.annotations.OmitSymbol;
-import java.util.Objects;
 import javax.annotation.Nonnull;
 
 /**
@@ -97,6 +96,21 @@ public final class Vector2d
     return this;
   }
 
+  /**
+   * Set the components of this vector to the components in the specified integer vector.
+   * This is typically used to convert the coordinates of a grid cell into a position.
+   *
+   * @param other the integer vector.
+   * @return this
+   */
+  @Nonnull
+  public Vector2d set( @Nonnull final Vector2i other )
+  {
+    x = other.x;
+    y = other.y;
+    return this;
+  }
+
   /**
    * Set the components of this vector to the specified components.
    *
@@ -357,6 +371,134 @@ public final class Vector2d
     return toArray( new double[ 2 ] );
   }
 
+  /**
+   * Store the vector components into the specified buffer starting at the specified absolute index.
+   * The position of the buffer is not modified.
+   *
+   * @param buffer the buffer in which to store the vector components. The buffer must have {@link #COMPONENTS} doubles remaining after the index.
+   * @param index  the absolute index in the buffer to start storing the vector components.
+   * @return the buffer.
+   */
+  @GwtIncompatible
+  @Nonnull
+  public java.nio.DoubleBuffer get( @Nonnull final java.nio.DoubleBuffer buffer, final int index )
+  {
+    buffer.put( index, x );
+    buffer.put( index + 1, y );
+    return buffer;
+  }
+
+  /**
+   * Set the components of this vector to the components in the specified buffer starting at the specified absolute index.
+   * The position of the buffer is not modified.
+   *
+   * @param buffer the buffer from which to read the vector components. The buffer must have {@link #COMPONENTS} doubles remaining after the index.
+   * @param index  the absolute index in the buffer to start reading the vector components.
+   * @return this
+   */
+  @GwtIncompatible
+  @Nonnull
+  public Vector2d set( @Nonnull final java.nio.DoubleBuffer buffer, final int index )
+  {
+    return set( buffer.get( index ), buffer.get( index + 1 ) );
+  }
+
+  /**
+   * Store the vector components narrowed to floats into the specified buffer starting at the specified absolute index.
+   * The position of the buffer is not modified.
+   *
+   * @param buffer the buffer in which to store the vector components. The buffer must have {@link #COMPONENTS} floats remaining after the index.
+   * @param index  the absolute index in the buffer to start storing the vector components.
+   * @return the buffer.
+   */
+  @GwtIncompatible
+  @Nonnull
+  public java.nio.FloatBuffer get( @Nonnull final java.nio.FloatBuffer buffer, final int index )
+  {
+    buffer.put( index, (float) x );
+    buffer.put( index + 1, (float) y );
+    return buffer;
+  }
+
+  /**
+   * Set the components of this vector to the widened float components in the specified buffer starting at the specified absolute index.
+   * The position of the buffer is not modified.
+   *
+   * @param buffer the buffer from which to read the vector components. The buffer must have {@link #COMPONENTS} floats remaining after the index.
+   * @param index  the absolute index in the buffer to start reading the vector components.
+   * @return this
+   */
+  @GwtIncompatible
+  @Nonnull
+  public Vector2d set( @Nonnull final java.nio.FloatBuffer buffer, final int index )
+  {
+    return set( buffer.get( index ), buffer.get( index + 1 ) );
+  }
+
+  /**
+   * Store the vector components into the specified buffer starting at the specified absolute byte index.
+   * The components are emitted using the byte order of the buffer. The position of the buffer is not modified.
+   *
+   * @param buffer the buffer in which to store the vector components. The buffer must have {@link #BYTES} bytes remaining after the index.
+   * @param index  the absolute byte index in the buffer to start storing the vector components.
+   * @return the buffer.
+   */
+  @GwtIncompatible
+  @Nonnull
+  public java.nio.ByteBuffer get( @Nonnull final java.nio.ByteBuffer buffer, final int index )
+  {
+    buffer.putDouble( index, x );
+    buffer.putDouble( index + 8, y );
+    return buffer;
+  }
+
+  /**
+   * Set the components of this vector to the components in the specified buffer starting at the specified absolute byte index.
+   * The components are read using the byte order of the buffer. The position of the buffer is not modified.
+   *
+   * @param buffer the buffer from which to read the vector components. The buffer must have {@link #BYTES} bytes remaining after the index.
+   * @param index  the absolute byte index in the buffer to start reading the vector components.
+   * @return this
+   */
+  @GwtIncompatible
+  @Nonnull
+  public Vector2d set( @Nonnull final java.nio.ByteBuffer buffer, final int index )
+  {
+    return set( buffer.getDouble( index ), buffer.getDouble( index + 8 ) );
+  }
+
+  /**
+   * Store the vector components narrowed to floats into the specified buffer starting at the specified absolute byte index.
+   * The components are emitted using the byte order of the buffer. The position of the buffer is not modified.
+   *
+   * @param buffer the buffer in which to store the vector components. The buffer must have {@link #FLOAT_BYTES} bytes remaining after the index.
+   * @param index  the absolute byte index in the buffer to start storing the vector components.
+   * @return the buffer.
+   */
+  @GwtIncompatible
+  @Nonnull
+  public java.nio.ByteBuffer getFloats( @Nonnull final java.nio.ByteBuffer buffer, final int index )
+  {
+    buffer.putFloat( index, (float) x );
+    buffer.putFloat( index + 4, (float) y );
+    return buffer;
+  }
+
+  /**
+   * Set the components of this vector to the widened float components in the specified buffer starting at the specified absolute byte index.
+   * The components are read using the byte order of the buffer. The position of the buffer is not modified.
+   *
+   * @param buffer the buffer from which to read the vector components. The buffer must have {@link #FLOAT_BYTES} bytes remaining after the index.
+   * @param index  the absolute byte index in the buffer to start reading the vector components.
+   * @return this
+   */
+  @GwtIncompatible
+  @Nonnull
+  public Vector2d setFloats( @Nonnull final java.nio.ByteBuffer buffer, final int index )
+  {
+    return set( buffer.getFloat( index ), buffer.getFloat( index + 4 ) );
+  }
+
   /**
    * Returns true if the other vector has components with the same values.
    *
@@ -368,6 +510,34 @@ public final class Vector2d
     return x == other.x && y == other.y;
   }
 
+  /**
+   * Returns true if every component of the other vector differs from the corresponding component of this vector
+   * by no more than the specified tolerance.
+   *
+   * @param other   the other vector.
+   * @param epsilon the maximum absolute difference between corresponding components.
+   * @return true if the vectors are equal within the specified tolerance, otherwise false.
+   */
+  public boolean isEqualTo( @Nonnull final Vector2d other, final double epsilon )
+  {
+    return VecmathUtil.isEqualTo( x, other.x, epsilon ) &&
+           VecmathUtil.isEqualTo( y, other.y, epsilon );
+  }
+
+  /**
+   * Returns true if every component of the other vector is separated from the corresponding component of this
+   * vector by no more than the specified number of representable doubles (units in the last place).
+   *
+   * @param other   the other vector.
+   * @param maxUlps the maximum number of units in the last place that corresponding components may differ by.
+   * @return true if the vectors are equal within the specified number of units in the last place, otherwise false.
+   */
+  public boolean isEqualToUlps( @Nonnull final Vector2d other, final int maxUlps )
+  {
+    return VecmathUtil.isEqualToUlps( x, other.x, maxUlps ) &&
+           VecmathUtil.isEqualToUlps( y, other.y, maxUlps );
+  }
+
   /**
    * Returns a string representation of the vector.
    *
@@ -382,7 +552,17 @@ public final class Vector2d
   @Override
   public int hashCode()
   {
-    return Vecmath.isObjectEqualsImplemented() ? Objects.hash( x, y ) : super.hashCode();
+    if ( Vecmath.isObjectEqualsImplemented() )
+    {
+      int hash = 1;
+      hash = VecmathUtil.hash( hash, x );
+      hash = VecmathUtil.hash( hash, y );
+      return hash;
+    }
+    else
+    {
+      return super.hashCode();
+    }
   }
 
   /**
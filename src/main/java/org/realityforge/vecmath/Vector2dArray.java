@@ -0,0 +1,314 @@
+package org.realityforge.vecmath;
+
+import javax.annotation.Nonnull;
+
+/**
+ * A fixed-size array of 2-dimensional, double-precision, floating-point vectors.
+ *
+ * <p>The components are stored in structure-of-arrays form. i.e. there is a separate, contiguous
+ * <code>double[]</code> for each component rather than an object per vector. The bulk operations
+ * mirror the equivalent operations on {@link Vector2d}.</p>
+ */
+public final class Vector2dArray
+{
+  /**
+   * The x components.
+   */
+  @Nonnull
+  public final double[] x;
+  /**
+   * The y components.
+   */
+  @Nonnull
+  public final double[] y;
+
+  /**
+   * Create an array containing the specified number of zero vectors.
+   *
+   * @param size the number of vectors in the array.
+   */
+  public Vector2dArray( final int size )
+  {
+    x = new double[ size ];
+    y = new double[ size ];
+  }
+
+  /**
+   * Return the number of vectors in the array.
+   *
+   * @return the number of vectors in the array.
+   */
+  public int size()
+  {
+    return x.length;
+  }
+
+  /**
+   * Copy the vector at the specified index into the target vector.
+   *
+   * @param index  the index of the vector.
+   * @param target the vector in which to store the components.
+   * @return the target vector.
+   */
+  @Nonnull
+  public Vector2d get( final int index, @Nonnull final Vector2d target )
+  {
+    return target.set( x[ index ], y[ index ] );
+  }
+
+  /**
+   * Set the vector at the specified index to the components of the specified vector.
+   *
+   * @param index the index of the vector.
+   * @param value the vector.
+   * @return this
+   */
+  @Nonnull
+  public Vector2dArray set( final int index, @Nonnull final Vector2d value )
+  {
+    return set( index, value.x, value.y );
+  }
+
+  /**
+   * Set the vector at the specified index to the specified components.
+   *
+   * @param index the index of the vector.
+   * @param x     the x component.
+   * @param y     the y component.
+   * @return this
+   */
+  @Nonnull
+  public Vector2dArray set( final int index, final double x, final double y )
+  {
+    this.x[ index ] = x;
+    this.y[ index ] = y;
+    return this;
+  }
+
+  /**
+   * Add the vectors in the other array to the vectors in this array.
+   *
+   * @param other the other array. Must be the same size as this array.
+   * @return this
+   */
+  @Nonnull
+  public Vector2dArray add( @Nonnull final Vector2dArray other )
+  {
+    assert other.size() == size();
+    final double[] x = this.x;
+    final double[] y = this.y;
+    final double[] ox = other.x;
+    final double[] oy = other.y;
+    final int size = x.length;
+    for ( int i = 0; i < size; i++ )
+    {
+      x[ i ] += ox[ i ];
+      y[ i ] += oy[ i ];
+    }
+    return this;
+  }
+
+  /**
+   * Add the specified vector to every vector in this array.
+   *
+   * @param value the vector.
+   * @return this
+   */
+  @Nonnull
+  public Vector2dArray add( @Nonnull final Vector2d value )
+  {
+    final double[] x = this.x;
+    final double[] y = this.y;
+    final double vx = value.x;
+    final double vy = value.y;
+    final int size = x.length;
+    for ( int i = 0; i < size; i++ )
+    {
+      x[ i ] += vx;
+      y[ i ] += vy;
+    }
+    return this;
+  }
+
+  /**
+   * Subtract the vectors in the other array from the vectors in this array.
+   *
+   * @param other the other array. Must be the same size as this array.
+   * @return this
+   */
+  @Nonnull
+  public Vector2dArray sub( @Nonnull final Vector2dArray other )
+  {
+    assert other.size() == size();
+    final double[] x = this.x;
+    final double[] y = this.y;
+    final double[] ox = other.x;
+    final double[] oy = other.y;
+    final int size = x.length;
+    for ( int i = 0; i < size; i++ )
+    {
+      x[ i ] -= ox[ i ];
+      y[ i ] -= oy[ i ];
+    }
+    return this;
+  }
+
+  /**
+   * Subtract the specified vector from every vector in this array.
+   *
+   * @param value the vector.
+   * @return this
+   */
+  @Nonnull
+  public Vector2dArray sub( @Nonnull final Vector2d value )
+  {
+    final double[] x = this.x;
+    final double[] y = this.y;
+    final double vx = value.x;
+    final double vy = value.y;
+    final int size = x.length;
+    for ( int i = 0; i < size; i++ )
+    {
+      x[ i ] -= vx;
+      y[ i ] -= vy;
+    }
+    return this;
+  }
+
+  /**
+   * Multiply every vector in this array by the specified scalar value.
+   *
+   * @param value the value to multiple the vectors by.
+   * @return this
+   */
+  @Nonnull
+  public Vector2dArray mul( final double value )
+  {
+    final double[] x = this.x;
+    final double[] y = this.y;
+    final int size = x.length;
+    for ( int i = 0; i < size; i++ )
+    {
+      x[ i ] *= value;
+      y[ i ] *= value;
+    }
+    return this;
+  }
+
+  /**
+   * Normalize every vector in this array.
+   *
+   * @return this
+   */
+  @Nonnull
+  public Vector2dArray normalize()
+  {
+    final double[] x = this.x;
+    final double[] y = this.y;
+    final int size = x.length;
+    for ( int i = 0; i < size; i++ )
+    {
+      final double vx = x[ i ];
+      final double vy = y[ i ];
+      final double invLength = 1.0 / Math.sqrt( vx * vx + vy * vy );
+      x[ i ] = vx * invLength;
+      y[ i ] = vy * invLength;
+    }
+    return this;
+  }
+
+  /**
+   * Linearly interpolate every vector in this array and the corresponding vector in the other array using the
+   * specified interpolation factor and store the result in this array.
+   * See {@link Vector2d#lerp(Vector2d, double)} for the equivalent single vector operation.
+   *
+   * @param other               the other array. Must be the same size as this array.
+   * @param interpolationFactor the interpolation factor. A value between 0.0 and 1.0.
+   * @return this
+   */
+  @Nonnull
+  public Vector2dArray lerp( @Nonnull final Vector2dArray other, final double interpolationFactor )
+  {
+    return lerp( this, other, interpolationFactor );
+  }
+
+  /**
+   * Linearly interpolate every vector in the <code>value1</code> array and the corresponding vector in the
+   * <code>value2</code> array using the specified <code>interpolationFactor</code> and store the result in this array.
+   * See {@link Vector2d#lerp(Vector2d, Vector2d, double)} for the equivalent single vector operation.
+   *
+   * @param value1              the first array. Must be the same size as this array.
+   * @param value2              the second array. Must be the same size as this array.
+   * @param interpolationFactor the interpolation factor. A value between 0.0 and 1.0.
+   * @return this
+   */
+  @Nonnull
+  public Vector2dArray lerp( @Nonnull final Vector2dArray value1,
+                             @Nonnull final Vector2dArray value2,
+                             final double interpolationFactor )
+  {
+    assert value1.size() == size();
+    assert value2.size() == size();
+    assert interpolationFactor >= 0.0 && interpolationFactor <= 1.0;
+    final double[] x = this.x;
+    final double[] y = this.y;
+    final double[] ax = value1.x;
+    final double[] ay = value1.y;
+    final double[] bx = value2.x;
+    final double[] by = value2.y;
+    final int size = x.length;
+    for ( int i = 0; i < size; i++ )
+    {
+      x[ i ] = ( bx[ i ] - ax[ i ] ) * interpolationFactor + ax[ i ];
+      y[ i ] = ( by[ i ] - ay[ i ] ) * interpolationFactor + ay[ i ];
+    }
+    return this;
+  }
+
+  /**
+   * Compute the dot product of each vector in this array and the corresponding vector in the other array.
+   *
+   * @param other  the other array. Must be the same size as this array.
+   * @param target the array in which to store the dot products. Must be at least as large as this array.
+   * @return the target array.
+   */
+  @Nonnull
+  public double[] dot( @Nonnull final Vector2dArray other, @Nonnull final double[] target )
+  {
+    assert other.size() == size();
+    assert target.length >= size();
+    final double[] x = this.x;
+    final double[] y = this.y;
+    final double[] ox = other.x;
+    final double[] oy = other.y;
+    final int size = x.length;
+    for ( int i = 0; i < size; i++ )
+    {
+      target[ i ] = x[ i ] * ox[ i ] + y[ i ] * oy[ i ];
+    }
+    return target;
+  }
+
+  /**
+   * Compute the dot product of each vector in this array and the specified vector.
+   *
+   * @param value  the vector.
+   * @param target the array in which to store the dot products. Must be at least as large as this array.
+   * @return the target array.
+   */
+  @Nonnull
+  public double[] dot( @Nonnull final Vector2d value, @Nonnull final double[] target )
+  {
+    assert target.length >= size();
+    final double[] x = this.x;
+    final double[] y = this.y;
+    final double vx = value.x;
+    final double vy = value.y;
+    final int size = x.length;
+    for ( int i = 0; i < size; i++ )
+    {
+      target[ i ] = x[ i ] * vx + y[ i ] * vy;
+    }
+    return target;
+  }
+}
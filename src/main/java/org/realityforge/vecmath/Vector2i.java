@@ -0,0 +1,466 @@
+package org.realityforge.vecmath;
+
+import grim.annotations.OmitSymbol;
+import javax.annotation.Nonnull;
+
+/**
+ * A 2-dimensional integer vector.
+ * This is typically used to represent coordinates in a grid such as the index of a tile or a chunk.
+ *
+ * <p>A vector can be packed into a single <code>long</code> key via {@link #pack()} and restored via
+ * {@link #unpack(long)} so that coordinates can be hashed or stored in primitive collections. Each component
+ * is packed into 32 bits so every vector can be packed.</p>
+ */
+public final class Vector2i
+{
+  /**
+   * The number of components in the {@code Vector2i}.
+   */
+  public static final int COMPONENTS = 2;
+  /**
+   * The number of bits used to represent a {@code Vector2i} value.
+   */
+  public static final int SIZE = Integer.SIZE * COMPONENTS;
+  /**
+   * The number of bytes used to represent a {@code Vector2i} value.
+   */
+  public static final int BYTES = Integer.BYTES * COMPONENTS;
+  /**
+   * The x component.
+   */
+  public int x;
+  /**
+   * The y component.
+   */
+  public int y;
+
+  /**
+   * Create a new vector representing the zero vector.
+   * i.e. all the components are <code>0</code>.
+   */
+  public Vector2i()
+  {
+  }
+
+  /**
+   * Create a new vector with the specified components.
+   *
+   * @param x the x component.
+   * @param y the y component.
+   */
+  public Vector2i( final int x, final int y )
+  {
+    this.x = x;
+    this.y = y;
+  }
+
+  /**
+   * Create a new vector from the other vector.
+   *
+   * @param other the other vector.
+   */
+  public Vector2i( @Nonnull final Vector2i other )
+  {
+    this( other.x, other.y );
+  }
+
+  /**
+   * Duplicate the vector.
+   *
+   * @return a new vector with the same component values as the current vector.
+   */
+  @Nonnull
+  public Vector2i dup()
+  {
+    return new Vector2i( this );
+  }
+
+  /**
+   * Set the components of this vector to the components in the other vector.
+   *
+   * @param other the other vector.
+   * @return this
+   */
+  @Nonnull
+  public Vector2i set( @Nonnull final Vector2i other )
+  {
+    x = other.x;
+    y = other.y;
+    return this;
+  }
+
+  /**
+   * Set the components of this vector to the specified components.
+   *
+   * @param x the x component.
+   * @param y the y component.
+   * @return this
+   */
+  @Nonnull
+  public Vector2i set( final int x, final int y )
+  {
+    this.x = x;
+    this.y = y;
+    return this;
+  }
+
+  /**
+   * Set the components of this vector to the largest integers less than or equal to the components of the
+   * specified vector. i.e. the coordinates of the unit grid cell that contains the specified position.
+   * The components of the specified vector must be within the range of an <code>int</code>.
+   *
+   * @param other the vector.
+   * @return this
+   */
+  @Nonnull
+  public Vector2i floor( @Nonnull final Vector2d other )
+  {
+    return floor( other.x, other.y );
+  }
+
+  /**
+   * Set the components of this vector to the largest integers less than or equal to the specified components.
+   * The components must be within the range of an <code>int</code>.
+   *
+   * @param x the x component.
+   * @param y the y component.
+   * @return this
+   */
+  @Nonnull
+  public Vector2i floor( final double x, final double y )
+  {
+    this.x = (int) Math.floor( x );
+    this.y = (int) Math.floor( y );
+    return this;
+  }
+
+  /**
+   * Set the components of this vector to the coordinates of the grid cell that contains the specified position
+   * in a grid where each cell has the specified size.
+   *
+   * @param other    the position.
+   * @param cellSize the size of each cell in the grid. Must be greater than <code>0</code>.
+   * @return this
+   */
+  @Nonnull
+  public Vector2i floor( @Nonnull final Vector2d other, final double cellSize )
+  {
+    assert cellSize > 0;
+    return floor( other.x / cellSize, other.y / cellSize );
+  }
+
+  /**
+   * Add the components of the other vector to this vector.
+   *
+   * @param other the other vector
+   * @return this
+   */
+  @Nonnull
+  public Vector2i add( @Nonnull final Vector2i other )
+  {
+    x += other.x;
+    y += other.y;
+    return this;
+  }
+
+  /**
+   * Add the components of the other vector to this vector.
+   *
+   * @param x the x component.
+   * @param y the y component.
+   * @return this
+   */
+  @Nonnull
+  public Vector2i add( final int x, final int y )
+  {
+    this.x += x;
+    this.y += y;
+    return this;
+  }
+
+  /**
+   * Set this vector to the result of adding the specified vectors.
+   *
+   * @param value1 the first vector.
+   * @param value2 the second vector.
+   * @return this
+   */
+  @Nonnull
+  public Vector2i add( @Nonnull final Vector2i value1, @Nonnull final Vector2i value2 )
+  {
+    x = value1.x + value2.x;
+    y = value1.y + value2.y;
+    return this;
+  }
+
+  /**
+   * Subtract the components of the other vector from this vector.
+   *
+   * @param other the other vector
+   * @return this
+   */
+  @Nonnull
+  public Vector2i sub( @Nonnull final Vector2i other )
+  {
+    x -= other.x;
+    y -= other.y;
+    return this;
+  }
+
+  /**
+   * Subtract the components of the other vector from this vector.
+   *
+   * @param x the x component.
+   * @param y the y component.
+   * @return this
+   */
+  @Nonnull
+  public Vector2i sub( final int x, final int y )
+  {
+    this.x -= x;
+    this.y -= y;
+    return this;
+  }
+
+  /**
+   * Set this vector to the result of subtracting the second vector from the first vector.
+   *
+   * @param value1 the first vector.
+   * @param value2 the second vector.
+   * @return this
+   */
+  @Nonnull
+  public Vector2i sub( @Nonnull final Vector2i value1, @Nonnull final Vector2i value2 )
+  {
+    x = value1.x - value2.x;
+    y = value1.y - value2.y;
+    return this;
+  }
+
+  /**
+   * Multiply this vector by the specified scalar value.
+   *
+   * @param value the value to multiple vector by.
+   * @return this
+   */
+  @Nonnull
+  public Vector2i mul( final int value )
+  {
+    x *= value;
+    y *= value;
+    return this;
+  }
+
+  /**
+   * Divide this vector by the specified scalar value, rounding each component towards negative infinity.
+   * Unlike integer division, this maps a cell coordinate to the coordinate of the containing chunk when the
+   * value is the number of cells along each side of a chunk, including for negative coordinates.
+   *
+   * @param value the value to divide vector by. Must not be <code>0</code>.
+   * @return this
+   */
+  @Nonnull
+  public Vector2i floorDiv( final int value )
+  {
+    x = Math.floorDiv( x, value );
+    y = Math.floorDiv( y, value );
+    return this;
+  }
+
+  /**
+   * Returns the length or magnitude of this vector squared.
+   * The value is computed using <code>long</code> arithmetic so that it does not overflow.
+   *
+   * @return the length or magnitude of this vector squared.
+   */
+  public long lengthSquared()
+  {
+    return (long) x * x + (long) y * y;
+  }
+
+  /**
+   * Returns the distance between this vector and the other vector measured along axes at right angles.
+   * i.e. the Manhattan distance.
+   *
+   * @param other the other vector.
+   * @return the distance between this vector and the other vector measured along axes at right angles.
+   */
+  public int gridDistance( @Nonnull final Vector2i other )
+  {
+    return Math.abs( x - other.x ) + Math.abs( y - other.y );
+  }
+
+  /**
+   * Pack the components of this vector into a single <code>long</code>.
+   *
+   * @return the packed representation of this vector.
+   * @see #pack(int, int)
+   */
+  public long pack()
+  {
+    return pack( x, y );
+  }
+
+  /**
+   * Pack the specified components into a single <code>long</code>.
+   * Distinct coordinates produce distinct keys and the key can be restored via {@link #unpack(long)}.
+   *
+   * @param x the x component.
+   * @param y the y component.
+   * @return the packed representation of the components.
+   */
+  public static long pack( final int x, final int y )
+  {
+    return ( (long) x << Integer.SIZE ) | ( y & 0xFFFFFFFFL );
+  }
+
+  /**
+   * Set the components of this vector to the components packed into the specified key.
+   *
+   * @param key the key produced by {@link #pack()} or {@link #pack(int, int)}.
+   * @return this
+   */
+  @Nonnull
+  public Vector2i unpack( final long key )
+  {
+    x = (int) ( key >> Integer.SIZE );
+    y = (int) key;
+    return this;
+  }
+
+  /**
+   * Fill the specified target with the vector components starting at the specified offset.
+   *
+   * @param target the array in which to store the vector components. The target must be large enough to contain the vector.
+   * @param offset the offset in the target array to start storing the vector components.
+   * @return the vector represented as an array.
+   */
+  @Nonnull
+  public int[] toArray( @Nonnull final int[] target, final int offset )
+  {
+    target[ offset ] = x;
+    target[ offset + 1 ] = y;
+    return target;
+  }
+
+  /**
+   * Fill the specified target with the vector components.
+   *
+   * @param target the array in which to store the vector components. The target must be large enough to contain the vector.
+   * @return the vector represented as an array.
+   */
+  @Nonnull
+  public int[] toArray( @Nonnull final int[] target )
+  {
+    return toArray( target, 0 );
+  }
+
+  /**
+   * Create an array to represent the vector.
+   *
+   * @return the vector represented as an array.
+   */
+  @Nonnull
+  public int[] toArray()
+  {
+    return toArray( new int[ COMPONENTS ] );
+  }
+
+  /**
+   * Store the vector components into the specified buffer starting at the specified absolute index.
+   * The position of the buffer is not modified.
+   *
+   * @param buffer the buffer in which to store the vector components. The buffer must have {@link #COMPONENTS} ints remaining after the index.
+   * @param index  the absolute index in the buffer to start storing the vector components.
+   * @return the buffer.
+   */
+  @GwtIncompatible
+  @Nonnull
+  public java.nio.IntBuffer get( @Nonnull final java.nio.IntBuffer buffer, final int index )
+  {
+    buffer.put( index, x );
+    buffer.put( index + 1, y );
+    return buffer;
+  }
+
+  /**
+   * Set the components of this vector to the components in the specified buffer starting at the specified absolute index.
+   * The position of the buffer is not modified.
+   *
+   * @param buffer the buffer from which to read the vector components. The buffer must have {@link #COMPONENTS} ints remaining after the index.
+   * @param index  the absolute index in the buffer to start reading the vector components.
+   * @return this
+   */
+  @GwtIncompatible
+  @Nonnull
+  public Vector2i set( @Nonnull final java.nio.IntBuffer buffer, final int index )
+  {
+    return set( buffer.get( index ), buffer.get( index + 1 ) );
+  }
+
+  /**
+   * Returns true if the other vector has components with the same values.
+   *
+   * @param other the other vector.
+   * @return true if the other vector has components with the same values, otherwise false.
+   */
+  public boolean isEqualTo( @Nonnull final Vector2i other )
+  {
+    return x == other.x && y == other.y;
+  }
+
+  /**
+   * Returns a string representation of the vector.
+   *
+   * @return a string representation of the vector.
+   */
+  @Nonnull
+  public String asString()
+  {
+    return "(" + x + ", " + y + ")";
+  }
+
+  @Override
+  public int hashCode()
+  {
+    if ( Vecmath.isObjectEqualsImplemented() )
+    {
+      int hash = 1;
+      hash = 31 * hash + x;
+      hash = 31 * hash + y;
+      return hash;
+    }
+    else
+    {
+      return super.hashCode();
+    }
+  }
+
+  /**
+   * Returns true if the specified object is the same type and has components with the same values.
+   * This method only produces a useful representation if {@link Vecmath#isObjectEqualsImplemented()}
+   * returns <code>true</code>.
+   *
+   * @param o the object.
+   * @return true if the specified object is the same type and has components with the same values, otherwise false.
+   */
+  @Override
+  public boolean equals( final Object o )
+  {
+    return Vecmath.isObjectEqualsImplemented() ? o instanceof Vector2i && isEqualTo( (Vector2i) o ) : super.equals( o );
+  }
+
+  /**
+   * Returns a string representation of the vector.
+   * This method only produces a useful representation if {@link Vecmath#isDebugToStringEnabled()}
+   * returns <code>true</code>.
+   *
+   * @return a string representation of the object.
+   */
+  @OmitSymbol( unless = "vecmath.isDebugToStringEnabled" )
+  @Override
+  public String toString()
+  {
+    return Vecmath.isDebugToStringEnabled() ? asString() : super.toString();
+  }
+}
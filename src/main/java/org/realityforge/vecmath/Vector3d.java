@@ -1,7 +1,6 @@
 package org.realityforge.vecmath;
 
 import grim.annotations.OmitSymbol;
-import java.util.Objects;
 import javax.annotation.Nonnull;
 
 /**
@@ -104,6 +103,22 @@ public final class Vector3d
     return this;
   }
 
+  /**
+   * Set the components of this vector to the components in the specified integer vector.
+   * This is typically used to convert the coordinates of a grid cell into a position.
+   *
+   * @param other the integer vector.
+   * @return this
+   */
+  @Nonnull
+  public Vector3d set( @Nonnull final Vector3i other )
+  {
+    x = other.x;
+    y = other.y;
+    z = other.z;
+    return this;
+  }
+
   /**
    * Set the components of this vector to the specified components.
    *
@@ -310,6 +325,10 @@ public final class Vector3d
   @Nonnull
   public Vector3d mul( @Nonnull final Matrix4d m )
   {
+    if ( 0 != ( m.properties() & Matrix4d.PROPERTY_AFFINE ) )
+    {
+      return mulPosition( m );
+    }
     final double invW = 1.0 / ( m.m03 * x + m.m13 * y + m.m23 * z + m.m33 );
     final double rx = ( m.m00 * x + m.m10 * y + m.m20 * z + m.m30 ) * invW;
     final double ry = ( m.m01 * x + m.m11 * y + m.m21 * z + m.m31 ) * invW;
@@ -320,6 +339,59 @@ public final class Vector3d
     return this;
   }
 
+  /**
+   * Multiply this by the specified affine matrix, treating this vector as a position.
+   * This method assumes <code>w=1.0</code> as the fourth vector component and does not perform perspective
+   * division so it is only correct for affine matrices. Use {@link #mul(Matrix4d)} for other matrices.
+   *
+   * @param m the affine matrix to multiply this vector.
+   * @return this
+   */
+  @Nonnull
+  public Vector3d mulPosition( @Nonnull final Matrix4d m )
+  {
+    final double rx = m.m00 * x + m.m10 * y + m.m20 * z + m.m30;
+    final double ry = m.m01 * x + m.m11 * y + m.m21 * z + m.m31;
+    final double rz = m.m02 * x + m.m12 * y + m.m22 * z + m.m32;
+    this.x = rx;
+    this.y = ry;
+    this.z = rz;
+    return this;
+  }
+
+  /**
+   * Multiply this by the specified matrix, treating this vector as a direction.
+   * This method assumes <code>w=0.0</code> as the fourth vector component so only the upper-left 3x3
+   * part of the matrix is applied and the translation is ignored.
+   *
+   * @param m the matrix to multiply this vector.
+   * @return this
+   */
+  @Nonnull
+  public Vector3d mulDirection( @Nonnull final Matrix4d m )
+  {
+    final double rx = m.m00 * x + m.m10 * y + m.m20 * z;
+    final double ry = m.m01 * x + m.m11 * y + m.m21 * z;
+    final double rz = m.m02 * x + m.m12 * y + m.m22 * z;
+    this.x = rx;
+    this.y = ry;
+    this.z = rz;
+    return this;
+  }
+
+  /**
+   * Multiply this by the specified 3x3 matrix.
+   * This has the same semantics as {@link #mulDirection(Matrix4d)} but only loads the nine components used.
+   *
+   * @param m the matrix to multiply this vector.
+   * @return this
+   */
+  @Nonnull
+  public Vector3d mul( @Nonnull final Matrix3d m )
+  {
+    return m.transform( this );
+  }
+
   /**
    * Compute the dot product of this vector and the other vector.
    *
@@ -416,6 +488,138 @@ public final class Vector3d
     return toArray( new double[ 3 ] );
   }
 
+  /**
+   * Store the vector components into the specified buffer starting at the specified absolute index.
+   * The position of the buffer is not modified.
+   *
+   * @param buffer the buffer in which to store the vector components. The buffer must have {@link #COMPONENTS} doubles remaining after the index.
+   * @param index  the absolute index in the buffer to start storing the vector components.
+   * @return the buffer.
+   */
+  @GwtIncompatible
+  @Nonnull
+  public java.nio.DoubleBuffer get( @Nonnull final java.nio.DoubleBuffer buffer, final int index )
+  {
+    buffer.put( index, x );
+    buffer.put( index + 1, y );
+    buffer.put( index + 2, z );
+    return buffer;
+  }
+
+  /**
+   * Set the components of this vector to the components in the specified buffer starting at the specified absolute index.
+   * The position of the buffer is not modified.
+   *
+   * @param buffer the buffer from which to read the vector components. The buffer must have {@link #COMPONENTS} doubles remaining after the index.
+   * @param index  the absolute index in the buffer to start reading the vector components.
+   * @return this
+   */
+  @GwtIncompatible
+  @Nonnull
+  public Vector3d set( @Nonnull final java.nio.DoubleBuffer buffer, final int index )
+  {
+    return set( buffer.get( index ), buffer.get( index + 1 ), buffer.get( index + 2 ) );
+  }
+
+  /**
+   * Store the vector components narrowed to floats into the specified buffer starting at the specified absolute index.
+   * The position of the buffer is not modified.
+   *
+   * @param buffer the buffer in which to store the vector components. The buffer must have {@link #COMPONENTS} floats remaining after the index.
+   * @param index  the absolute index in the buffer to start storing the vector components.
+   * @return the buffer.
+   */
+  @GwtIncompatible
+  @Nonnull
+  public java.nio.FloatBuffer get( @Nonnull final java.nio.FloatBuffer buffer, final int index )
+  {
+    buffer.put( index, (float) x );
+    buffer.put( index + 1, (float) y );
+    buffer.put( index + 2, (float) z );
+    return buffer;
+  }
+
+  /**
+   * Set the components of this vector to the widened float components in the specified buffer starting at the specified absolute index.
+   * The position of the buffer is not modified.
+   *
+   * @param buffer the buffer from which to read the vector components. The buffer must have {@link #COMPONENTS} floats remaining after the index.
+   * @param index  the absolute index in the buffer to start reading the vector components.
+   * @return this
+   */
+  @GwtIncompatible
+  @Nonnull
+  public Vector3d set( @Nonnull final java.nio.FloatBuffer buffer, final int index )
+  {
+    return set( buffer.get( index ), buffer.get( index + 1 ), buffer.get( index + 2 ) );
+  }
+
+  /**
+   * Store the vector components into the specified buffer starting at the specified absolute byte index.
+   * The components are emitted using the byte order of the buffer. The position of the buffer is not modified.
+   *
+   * @param buffer the buffer in which to store the vector components. The buffer must have {@link #BYTES} bytes remaining after the index.
+   * @param index  the absolute byte index in the buffer to start storing the vector components.
+   * @return the buffer.
+   */
+  @GwtIncompatible
+  @Nonnull
+  public java.nio.ByteBuffer get( @Nonnull final java.nio.ByteBuffer buffer, final int index )
+  {
+    buffer.putDouble( index, x );
+    buffer.putDouble( index + 8, y );
+    buffer.putDouble( index + 16, z );
+    return buffer;
+  }
+
+  /**
+   * Set the components of this vector to the components in the specified buffer starting at the specified absolute byte index.
+   * The components are read using the byte order of the buffer. The position of the buffer is not modified.
+   *
+   * @param buffer the buffer from which to read the vector components. The buffer must have {@link #BYTES} bytes remaining after the index.
+   * @param index  the absolute byte index in the buffer to start reading the vector components.
+   * @return this
+   */
+  @GwtIncompatible
+  @Nonnull
+  public Vector3d set( @Nonnull final java.nio.ByteBuffer buffer, final int index )
+  {
+    return set( buffer.getDouble( index ), buffer.getDouble( index + 8 ), buffer.getDouble( index + 16 ) );
+  }
+
+  /**
+   * Store the vector components narrowed to floats into the specified buffer starting at the specified absolute byte index.
+   * The components are emitted using the byte order of the buffer. The position of the buffer is not modified.
+   *
+   * @param buffer the buffer in which to store the vector components. The buffer must have {@link #FLOAT_BYTES} bytes remaining after the index.
+   * @param index  the absolute byte index in the buffer to start storing the vector components.
+   * @return the buffer.
+   */
+  @GwtIncompatible
+  @Nonnull
+  public java.nio.ByteBuffer getFloats( @Nonnull final java.nio.ByteBuffer buffer, final int index )
+  {
+    buffer.putFloat( index, (float) x );
+    buffer.putFloat( index + 4, (float) y );
+    buffer.putFloat( index + 8, (float) z );
+    return buffer;
+  }
+
+  /**
+   * Set the components of this vector to the widened float components in the specified buffer starting at the specified absolute byte index.
+   * The components are read using the byte order of the buffer. The position of the buffer is not modified.
+   *
+   * @param buffer the buffer from which to read the vector components. The buffer must have {@link #FLOAT_BYTES} bytes remaining after the index.
+   * @param index  the absolute byte index in the buffer to start reading the vector components.
+   * @return this
+   */
+  @GwtIncompatible
+  @Nonnull
+  public Vector3d setFloats( @Nonnull final java.nio.ByteBuffer buffer, final int index )
+  {
+    return set( buffer.getFloat( index ), buffer.getFloat( index + 4 ), buffer.getFloat( index + 8 ) );
+  }
+
   /**
    * Returns true if the other vector has components with the same values.
    *
@@ -427,6 +631,36 @@ public final class Vector3d
     return x == other.x && y == other.y && z == other.z;
   }
 
+  /**
+   * Returns true if every component of the other vector differs from the corresponding component of this vector
+   * by no more than the specified tolerance.
+   *
+   * @param other   the other vector.
+   * @param epsilon the maximum absolute difference between corresponding components.
+   * @return true if the vectors are equal within the specified tolerance, otherwise false.
+   */
+  public boolean isEqualTo( @Nonnull final Vector3d other, final double epsilon )
+  {
+    return VecmathUtil.isEqualTo( x, other.x, epsilon ) &&
+           VecmathUtil.isEqualTo( y, other.y, epsilon ) &&
+           VecmathUtil.isEqualTo( z, other.z, epsilon );
+  }
+
+  /**
+   * Returns true if every component of the other vector is separated from the corresponding component of this
+   * vector by no more than the specified number of representable doubles (units in the last place).
+   *
+   * @param other   the other vector.
+   * @param maxUlps the maximum number of units in the last place that corresponding components may differ by.
+   * @return true if the vectors are equal within the specified number of units in the last place, otherwise false.
+   */
+  public boolean isEqualToUlps( @Nonnull final Vector3d other, final int maxUlps )
+  {
+    return VecmathUtil.isEqualToUlps( x, other.x, maxUlps ) &&
+           VecmathUtil.isEqualToUlps( y, other.y, maxUlps ) &&
+           VecmathUtil.isEqualToUlps( z, other.z, maxUlps );
+  }
+
   /**
    * Returns a string representation of the vector.
    *
@@ -441,7 +675,18 @@ public final class Vector3d
   @Override
   public int hashCode()
   {
-    return Vecmath.isObjectEqualsImplemented() ? Objects.hash( x, y, z ) : super.hashCode();
+    if ( Vecmath.isObjectEqualsImplemented() )
+    {
+      int hash = 1;
+      hash = VecmathUtil.hash( hash, x );
+      hash = VecmathUtil.hash( hash, y );
+      hash = VecmathUtil.hash( hash, z );
+      return hash;
+    }
+    else
+    {
+      return super.hashCode();
+    }
   }
 
   /**
@@ -0,0 +1,405 @@
+package org.realityforge.vecmath;
+
+import javax.annotation.Nonnull;
+
+/**
+ * A fixed-size array of 3-dimensional, double-precision, floating-point vectors.
+ *
+ * <p>The components are stored in structure-of-arrays form. i.e. there is a separate, contiguous
+ * <code>double[]</code> for each component rather than an object per vector. This avoids the per-object
+ * overhead and lays the components out sequentially in memory so that the bulk operations iterate over
+ * contiguous memory. The bulk operations mirror the equivalent operations on {@link Vector3d}.</p>
+ */
+public final class Vector3dArray
+{
+  /**
+   * The x components.
+   */
+  @Nonnull
+  public final double[] x;
+  /**
+   * The y components.
+   */
+  @Nonnull
+  public final double[] y;
+  /**
+   * The z components.
+   */
+  @Nonnull
+  public final double[] z;
+
+  /**
+   * Create an array containing the specified number of zero vectors.
+   *
+   * @param size the number of vectors in the array.
+   */
+  public Vector3dArray( final int size )
+  {
+    x = new double[ size ];
+    y = new double[ size ];
+    z = new double[ size ];
+  }
+
+  /**
+   * Return the number of vectors in the array.
+   *
+   * @return the number of vectors in the array.
+   */
+  public int size()
+  {
+    return x.length;
+  }
+
+  /**
+   * Copy the vector at the specified index into the target vector.
+   *
+   * @param index  the index of the vector.
+   * @param target the vector in which to store the components.
+   * @return the target vector.
+   */
+  @Nonnull
+  public Vector3d get( final int index, @Nonnull final Vector3d target )
+  {
+    return target.set( x[ index ], y[ index ], z[ index ] );
+  }
+
+  /**
+   * Set the vector at the specified index to the components of the specified vector.
+   *
+   * @param index the index of the vector.
+   * @param value the vector.
+   * @return this
+   */
+  @Nonnull
+  public Vector3dArray set( final int index, @Nonnull final Vector3d value )
+  {
+    return set( index, value.x, value.y, value.z );
+  }
+
+  /**
+   * Set the vector at the specified index to the specified components.
+   *
+   * @param index the index of the vector.
+   * @param x     the x component.
+   * @param y     the y component.
+   * @param z     the z component.
+   * @return this
+   */
+  @Nonnull
+  public Vector3dArray set( final int index, final double x, final double y, final double z )
+  {
+    this.x[ index ] = x;
+    this.y[ index ] = y;
+    this.z[ index ] = z;
+    return this;
+  }
+
+  /**
+   * Add the vectors in the other array to the vectors in this array.
+   *
+   * @param other the other array. Must be the same size as this array.
+   * @return this
+   */
+  @Nonnull
+  public Vector3dArray add( @Nonnull final Vector3dArray other )
+  {
+    assert other.size() == size();
+    final double[] x = this.x;
+    final double[] y = this.y;
+    final double[] z = this.z;
+    final double[] ox = other.x;
+    final double[] oy = other.y;
+    final double[] oz = other.z;
+    final int size = x.length;
+    for ( int i = 0; i < size; i++ )
+    {
+      x[ i ] += ox[ i ];
+      y[ i ] += oy[ i ];
+      z[ i ] += oz[ i ];
+    }
+    return this;
+  }
+
+  /**
+   * Add the specified vector to every vector in this array.
+   *
+   * @param value the vector.
+   * @return this
+   */
+  @Nonnull
+  public Vector3dArray add( @Nonnull final Vector3d value )
+  {
+    final double[] x = this.x;
+    final double[] y = this.y;
+    final double[] z = this.z;
+    final double vx = value.x;
+    final double vy = value.y;
+    final double vz = value.z;
+    final int size = x.length;
+    for ( int i = 0; i < size; i++ )
+    {
+      x[ i ] += vx;
+      y[ i ] += vy;
+      z[ i ] += vz;
+    }
+    return this;
+  }
+
+  /**
+   * Subtract the vectors in the other array from the vectors in this array.
+   *
+   * @param other the other array. Must be the same size as this array.
+   * @return this
+   */
+  @Nonnull
+  public Vector3dArray sub( @Nonnull final Vector3dArray other )
+  {
+    assert other.size() == size();
+    final double[] x = this.x;
+    final double[] y = this.y;
+    final double[] z = this.z;
+    final double[] ox = other.x;
+    final double[] oy = other.y;
+    final double[] oz = other.z;
+    final int size = x.length;
+    for ( int i = 0; i < size; i++ )
+    {
+      x[ i ] -= ox[ i ];
+      y[ i ] -= oy[ i ];
+      z[ i ] -= oz[ i ];
+    }
+    return this;
+  }
+
+  /**
+   * Subtract the specified vector from every vector in this array.
+   *
+   * @param value the vector.
+   * @return this
+   */
+  @Nonnull
+  public Vector3dArray sub( @Nonnull final Vector3d value )
+  {
+    final double[] x = this.x;
+    final double[] y = this.y;
+    final double[] z = this.z;
+    final double vx = value.x;
+    final double vy = value.y;
+    final double vz = value.z;
+    final int size = x.length;
+    for ( int i = 0; i < size; i++ )
+    {
+      x[ i ] -= vx;
+      y[ i ] -= vy;
+      z[ i ] -= vz;
+    }
+    return this;
+  }
+
+  /**
+   * Multiply every vector in this array by the specified scalar value.
+   *
+   * @param value the value to multiple the vectors by.
+   * @return this
+   */
+  @Nonnull
+  public Vector3dArray mul( final double value )
+  {
+    final double[] x = this.x;
+    final double[] y = this.y;
+    final double[] z = this.z;
+    final int size = x.length;
+    for ( int i = 0; i < size; i++ )
+    {
+      x[ i ] *= value;
+      y[ i ] *= value;
+      z[ i ] *= value;
+    }
+    return this;
+  }
+
+  /**
+   * Normalize every vector in this array.
+   *
+   * @return this
+   */
+  @Nonnull
+  public Vector3dArray normalize()
+  {
+    final double[] x = this.x;
+    final double[] y = this.y;
+    final double[] z = this.z;
+    final int size = x.length;
+    for ( int i = 0; i < size; i++ )
+    {
+      final double vx = x[ i ];
+      final double vy = y[ i ];
+      final double vz = z[ i ];
+      final double invLength = 1.0 / Math.sqrt( vx * vx + vy * vy + vz * vz );
+      x[ i ] = vx * invLength;
+      y[ i ] = vy * invLength;
+      z[ i ] = vz * invLength;
+    }
+    return this;
+  }
+
+  /**
+   * Linearly interpolate every vector in this array and the corresponding vector in the other array using the
+   * specified interpolation factor and store the result in this array.
+   * See {@link Vector3d#lerp(Vector3d, double)} for the equivalent single vector operation.
+   *
+   * @param other               the other array. Must be the same size as this array.
+   * @param interpolationFactor the interpolation factor. A value between 0.0 and 1.0.
+   * @return this
+   */
+  @Nonnull
+  public Vector3dArray lerp( @Nonnull final Vector3dArray other, final double interpolationFactor )
+  {
+    return lerp( this, other, interpolationFactor );
+  }
+
+  /**
+   * Linearly interpolate every vector in the <code>value1</code> array and the corresponding vector in the
+   * <code>value2</code> array using the specified <code>interpolationFactor</code> and store the result in this array.
+   * See {@link Vector3d#lerp(Vector3d, Vector3d, double)} for the equivalent single vector operation.
+   *
+   * @param value1              the first array. Must be the same size as this array.
+   * @param value2              the second array. Must be the same size as this array.
+   * @param interpolationFactor the interpolation factor. A value between 0.0 and 1.0.
+   * @return this
+   */
+  @Nonnull
+  public Vector3dArray lerp( @Nonnull final Vector3dArray value1,
+                             @Nonnull final Vector3dArray value2,
+                             final double interpolationFactor )
+  {
+    assert value1.size() == size();
+    assert value2.size() == size();
+    assert interpolationFactor >= 0.0 && interpolationFactor <= 1.0;
+    final double[] x = this.x;
+    final double[] y = this.y;
+    final double[] z = this.z;
+    final double[] ax = value1.x;
+    final double[] ay = value1.y;
+    final double[] az = value1.z;
+    final double[] bx = value2.x;
+    final double[] by = value2.y;
+    final double[] bz = value2.z;
+    final int size = x.length;
+    for ( int i = 0; i < size; i++ )
+    {
+      x[ i ] = ( bx[ i ] - ax[ i ] ) * interpolationFactor + ax[ i ];
+      y[ i ] = ( by[ i ] - ay[ i ] ) * interpolationFactor + ay[ i ];
+      z[ i ] = ( bz[ i ] - az[ i ] ) * interpolationFactor + az[ i ];
+    }
+    return this;
+  }
+
+  /**
+   * Compute the dot product of each vector in this array and the corresponding vector in the other array.
+   *
+   * @param other  the other array. Must be the same size as this array.
+   * @param target the array in which to store the dot products. Must be at least as large as this array.
+   * @return the target array.
+   */
+  @Nonnull
+  public double[] dot( @Nonnull final Vector3dArray other, @Nonnull final double[] target )
+  {
+    assert other.size() == size();
+    assert target.length >= size();
+    final double[] x = this.x;
+    final double[] y = this.y;
+    final double[] z = this.z;
+    final double[] ox = other.x;
+    final double[] oy = other.y;
+    final double[] oz = other.z;
+    final int size = x.length;
+    for ( int i = 0; i < size; i++ )
+    {
+      target[ i ] = x[ i ] * ox[ i ] + y[ i ] * oy[ i ] + z[ i ] * oz[ i ];
+    }
+    return target;
+  }
+
+  /**
+   * Compute the dot product of each vector in this array and the specified vector.
+   *
+   * @param value  the vector.
+   * @param target the array in which to store the dot products. Must be at least as large as this array.
+   * @return the target array.
+   */
+  @Nonnull
+  public double[] dot( @Nonnull final Vector3d value, @Nonnull final double[] target )
+  {
+    assert target.length >= size();
+    final double[] x = this.x;
+    final double[] y = this.y;
+    final double[] z = this.z;
+    final double vx = value.x;
+    final double vy = value.y;
+    final double vz = value.z;
+    final int size = x.length;
+    for ( int i = 0; i < size; i++ )
+    {
+      target[ i ] = x[ i ] * vx + y[ i ] * vy + z[ i ] * vz;
+    }
+    return target;
+  }
+
+  /**
+   * Multiply every vector in this array by the specified matrix, performing perspective division.
+   * This method assumes <code>w=1.0</code> as the fourth vector component.
+   * See {@link Vector3d#mul(Matrix4d)} for the equivalent single vector operation.
+   *
+   * @param m the matrix to multiply the vectors.
+   * @return this
+   */
+  @Nonnull
+  public Vector3dArray mul( @Nonnull final Matrix4d m )
+  {
+    final double[] x = this.x;
+    final double[] y = this.y;
+    final double[] z = this.z;
+    final double m00 = m.m00;
+    final double m01 = m.m01;
+    final double m02 = m.m02;
+    final double m03 = m.m03;
+    final double m10 = m.m10;
+    final double m11 = m.m11;
+    final double m12 = m.m12;
+    final double m13 = m.m13;
+    final double m20 = m.m20;
+    final double m21 = m.m21;
+    final double m22 = m.m22;
+    final double m23 = m.m23;
+    final double m30 = m.m30;
+    final double m31 = m.m31;
+    final double m32 = m.m32;
+    final double m33 = m.m33;
+    final int size = x.length;
+    if ( 0 != ( m.properties() & Matrix4d.PROPERTY_AFFINE ) )
+    {
+      for ( int i = 0; i < size; i++ )
+      {
+        final double vx = x[ i ];
+        final double vy = y[ i ];
+        final double vz = z[ i ];
+        x[ i ] = m00 * vx + m10 * vy + m20 * vz + m30;
+        y[ i ] = m01 * vx + m11 * vy + m21 * vz + m31;
+        z[ i ] = m02 * vx + m12 * vy + m22 * vz + m32;
+      }
+      return this;
+    }
+    for ( int i = 0; i < size; i++ )
+    {
+      final double vx = x[ i ];
+      final double vy = y[ i ];
+      final double vz = z[ i ];
+      final double invW = 1.0 / ( m03 * vx + m13 * vy + m23 * vz + m33 );
+      x[ i ] = ( m00 * vx + m10 * vy + m20 * vz + m30 ) * invW;
+      y[ i ] = ( m01 * vx + m11 * vy + m21 * vz + m31 ) * invW;
+      z[ i ] = ( m02 * vx + m12 * vy + m22 * vz + m32 ) * invW;
+    }
+    return this;
+  }
+}
@@ -0,0 +1,568 @@
+package org.realityforge.vecmath;
+
+import grim.annotations.OmitSymbol;
+import javax.annotation.Nonnull;
+
+/**
+ * A movable view of a 3-dimensional, double-precision, floating-point vector stored in a backing array or buffer.
+ *
+ * <p>The cursor exposes the same operations as {@link Vector3d} but reads and writes the components of the
+ * element at the current index of the backing store. A single cursor can be moved across every element of
+ * a large array or buffer so that the familiar vector operations can be applied without creating a
+ * {@link Vector3d} per element. Elements are located using an offset and a stride, in the same way as
+ * {@link Matrix4d#transformPositions(double[], int, int, int)}, and the three components of an element are
+ * stored consecutively.</p>
+ *
+ * <pre>{@code
+ * final Vector3dCursor cursor = Vector3dCursor.wrap( normals, 0, 3, count );
+ * for ( int i = 0; i < cursor.count(); i++ )
+ * {
+ *   cursor.moveTo( i ).mulDirection( matrix ).normalize();
+ * }
+ * }</pre>
+ */
+public abstract class Vector3dCursor
+{
+  /**
+   * The offset of the first component of the first element in the backing store.
+   */
+  private final int _offset;
+  /**
+   * The distance between the start of consecutive elements in the backing store.
+   */
+  private final int _stride;
+  /**
+   * The number of elements accessible via the cursor.
+   */
+  private final int _count;
+  /**
+   * The index of the current element.
+   */
+  private int _index;
+  /**
+   * The position of the first component of the current element in the backing store.
+   */
+  int _position;
+
+  Vector3dCursor( final int offset, final int stride, final int count )
+  {
+    assert offset >= 0;
+    assert count >= 0;
+    _offset = offset;
+    _stride = stride;
+    _count = count;
+    _position = offset;
+  }
+
+  /**
+   * Create a cursor over the tightly packed elements of the specified array.
+   *
+   * @param array the array containing the components.
+   * @return the new cursor positioned at the first element.
+   */
+  @Nonnull
+  public static Vector3dCursor wrap( @Nonnull final double[] array )
+  {
+    return wrap( array, 0, Vector3d.COMPONENTS, array.length / Vector3d.COMPONENTS );
+  }
+
+  /**
+   * Create a cursor over the elements of the specified array.
+   *
+   * @param array  the array containing the components.
+   * @param offset the offset of the first component of the first element in the array.
+   * @param stride the number of array elements between the start of consecutive elements. Must be at least 3.
+   * @param count  the number of elements.
+   * @return the new cursor positioned at the first element.
+   */
+  @Nonnull
+  public static Vector3dCursor wrap( @Nonnull final double[] array, final int offset, final int stride, final int count )
+  {
+    assert stride >= Vector3d.COMPONENTS;
+    assert 0 == count || offset + ( count - 1 ) * stride + Vector3d.COMPONENTS <= array.length;
+    return new ArrayCursor( array, offset, stride, count );
+  }
+
+  /**
+   * Create a cursor over the elements of the specified buffer.
+   * The cursor uses absolute indexes and does not modify the position of the buffer.
+   *
+   * @param buffer the buffer containing the components.
+   * @param offset the absolute index of the first component of the first element in the buffer.
+   * @param stride the number of buffer elements between the start of consecutive elements. Must be at least 3.
+   * @param count  the number of elements.
+   * @return the new cursor positioned at the first element.
+   */
+  @GwtIncompatible
+  @Nonnull
+  public static Vector3dCursor wrap( @Nonnull final java.nio.DoubleBuffer buffer,
+                                     final int offset,
+                                     final int stride,
+                                     final int count )
+  {
+    assert stride >= Vector3d.COMPONENTS;
+    assert 0 == count || offset + ( count - 1 ) * stride + Vector3d.COMPONENTS <= buffer.limit();
+    return new DoubleBufferCursor( buffer, offset, stride, count );
+  }
+
+  /**
+   * Create a cursor over the elements of the specified buffer.
+   * The components are read and written using the byte order of the buffer.
+   * The cursor uses absolute indexes and does not modify the position of the buffer.
+   *
+   * @param buffer the buffer containing the components.
+   * @param offset the absolute byte index of the first component of the first element in the buffer.
+   * @param stride the number of bytes between the start of consecutive elements. Must be at least {@link Vector3d#BYTES}.
+   * @param count  the number of elements.
+   * @return the new cursor positioned at the first element.
+   */
+  @GwtIncompatible
+  @Nonnull
+  public static Vector3dCursor wrap( @Nonnull final java.nio.ByteBuffer buffer,
+                                     final int offset,
+                                     final int stride,
+                                     final int count )
+  {
+    assert stride >= Vector3d.BYTES;
+    assert 0 == count || offset + ( count - 1 ) * stride + Vector3d.BYTES <= buffer.limit();
+    return new ByteBufferCursor( buffer, offset, stride, count );
+  }
+
+  /**
+   * Return the number of elements accessible via the cursor.
+   *
+   * @return the number of elements accessible via the cursor.
+   */
+  public final int count()
+  {
+    return _count;
+  }
+
+  /**
+   * Return the index of the current element.
+   *
+   * @return the index of the current element.
+   */
+  public final int index()
+  {
+    return _index;
+  }
+
+  /**
+   * Move the cursor to the element at the specified index.
+   *
+   * @param index the index of the element.
+   * @return this
+   */
+  @Nonnull
+  public final Vector3dCursor moveTo( final int index )
+  {
+    assert index >= 0 && index < _count;
+    _index = index;
+    _position = _offset + index * _stride;
+    return this;
+  }
+
+  /**
+   * Return the x component of the current element.
+   *
+   * @return the x component of the current element.
+   */
+  public abstract double getX();
+
+  /**
+   * Return the y component of the current element.
+   *
+   * @return the y component of the current element.
+   */
+  public abstract double getY();
+
+  /**
+   * Return the z component of the current element.
+   *
+   * @return the z component of the current element.
+   */
+  public abstract double getZ();
+
+  /**
+   * Set the components of the current element.
+   *
+   * @param x the x component.
+   * @param y the y component.
+   * @param z the z component.
+   * @return this
+   */
+  @Nonnull
+  public abstract Vector3dCursor set( double x, double y, double z );
+
+  /**
+   * Set the components of the current element to the components of the specified vector.
+   *
+   * @param other the vector.
+   * @return this
+   */
+  @Nonnull
+  public final Vector3dCursor set( @Nonnull final Vector3d other )
+  {
+    return set( other.x, other.y, other.z );
+  }
+
+  /**
+   * Copy the components of the current element into the target vector.
+   *
+   * @param target the vector in which to store the components.
+   * @return the target vector.
+   */
+  @Nonnull
+  public final Vector3d get( @Nonnull final Vector3d target )
+  {
+    return target.set( getX(), getY(), getZ() );
+  }
+
+  /**
+   * Add the specified vector to the current element.
+   *
+   * @param other the vector.
+   * @return this
+   */
+  @Nonnull
+  public final Vector3dCursor add( @Nonnull final Vector3d other )
+  {
+    return add( other.x, other.y, other.z );
+  }
+
+  /**
+   * Add the specified components to the current element.
+   *
+   * @param x the x component.
+   * @param y the y component.
+   * @param z the z component.
+   * @return this
+   */
+  @Nonnull
+  public final Vector3dCursor add( final double x, final double y, final double z )
+  {
+    return set( getX() + x, getY() + y, getZ() + z );
+  }
+
+  /**
+   * Subtract the specified vector from the current element.
+   *
+   * @param other the vector.
+   * @return this
+   */
+  @Nonnull
+  public final Vector3dCursor sub( @Nonnull final Vector3d other )
+  {
+    return sub( other.x, other.y, other.z );
+  }
+
+  /**
+   * Subtract the specified components from the current element.
+   *
+   * @param x the x component.
+   * @param y the y component.
+   * @param z the z component.
+   * @return this
+   */
+  @Nonnull
+  public final Vector3dCursor sub( final double x, final double y, final double z )
+  {
+    return set( getX() - x, getY() - y, getZ() - z );
+  }
+
+  /**
+   * Multiply the current element by the specified scalar value.
+   *
+   * @param value the scalar value.
+   * @return this
+   */
+  @Nonnull
+  public final Vector3dCursor mul( final double value )
+  {
+    return set( getX() * value, getY() * value, getZ() * value );
+  }
+
+  /**
+   * Return the dot product of the current element and the specified vector.
+   *
+   * @param other the vector.
+   * @return the dot product.
+   */
+  public final double dot( @Nonnull final Vector3d other )
+  {
+    return getX() * other.x + getY() * other.y + getZ() * other.z;
+  }
+
+  /**
+   * Return the squared length of the current element.
+   *
+   * @return the squared length of the current element.
+   */
+  public final double lengthSquared()
+  {
+    final double x = getX();
+    final double y = getY();
+    final double z = getZ();
+    return x * x + y * y + z * z;
+  }
+
+  /**
+   * Return the length of the current element.
+   *
+   * @return the length of the current element.
+   */
+  public final double length()
+  {
+    return Math.sqrt( lengthSquared() );
+  }
+
+  /**
+   * Normalize the current element.
+   *
+   * @return this
+   */
+  @Nonnull
+  public final Vector3dCursor normalize()
+  {
+    return mul( 1.0 / length() );
+  }
+
+  /**
+   * Multiply the current element by the specified matrix.
+   * See {@link Vector3d#mul(Matrix4d)} for further details.
+   *
+   * @param m the matrix.
+   * @return this
+   */
+  @Nonnull
+  public final Vector3dCursor mul( @Nonnull final Matrix4d m )
+  {
+    if ( 0 != ( m.properties() & Matrix4d.PROPERTY_AFFINE ) )
+    {
+      return mulPosition( m );
+    }
+    final double x = getX();
+    final double y = getY();
+    final double z = getZ();
+    final double invW = 1.0 / ( m.m03 * x + m.m13 * y + m.m23 * z + m.m33 );
+    return set( ( m.m00 * x + m.m10 * y + m.m20 * z + m.m30 ) * invW,
+                ( m.m01 * x + m.m11 * y + m.m21 * z + m.m31 ) * invW,
+                ( m.m02 * x + m.m12 * y + m.m22 * z + m.m32 ) * invW );
+  }
+
+  /**
+   * Multiply the current element by the specified affine matrix, treating the element as a position.
+   * See {@link Vector3d#mulPosition(Matrix4d)} for further details.
+   *
+   * @param m the affine matrix.
+   * @return this
+   */
+  @Nonnull
+  public final Vector3dCursor mulPosition( @Nonnull final Matrix4d m )
+  {
+    final double x = getX();
+    final double y = getY();
+    final double z = getZ();
+    return set( m.m00 * x + m.m10 * y + m.m20 * z + m.m30,
+                m.m01 * x + m.m11 * y + m.m21 * z + m.m31,
+                m.m02 * x + m.m12 * y + m.m22 * z + m.m32 );
+  }
+
+  /**
+   * Multiply the current element by the specified matrix, treating the element as a direction.
+   * See {@link Vector3d#mulDirection(Matrix4d)} for further details.
+   *
+   * @param m the matrix.
+   * @return this
+   */
+  @Nonnull
+  public final Vector3dCursor mulDirection( @Nonnull final Matrix4d m )
+  {
+    final double x = getX();
+    final double y = getY();
+    final double z = getZ();
+    return set( m.m00 * x + m.m10 * y + m.m20 * z,
+                m.m01 * x + m.m11 * y + m.m21 * z,
+                m.m02 * x + m.m12 * y + m.m22 * z );
+  }
+
+  /**
+   * Linearly interpolate between the current element and the specified vector.
+   * See {@link Vector3d#lerp(Vector3d, double)} for further details.
+   *
+   * @param other               the vector to interpolate towards.
+   * @param interpolationFactor the interpolation factor. A value between 0.0 and 1.0.
+   * @return this
+   */
+  @Nonnull
+  public final Vector3dCursor lerp( @Nonnull final Vector3d other, final double interpolationFactor )
+  {
+    assert interpolationFactor >= 0.0 && interpolationFactor <= 1.0;
+    final double x = getX();
+    final double y = getY();
+    final double z = getZ();
+    return set( ( other.x - x ) * interpolationFactor + x,
+                ( other.y - y ) * interpolationFactor + y,
+                ( other.z - z ) * interpolationFactor + z );
+  }
+
+  /**
+   * Returns a string representation of the current element.
+   *
+   * @return a string representation of the current element.
+   */
+  @Nonnull
+  public final String asString()
+  {
+    return "(" + getX() + ", " + getY() + ", " + getZ() + ")";
+  }
+
+  /**
+   * Returns a string representation of the current element.
+   * This method only produces a useful representation if {@link Vecmath#isDebugToStringEnabled()}
+   * returns <code>true</code>.
+   *
+   * @return a string representation of the object.
+   */
+  @OmitSymbol( unless = "vecmath.isDebugToStringEnabled" )
+  @Override
+  public String toString()
+  {
+    return Vecmath.isDebugToStringEnabled() ? asString() : super.toString();
+  }
+
+  private static final class ArrayCursor
+    extends Vector3dCursor
+  {
+    @Nonnull
+    private final double[] _array;
+
+    ArrayCursor( @Nonnull final double[] array, final int offset, final int stride, final int count )
+    {
+      super( offset, stride, count );
+      _array = array;
+    }
+
+    @Override
+    public double getX()
+    {
+      return _array[ _position ];
+    }
+
+    @Override
+    public double getY()
+    {
+      return _array[ _position + 1 ];
+    }
+
+    @Override
+    public double getZ()
+    {
+      return _array[ _position + 2 ];
+    }
+
+    @Nonnull
+    @Override
+    public Vector3dCursor set( final double x, final double y, final double z )
+    {
+      final double[] array = _array;
+      final int position = _position;
+      array[ position ] = x;
+      array[ position + 1 ] = y;
+      array[ position + 2 ] = z;
+      return this;
+    }
+  }
+
+  @GwtIncompatible
+  private static final class DoubleBufferCursor
+    extends Vector3dCursor
+  {
+    @Nonnull
+    private final java.nio.DoubleBuffer _buffer;
+
+    DoubleBufferCursor( @Nonnull final java.nio.DoubleBuffer buffer,
+                        final int offset,
+                        final int stride,
+                        final int count )
+    {
+      super( offset, stride, count );
+      _buffer = buffer;
+    }
+
+    @Override
+    public double getX()
+    {
+      return _buffer.get( _position );
+    }
+
+    @Override
+    public double getY()
+    {
+      return _buffer.get( _position + 1 );
+    }
+
+    @Override
+    public double getZ()
+    {
+      return _buffer.get( _position + 2 );
+    }
+
+    @Nonnull
+    @Override
+    public Vector3dCursor set( final double x, final double y, final double z )
+    {
+      final java.nio.DoubleBuffer buffer = _buffer;
+      final int position = _position;
+      buffer.put( position, x );
+      buffer.put( position + 1, y );
+      buffer.put( position + 2, z );
+      return this;
+    }
+  }
+
+  @GwtIncompatible
+  private static final class ByteBufferCursor
+    extends Vector3dCursor
+  {
+    @Nonnull
+    private final java.nio.ByteBuffer _buffer;
+
+    ByteBufferCursor( @Nonnull final java.nio.ByteBuffer buffer, final int offset, final int stride, final int count )
+    {
+      super( offset, stride, count );
+      _buffer = buffer;
+    }
+
+    @Override
+    public double getX()
+    {
+      return _buffer.getDouble( _position );
+    }
+
+    @Override
+    public double getY()
+    {
+      return _buffer.getDouble( _position + 8 );
+    }
+
+    @Override
+    public double getZ()
+    {
+      return _buffer.getDouble( _position + 16 );
+    }
+
+    @Nonnull
+    @Override
+    public Vector3dCursor set( final double x, final double y, final double z )
+    {
+      final java.nio.ByteBuffer buffer = _buffer;
+      final int position = _position;
+      buffer.putDouble( position, x );
+      buffer.putDouble( position + 8, y );
+      buffer.putDouble( position + 16, z );
+      return this;
+    }
+  }
+}
@@ -1,7 +1,6 @@
 package org.realityforge.vecmath;
 
 import grim.annotations.OmitSymbol;
-import java.util.Objects;
 import javax.annotation.Nonnull;
 
 /**
@@ -66,6 +65,16 @@ public final class Vector3f
     this( other.x, other.y, other.z );
   }
 
+  /**
+   * Create a new vector from the other double-precision vector, narrowing the components to floats.
+   *
+   * @param other the other vector.
+   */
+  public Vector3f( @Nonnull final Vector3d other )
+  {
+    this( (float) other.x, (float) other.y, (float) other.z );
+  }
+
   /**
    * Duplicate the vector.
    *
@@ -92,6 +101,22 @@ public final class Vector3f
     return this;
   }
 
+  /**
+   * Set the components of this vector to the components in the other double-precision vector,
+   * narrowing the components to floats.
+   *
+   * @param other the other vector.
+   * @return this
+   */
+  @Nonnull
+  public Vector3f set( @Nonnull final Vector3d other )
+  {
+    x = (float) other.x;
+    y = (float) other.y;
+    z = (float) other.z;
+    return this;
+  }
+
   /**
    * Set the components of this vector to the specified components.
    *
@@ -235,13 +260,54 @@ public final class Vector3f
     return this;
   }
 
+  /**
+   * Multiply this by the specified affine matrix, treating this vector as a position.
+   * This method assumes <code>w=1.0</code> as the fourth vector component and does not perform perspective
+   * division so it is only correct for affine matrices.
+   *
+   * @param m the affine matrix to multiply this vector.
+   * @return this
+   */
+  @Nonnull
+  public Vector3f mulPosition( @Nonnull final Matrix4f m )
+  {
+    final float rx = m.m00 * x + m.m10 * y + m.m20 * z + m.m30;
+    final float ry = m.m01 * x + m.m11 * y + m.m21 * z + m.m31;
+    final float rz = m.m02 * x + m.m12 * y + m.m22 * z + m.m32;
+    this.x = rx;
+    this.y = ry;
+    this.z = rz;
+    return this;
+  }
+
+  /**
+   * Multiply this by the specified matrix, treating this vector as a direction.
+   * This method assumes <code>w=0.0</code> as the fourth vector component so only the upper-left 3x3
+   * part of the matrix is applied and the translation is ignored.
+   *
+   * @param m the matrix to multiply this vector.
+   * @return this
+   */
+  @Nonnull
+  public Vector3f mulDirection( @Nonnull final Matrix4f m )
+  {
+    final float rx = m.m00 * x + m.m10 * y + m.m20 * z;
+    final float ry = m.m01 * x + m.m11 * y + m.m21 * z;
+    final float rz = m.m02 * x + m.m12 * y + m.m22 * z;
+    this.x = rx;
+    this.y = ry;
+    this.z = rz;
+    return this;
+  }
+
   /**
    * Returns the length or magnitude of this vector squared.
    * This is used as an optimization to avoid multiple sqrt when a single sqrt will do.
+   * The value is computed using single-precision arithmetic.
    *
    * @return the length or magnitude of this vector squared.
    */
-  public double lengthSquared()
+  public float lengthSquared()
   {
     return x * x + y * y + z * z;
   }
@@ -353,7 +419,7 @@ public final class Vector3f
    * @return the vector represented as an array.
    */
   @Nonnull
-  public double[] toArray( final double[] target, final int offset )
+  public float[] toArray( @Nonnull final float[] target, final int offset )
   {
     target[ offset ] = x;
     target[ offset + 1 ] = y;
@@ -368,7 +434,7 @@ public final class Vector3f
    * @return the vector represented as an array.
    */
   @Nonnull
-  public double[] toArray( final double[] target )
+  public float[] toArray( @Nonnull final float[] target )
   {
     return toArray( target, 0 );
   }
@@ -379,9 +445,104 @@ public final class Vector3f
    * @return the vector represented as an array.
    */
   @Nonnull
-  public double[] toArray()
+  public float[] toArray()
+  {
+    return toArray( new float[ COMPONENTS ] );
+  }
+
+  /**
+   * Fill the specified target with the vector components starting at the specified offset, widening the
+   * components to doubles.
+   *
+   * @param target the array in which to store the vector components. The target must be large enough to contain the vector.
+   * @param offset the offset in the target array to start storing the vector components.
+   * @return the vector represented as an array.
+   */
+  @Nonnull
+  public double[] toArray( final double[] target, final int offset )
   {
-    return toArray( new double[ 3 ] );
+    target[ offset ] = x;
+    target[ offset + 1 ] = y;
+    target[ offset + 2 ] = z;
+    return target;
+  }
+
+  /**
+   * Fill the specified target with the vector components, widening the components to doubles.
+   *
+   * @param target the array in which to store the vector components. The target must be large enough to contain the vector.
+   * @return the vector represented as an array.
+   */
+  @Nonnull
+  public double[] toArray( final double[] target )
+  {
+    return toArray( target, 0 );
+  }
+
+  /**
+   * Store the vector components into the specified buffer starting at the specified absolute index.
+   * The position of the buffer is not modified.
+   *
+   * @param buffer the buffer in which to store the vector components. The buffer must have {@link #COMPONENTS} floats remaining after the index.
+   * @param index  the absolute index in the buffer to start storing the vector components.
+   * @return the buffer.
+   */
+  @GwtIncompatible
+  @Nonnull
+  public java.nio.FloatBuffer get( @Nonnull final java.nio.FloatBuffer buffer, final int index )
+  {
+    buffer.put( index, x );
+    buffer.put( index + 1, y );
+    buffer.put( index + 2, z );
+    return buffer;
+  }
+
+  /**
+   * Set the components of this vector to the components in the specified buffer starting at the specified absolute index.
+   * The position of the buffer is not modified.
+   *
+   * @param buffer the buffer from which to read the vector components. The buffer must have {@link #COMPONENTS} floats remaining after the index.
+   * @param index  the absolute index in the buffer to start reading the vector components.
+   * @return this
+   */
+  @GwtIncompatible
+  @Nonnull
+  public Vector3f set( @Nonnull final java.nio.FloatBuffer buffer, final int index )
+  {
+    return set( buffer.get( index ), buffer.get( index + 1 ), buffer.get( index + 2 ) );
+  }
+
+  /**
+   * Store the vector components into the specified buffer starting at the specified absolute byte index.
+   * The components are emitted using the byte order of the buffer. The position of the buffer is not modified.
+   *
+   * @param buffer the buffer in which to store the vector components. The buffer must have {@link #BYTES} bytes remaining after the index.
+   * @param index  the absolute byte index in the buffer to start storing the vector components.
+   * @return the buffer.
+   */
+  @GwtIncompatible
+  @Nonnull
+  public java.nio.ByteBuffer get( @Nonnull final java.nio.ByteBuffer buffer, final int index )
+  {
+    buffer.putFloat( index, x );
+    buffer.putFloat( index + 4, y );
+    buffer.putFloat( index + 8, z );
+    return buffer;
+  }
+
+  /**
+   * Set the components of this vector to the components in the specified buffer starting at the specified absolute byte index.
+   * The components are read using the byte order of the buffer. The position of the buffer is not modified.
+   *
+   * @param buffer the buffer from which to read the vector components. The buffer must have {@link #BYTES} bytes remaining after the index.
+   * @param index  the absolute byte index in the buffer to start reading the vector components.
+   * @return this
+   */
+  @GwtIncompatible
+  @Nonnull
+  public Vector3f set( @Nonnull final java.nio.ByteBuffer buffer, final int index )
+  {
+    return set( buffer.getFloat( index ), buffer.getFloat( index + 4 ), buffer.getFloat( index + 8 ) );
   }
 
   /**
@@ -395,6 +556,36 @@ public final class Vector3f
     return x == other.x && y == other.y && z == other.z;
   }
 
+  /**
+   * Returns true if every component of the other vector differs from the corresponding component of this vector
+   * by no more than the specified tolerance.
+   *
+   * @param other   the other vector.
+   * @param epsilon the maximum absolute difference between corresponding components.
+   * @return true if the vectors are equal within the specified tolerance, otherwise false.
+   */
+  public boolean isEqualTo( @Nonnull final Vector3f other, final float epsilon )
+  {
+    return VecmathUtil.isEqualTo( x, other.x, epsilon ) &&
+           VecmathUtil.isEqualTo( y, other.y, epsilon ) &&
+           VecmathUtil.isEqualTo( z, other.z, epsilon );
+  }
+
+  /**
+   * Returns true if every component of the other vector is separated from the corresponding component of this
+   * vector by no more than the specified number of representable floats (units in the last place).
+   *
+   * @param other   the other vector.
+   * @param maxUlps the maximum number of units in the last place that corresponding components may differ by.
+   * @return true if the vectors are equal within the specified number of units in the last place, otherwise false.
+   */
+  public boolean isEqualToUlps( @Nonnull final Vector3f other, final int maxUlps )
+  {
+    return VecmathUtil.isEqualToUlps( x, other.x, maxUlps ) &&
+           VecmathUtil.isEqualToUlps( y, other.y, maxUlps ) &&
+           VecmathUtil.isEqualToUlps( z, other.z, maxUlps );
+  }
+
   /**
    * Returns a string representation of the vector.
    *
@@ -409,7 +600,18 @@ public final class Vector3f
   @Override
   public int hashCode()
   {
-    return Vecmath.isObjectEqualsImplemented() ? Objects.hash( x, y, z ) : super.hashCode();
+    if ( Vecmath.isObjectEqualsImplemented() )
+    {
+      int hash = 1;
+      hash = VecmathUtil.hash( hash, x );
+      hash = VecmathUtil.hash( hash, y );
+      hash = VecmathUtil.hash( hash, z );
+      return hash;
+    }
+    else
+    {
+      return super.hashCode();
+    }
   }
 
   /**
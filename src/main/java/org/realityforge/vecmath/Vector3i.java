@@ -0,0 +1,512 @@
+package org.realityforge.vecmath;
+
+import grim.annotations.OmitSymbol;
+import javax.annotation.Nonnull;
+
+/**
+ * A 3-dimensional integer vector.
+ * This is typically used to represent coordinates in a grid such as the index of a voxel or a chunk.
+ *
+ * <p>A vector can be packed into a single <code>long</code> key via {@link #pack()} and restored via
+ * {@link #unpack(long)} so that coordinates can be hashed or stored in primitive collections. Each component
+ * is packed into {@link #PACKED_BITS} bits so only components in the range {@link #MIN_PACKED_VALUE} to
+ * {@link #MAX_PACKED_VALUE} can be packed.</p>
+ */
+public final class Vector3i
+{
+  /**
+   * The number of components in the {@code Vector3i}.
+   */
+  public static final int COMPONENTS = 3;
+  /**
+   * The number of bits used to represent a {@code Vector3i} value.
+   */
+  public static final int SIZE = Integer.SIZE * COMPONENTS;
+  /**
+   * The number of bytes used to represent a {@code Vector3i} value.
+   */
+  public static final int BYTES = Integer.BYTES * COMPONENTS;
+  /**
+   * The number of bits used to represent each component when the vector is packed into a <code>long</code>.
+   */
+  public static final int PACKED_BITS = 21;
+  /**
+   * The minimum value of a component that can be packed into a <code>long</code>.
+   */
+  public static final int MIN_PACKED_VALUE = -( 1 << ( PACKED_BITS - 1 ) );
+  /**
+   * The maximum value of a component that can be packed into a <code>long</code>.
+   */
+  public static final int MAX_PACKED_VALUE = ( 1 << ( PACKED_BITS - 1 ) ) - 1;
+  private static final long PACKED_MASK = ( 1L << PACKED_BITS ) - 1;
+  /**
+   * The x component.
+   */
+  public int x;
+  /**
+   * The y component.
+   */
+  public int y;
+  /**
+   * The z component.
+   */
+  public int z;
+
+  /**
+   * Create a new vector representing the zero vector.
+   * i.e. all the components are <code>0</code>.
+   */
+  public Vector3i()
+  {
+  }
+
+  /**
+   * Create a new vector with the specified components.
+   *
+   * @param x the x component.
+   * @param y the y component.
+   * @param z the z component.
+   */
+  public Vector3i( final int x, final int y, final int z )
+  {
+    this.x = x;
+    this.y = y;
+    this.z = z;
+  }
+
+  /**
+   * Create a new vector from the other vector.
+   *
+   * @param other the other vector.
+   */
+  public Vector3i( @Nonnull final Vector3i other )
+  {
+    this( other.x, other.y, other.z );
+  }
+
+  /**
+   * Duplicate the vector.
+   *
+   * @return a new vector with the same component values as the current vector.
+   */
+  @Nonnull
+  public Vector3i dup()
+  {
+    return new Vector3i( this );
+  }
+
+  /**
+   * Set the components of this vector to the components in the other vector.
+   *
+   * @param other the other vector.
+   * @return this
+   */
+  @Nonnull
+  public Vector3i set( @Nonnull final Vector3i other )
+  {
+    x = other.x;
+    y = other.y;
+    z = other.z;
+    return this;
+  }
+
+  /**
+   * Set the components of this vector to the specified components.
+   *
+   * @param x the x component.
+   * @param y the y component.
+   * @param z the z component.
+   * @return this
+   */
+  @Nonnull
+  public Vector3i set( final int x, final int y, final int z )
+  {
+    this.x = x;
+    this.y = y;
+    this.z = z;
+    return this;
+  }
+
+  /**
+   * Set the components of this vector to the largest integers less than or equal to the components of the
+   * specified vector. i.e. the coordinates of the unit grid cell that contains the specified position.
+   * The components of the specified vector must be within the range of an <code>int</code>.
+   *
+   * @param other the vector.
+   * @return this
+   */
+  @Nonnull
+  public Vector3i floor( @Nonnull final Vector3d other )
+  {
+    return floor( other.x, other.y, other.z );
+  }
+
+  /**
+   * Set the components of this vector to the largest integers less than or equal to the specified components.
+   * The components must be within the range of an <code>int</code>.
+   *
+   * @param x the x component.
+   * @param y the y component.
+   * @param z the z component.
+   * @return this
+   */
+  @Nonnull
+  public Vector3i floor( final double x, final double y, final double z )
+  {
+    this.x = (int) Math.floor( x );
+    this.y = (int) Math.floor( y );
+    this.z = (int) Math.floor( z );
+    return this;
+  }
+
+  /**
+   * Set the components of this vector to the coordinates of the grid cell that contains the specified position
+   * in a grid where each cell has the specified size.
+   *
+   * @param other    the position.
+   * @param cellSize the size of each cell in the grid. Must be greater than <code>0</code>.
+   * @return this
+   */
+  @Nonnull
+  public Vector3i floor( @Nonnull final Vector3d other, final double cellSize )
+  {
+    assert cellSize > 0;
+    return floor( other.x / cellSize, other.y / cellSize, other.z / cellSize );
+  }
+
+  /**
+   * Add the components of the other vector to this vector.
+   *
+   * @param other the other vector
+   * @return this
+   */
+  @Nonnull
+  public Vector3i add( @Nonnull final Vector3i other )
+  {
+    x += other.x;
+    y += other.y;
+    z += other.z;
+    return this;
+  }
+
+  /**
+   * Add the components of the other vector to this vector.
+   *
+   * @param x the x component.
+   * @param y the y component.
+   * @param z the z component.
+   * @return this
+   */
+  @Nonnull
+  public Vector3i add( final int x, final int y, final int z )
+  {
+    this.x += x;
+    this.y += y;
+    this.z += z;
+    return this;
+  }
+
+  /**
+   * Set this vector to the result of adding the specified vectors.
+   *
+   * @param value1 the first vector.
+   * @param value2 the second vector.
+   * @return this
+   */
+  @Nonnull
+  public Vector3i add( @Nonnull final Vector3i value1, @Nonnull final Vector3i value2 )
+  {
+    x = value1.x + value2.x;
+    y = value1.y + value2.y;
+    z = value1.z + value2.z;
+    return this;
+  }
+
+  /**
+   * Subtract the components of the other vector from this vector.
+   *
+   * @param other the other vector
+   * @return this
+   */
+  @Nonnull
+  public Vector3i sub( @Nonnull final Vector3i other )
+  {
+    x -= other.x;
+    y -= other.y;
+    z -= other.z;
+    return this;
+  }
+
+  /**
+   * Subtract the components of the other vector from this vector.
+   *
+   * @param x the x component.
+   * @param y the y component.
+   * @param z the z component.
+   * @return this
+   */
+  @Nonnull
+  public Vector3i sub( final int x, final int y, final int z )
+  {
+    this.x -= x;
+    this.y -= y;
+    this.z -= z;
+    return this;
+  }
+
+  /**
+   * Set this vector to the result of subtracting the second vector from the first vector.
+   *
+   * @param value1 the first vector.
+   * @param value2 the second vector.
+   * @return this
+   */
+  @Nonnull
+  public Vector3i sub( @Nonnull final Vector3i value1, @Nonnull final Vector3i value2 )
+  {
+    x = value1.x - value2.x;
+    y = value1.y - value2.y;
+    z = value1.z - value2.z;
+    return this;
+  }
+
+  /**
+   * Multiply this vector by the specified scalar value.
+   *
+   * @param value the value to multiple vector by.
+   * @return this
+   */
+  @Nonnull
+  public Vector3i mul( final int value )
+  {
+    x *= value;
+    y *= value;
+    z *= value;
+    return this;
+  }
+
+  /**
+   * Divide this vector by the specified scalar value, rounding each component towards negative infinity.
+   * Unlike integer division, this maps a cell coordinate to the coordinate of the containing chunk when the
+   * value is the number of cells along each side of a chunk, including for negative coordinates.
+   *
+   * @param value the value to divide vector by. Must not be <code>0</code>.
+   * @return this
+   */
+  @Nonnull
+  public Vector3i floorDiv( final int value )
+  {
+    x = Math.floorDiv( x, value );
+    y = Math.floorDiv( y, value );
+    z = Math.floorDiv( z, value );
+    return this;
+  }
+
+  /**
+   * Returns the length or magnitude of this vector squared.
+   * The value is computed using <code>long</code> arithmetic so that it does not overflow.
+   *
+   * @return the length or magnitude of this vector squared.
+   */
+  public long lengthSquared()
+  {
+    return (long) x * x + (long) y * y + (long) z * z;
+  }
+
+  /**
+   * Returns the distance between this vector and the other vector measured along axes at right angles.
+   * i.e. the Manhattan distance.
+   *
+   * @param other the other vector.
+   * @return the distance between this vector and the other vector measured along axes at right angles.
+   */
+  public int gridDistance( @Nonnull final Vector3i other )
+  {
+    return Math.abs( x - other.x ) + Math.abs( y - other.y ) + Math.abs( z - other.z );
+  }
+
+  /**
+   * Pack the components of this vector into a single <code>long</code>.
+   * Each component must be in the range {@link #MIN_PACKED_VALUE} to {@link #MAX_PACKED_VALUE}.
+   *
+   * @return the packed representation of this vector.
+   * @see #pack(int, int, int)
+   */
+  public long pack()
+  {
+    return pack( x, y, z );
+  }
+
+  /**
+   * Pack the specified components into a single <code>long</code>.
+   * Each component must be in the range {@link #MIN_PACKED_VALUE} to {@link #MAX_PACKED_VALUE}.
+   * Distinct coordinates produce distinct keys and the key can be restored via {@link #unpack(long)}.
+   *
+   * @param x the x component.
+   * @param y the y component.
+   * @param z the z component.
+   * @return the packed representation of the components.
+   */
+  public static long pack( final int x, final int y, final int z )
+  {
+    assert x >= MIN_PACKED_VALUE && x <= MAX_PACKED_VALUE;
+    assert y >= MIN_PACKED_VALUE && y <= MAX_PACKED_VALUE;
+    assert z >= MIN_PACKED_VALUE && z <= MAX_PACKED_VALUE;
+    return ( ( x & PACKED_MASK ) << ( PACKED_BITS * 2 ) ) | ( ( y & PACKED_MASK ) << PACKED_BITS ) | ( z & PACKED_MASK );
+  }
+
+  /**
+   * Set the components of this vector to the components packed into the specified key.
+   *
+   * @param key the key produced by {@link #pack()} or {@link #pack(int, int, int)}.
+   * @return this
+   */
+  @Nonnull
+  public Vector3i unpack( final long key )
+  {
+    // Shift each component into the most significant bits and then use an arithmetic shift to sign extend it
+    x = (int) ( ( key << ( Long.SIZE - PACKED_BITS * 3 ) ) >> ( Long.SIZE - PACKED_BITS ) );
+    y = (int) ( ( key << ( Long.SIZE - PACKED_BITS * 2 ) ) >> ( Long.SIZE - PACKED_BITS ) );
+    z = (int) ( ( key << ( Long.SIZE - PACKED_BITS ) ) >> ( Long.SIZE - PACKED_BITS ) );
+    return this;
+  }
+
+  /**
+   * Fill the specified target with the vector components starting at the specified offset.
+   *
+   * @param target the array in which to store the vector components. The target must be large enough to contain the vector.
+   * @param offset the offset in the target array to start storing the vector components.
+   * @return the vector represented as an array.
+   */
+  @Nonnull
+  public int[] toArray( @Nonnull final int[] target, final int offset )
+  {
+    target[ offset ] = x;
+    target[ offset + 1 ] = y;
+    target[ offset + 2 ] = z;
+    return target;
+  }
+
+  /**
+   * Fill the specified target with the vector components.
+   *
+   * @param target the array in which to store the vector components. The target must be large enough to contain the vector.
+   * @return the vector represented as an array.
+   */
+  @Nonnull
+  public int[] toArray( @Nonnull final int[] target )
+  {
+    return toArray( target, 0 );
+  }
+
+  /**
+   * Create an array to represent the vector.
+   *
+   * @return the vector represented as an array.
+   */
+  @Nonnull
+  public int[] toArray()
+  {
+    return toArray( new int[ COMPONENTS ] );
+  }
+
+  /**
+   * Store the vector components into the specified buffer starting at the specified absolute index.
+   * The position of the buffer is not modified.
+   *
+   * @param buffer the buffer in which to store the vector components. The buffer must have {@link #COMPONENTS} ints remaining after the index.
+   * @param index  the absolute index in the buffer to start storing the vector components.
+   * @return the buffer.
+   */
+  @GwtIncompatible
+  @Nonnull
+  public java.nio.IntBuffer get( @Nonnull final java.nio.IntBuffer buffer, final int index )
+  {
+    buffer.put( index, x );
+    buffer.put( index + 1, y );
+    buffer.put( index + 2, z );
+    return buffer;
+  }
+
+  /**
+   * Set the components of this vector to the components in the specified buffer starting at the specified absolute index.
+   * The position of the buffer is not modified.
+   *
+   * @param buffer the buffer from which to read the vector components. The buffer must have {@link #COMPONENTS} ints remaining after the index.
+   * @param index  the absolute index in the buffer to start reading the vector components.
+   * @return this
+   */
+  @GwtIncompatible
+  @Nonnull
+  public Vector3i set( @Nonnull final java.nio.IntBuffer buffer, final int index )
+  {
+    return set( buffer.get( index ), buffer.get( index + 1 ), buffer.get( index + 2 ) );
+  }
+
+  /**
+   * Returns true if the other vector has components with the same values.
+   *
+   * @param other the other vector.
+   * @return true if the other vector has components with the same values, otherwise false.
+   */
+  public boolean isEqualTo( @Nonnull final Vector3i other )
+  {
+    return x == other.x && y == other.y && z == other.z;
+  }
+
+  /**
+   * Returns a string representation of the vector.
+   *
+   * @return a string representation of the vector.
+   */
+  @Nonnull
+  public String asString()
+  {
+    return "(" + x + ", " + y + ", " + z + ")";
+  }
+
+  @Override
+  public int hashCode()
+  {
+    if ( Vecmath.isObjectEqualsImplemented() )
+    {
+      int hash = 1;
+      hash = 31 * hash + x;
+      hash = 31 * hash + y;
+      hash = 31 * hash + z;
+      return hash;
+    }
+    else
+    {
+      return super.hashCode();
+    }
+  }
+
+  /**
+   * Returns true if the specified object is the same type and has components with the same values.
+   * This method only produces a useful representation if {@link Vecmath#isObjectEqualsImplemented()}
+   * returns <code>true</code>.
+   *
+   * @param o the object.
+   * @return true if the specified object is the same type and has components with the same values, otherwise false.
+   */
+  @Override
+  public boolean equals( final Object o )
+  {
+    return Vecmath.isObjectEqualsImplemented() ? o instanceof Vector3i && isEqualTo( (Vector3i) o ) : super.equals( o );
+  }
+
+  /**
+   * Returns a string representation of the vector.
+   * This method only produces a useful representation if {@link Vecmath#isDebugToStringEnabled()}
+   * returns <code>true</code>.
+   *
+   * @return a string representation of the object.
+   */
+  @OmitSymbol( unless = "vecmath.isDebugToStringEnabled" )
+  @Override
+  public String toString()
+  {
+    return Vecmath.isDebugToStringEnabled() ? asString() : super.toString();
+  }
+}
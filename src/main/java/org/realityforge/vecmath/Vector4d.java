@@ -1,7 +1,6 @@
 package org.realityforge.vecmath;
 
 import grim.annotations.OmitSymbol;
-import java.util.Objects;
 import javax.annotation.Nonnull;
 
 /**
@@ -250,6 +249,30 @@ public final class Vector4d
     return this;
   }
 
+  /**
+   * Multiply this by the specified matrix.
+   * All four components take part in the multiplication and no perspective division is performed so, when
+   * this vector is a position with <code>w=1.0</code> and the matrix is a view-projection matrix, the result
+   * is the homogeneous clip space position. See {@link Matrix4d#transformToClip(double[], int, int, double[], int, int, int)}
+   * for the bulk equivalent.
+   *
+   * @param m the matrix to multiply this vector.
+   * @return this
+   */
+  @Nonnull
+  public Vector4d mul( @Nonnull final Matrix4d m )
+  {
+    final double rx = m.m00 * x + m.m10 * y + m.m20 * z + m.m30 * w;
+    final double ry = m.m01 * x + m.m11 * y + m.m21 * z + m.m31 * w;
+    final double rz = m.m02 * x + m.m12 * y + m.m22 * z + m.m32 * w;
+    final double rw = m.m03 * x + m.m13 * y + m.m23 * z + m.m33 * w;
+    this.x = rx;
+    this.y = ry;
+    this.z = rz;
+    this.w = rw;
+    return this;
+  }
+
   /**
    * Divide this vector by the specified scalar value.
    *
@@ -396,6 +419,142 @@ public final class Vector4d
     return toArray( new double[ 4 ] );
   }
 
+  /**
+   * Store the vector components into the specified buffer starting at the specified absolute index.
+   * The position of the buffer is not modified.
+   *
+   * @param buffer the buffer in which to store the vector components. The buffer must have {@link #COMPONENTS} doubles remaining after the index.
+   * @param index  the absolute index in the buffer to start storing the vector components.
+   * @return the buffer.
+   */
+  @GwtIncompatible
+  @Nonnull
+  public java.nio.DoubleBuffer get( @Nonnull final java.nio.DoubleBuffer buffer, final int index )
+  {
+    buffer.put( index, x );
+    buffer.put( index + 1, y );
+    buffer.put( index + 2, z );
+    buffer.put( index + 3, w );
+    return buffer;
+  }
+
+  /**
+   * Set the components of this vector to the components in the specified buffer starting at the specified absolute index.
+   * The position of the buffer is not modified.
+   *
+   * @param buffer the buffer from which to read the vector components. The buffer must have {@link #COMPONENTS} doubles remaining after the index.
+   * @param index  the absolute index in the buffer to start reading the vector components.
+   * @return this
+   */
+  @GwtIncompatible
+  @Nonnull
+  public Vector4d set( @Nonnull final java.nio.DoubleBuffer buffer, final int index )
+  {
+    return set( buffer.get( index ), buffer.get( index + 1 ), buffer.get( index + 2 ), buffer.get( index + 3 ) );
+  }
+
+  /**
+   * Store the vector components narrowed to floats into the specified buffer starting at the specified absolute index.
+   * The position of the buffer is not modified.
+   *
+   * @param buffer the buffer in which to store the vector components. The buffer must have {@link #COMPONENTS} floats remaining after the index.
+   * @param index  the absolute index in the buffer to start storing the vector components.
+   * @return the buffer.
+   */
+  @GwtIncompatible
+  @Nonnull
+  public java.nio.FloatBuffer get( @Nonnull final java.nio.FloatBuffer buffer, final int index )
+  {
+    buffer.put( index, (float) x );
+    buffer.put( index + 1, (float) y );
+    buffer.put( index + 2, (float) z );
+    buffer.put( index + 3, (float) w );
+    return buffer;
+  }
+
+  /**
+   * Set the components of this vector to the widened float components in the specified buffer starting at the specified absolute index.
+   * The position of the buffer is not modified.
+   *
+   * @param buffer the buffer from which to read the vector components. The buffer must have {@link #COMPONENTS} floats remaining after the index.
+   * @param index  the absolute index in the buffer to start reading the vector components.
+   * @return this
+   */
+  @GwtIncompatible
+  @Nonnull
+  public Vector4d set( @Nonnull final java.nio.FloatBuffer buffer, final int index )
+  {
+    return set( buffer.get( index ), buffer.get( index + 1 ), buffer.get( index + 2 ), buffer.get( index + 3 ) );
+  }
+
+  /**
+   * Store the vector components into the specified buffer starting at the specified absolute byte index.
+   * The components are emitted using the byte order of the buffer. The position of the buffer is not modified.
+   *
+   * @param buffer the buffer in which to store the vector components. The buffer must have {@link #BYTES} bytes remaining after the index.
+   * @param index  the absolute byte index in the buffer to start storing the vector components.
+   * @return the buffer.
+   */
+  @GwtIncompatible
+  @Nonnull
+  public java.nio.ByteBuffer get( @Nonnull final java.nio.ByteBuffer buffer, final int index )
+  {
+    buffer.putDouble( index, x );
+    buffer.putDouble( index + 8, y );
+    buffer.putDouble( index + 16, z );
+    buffer.putDouble( index + 24, w );
+    return buffer;
+  }
+
+  /**
+   * Set the components of this vector to the components in the specified buffer starting at the specified absolute byte index.
+   * The components are read using the byte order of the buffer. The position of the buffer is not modified.
+   *
+   * @param buffer the buffer from which to read the vector components. The buffer must have {@link #BYTES} bytes remaining after the index.
+   * @param index  the absolute byte index in the buffer to start reading the vector components.
+   * @return this
+   */
+  @GwtIncompatible
+  @Nonnull
+  public Vector4d set( @Nonnull final java.nio.ByteBuffer buffer, final int index )
+  {
+    return set( buffer.getDouble( index ), buffer.getDouble( index + 8 ), buffer.getDouble( index + 16 ), buffer.getDouble( index + 24 ) );
+  }
+
+  /**
+   * Store the vector components narrowed to floats into the specified buffer starting at the specified absolute byte index.
+   * The components are emitted using the byte order of the buffer. The position of the buffer is not modified.
+   *
+   * @param buffer the buffer in which to store the vector components. The buffer must have {@link #FLOAT_BYTES} bytes remaining after the index.
+   * @param index  the absolute byte index in the buffer to start storing the vector components.
+   * @return the buffer.
+   */
+  @GwtIncompatible
+  @Nonnull
+  public java.nio.ByteBuffer getFloats( @Nonnull final java.nio.ByteBuffer buffer, final int index )
+  {
+    buffer.putFloat( index, (float) x );
+    buffer.putFloat( index + 4, (float) y );
+    buffer.putFloat( index + 8, (float) z );
+    buffer.putFloat( index + 12, (float) w );
+    return buffer;
+  }
+
+  /**
+   * Set the components of this vector to the widened float components in the specified buffer starting at the specified absolute byte index.
+   * The components are read using the byte order of the buffer. The position of the buffer is not modified.
+   *
+   * @param buffer the buffer from which to read the vector components. The buffer must have {@link #FLOAT_BYTES} bytes remaining after the index.
+   * @param index  the absolute byte index in the buffer to start reading the vector components.
+   * @return this
+   */
+  @GwtIncompatible
+  @Nonnull
+  public Vector4d setFloats( @Nonnull final java.nio.ByteBuffer buffer, final int index )
+  {
+    return set( buffer.getFloat( index ), buffer.getFloat( index + 4 ), buffer.getFloat( index + 8 ), buffer.getFloat( index + 12 ) );
+  }
+
   /**
    * Returns true if the other vector has components with the same values.
    *
@@ -407,6 +566,38 @@ public final class Vector4d
     return x == other.x && y == other.y && z == other.z && w == other.w;
   }
 
+  /**
+   * Returns true if every component of the other vector differs from the corresponding component of this vector
+   * by no more than the specified tolerance.
+   *
+   * @param other   the other vector.
+   * @param epsilon the maximum absolute difference between corresponding components.
+   * @return true if the vectors are equal within the specified tolerance, otherwise false.
+   */
+  public boolean isEqualTo( @Nonnull final Vector4d other, final double epsilon )
+  {
+    return VecmathUtil.isEqualTo( x, other.x, epsilon ) &&
+           VecmathUtil.isEqualTo( y, other.y, epsilon ) &&
+           VecmathUtil.isEqualTo( z, other.z, epsilon ) &&
+           VecmathUtil.isEqualTo( w, other.w, epsilon );
+  }
+
+  /**
+   * Returns true if every component of the other vector is separated from the corresponding component of this
+   * vector by no more than the specified number of representable doubles (units in the last place).
+   *
+   * @param other   the other vector.
+   * @param maxUlps the maximum number of units in the last place that corresponding components may differ by.
+   * @return true if the vectors are equal within the specified number of units in the last place, otherwise false.
+   */
+  public boolean isEqualToUlps( @Nonnull final Vector4d other, final int maxUlps )
+  {
+    return VecmathUtil.isEqualToUlps( x, other.x, maxUlps ) &&
+           VecmathUtil.isEqualToUlps( y, other.y, maxUlps ) &&
+           VecmathUtil.isEqualToUlps( z, other.z, maxUlps ) &&
+           VecmathUtil.isEqualToUlps( w, other.w, maxUlps );
+  }
+
   /**
    * Returns a string representation of the vector.
    *
@@ -421,7 +612,19 @@ public final class Vector4d
   @Override
   public int hashCode()
   {
-    return Vecmath.isObjectEqualsImplemented() ? Objects.hash( x, y, z, w ) : super.hashCode();
+    if ( Vecmath.isObjectEqualsImplemented() )
+    {
+      int hash = 1;
+      hash = VecmathUtil.hash( hash, x );
+      hash = VecmathUtil.hash( hash, y );
+      hash = VecmathUtil.hash( hash, z );
+      hash = VecmathUtil.hash( hash, w );
+      return hash;
+    }
+    else
+    {
+      return super.hashCode();
+    }
   }
 
   /**
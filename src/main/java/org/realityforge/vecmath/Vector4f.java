@@ -0,0 +1,607 @@
+package org.realityforge.vecmath;
+
+import grim.annotations.OmitSymbol;
+import javax.annotation.Nonnull;
+
+/**
+ * A 4-dimensional, single-precision, floating-point vector.
+ */
+public final class Vector4f
+{
+  /**
+   * The number of components in the {@code Vector4f}.
+   */
+  public static final int COMPONENTS = 4;
+  /**
+   * The number of bits used to represent a {@code Vector4f} value.
+   */
+  public static final int SIZE = Float.SIZE * COMPONENTS;
+  /**
+   * The number of bytes used to represent a {@code Vector4f} value.
+   */
+  public static final int BYTES = Float.BYTES * COMPONENTS;
+  /**
+   * The x component.
+   */
+  public float x;
+  /**
+   * The y component.
+   */
+  public float y;
+  /**
+   * The z component.
+   */
+  public float z;
+  /**
+   * The w component.
+   */
+  public float w;
+
+  /**
+   * Create a new vector representing the zero vector.
+   * i.e. all the components are <code>0</code>.
+   */
+  public Vector4f()
+  {
+  }
+
+  /**
+   * Create a new vector with the specified components.
+   *
+   * @param x the x component.
+   * @param y the y component.
+   * @param z the z component.
+   * @param w the w component.
+   */
+  public Vector4f( final float x, final float y, final float z, final float w )
+  {
+    this.x = x;
+    this.y = y;
+    this.z = z;
+    this.w = w;
+  }
+
+  /**
+   * Create a new vector from the other vector.
+   *
+   * @param other the other vector.
+   */
+  public Vector4f( @Nonnull final Vector4f other )
+  {
+    this( other.x, other.y, other.z, other.w );
+  }
+
+  /**
+   * Create a new vector from the other double-precision vector, narrowing the components to floats.
+   *
+   * @param other the other vector.
+   */
+  public Vector4f( @Nonnull final Vector4d other )
+  {
+    this( (float) other.x, (float) other.y, (float) other.z, (float) other.w );
+  }
+
+  /**
+   * Duplicate the vector.
+   *
+   * @return a new vector with the same component values as the current vector.
+   */
+  @Nonnull
+  public Vector4f dup()
+  {
+    return new Vector4f( this );
+  }
+
+  /**
+   * Set the components of this vector to the components in the other vector.
+   *
+   * @param other the other vector.
+   * @return this
+   */
+  @Nonnull
+  public Vector4f set( @Nonnull final Vector4f other )
+  {
+    x = other.x;
+    y = other.y;
+    z = other.z;
+    w = other.w;
+    return this;
+  }
+
+  /**
+   * Set the components of this vector to the components in the other double-precision vector,
+   * narrowing the components to floats.
+   *
+   * @param other the other vector.
+   * @return this
+   */
+  @Nonnull
+  public Vector4f set( @Nonnull final Vector4d other )
+  {
+    x = (float) other.x;
+    y = (float) other.y;
+    z = (float) other.z;
+    w = (float) other.w;
+    return this;
+  }
+
+  /**
+   * Set the components of this vector to the specified components.
+   *
+   * @param x the x component.
+   * @param y the y component.
+   * @param z the z component.
+   * @param w the w component.
+   * @return this
+   */
+  @Nonnull
+  public Vector4f set( final float x, final float y, final float z, final float w )
+  {
+    this.x = x;
+    this.y = y;
+    this.z = z;
+    this.w = w;
+    return this;
+  }
+
+  /**
+   * Add the components of the other vector to this vector.
+   *
+   * @param other the other vector
+   * @return this
+   */
+  @Nonnull
+  public Vector4f add( @Nonnull final Vector4f other )
+  {
+    x += other.x;
+    y += other.y;
+    z += other.z;
+    w += other.w;
+    return this;
+  }
+
+  /**
+   * Add the components of the other vector to this vector.
+   *
+   * @param x the x component.
+   * @param y the y component.
+   * @param z the z component.
+   * @param w the w component.
+   * @return this
+   */
+  @Nonnull
+  public Vector4f add( final float x, final float y, final float z, final float w )
+  {
+    this.x += x;
+    this.y += y;
+    this.z += z;
+    this.w += w;
+    return this;
+  }
+
+  /**
+   * Set this vector to the result of adding the specified vectors.
+   *
+   * @param value1 the first vector.
+   * @param value2 the second vector.
+   * @return this
+   */
+  @Nonnull
+  public Vector4f add( @Nonnull final Vector4f value1, @Nonnull final Vector4f value2 )
+  {
+    x = value1.x + value2.x;
+    y = value1.y + value2.y;
+    z = value1.z + value2.z;
+    w = value1.w + value2.w;
+    return this;
+  }
+
+  /**
+   * Subtract the components of the other vector from this vector.
+   *
+   * @param other the other vector
+   * @return this
+   */
+  @Nonnull
+  public Vector4f sub( @Nonnull final Vector4f other )
+  {
+    x -= other.x;
+    y -= other.y;
+    z -= other.z;
+    w -= other.w;
+    return this;
+  }
+
+  /**
+   * Subtract the components of the other vector from this vector.
+   *
+   * @param x the x component.
+   * @param y the y component.
+   * @param z the z component.
+   * @param w the w component.
+   * @return this
+   */
+  @Nonnull
+  public Vector4f sub( final float x, final float y, final float z, final float w )
+  {
+    this.x -= x;
+    this.y -= y;
+    this.z -= z;
+    this.w -= w;
+    return this;
+  }
+
+  /**
+   * Set this vector to the result of subtracting the second vector from the first vector.
+   *
+   * @param value1 the first vector.
+   * @param value2 the second vector.
+   * @return this
+   */
+  @Nonnull
+  public Vector4f sub( @Nonnull final Vector4f value1, @Nonnull final Vector4f value2 )
+  {
+    x = value1.x - value2.x;
+    y = value1.y - value2.y;
+    z = value1.z - value2.z;
+    w = value1.w - value2.w;
+    return this;
+  }
+
+  /**
+   * Multiply this vector by the specified scalar value.
+   *
+   * @param value the value to multiple vector by.
+   * @return this
+   */
+  @Nonnull
+  public Vector4f mul( final float value )
+  {
+    x *= value;
+    y *= value;
+    z *= value;
+    w *= value;
+    return this;
+  }
+
+  /**
+   * Multiply this by the specified matrix.
+   * All four components take part in the multiplication and no perspective division is performed so, when
+   * this vector is a position with <code>w=1.0</code> and the matrix is a view-projection matrix, the result
+   * is the homogeneous clip space position.
+   *
+   * @param m the matrix to multiply this vector.
+   * @return this
+   */
+  @Nonnull
+  public Vector4f mul( @Nonnull final Matrix4f m )
+  {
+    final float rx = m.m00 * x + m.m10 * y + m.m20 * z + m.m30 * w;
+    final float ry = m.m01 * x + m.m11 * y + m.m21 * z + m.m31 * w;
+    final float rz = m.m02 * x + m.m12 * y + m.m22 * z + m.m32 * w;
+    final float rw = m.m03 * x + m.m13 * y + m.m23 * z + m.m33 * w;
+    this.x = rx;
+    this.y = ry;
+    this.z = rz;
+    this.w = rw;
+    return this;
+  }
+
+  /**
+   * Divide this vector by the specified scalar value.
+   *
+   * @param value the value to divide vector by.
+   * @return this
+   */
+  @Nonnull
+  public Vector4f div( final float value )
+  {
+    x /= value;
+    y /= value;
+    z /= value;
+    w /= value;
+    return this;
+  }
+
+  /**
+   * Returns the length or magnitude of this vector squared.
+   * This is used as an optimization to avoid multiple sqrt when a single sqrt will do.
+   * The value is computed using single-precision arithmetic.
+   *
+   * @return the length or magnitude of this vector squared.
+   */
+  public float lengthSquared()
+  {
+    return x * x + y * y + z * z + w * w;
+  }
+
+  /**
+   * Returns the length or magnitude of this vector.
+   *
+   * @return the length or magnitude of this vector
+   */
+  public float length()
+  {
+    return (float) Math.sqrt( lengthSquared() );
+  }
+
+  /**
+   * Normalize this vector.
+   *
+   * @return this
+   */
+  @Nonnull
+  public Vector4f normalize()
+  {
+    return mul( 1.0F / length() );
+  }
+
+  /**
+   * Compute the dot product of this vector and the other vector.
+   *
+   * @param other the other vector.
+   * @return the dot product of this vector and the other vector.
+   */
+  public float dot( @Nonnull final Vector4f other )
+  {
+    return x * other.x + y * other.y + z * other.z + w * other.w;
+  }
+
+  /**
+   * Calculate the angle between this vector and the other vector.
+   *
+   * @param other the other vector.
+   * @return the angle between this vector and the other vector.
+   */
+  public float angle( @Nonnull final Vector4f other )
+  {
+    return (float) Math.acos( dot( other ) / Math.sqrt( lengthSquared() * other.lengthSquared() ) );
+  }
+
+  /**
+   * Linearly interpolate this vector and the other vector using the specified interpolation factor and store the
+   * result in this vector.
+   *
+   * @param other               the other vector
+   * @param interpolationFactor the interpolation factor. A value between 0.0 and 1.0.
+   * @return this
+   */
+  @Nonnull
+  public Vector4f lerp( @Nonnull final Vector4f other, final float interpolationFactor )
+  {
+    return lerp( this, other, interpolationFactor );
+  }
+
+  /**
+   * Linearly interpolate the <code>value1</code> vector and the <code>value2</code> vector using
+   * the specified <code>interpolationFactor</code> and store the result in this vector.
+   *
+   * @param value1              the first vector.
+   * @param value2              the second vector.
+   * @param interpolationFactor the interpolation factor. A value between 0.0 and 1.0.
+   * @return this
+   */
+  @Nonnull
+  public Vector4f lerp( @Nonnull final Vector4f value1,
+                        @Nonnull final Vector4f value2,
+                        final float interpolationFactor )
+  {
+    assert interpolationFactor >= 0.0 && interpolationFactor <= 1.0;
+    x = ( value2.x - value1.x ) * interpolationFactor + value1.x;
+    y = ( value2.y - value1.y ) * interpolationFactor + value1.y;
+    z = ( value2.z - value1.z ) * interpolationFactor + value1.z;
+    w = ( value2.w - value1.w ) * interpolationFactor + value1.w;
+    return this;
+  }
+
+  /**
+   * Fill the specified target with the vector components starting at the specified offset.
+   *
+   * @param target the array in which to store the vector components. The target must be large enough to contain the vector.
+   * @param offset the offset in the target array to start storing the vector components.
+   * @return the vector represented as an array.
+   */
+  @Nonnull
+  public float[] toArray( @Nonnull final float[] target, final int offset )
+  {
+    target[ offset ] = x;
+    target[ offset + 1 ] = y;
+    target[ offset + 2 ] = z;
+    target[ offset + 3 ] = w;
+    return target;
+  }
+
+  /**
+   * Fill the specified target with the vector components.
+   *
+   * @param target the array in which to store the vector components. The target must be large enough to contain the vector.
+   * @return the vector represented as an array.
+   */
+  @Nonnull
+  public float[] toArray( @Nonnull final float[] target )
+  {
+    return toArray( target, 0 );
+  }
+
+  /**
+   * Create an array to represent the vector.
+   *
+   * @return the vector represented as an array.
+   */
+  @Nonnull
+  public float[] toArray()
+  {
+    return toArray( new float[ COMPONENTS ] );
+  }
+
+  /**
+   * Store the vector components into the specified buffer starting at the specified absolute index.
+   * The position of the buffer is not modified.
+   *
+   * @param buffer the buffer in which to store the vector components. The buffer must have {@link #COMPONENTS} floats remaining after the index.
+   * @param index  the absolute index in the buffer to start storing the vector components.
+   * @return the buffer.
+   */
+  @GwtIncompatible
+  @Nonnull
+  public java.nio.FloatBuffer get( @Nonnull final java.nio.FloatBuffer buffer, final int index )
+  {
+    buffer.put( index, x );
+    buffer.put( index + 1, y );
+    buffer.put( index + 2, z );
+    buffer.put( index + 3, w );
+    return buffer;
+  }
+
+  /**
+   * Set the components of this vector to the components in the specified buffer starting at the specified absolute index.
+   * The position of the buffer is not modified.
+   *
+   * @param buffer the buffer from which to read the vector components. The buffer must have {@link #COMPONENTS} floats remaining after the index.
+   * @param index  the absolute index in the buffer to start reading the vector components.
+   * @return this
+   */
+  @GwtIncompatible
+  @Nonnull
+  public Vector4f set( @Nonnull final java.nio.FloatBuffer buffer, final int index )
+  {
+    return set( buffer.get( index ), buffer.get( index + 1 ), buffer.get( index + 2 ), buffer.get( index + 3 ) );
+  }
+
+  /**
+   * Store the vector components into the specified buffer starting at the specified absolute byte index.
+   * The components are emitted using the byte order of the buffer. The position of the buffer is not modified.
+   *
+   * @param buffer the buffer in which to store the vector components. The buffer must have {@link #BYTES} bytes remaining after the index.
+   * @param index  the absolute byte index in the buffer to start storing the vector components.
+   * @return the buffer.
+   */
+  @GwtIncompatible
+  @Nonnull
+  public java.nio.ByteBuffer get( @Nonnull final java.nio.ByteBuffer buffer, final int index )
+  {
+    buffer.putFloat( index, x );
+    buffer.putFloat( index + 4, y );
+    buffer.putFloat( index + 8, z );
+    buffer.putFloat( index + 12, w );
+    return buffer;
+  }
+
+  /**
+   * Set the components of this vector to the components in the specified buffer starting at the specified absolute byte index.
+   * The components are read using the byte order of the buffer. The position of the buffer is not modified.
+   *
+   * @param buffer the buffer from which to read the vector components. The buffer must have {@link #BYTES} bytes remaining after the index.
+   * @param index  the absolute byte index in the buffer to start reading the vector components.
+   * @return this
+   */
+  @GwtIncompatible
+  @Nonnull
+  public Vector4f set( @Nonnull final java.nio.ByteBuffer buffer, final int index )
+  {
+    return set( buffer.getFloat( index ),
+                buffer.getFloat( index + 4 ),
+                buffer.getFloat( index + 8 ),
+                buffer.getFloat( index + 12 ) );
+  }
+
+  /**
+   * Returns true if the other vector has components with the same values.
+   *
+   * @param other the other vector.
+   * @return true if the other vector has components with the same values, otherwise false.
+   */
+  public boolean isEqualTo( @Nonnull final Vector4f other )
+  {
+    return x == other.x && y == other.y && z == other.z && w == other.w;
+  }
+
+  /**
+   * Returns true if every component of the other vector differs from the corresponding component of this vector
+   * by no more than the specified tolerance.
+   *
+   * @param other   the other vector.
+   * @param epsilon the maximum absolute difference between corresponding components.
+   * @return true if the vectors are equal within the specified tolerance, otherwise false.
+   */
+  public boolean isEqualTo( @Nonnull final Vector4f other, final float epsilon )
+  {
+    return VecmathUtil.isEqualTo( x, other.x, epsilon ) &&
+           VecmathUtil.isEqualTo( y, other.y, epsilon ) &&
+           VecmathUtil.isEqualTo( z, other.z, epsilon ) &&
+           VecmathUtil.isEqualTo( w, other.w, epsilon );
+  }
+
+  /**
+   * Returns true if every component of the other vector is separated from the corresponding component of this
+   * vector by no more than the specified number of representable floats (units in the last place).
+   *
+   * @param other   the other vector.
+   * @param maxUlps the maximum number of units in the last place that corresponding components may differ by.
+   * @return true if the vectors are equal within the specified number of units in the last place, otherwise false.
+   */
+  public boolean isEqualToUlps( @Nonnull final Vector4f other, final int maxUlps )
+  {
+    return VecmathUtil.isEqualToUlps( x, other.x, maxUlps ) &&
+           VecmathUtil.isEqualToUlps( y, other.y, maxUlps ) &&
+           VecmathUtil.isEqualToUlps( z, other.z, maxUlps ) &&
+           VecmathUtil.isEqualToUlps( w, other.w, maxUlps );
+  }
+
+  /**
+   * Returns a string representation of the vector.
+   *
+   * @return a string representation of the vector.
+   */
+  @Nonnull
+  public String asString()
+  {
+    return "(" + x + ", " + y + ", " + z + ", " + w + ")";
+  }
+
+  @Override
+  public int hashCode()
+  {
+    if ( Vecmath.isObjectEqualsImplemented() )
+    {
+      int hash = 1;
+      hash = VecmathUtil.hash( hash, x );
+      hash = VecmathUtil.hash( hash, y );
+      hash = VecmathUtil.hash( hash, z );
+      hash = VecmathUtil.hash( hash, w );
+      return hash;
+    }
+    else
+    {
+      return super.hashCode();
+    }
+  }
+
+  /**
+   * Returns true if the specified object is the same type and has components with the same values.
+   * This method only produces a useful representation if {@link Vecmath#isObjectEqualsImplemented()}
+   * returns <code>true</code>.
+   *
+   * @param o the object.
+   * @return true if the specified object is the same type and has components with the same values, otherwise false.
+   */
+  @Override
+  public boolean equals( final Object o )
+  {
+    return Vecmath.isObjectEqualsImplemented() ? o instanceof Vector4f && isEqualTo( (Vector4f) o ) : super.equals( o );
+  }
+
+  /**
+   * Returns a string representation of the vector.
+   * This method only produces a useful representation if {@link Vecmath#isDebugToStringEnabled()}
+   * returns <code>true</code>.
+   *
+   * @return a string representation of the object.
+   */
+  @OmitSymbol( unless = "vecmath.isDebugToStringEnabled" )
+  @Override
+  public String toString()
+  {
+    return Vecmath.isDebugToStringEnabled() ? asString() : super.toString();
+  }
+}
@@ -83,6 +83,44 @@ abstract class AbstractTest
                   "Expected " + actual + " to contain an w component of " + w + ". Expected: " + expected );
   }
 
+  void assertQuatEquals( @Nonnull final Quaterniond actual,
+                         final double x,
+                         final double y,
+                         final double z,
+                         final double w )
+  {
+    final Quaterniond expected = new Quaterniond( x, y, z, w );
+    assertEquals( actual.x,
+                  x,
+                  0.00001,
+                  "Expected " + actual + " to contain an x component of " + x + ". Expected: " + expected );
+    assertEquals( actual.y,
+                  y,
+                  0.00001,
+                  "Expected " + actual + " to contain an y component of " + y + ". Expected: " + expected );
+    assertEquals( actual.z,
+                  z,
+                  0.00001,
+                  "Expected " + actual + " to contain an z component of " + z + ". Expected: " + expected );
+    assertEquals( actual.w,
+                  w,
+                  0.00001,
+                  "Expected " + actual + " to contain an w component of " + w + ". Expected: " + expected );
+  }
+
+  void assertVecEquals( @Nonnull final Vector2f actual, final float x, final float y )
+  {
+    final Vector2f expected = new Vector2f( x, y );
+    assertEquals( actual.x,
+                  x,
+                  0.00001,
+                  "Expected " + actual + " to contain an x component of " + x + ". Expected: " + expected );
+    assertEquals( actual.y,
+                  y,
+                  0.00001,
+                  "Expected " + actual + " to contain an y component of " + y + ". Expected: " + expected );
+  }
+
   void assertVecEquals( @Nonnull final Vector3f actual, final float x, final float y, final float z )
   {
     final Vector3f expected = new Vector3f( x, y, z );
@@ -100,6 +138,39 @@ abstract class AbstractTest
                   "Expected " + actual + " to contain an z component of " + z + ". Expected: " + expected );
   }
 
+  void assertVecEquals( @Nonnull final Vector4f actual, final float x, final float y, final float z, final float w )
+  {
+    final Vector4f expected = new Vector4f( x, y, z, w );
+    assertEquals( actual.x,
+                  x,
+                  0.00001,
+                  "Expected " + actual + " to contain an x component of " + x + ". Expected: " + expected );
+    assertEquals( actual.y,
+                  y,
+                  0.00001,
+                  "Expected " + actual + " to contain an y component of " + y + ". Expected: " + expected );
+    assertEquals( actual.z,
+                  z,
+                  0.00001,
+                  "Expected " + actual + " to contain an z component of " + z + ". Expected: " + expected );
+    assertEquals( actual.w,
+                  w,
+                  0.00001,
+                  "Expected " + actual + " to contain an w component of " + w + ". Expected: " + expected );
+  }
+
+  void assertVecEquals( @Nonnull final Vector2i actual, final int x, final int y )
+  {
+    assertTrue( actual.isEqualTo( new Vector2i( x, y ) ),
+                "Expected " + actual.asString() + " to equal (" + x + ", " + y + ")" );
+  }
+
+  void assertVecEquals( @Nonnull final Vector3i actual, final int x, final int y, final int z )
+  {
+    assertTrue( actual.isEqualTo( new Vector3i( x, y, z ) ),
+                "Expected " + actual.asString() + " to equal (" + x + ", " + y + ", " + z + ")" );
+  }
+
   void assertUniformScaleMatrix( @Nonnull final Matrix4d matrix, final double scale )
   {
     assertMatEquals( matrix,
@@ -118,10 +189,20 @@ abstract class AbstractTest
                         @Nonnull final org.joml.Matrix4d expected )
   {
     assertMatEquals( actual,
-                     expected.m00(), expected.m01(), expected.m02(), expected.m03(),
-                     expected.m10(), expected.m11(), expected.m12(), expected.m13(),
-                     expected.m20(), expected.m21(), expected.m22(), expected.m23(),
-                     expected.m30(), expected.m31(), expected.m32(), expected.m33(),
+                     expected.m00(), expected.m10(), expected.m20(), expected.m30(),
+                     expected.m01(), expected.m11(), expected.m21(), expected.m31(),
+                     expected.m02(), expected.m12(), expected.m22(), expected.m32(),
+                     expected.m03(), expected.m13(), expected.m23(), expected.m33(),
+                     0.00001 );
+  }
+
+  void assertMatEquals( @Nonnull final Matrix4d actual, @Nonnull final Matrix4d expected )
+  {
+    assertMatEquals( actual,
+                     expected.m00, expected.m10, expected.m20, expected.m30,
+                     expected.m01, expected.m11, expected.m21, expected.m31,
+                     expected.m02, expected.m12, expected.m22, expected.m32,
+                     expected.m03, expected.m13, expected.m23, expected.m33,
                      0.00001 );
   }
 
@@ -189,6 +270,27 @@ abstract class AbstractTest
                   "\n----------------------------\n" );
   }
 
+  @Nonnull
+  Matrix4d trs( final double tx,
+                final double ty,
+                final double tz,
+                @Nonnull final Quaterniond rotation,
+                final double sx,
+                final double sy,
+                final double sz )
+  {
+    return new Matrix4d()
+      .setScale( sx, sy, sz )
+      .multiply( new Matrix4d().setRotation( rotation ) )
+      .multiply( new Matrix4d().setTranslation( tx, ty, tz ) );
+  }
+
+  @Nonnull
+  Matrix4d createPerspectiveViewMatrix()
+  {
+    return new Matrix4d().setPerspective( Math.PI / 3, 1.4, 1, 10 ).lookAt( 1, 2, 3, 7, -2, 5, 0, 1, 0 );
+  }
+
   protected final void assertArray( @Nonnull final double[] doubles, @Nonnull final String expected )
   {
     assertEquals( Arrays.asList( boxArray( doubles ) ).toString(), expected );
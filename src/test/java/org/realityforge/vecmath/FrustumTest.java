@@ -0,0 +1,287 @@
+package org.realityforge.vecmath;
+
+import java.util.Random;
+import javax.annotation.Nonnull;
+import org.testng.annotations.Test;
+import static org.testng.Assert.*;
+
+public final class FrustumTest
+  extends AbstractTest
+{
+  @Test
+  public void testToString()
+  {
+    final Frustum frustum = new Frustum( createViewProjection() );
+    assertEquals( frustum.toString(), frustum.asString() );
+    assertDefaultToStringWhenDebugToStringDisabled( frustum );
+  }
+
+  @Test
+  public void defaultConstructor()
+  {
+    final Frustum frustum = new Frustum();
+    assertTrue( frustum.testPoint( 1000, -2000, 3000 ) );
+    assertTrue( frustum.testSphere( 1000, -2000, 3000, 1 ) );
+    assertTrue( frustum.testAabb( 1000, -2000, 3000, 1001, -1999, 3001 ) );
+  }
+
+  @Test
+  public void getPlane()
+  {
+    // Camera at (0, 0, 10) looking down the negative z axis with near=1 and far=100
+    final Frustum frustum = new Frustum( createViewProjection() );
+    final Vector4d plane = new Vector4d();
+
+    assertSame( frustum.getPlane( Frustum.PLANE_NEAR, plane ), plane );
+    assertVecEquals( plane, 0, 0, -1, 9 );
+    frustum.getPlane( Frustum.PLANE_FAR, plane );
+    assertVecEquals( plane, 0, 0, 1, 90 );
+
+    for ( int i = 0; i < Frustum.PLANE_COUNT; i++ )
+    {
+      frustum.getPlane( i, plane );
+      assertEquals( plane.x * plane.x + plane.y * plane.y + plane.z * plane.z, 1.0, 0.00001 );
+    }
+  }
+
+  @Test
+  public void testPoint()
+  {
+    final Matrix4d viewProjection = createViewProjection();
+    final Frustum frustum = new Frustum( viewProjection );
+
+    assertTrue( frustum.testPoint( 0, 0, 0 ) );
+    assertTrue( frustum.testPoint( new Vector3d( 0, 0, 8.5 ) ) );
+    // In front of the near plane
+    assertFalse( frustum.testPoint( 0, 0, 9.5 ) );
+    // Behind the camera
+    assertFalse( frustum.testPoint( 0, 0, 20 ) );
+    // Beyond the far plane
+    assertFalse( frustum.testPoint( 0, 0, -95 ) );
+    // Outside the sides
+    assertFalse( frustum.testPoint( 20, 0, 0 ) );
+    assertFalse( frustum.testPoint( 0, -20, 0 ) );
+
+    final Random random = new Random( 42 );
+    for ( int i = 0; i < 1000; i++ )
+    {
+      final double x = random.nextDouble() * 60 - 30;
+      final double y = random.nextDouble() * 60 - 30;
+      final double z = random.nextDouble() * 130 - 110;
+      assertEquals( frustum.testPoint( x, y, z ), isInsideClipSpace( viewProjection, x, y, z ) );
+    }
+  }
+
+  @Test
+  public void testPoint_orthographic()
+  {
+    final Matrix4d projection = new Matrix4d().setOrthographic( -10, 10, 10, -10, 1, 100 );
+    final Matrix4d view = new Matrix4d().lookAt( 0, 0, 10, 0, 0, 0, 0, 1, 0 );
+    final Matrix4d viewProjection = new Matrix4d();
+    Matrix4d.multiply( viewProjection, view, projection );
+    final Frustum frustum = new Frustum( viewProjection );
+
+    assertTrue( frustum.testPoint( 9, 9, 0 ) );
+    assertFalse( frustum.testPoint( 11, 0, 0 ) );
+    assertFalse( frustum.testPoint( 0, 0, 9.5 ) );
+    assertFalse( frustum.testPoint( 0, 0, -95 ) );
+
+    final Random random = new Random( 42 );
+    for ( int i = 0; i < 1000; i++ )
+    {
+      final double x = random.nextDouble() * 30 - 15;
+      final double y = random.nextDouble() * 30 - 15;
+      final double z = random.nextDouble() * 130 - 110;
+      assertEquals( frustum.testPoint( x, y, z ), isInsideClipSpace( viewProjection, x, y, z ) );
+    }
+  }
+
+  @Test
+  public void testSphere()
+  {
+    final Frustum frustum = new Frustum( createViewProjection() );
+
+    assertTrue( frustum.testSphere( 0, 0, 0, 1 ) );
+    assertTrue( frustum.testSphere( new Vector3d( 0, 0, 0 ), 1 ) );
+    // Entirely behind the camera
+    assertFalse( frustum.testSphere( 0, 0, 20, 5 ) );
+    // Behind the camera but intersecting the near plane
+    assertTrue( frustum.testSphere( 0, 0, 20, 12 ) );
+    // Outside the sides but intersecting
+    assertFalse( frustum.testSphere( 20, 0, 0, 1 ) );
+    assertTrue( frustum.testSphere( 20, 0, 0, 20 ) );
+  }
+
+  @Test
+  public void testAabb()
+  {
+    final Matrix4d viewProjection = createViewProjection();
+    final Frustum frustum = new Frustum( viewProjection );
+
+    assertTrue( frustum.testAabb( -1, -1, -1, 1, 1, 1 ) );
+    assertTrue( frustum.testAabb( new Vector3d( -1, -1, -1 ), new Vector3d( 1, 1, 1 ) ) );
+    // Entirely behind the camera
+    assertFalse( frustum.testAabb( -1, -1, 15, 1, 1, 20 ) );
+    // Encloses the entire frustum so no corner is inside the frustum
+    assertTrue( frustum.testAabb( -1000, -1000, -1000, 1000, 1000, 1000 ) );
+
+    final Random random = new Random( 42 );
+    for ( int i = 0; i < 1000; i++ )
+    {
+      final double x = random.nextDouble() * 60 - 30;
+      final double y = random.nextDouble() * 60 - 30;
+      final double z = random.nextDouble() * 130 - 110;
+      final double size = random.nextDouble() * 5;
+      if ( isAnyCornerInside( viewProjection, x, y, z, x + size, y + size, z + size ) )
+      {
+        assertTrue( frustum.testAabb( x, y, z, x + size, y + size, z + size ) );
+      }
+    }
+  }
+
+  @Test
+  public void testPoints()
+  {
+    final Frustum frustum = new Frustum( createViewProjection() );
+    final int count = 70;
+    final double[] positions = new double[ 1 + count * 4 ];
+    final Random random = new Random( 42 );
+    for ( int i = 0; i < count; i++ )
+    {
+      positions[ 1 + i * 4 ] = random.nextDouble() * 60 - 30;
+      positions[ 1 + i * 4 + 1 ] = random.nextDouble() * 60 - 30;
+      positions[ 1 + i * 4 + 2 ] = random.nextDouble() * 130 - 110;
+    }
+    // Bits should be cleared as well as set
+    final int[] visibility = new int[]{ -1, -1, -1 };
+
+    final int visible = frustum.testPoints( positions, 1, 4, count, visibility );
+
+    int expected = 0;
+    for ( int i = 0; i < count; i++ )
+    {
+      final int s = 1 + i * 4;
+      final boolean inside = frustum.testPoint( positions[ s ], positions[ s + 1 ], positions[ s + 2 ] );
+      assertEquals( Frustum.isVisible( visibility, i ), inside );
+      expected += inside ? 1 : 0;
+    }
+    assertEquals( visible, expected );
+    assertTrue( visible > 0 && visible < count );
+    // Bits beyond the count are untouched
+    assertTrue( Frustum.isVisible( visibility, count ) );
+  }
+
+  @Test
+  public void testSpheres()
+  {
+    final Frustum frustum = new Frustum( createViewProjection() );
+    final int count = 40;
+    final double[] spheres = new double[ count * 4 ];
+    final Vector3dArray centers = new Vector3dArray( count );
+    final double[] radii = new double[ count ];
+    final Random random = new Random( 42 );
+    for ( int i = 0; i < count; i++ )
+    {
+      centers.set( i, random.nextDouble() * 60 - 30, random.nextDouble() * 60 - 30, random.nextDouble() * 130 - 110 );
+      radii[ i ] = random.nextDouble() * 3;
+      spheres[ i * 4 ] = centers.x[ i ];
+      spheres[ i * 4 + 1 ] = centers.y[ i ];
+      spheres[ i * 4 + 2 ] = centers.z[ i ];
+      spheres[ i * 4 + 3 ] = radii[ i ];
+    }
+    final int[] visibility1 = new int[ 2 ];
+    final int[] visibility2 = new int[ 2 ];
+
+    final int visible1 = frustum.testSpheres( spheres, 0, 4, count, visibility1 );
+    final int visible2 = frustum.testSpheres( centers, radii, visibility2 );
+
+    int expected = 0;
+    for ( int i = 0; i < count; i++ )
+    {
+      final boolean inside = frustum.testSphere( centers.x[ i ], centers.y[ i ], centers.z[ i ], radii[ i ] );
+      assertEquals( Frustum.isVisible( visibility1, i ), inside );
+      expected += inside ? 1 : 0;
+    }
+    assertEquals( visible1, expected );
+    assertEquals( visible2, expected );
+    assertEquals( visibility2, visibility1 );
+    assertTrue( expected > 0 && expected < count );
+  }
+
+  @Test
+  public void testAabbs()
+  {
+    final Frustum frustum = new Frustum( createViewProjection() );
+    final int count = 40;
+    final double[] boxes = new double[ count * 6 ];
+    final Random random = new Random( 42 );
+    for ( int i = 0; i < count; i++ )
+    {
+      final double x = random.nextDouble() * 60 - 30;
+      final double y = random.nextDouble() * 60 - 30;
+      final double z = random.nextDouble() * 130 - 110;
+      final double size = random.nextDouble() * 3;
+      boxes[ i * 6 ] = x;
+      boxes[ i * 6 + 1 ] = y;
+      boxes[ i * 6 + 2 ] = z;
+      boxes[ i * 6 + 3 ] = x + size;
+      boxes[ i * 6 + 4 ] = y + size;
+      boxes[ i * 6 + 5 ] = z + size;
+    }
+    final int[] visibility = new int[ 2 ];
+
+    final int visible = frustum.testAabbs( boxes, 0, 6, count, visibility );
+
+    int expected = 0;
+    for ( int i = 0; i < count; i++ )
+    {
+      final int s = i * 6;
+      final boolean inside =
+        frustum.testAabb( boxes[ s ], boxes[ s + 1 ], boxes[ s + 2 ], boxes[ s + 3 ], boxes[ s + 4 ], boxes[ s + 5 ] );
+      assertEquals( Frustum.isVisible( visibility, i ), inside );
+      expected += inside ? 1 : 0;
+    }
+    assertEquals( visible, expected );
+    assertTrue( expected > 0 && expected < count );
+  }
+
+  @Nonnull
+  private Matrix4d createViewProjection()
+  {
+    final Matrix4d projection = new Matrix4d().setPerspective( Math.PI / 2, 1.0, 1, 100 );
+    final Matrix4d view = new Matrix4d().lookAt( 0, 0, 10, 0, 0, 0, 0, 1, 0 );
+    final Matrix4d viewProjection = new Matrix4d();
+    Matrix4d.multiply( viewProjection, view, projection );
+    return viewProjection;
+  }
+
+  private boolean isInsideClipSpace( @Nonnull final Matrix4d m, final double x, final double y, final double z )
+  {
+    final double cx = m.m00 * x + m.m10 * y + m.m20 * z + m.m30;
+    final double cy = m.m01 * x + m.m11 * y + m.m21 * z + m.m31;
+    final double cz = m.m02 * x + m.m12 * y + m.m22 * z + m.m32;
+    final double cw = m.m03 * x + m.m13 * y + m.m23 * z + m.m33;
+    return -cw <= cx && cx <= cw && -cw <= cy && cy <= cw && -cw <= cz && cz <= cw;
+  }
+
+  private boolean isAnyCornerInside( @Nonnull final Matrix4d m,
+                                     final double minX,
+                                     final double minY,
+                                     final double minZ,
+                                     final double maxX,
+                                     final double maxY,
+                                     final double maxZ )
+  {
+    for ( int i = 0; i < 8; i++ )
+    {
+      if ( isInsideClipSpace( m,
+                              0 == ( i & 1 ) ? minX : maxX,
+                              0 == ( i & 2 ) ? minY : maxY,
+                              0 == ( i & 4 ) ? minZ : maxZ ) )
+      {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,155 @@
+package org.realityforge.vecmath;
+
+import javax.annotation.Nonnull;
+import org.testng.annotations.Test;
+import static org.testng.Assert.*;
+
+public final class Matrix3dTest
+  extends AbstractTest
+{
+  @Test
+  public void construct()
+  {
+    final Matrix3d identity = new Matrix3d();
+    assertMat3Equals( identity, new Matrix3d( 1, 0, 0, 0, 1, 0, 0, 0, 1 ) );
+
+    final Matrix3d value = new Matrix3d( 1, 2, 3, 4, 5, 6, 7, 8, 9 );
+    assertEquals( value.m00, 1.0 );
+    assertEquals( value.m10, 2.0 );
+    assertEquals( value.m20, 3.0 );
+    assertEquals( value.m01, 4.0 );
+    assertEquals( value.m22, 9.0 );
+    assertTrue( new Matrix3d( value ).isEqualTo( value ) );
+    assertTrue( value.dup().isEqualTo( value ) );
+    assertNotSame( value.dup(), value );
+    assertSame( identity.set( value ), identity );
+    assertTrue( identity.isEqualTo( value ) );
+    assertSame( identity.setIdentity(), identity );
+    assertTrue( identity.isEqualTo( new Matrix3d() ) );
+  }
+
+  @Test
+  public void set_Matrix4d()
+  {
+    final Matrix4d source = createMatrix();
+    final Matrix3d expected = new Matrix3d( source.m00, source.m10, source.m20,
+                                            source.m01, source.m11, source.m21,
+                                            source.m02, source.m12, source.m22 );
+    assertTrue( new Matrix3d( source ).isEqualTo( expected ) );
+    final Matrix3d matrix = new Matrix3d();
+    assertSame( matrix.set( source ), matrix );
+    assertTrue( matrix.isEqualTo( expected ) );
+  }
+
+  @Test
+  public void setNormal()
+  {
+    final Matrix4d source = createMatrix();
+    final Matrix4d original = source.dup();
+    final Matrix3d matrix = new Matrix3d();
+    assertSame( matrix.setNormal( source ), matrix );
+    assertTrue( source.isEqualTo( original ) );
+    assertMat3Equals( matrix, new Matrix3d( source.dup().normal() ) );
+
+    assertMat3Equals( matrix.setNormal( new Matrix4d().setTranslation( 1, 2, 3 ) ), new Matrix3d() );
+  }
+
+  @Test
+  public void multiply()
+  {
+    final Matrix4d left = new Matrix4d().rotateX( 0.3 ).rotateY( 1.2 ).scale( 2, 3, 4 );
+    final Matrix4d right = new Matrix4d().rotateZ( -0.7 ).scale( 1, 5, 2 );
+    final Matrix3d matrix = new Matrix3d( left );
+    assertSame( matrix.multiply( new Matrix3d( right ) ), matrix );
+    assertMat3Equals( matrix, new Matrix3d( left.dup().multiply( right ) ) );
+
+    final Matrix3d result = new Matrix3d();
+    Matrix3d.multiply( result, new Matrix3d( right ), new Matrix3d( left ) );
+    assertMat3Equals( result, new Matrix3d( right.dup().multiply( left ) ) );
+  }
+
+  @Test
+  public void transpose()
+  {
+    final Matrix3d matrix = new Matrix3d( 1, 2, 3, 4, 5, 6, 7, 8, 9 );
+    assertSame( matrix.transpose(), matrix );
+    assertTrue( matrix.isEqualTo( new Matrix3d( 1, 4, 7, 2, 5, 8, 3, 6, 9 ) ) );
+  }
+
+  @Test
+  public void determinant()
+  {
+    final Matrix4d source = createMatrix();
+    assertEquals( new Matrix3d( source ).determinant(), source.determinant(), 0.00001 );
+    assertEquals( new Matrix3d().determinant(), 1.0 );
+    assertEquals( new Matrix3d( 1, 2, 3, 4, 5, 6, 7, 8, 9 ).determinant(), 0.0 );
+  }
+
+  @Test
+  public void invert()
+  {
+    final Matrix4d source = createMatrix();
+    final Matrix3d matrix = new Matrix3d( source );
+    assertSame( matrix.invert(), matrix );
+    assertMat3Equals( matrix, new Matrix3d( source.dup().invert() ) );
+    assertMat3Equals( matrix.multiply( new Matrix3d( source ) ), new Matrix3d() );
+  }
+
+  @Test
+  public void transform()
+  {
+    final Matrix4d source = createMatrix();
+    final Matrix3d matrix = new Matrix3d( source );
+    final Vector3d vector = new Vector3d( 1, -2, 3 );
+    final Vector3d expected = vector.dup().mulDirection( source );
+
+    final Vector3d target = new Vector3d();
+    assertSame( matrix.transform( vector, target ), target );
+    assertVecEquals( target, expected.x, expected.y, expected.z );
+    assertVecEquals( vector, 1, -2, 3 );
+
+    assertSame( matrix.transform( vector ), vector );
+    assertVecEquals( vector, expected.x, expected.y, expected.z );
+  }
+
+  @Test
+  public void toArray()
+  {
+    final Matrix3d matrix = new Matrix3d( 1, 2, 3, 4, 5, 6, 7, 8, 9 );
+    assertArray( matrix.toArray(), "[1.0, 4.0, 7.0, 2.0, 5.0, 8.0, 3.0, 6.0, 9.0]" );
+    final double[] doubles = new double[ Matrix3d.COMPONENTS + 1 ];
+    assertSame( matrix.toArray( doubles, 1 ), doubles );
+    assertEquals( doubles[ 0 ], 0.0 );
+    assertEquals( doubles[ 9 ], 9.0 );
+
+    final float[] floats = matrix.toArray( new float[ Matrix3d.COMPONENTS ] );
+    assertEquals( floats, new float[]{ 1, 4, 7, 2, 5, 8, 3, 6, 9 } );
+  }
+
+  @Test
+  public void isEqualTo()
+  {
+    final Matrix3d matrix = new Matrix3d( 1, 2, 3, 4, 5, 6, 7, 8, 9 );
+    assertTrue( matrix.isEqualTo( matrix.dup() ) );
+    assertFalse( matrix.isEqualTo( new Matrix3d() ) );
+    assertTrue( matrix.isEqualTo( new Matrix3d( 1, 2, 3, 4, 5, 6, 7, 8, 9.05 ), 0.1 ) );
+    assertFalse( matrix.isEqualTo( new Matrix3d( 1, 2, 3, 4, 5, 6, 7, 8, 9.2 ), 0.1 ) );
+  }
+
+  @Test
+  public void asString()
+  {
+    assertEquals( new Matrix3d( 1, 2, 3, 4, 5, 6, 7, 8, 9 ).asString(), "1.0 2.0 3.0\n4.0 5.0 6.0\n7.0 8.0 9.0\n" );
+  }
+
+  @Nonnull
+  private Matrix4d createMatrix()
+  {
+    return new Matrix4d().setTranslation( 1, 2, 3 ).rotateX( 0.3 ).rotateY( 1.2 ).scale( 2, 3, 4 );
+  }
+
+  private void assertMat3Equals( @Nonnull final Matrix3d actual, @Nonnull final Matrix3d expected )
+  {
+    assertTrue( actual.isEqualTo( expected, 0.00001 ), "Expected:\n" + expected.asString() + "Actual:\n" + actual.asString() );
+  }
+}
@@ -0,0 +1,194 @@
+package org.realityforge.vecmath;
+
+import javax.annotation.Nonnull;
+import org.testng.annotations.Test;
+import static org.testng.Assert.*;
+
+public final class Matrix3x2dTest
+  extends AbstractTest
+{
+  @Test
+  public void construct()
+  {
+    final Matrix3x2d identity = new Matrix3x2d();
+    assertTrue( identity.isEqualTo( new Matrix3x2d( 1, 0, 0, 0, 1, 0 ) ) );
+
+    final Matrix3x2d value = new Matrix3x2d( 1, 2, 3, 4, 5, 6 );
+    assertEquals( value.m00, 1.0 );
+    assertEquals( value.m10, 2.0 );
+    assertEquals( value.m20, 3.0 );
+    assertEquals( value.m01, 4.0 );
+    assertEquals( value.m11, 5.0 );
+    assertEquals( value.m21, 6.0 );
+    assertTrue( new Matrix3x2d( value ).isEqualTo( value ) );
+    assertTrue( value.dup().isEqualTo( value ) );
+    assertNotSame( value.dup(), value );
+    assertSame( identity.set( value ), identity );
+    assertTrue( identity.isEqualTo( value ) );
+    assertSame( identity.setIdentity(), identity );
+    assertTrue( identity.isEqualTo( new Matrix3x2d() ) );
+  }
+
+  @Test
+  public void setTranslationRotationScale()
+  {
+    assertEquivalent( new Matrix3x2d().setTranslation( 2, 3 ), new Matrix4d().setTranslation( 2, 3, 0 ) );
+    assertEquivalent( new Matrix3x2d().setScale( 2, 3 ), new Matrix4d().setScale( 2, 3, 1 ) );
+    assertEquivalent( new Matrix3x2d().setScale( 2 ), new Matrix4d().setScale( 2, 2, 1 ) );
+    assertEquivalent( new Matrix3x2d().setRotation( 0.7 ), new Matrix4d().rotateZ( 0.7 ) );
+  }
+
+  @Test
+  public void translateRotateScale()
+  {
+    final Matrix3x2d matrix = new Matrix3x2d().setTranslation( 1, 2 );
+    assertSame( matrix.rotate( 0.3 ), matrix );
+    assertSame( matrix.translate( 4, -1 ), matrix );
+    assertSame( matrix.scale( 2, 3 ), matrix );
+    assertSame( matrix.translate( new Vector2d( 1, 1 ) ), matrix );
+    assertSame( matrix.scale( 0.5 ), matrix );
+    assertEquivalent( matrix,
+                      new Matrix4d()
+                        .setTranslation( 1, 2, 0 )
+                        .rotateZ( 0.3 )
+                        .translate( 4, -1, 0 )
+                        .scale( 2, 3, 1 )
+                        .translate( 1, 1, 0 )
+                        .scale( 0.5, 0.5, 1 ) );
+  }
+
+  @Test
+  public void multiply()
+  {
+    final Matrix3x2d left = new Matrix3x2d().setTranslation( 1, 2 ).rotate( 0.3 ).scale( 2, 3 );
+    final Matrix3x2d right = new Matrix3x2d().setRotation( -0.7 ).translate( 5, 6 );
+    final Matrix4d expected = new Matrix4d().set( left ).multiply( new Matrix4d().set( right ) );
+
+    final Matrix3x2d matrix = left.dup();
+    assertSame( matrix.multiply( right ), matrix );
+    assertEquivalent( matrix, expected );
+
+    final Matrix3x2d result = new Matrix3x2d();
+    Matrix3x2d.multiply( result, left, right );
+    assertEquivalent( result, expected );
+  }
+
+  @Test
+  public void determinantAndInvert()
+  {
+    final Matrix3x2d matrix = new Matrix3x2d().setTranslation( 1, 2 ).rotate( 0.3 ).scale( 2, 3 );
+    assertEquals( matrix.determinant(), 6.0, 0.00001 );
+    assertEquals( matrix.determinant(), new Matrix4d().set( matrix ).determinant(), 0.00001 );
+
+    final Matrix3x2d original = matrix.dup();
+    assertSame( matrix.invert(), matrix );
+    assertEquivalent( matrix, new Matrix4d().set( original ).invert() );
+    assertTrue( matrix.multiply( original ).isEqualTo( new Matrix3x2d(), 0.00001 ) );
+  }
+
+  @Test
+  public void transform()
+  {
+    final Matrix3x2d matrix = new Matrix3x2d().setTranslation( 1, 2 ).rotate( Math.PI / 2 ).scale( 2 );
+    final Vector2d position = new Vector2d( 1, 2 );
+    assertSame( matrix.transformPosition( position ), position );
+    assertVecEquals( position, -2, 6 );
+
+    final Vector2d direction = new Vector2d( 1, 2 );
+    assertSame( matrix.transformDirection( direction ), direction );
+    assertVecEquals( direction, -4, 2 );
+  }
+
+  @Test
+  public void transformPositions()
+  {
+    final Matrix3x2d matrix = new Matrix3x2d().setTranslation( 1, 2 ).rotate( 0.3 ).scale( 2, 3 );
+    final Vector2d[] vectors = new Vector2d[]{ new Vector2d( 1, 2 ), new Vector2d( -3, 4 ), new Vector2d( 5, 6 ) };
+    final Vector2d expected0 = matrix.transformPosition( vectors[ 0 ].dup() );
+    final Vector2d expected1 = matrix.transformPosition( vectors[ 1 ].dup() );
+    final Vector2d expected2 = matrix.transformPosition( vectors[ 2 ].dup() );
+
+    final Vector2dArray array = new Vector2dArray( 3 );
+    final double[] packed = new double[ 1 + 3 * 3 ];
+    for ( int i = 0; i < vectors.length; i++ )
+    {
+      array.set( i, vectors[ i ] );
+      packed[ 1 + i * 3 ] = vectors[ i ].x;
+      packed[ 2 + i * 3 ] = vectors[ i ].y;
+    }
+
+    assertSame( matrix.transformPositions( vectors, 1, 2 ), vectors );
+    assertVecEquals( vectors[ 0 ], 1, 2 );
+    assertVecEquals( vectors[ 1 ], expected1.x, expected1.y );
+    assertVecEquals( vectors[ 2 ], expected2.x, expected2.y );
+    matrix.transformPositions( vectors, 0, 1 );
+    assertVecEquals( vectors[ 0 ], expected0.x, expected0.y );
+
+    final Vector2dArray target = new Vector2dArray( 3 );
+    assertSame( matrix.transformPositions( array, target ), target );
+    assertVecEquals( target.get( 2, new Vector2d() ), expected2.x, expected2.y );
+    assertVecEquals( array.get( 2, new Vector2d() ), 5, 6 );
+
+    final double[] result = new double[ 6 ];
+    assertSame( matrix.transformPositions( packed, 1, 3, result, 0, 2, 3 ), result );
+    assertEquals( result[ 4 ], expected2.x, 0.00001 );
+    assertEquals( result[ 5 ], expected2.y, 0.00001 );
+
+    assertSame( matrix.transformPositions( packed, 1, 3, 3 ), packed );
+    assertEquals( packed[ 0 ], 0.0 );
+    assertEquals( packed[ 4 ], expected1.x, 0.00001 );
+    assertEquals( packed[ 5 ], expected1.y, 0.00001 );
+    assertEquals( packed[ 6 ], 0.0 );
+  }
+
+  @Test
+  public void toMatrix4d()
+  {
+    final Matrix3x2d matrix = new Matrix3x2d( 1, 2, 3, 4, 5, 6 );
+    final Matrix4d result = new Matrix4d();
+    assertSame( result.set( matrix ), result );
+    assertMatEquals( result,
+                     1, 2, 0, 3,
+                     4, 5, 0, 6,
+                     0, 0, 1, 0,
+                     0, 0, 0, 1 );
+    assertEquals( result.properties(), Matrix4d.PROPERTY_AFFINE );
+    assertEquals( new Matrix4d().set( new Matrix3x2d().setTranslation( 1, 2 ) ).properties(),
+                  Matrix4d.PROPERTY_TRANSLATION | Matrix4d.PROPERTY_AFFINE );
+  }
+
+  @Test
+  public void toArray()
+  {
+    final Matrix3x2d matrix = new Matrix3x2d( 1, 2, 3, 4, 5, 6 );
+    assertArray( matrix.toArray(), "[1.0, 4.0, 2.0, 5.0, 3.0, 6.0]" );
+    final double[] target = new double[ Matrix3x2d.COMPONENTS + 1 ];
+    assertSame( matrix.toArray( target, 1 ), target );
+    assertEquals( target[ 0 ], 0.0 );
+    assertEquals( target[ 6 ], 6.0 );
+  }
+
+  @Test
+  public void isEqualTo()
+  {
+    final Matrix3x2d matrix = new Matrix3x2d( 1, 2, 3, 4, 5, 6 );
+    assertTrue( matrix.isEqualTo( matrix.dup() ) );
+    assertFalse( matrix.isEqualTo( new Matrix3x2d() ) );
+    assertTrue( matrix.isEqualTo( new Matrix3x2d( 1, 2, 3, 4, 5, 6.05 ), 0.1 ) );
+    assertFalse( matrix.isEqualTo( new Matrix3x2d( 1, 2, 3, 4, 5, 6.2 ), 0.1 ) );
+  }
+
+  @Test
+  public void asString()
+  {
+    assertEquals( new Matrix3x2d( 1, 2, 3, 4, 5, 6 ).asString(), "1.0 2.0 3.0\n4.0 5.0 6.0\n" );
+  }
+
+  /**
+   * Assert that the 2-dimensional matrix is equivalent to the specified 3-dimensional matrix.
+   */
+  private void assertEquivalent( @Nonnull final Matrix3x2d actual, @Nonnull final Matrix4d expected )
+  {
+    assertMatEquals( new Matrix4d().set( actual ), expected );
+  }
+}
@@ -0,0 +1,99 @@
+package org.realityforge.vecmath;
+
+import org.testng.annotations.Test;
+import static org.testng.Assert.*;
+
+public final class Matrix4dArrayTest
+  extends AbstractTest
+{
+  @Test
+  public void construct()
+  {
+    final Matrix4dArray array = new Matrix4dArray( 3 );
+    assertEquals( array.size(), 3 );
+    assertEquals( array.components.length, 3 * Matrix4d.COMPONENTS );
+    assertIdentityMatrix( array.get( 0, new Matrix4d() ) );
+    assertIdentityMatrix( array.get( 2, new Matrix4d() ) );
+  }
+
+  @Test
+  public void getAndSet()
+  {
+    final Matrix4dArray array = new Matrix4dArray( 3 );
+    final Matrix4d value = createPerspectiveViewMatrix();
+
+    assertSame( array.set( 1, value ), array );
+    assertEquals( array.components[ Matrix4d.COMPONENTS ], value.m00 );
+    assertEquals( array.components[ Matrix4d.COMPONENTS + 1 ], value.m01 );
+
+    final Matrix4d target = new Matrix4d();
+    assertSame( array.get( 1, target ), target );
+    assertTrue( target.isEqualTo( value ) );
+    assertEquals( target.properties(), value.properties() );
+    assertIdentityMatrix( array.get( 0, target ) );
+    assertIdentityMatrix( array.get( 2, target ) );
+
+    assertSame( array.setIdentity( 1 ), array );
+    assertIdentityMatrix( array.get( 1, target ) );
+  }
+
+  @Test
+  public void transformations()
+  {
+    final Matrix4dArray array = new Matrix4dArray( 2 ).set( 1, createPerspectiveViewMatrix() );
+    final Matrix4d expected = createPerspectiveViewMatrix();
+
+    assertSame( array.translate( 1, 1, -2, 3 ), array );
+    expected.translate( 1, -2, 3 );
+    assertMatEquals( array.get( 1, new Matrix4d() ), expected );
+
+    assertSame( array.rotateX( 1, 0.3 ), array );
+    expected.rotateX( 0.3 );
+    assertMatEquals( array.get( 1, new Matrix4d() ), expected );
+
+    assertSame( array.rotateY( 1, -1.1 ), array );
+    expected.rotateY( -1.1 );
+    assertMatEquals( array.get( 1, new Matrix4d() ), expected );
+
+    assertSame( array.rotateZ( 1, 2.5 ), array );
+    expected.rotateZ( 2.5 );
+    assertMatEquals( array.get( 1, new Matrix4d() ), expected );
+
+    assertSame( array.scale( 1, 2, 3, 4 ), array );
+    expected.scale( 2, 3, 4 );
+    assertMatEquals( array.get( 1, new Matrix4d() ), expected );
+
+    assertSame( array.scale( 1, 0.5 ), array );
+    expected.scale( 0.5 );
+    assertMatEquals( array.get( 1, new Matrix4d() ), expected );
+
+    // Make sure the other matrices are unchanged
+    assertIdentityMatrix( array.get( 0, new Matrix4d() ) );
+  }
+
+  @Test
+  public void multiply()
+  {
+    final Matrix4d value = createPerspectiveViewMatrix();
+    final Matrix4d right = new Matrix4d().rotateY( 0.7 ).translate( 4, 5, 6 );
+    final Matrix4dArray array = new Matrix4dArray( 3 ).set( 0, value ).set( 2, right );
+
+    assertSame( array.multiply( 0, right ), array );
+    assertMatEquals( array.get( 0, new Matrix4d() ), value.dup().multiply( right ) );
+
+    array.set( 0, value );
+    assertSame( array.multiply( 0, array, 2 ), array );
+    assertMatEquals( array.get( 0, new Matrix4d() ), value.dup().multiply( right ) );
+
+    // The matrix may be multiplied by itself
+    array.set( 0, value );
+    array.multiply( 0, array, 0 );
+    assertMatEquals( array.get( 0, new Matrix4d() ), value.dup().multiply( value ) );
+
+    array.set( 0, value );
+    assertSame( array.multiply( right ), array );
+    assertMatEquals( array.get( 0, new Matrix4d() ), value.dup().multiply( right ) );
+    assertMatEquals( array.get( 1, new Matrix4d() ), right );
+    assertMatEquals( array.get( 2, new Matrix4d() ), right.dup().multiply( right ) );
+  }
+}
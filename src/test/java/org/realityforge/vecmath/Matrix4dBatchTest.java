@@ -0,0 +1,173 @@
+package org.realityforge.vecmath;
+
+import java.util.Random;
+import javax.annotation.Nonnull;
+import org.testng.annotations.Test;
+import static org.testng.Assert.*;
+
+public final class Matrix4dBatchTest
+  extends AbstractTest
+{
+  @Test
+  public void multiply()
+  {
+    final int count = 5;
+    final Random random = new Random( 42 );
+    final Matrix4d[] left = createMatrices( random, count );
+    final Matrix4d[] right = createMatrices( random, count );
+    final double[] leftArray = toArray( left, 3 );
+    final double[] rightArray = toArray( right, 0 );
+    final double[] result = new double[ 1 + count * Matrix4d.COMPONENTS ];
+
+    assertSame( Matrix4dBatch.multiply( result, 1, leftArray, 3, rightArray, 0, count ), result );
+
+    final double[] expected = new double[ 1 + count * Matrix4d.COMPONENTS ];
+    for ( int i = 0; i < count; i++ )
+    {
+      multiply( left[ i ], right[ i ] ).toArray( expected, 1 + i * Matrix4d.COMPONENTS );
+    }
+    assertEquals( result, expected );
+  }
+
+  @Test
+  public void multiply_sharedMatrix()
+  {
+    final int count = 4;
+    final Random random = new Random( 42 );
+    final Matrix4d[] matrices = createMatrices( random, count );
+    final Matrix4d shared = createMatrices( random, 1 )[ 0 ];
+    final double[] array = toArray( matrices, 0 );
+    final double[] result1 = new double[ count * Matrix4d.COMPONENTS ];
+    final double[] result2 = new double[ count * Matrix4d.COMPONENTS ];
+
+    assertSame( Matrix4dBatch.multiply( result1, 0, array, 0, shared, count ), result1 );
+    assertSame( Matrix4dBatch.multiply( result2, 0, shared, array, 0, count ), result2 );
+
+    final double[] expected1 = new double[ count * Matrix4d.COMPONENTS ];
+    final double[] expected2 = new double[ count * Matrix4d.COMPONENTS ];
+    for ( int i = 0; i < count; i++ )
+    {
+      multiply( matrices[ i ], shared ).toArray( expected1, i * Matrix4d.COMPONENTS );
+      multiply( shared, matrices[ i ] ).toArray( expected2, i * Matrix4d.COMPONENTS );
+    }
+    assertEquals( result1, expected1 );
+    assertEquals( result2, expected2 );
+  }
+
+  @Test
+  public void multiply_inPlace()
+  {
+    final int count = 3;
+    final Random random = new Random( 42 );
+    final Matrix4d[] left = createMatrices( random, count );
+    final Matrix4d[] right = createMatrices( random, count );
+    final double[] leftArray = toArray( left, 0 );
+    final double[] rightArray = toArray( right, 0 );
+    final double[] expected = Matrix4dBatch.multiply( new double[ leftArray.length ], 0, leftArray, 0, rightArray, 0, count );
+
+    Matrix4dBatch.multiply( leftArray, 0, leftArray, 0, rightArray, 0, count );
+    assertEquals( leftArray, expected );
+
+    final double[] sharedLeft = toArray( left, 0 );
+    final double[] sharedExpected = Matrix4dBatch.multiply( new double[ sharedLeft.length ], 0, sharedLeft, 0, right[ 0 ], count );
+    Matrix4dBatch.multiply( sharedLeft, 0, sharedLeft, 0, right[ 0 ], count );
+    assertEquals( sharedLeft, sharedExpected );
+  }
+
+  @Test
+  public void multiply_zeroCount()
+  {
+    final double[] result = new double[]{ 1, 2, 3 };
+    Matrix4dBatch.multiply( result, 0, new double[ 0 ], 0, new double[ 0 ], 0, 0 );
+    assertArray( result, "[1.0, 2.0, 3.0]" );
+  }
+
+  @Test
+  public void multiplyParallel()
+  {
+    final int count = Matrix4dBatch.PARALLEL_THRESHOLD * 4 + 7;
+    final Random random = new Random( 42 );
+    final double[] left = createPackedMatrices( random, count );
+    final double[] right = createPackedMatrices( random, count );
+    final double[] expected = Matrix4dBatch.multiply( new double[ left.length ], 0, left, 0, right, 0, count );
+    final double[] result = new double[ left.length ];
+
+    assertSame( Matrix4dBatch.multiplyParallel( result, 0, left, 0, right, 0, count ), result );
+    assertEquals( result, expected );
+
+    // Small batches are processed on the calling thread
+    final double[] small = new double[ Matrix4d.COMPONENTS * 3 ];
+    Matrix4dBatch.multiplyParallel( small, 0, left, 16, right, 32, 3 );
+    assertEquals( small, Matrix4dBatch.multiply( new double[ small.length ], 0, left, 16, right, 32, 3 ) );
+  }
+
+  @Test
+  public void multiplyParallel_sharedMatrix()
+  {
+    final int count = Matrix4dBatch.PARALLEL_THRESHOLD * 4 + 7;
+    final Random random = new Random( 42 );
+    final double[] array = createPackedMatrices( random, count );
+    final Matrix4d shared = createMatrices( random, 1 )[ 0 ];
+    final double[] expected1 = Matrix4dBatch.multiply( new double[ array.length ], 0, array, 0, shared, count );
+    final double[] expected2 = Matrix4dBatch.multiply( new double[ array.length ], 0, shared, array, 0, count );
+    final double[] result1 = new double[ array.length ];
+    final double[] result2 = new double[ array.length ];
+
+    assertSame( Matrix4dBatch.multiplyParallel( result1, 0, array, 0, shared, count ), result1 );
+    assertSame( Matrix4dBatch.multiplyParallel( result2, 0, shared, array, 0, count ), result2 );
+    assertEquals( result1, expected1 );
+    assertEquals( result2, expected2 );
+
+    // Small batches are processed on the calling thread
+    final double[] small = new double[ Matrix4d.COMPONENTS * 3 ];
+    Matrix4dBatch.multiplyParallel( small, 0, array, 16, shared, 3 );
+    assertEquals( small, Matrix4dBatch.multiply( new double[ small.length ], 0, array, 16, shared, 3 ) );
+    Matrix4dBatch.multiplyParallel( small, 0, shared, array, 32, 3 );
+    assertEquals( small, Matrix4dBatch.multiply( new double[ small.length ], 0, shared, array, 32, 3 ) );
+  }
+
+  @Nonnull
+  private Matrix4d[] createMatrices( @Nonnull final Random random, final int count )
+  {
+    final Matrix4d[] matrices = new Matrix4d[ count ];
+    for ( int i = 0; i < count; i++ )
+    {
+      final double[] c = createPackedMatrices( random, 1 );
+      matrices[ i ] = new Matrix4d().set( c[ 0 ], c[ 4 ], c[ 8 ], c[ 12 ],
+                                          c[ 1 ], c[ 5 ], c[ 9 ], c[ 13 ],
+                                          c[ 2 ], c[ 6 ], c[ 10 ], c[ 14 ],
+                                          c[ 3 ], c[ 7 ], c[ 11 ], c[ 15 ] );
+    }
+    return matrices;
+  }
+
+  @Nonnull
+  private Matrix4d multiply( @Nonnull final Matrix4d left, @Nonnull final Matrix4d right )
+  {
+    final Matrix4d result = new Matrix4d();
+    Matrix4d.multiply( result, left, right );
+    return result;
+  }
+
+  @Nonnull
+  private double[] createPackedMatrices( @Nonnull final Random random, final int count )
+  {
+    final double[] array = new double[ count * Matrix4d.COMPONENTS ];
+    for ( int i = 0; i < array.length; i++ )
+    {
+      array[ i ] = random.nextDouble() * 10 - 5;
+    }
+    return array;
+  }
+
+  @Nonnull
+  private double[] toArray( @Nonnull final Matrix4d[] matrices, final int offset )
+  {
+    final double[] array = new double[ offset + matrices.length * Matrix4d.COMPONENTS ];
+    for ( int i = 0; i < matrices.length; i++ )
+    {
+      matrices[ i ].toArray( array, offset + i * Matrix4d.COMPONENTS );
+    }
+    return array;
+  }
+}
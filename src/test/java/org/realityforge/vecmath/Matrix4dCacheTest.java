@@ -0,0 +1,52 @@
+package org.realityforge.vecmath;
+
+import org.testng.annotations.Test;
+import static org.testng.Assert.*;
+
+public final class Matrix4dCacheTest
+  extends AbstractTest
+{
+  @Test
+  public void derivedValues()
+  {
+    final Matrix4d matrix = new Matrix4d().setTranslation( 1, 2, 3 ).rotateX( 0.3 ).scale( 2, 3, 4 );
+    final Matrix4dCache cache = new Matrix4dCache( matrix );
+    assertSame( cache.matrix(), matrix );
+
+    final Matrix4d inverse = cache.inverse();
+    assertMatEquals( inverse, matrix.dup().invert() );
+    assertMatEquals( cache.normal(), matrix.dup().normal() );
+    assertEquals( cache.determinant(), matrix.determinant(), 0.00001 );
+    assertEquals( cache.determinant(), 24.0, 0.00001 );
+
+    // The matrix is unmodified so the derived values are reused
+    assertSame( cache.inverse(), inverse );
+    inverse.m00 = 42;
+    assertEquals( cache.inverse().m00, 42.0 );
+  }
+
+  @Test
+  public void derivedValuesRecomputedWhenMatrixChanges()
+  {
+    final Matrix4d matrix = new Matrix4d().setScale( 2 );
+    final Matrix4dCache cache = new Matrix4dCache( matrix );
+    assertUniformScaleMatrix( cache.inverse(), 0.5 );
+    assertUniformScaleMatrix( cache.normal(), 0.5 );
+    assertEquals( cache.determinant(), 8.0 );
+
+    matrix.scale( 2 );
+    assertUniformScaleMatrix( cache.inverse(), 0.25 );
+    assertUniformScaleMatrix( cache.normal(), 0.25 );
+    assertEquals( cache.determinant(), 64.0 );
+
+    matrix.setTranslation( 1, 2, 3 );
+    assertEquals( cache.determinant(), 1.0 );
+    assertMatEquals( cache.inverse(), new Matrix4d().setTranslation( -1, -2, -3 ) );
+    assertIdentityMatrix( cache.normal() );
+
+    // Direct modifications are observed once determineProperties() is invoked
+    matrix.m30 = 5;
+    matrix.determineProperties();
+    assertMatEquals( cache.inverse(), new Matrix4d().setTranslation( -5, -2, -3 ) );
+  }
+}
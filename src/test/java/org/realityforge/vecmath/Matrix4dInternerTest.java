@@ -0,0 +1,108 @@
+package org.realityforge.vecmath;
+
+import org.testng.annotations.Test;
+import static org.testng.Assert.*;
+
+public final class Matrix4dInternerTest
+  extends AbstractTest
+{
+  @Test
+  public void intern()
+  {
+    final Matrix4dInterner interner = new Matrix4dInterner( 10 );
+    assertEquals( interner.capacity(), 10 );
+    assertEquals( interner.size(), 0 );
+
+    final Matrix4d matrix1 = new Matrix4d().setTranslation( 1, 2, 3 );
+    final Matrix4d matrix2 = new Matrix4d().setTranslation( 1, 2, 3 );
+    final Matrix4d matrix3 = new Matrix4d().setScale( 2 );
+
+    final Matrix4d canonical = interner.intern( matrix1 );
+    assertNotSame( canonical, matrix1 );
+    assertTrue( canonical.isEqualTo( matrix1 ) );
+    assertEquals( canonical.properties(), matrix1.properties() );
+    assertEquals( interner.size(), 1 );
+    assertEquals( interner.hitCount(), 0 );
+    assertEquals( interner.missCount(), 1 );
+
+    assertSame( interner.intern( matrix2 ), canonical );
+    assertSame( interner.intern( canonical ), canonical );
+    assertEquals( interner.hitCount(), 2 );
+    assertEquals( interner.missCount(), 1 );
+
+    // Modifying the interned matrix does not modify the canonical instance
+    matrix1.setIdentity();
+    assertMatEquals( canonical, new Matrix4d().setTranslation( 1, 2, 3 ) );
+
+    assertNotSame( interner.intern( matrix3 ), canonical );
+    assertEquals( interner.size(), 2 );
+    assertEquals( interner.missCount(), 2 );
+
+    assertTrue( interner.contains( matrix2 ) );
+    assertFalse( interner.contains( new Matrix4d().setScale( 3 ) ) );
+    assertEquals( interner.hitCount(), 2 );
+    assertEquals( interner.missCount(), 2 );
+  }
+
+  @Test
+  public void intern_negativeZero()
+  {
+    final Matrix4dInterner interner = new Matrix4dInterner( 10 );
+    final Matrix4d canonical = interner.intern( new Matrix4d().setTranslation( 0, 0, 0 ) );
+    assertSame( interner.intern( new Matrix4d().setTranslation( -0.0, -0.0, -0.0 ) ), canonical );
+  }
+
+  @Test
+  public void eviction()
+  {
+    final Matrix4dInterner interner = new Matrix4dInterner( 2 );
+    final Matrix4d canonical1 = interner.intern( new Matrix4d().setScale( 1 ) );
+    final Matrix4d canonical2 = interner.intern( new Matrix4d().setScale( 2 ) );
+
+    // Use the first matrix so the second becomes the least recently used
+    assertSame( interner.intern( new Matrix4d().setScale( 1 ) ), canonical1 );
+
+    interner.intern( new Matrix4d().setScale( 3 ) );
+    assertEquals( interner.size(), 2 );
+    assertEquals( interner.evictionCount(), 1 );
+    assertTrue( interner.contains( canonical1 ) );
+    assertFalse( interner.contains( canonical2 ) );
+
+    assertNotSame( interner.intern( new Matrix4d().setScale( 2 ) ), canonical2 );
+    assertEquals( interner.evictionCount(), 2 );
+    assertFalse( interner.contains( canonical1 ) );
+  }
+
+  @Test
+  public void clearAndResetStatistics()
+  {
+    final Matrix4dInterner interner = new Matrix4dInterner( 2 );
+    final Matrix4d matrix = new Matrix4d();
+    interner.intern( matrix );
+    interner.intern( matrix );
+    interner.clear();
+    assertEquals( interner.size(), 0 );
+    assertEquals( interner.hitCount(), 1 );
+    assertEquals( interner.missCount(), 1 );
+
+    interner.resetStatistics();
+    assertEquals( interner.hitCount(), 0 );
+    assertEquals( interner.missCount(), 0 );
+    assertEquals( interner.evictionCount(), 0 );
+  }
+
+  @Test
+  public void intern_canonicalModified()
+  {
+    final Matrix4dInterner interner = new Matrix4dInterner( 10 );
+    final Matrix4d matrix = new Matrix4d().setTranslation( 1, 2, 3 );
+    final Matrix4d canonical = interner.intern( matrix );
+    assertSame( interner.intern( matrix ), canonical );
+
+    canonical.translate( 1, 0, 0 );
+
+    final IllegalStateException exception = expectThrows( IllegalStateException.class, () -> interner.intern( matrix ) );
+    assertTrue( exception.getMessage().contains( "was modified after it was interned" ) );
+    expectThrows( IllegalStateException.class, () -> interner.contains( matrix ) );
+  }
+}
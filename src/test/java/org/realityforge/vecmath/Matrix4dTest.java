@@ -1,5 +1,11 @@
 package org.realityforge.vecmath;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+import javax.annotation.Nonnull;
 import org.testng.annotations.Test;
 import static org.testng.Assert.*;
 
@@ -80,6 +86,25 @@ public final class Matrix4dTest
     assertFalse( value1.isEqualTo( value3 ) );
   }
 
+  @Test
+  public void isEqualTo_epsilon()
+  {
+    final Matrix4d value = new Matrix4d().setTranslation( 1, 2, 3 );
+    assertTrue( value.isEqualTo( new Matrix4d().setTranslation( 1, 2, 3 ), 0.0 ) );
+    assertTrue( value.isEqualTo( new Matrix4d().setTranslation( 1.05, 1.95, 3 ), 0.1 ) );
+    assertFalse( value.isEqualTo( new Matrix4d().setTranslation( 1.05, 1.95, 3.2 ), 0.1 ) );
+  }
+
+  @Test
+  public void isEqualToUlps()
+  {
+    final Matrix4d value = new Matrix4d().setTranslation( 1, 2, 3 );
+    final Matrix4d other = new Matrix4d().setTranslation( Math.nextUp( 1.0 ), 2, Math.nextDown( 3.0 ) );
+    assertTrue( value.isEqualToUlps( other, 1 ) );
+    assertFalse( value.isEqualToUlps( other, 0 ) );
+    assertFalse( value.isEqualToUlps( other.setTranslation( 1, 2, Math.nextUp( Math.nextUp( 3.0 ) ) ), 1 ) );
+  }
+
   @Test
   public void testHashCode()
   {
@@ -96,6 +121,28 @@ public final class Matrix4dTest
     assertNotEquals( value3.hashCode(), value1.hashCode() );
   }
 
+  @Test
+  public void testHashCode_matchesArraysHashCode()
+  {
+    VecmathTestUtil.enableObjectEquals();
+    final Matrix4d value = new Matrix4d().setPerspective( 1, 1.5, 0.1, 100 ).translate( 1, -2, 3 );
+    final double[] components = new double[]{ value.m00, value.m01, value.m02, value.m03,
+                                              value.m10, value.m11, value.m12, value.m13,
+                                              value.m20, value.m21, value.m22, value.m23,
+                                              value.m30, value.m31, value.m32, value.m33 };
+    assertEquals( value.hashCode(), Arrays.hashCode( components ) );
+  }
+
+  @Test
+  public void testHashCode_negativeZero()
+  {
+    VecmathTestUtil.enableObjectEquals();
+    final Matrix4d value1 = new Matrix4d().setTranslation( 0, 0, 0 );
+    final Matrix4d value2 = new Matrix4d().setTranslation( -0.0, -0.0, -0.0 );
+    assertEquals( value1, value2 );
+    assertEquals( value1.hashCode(), value2.hashCode() );
+  }
+
   @Test
   public void testHashCode_whenObjectEqualsDisabled()
   {
@@ -207,6 +254,94 @@ public final class Matrix4dTest
                  "[0.0, 0.0, 1.0, 5.0, 9.0, 13.0, 2.0, 6.0, 10.0, 14.0, 3.0, 7.0, 11.0, 15.0, 4.0, 8.0, 12.0, 16.0, 0.0, 0.0]" );
   }
 
+  @Test
+  public void toArray_float()
+  {
+    final Matrix4d value = new Matrix4d( 1.5, 2, 3, 4,
+                                         5, 6, 7, 8,
+                                         9, 10, 11, 12,
+                                         13, 14, 15, 0.1 );
+    final float[] expected = new float[]{ 1.5F, 5, 9, 13, 2, 6, 10, 14, 3, 7, 11, 15, 4, 8, 12, 0.1F };
+
+    assertEquals( value.toArray( new float[ 16 ] ), expected );
+
+    final float[] target = new float[ 18 ];
+    assertSame( value.toArray( target, 2 ), target );
+    assertEquals( Arrays.copyOfRange( target, 2, 18 ), expected );
+  }
+
+  @Test
+  public void get_FloatBuffer()
+  {
+    final Matrix4d value = new Matrix4d( 1.5, 2, 3, 4,
+                                         5, 6, 7, 8,
+                                         9, 10, 11, 12,
+                                         13, 14, 15, 0.1 );
+    final FloatBuffer buffer = FloatBuffer.allocate( 18 );
+    assertSame( value.get( buffer, 2 ), buffer );
+    assertEquals( buffer.position(), 0 );
+    final float[] contents = new float[ 16 ];
+    buffer.position( 2 );
+    buffer.get( contents );
+    assertEquals( contents, value.toArray( new float[ 16 ] ) );
+  }
+
+  @Test
+  public void getFloats_ByteBuffer()
+  {
+    final Matrix4d value = new Matrix4d( 1.5, 2, 3, 4,
+                                         5, 6, 7, 8,
+                                         9, 10, 11, 12,
+                                         13, 14, 15, 0.1 );
+    for ( final ByteOrder order : new ByteOrder[]{ ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN } )
+    {
+      final ByteBuffer buffer = ByteBuffer.allocateDirect( Matrix4d.FLOAT_BYTES + 8 ).order( order );
+      assertSame( value.getFloats( buffer, 8 ), buffer );
+      assertEquals( buffer.position(), 0 );
+      final float[] contents = new float[ 16 ];
+      buffer.position( 8 );
+      buffer.asFloatBuffer().get( contents );
+      assertEquals( contents, value.toArray( new float[ 16 ] ) );
+    }
+  }
+
+  @Test
+  public void buffers()
+  {
+    final Matrix4d value = createGeneralMatrix();
+    final Matrix4d narrowed = new Matrix4d().setFloats( value.getFloats( ByteBuffer.allocate( Matrix4d.FLOAT_BYTES ), 0 ), 0 );
+
+    final DoubleBuffer doubles = DoubleBuffer.allocate( Matrix4d.COMPONENTS + 2 );
+    assertSame( value.get( doubles, 2 ), doubles );
+    assertEquals( doubles.position(), 0 );
+    assertEquals( doubles.get( 2 ), value.m00 );
+    assertEquals( doubles.get( 3 ), value.m01 );
+    assertTrue( new Matrix4d().set( doubles, 2 ).isEqualTo( value ) );
+
+    final FloatBuffer floats = FloatBuffer.allocate( Matrix4d.COMPONENTS + 2 );
+    value.get( floats, 2 );
+    assertTrue( new Matrix4d().set( floats, 2 ).isEqualTo( narrowed ) );
+
+    for ( final ByteOrder order : new ByteOrder[]{ ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN } )
+    {
+      final ByteBuffer bytes = ByteBuffer.allocateDirect( Matrix4d.BYTES + 8 ).order( order );
+      assertSame( value.get( bytes, 8 ), bytes );
+      assertEquals( bytes.position(), 0 );
+      assertEquals( bytes.getDouble( 8 ), value.m00 );
+      assertEquals( bytes.getDouble( 16 ), value.m01 );
+      assertTrue( new Matrix4d().set( bytes, 8 ).isEqualTo( value ) );
+
+      final ByteBuffer floatBytes = ByteBuffer.allocateDirect( Matrix4d.FLOAT_BYTES + 4 ).order( order );
+      value.getFloats( floatBytes, 4 );
+      assertTrue( new Matrix4d().setFloats( floatBytes, 4 ).isEqualTo( narrowed ) );
+    }
+
+    // Properties are determined from the components read from the buffer
+    final Matrix4d translation = new Matrix4d().setTranslation( 1, 2, 3 );
+    final Matrix4d result = createGeneralMatrix().set( translation.get( DoubleBuffer.allocate( 16 ), 0 ), 0 );
+    assertEquals( result.properties(), Matrix4d.PROPERTY_TRANSLATION | Matrix4d.PROPERTY_AFFINE );
+  }
+
   @Test
   public void setTranslation()
   {
@@ -457,6 +592,69 @@ public final class Matrix4dTest
                      0, 0, 0, 1 );
   }
 
+  @Test
+  public void setRotation()
+  {
+    final Quaterniond rotation = new Quaterniond().setAxisAngle( new Vector3d( 1, 2, 3 ).normalize(), 0.7 );
+    final Matrix4d value = new Matrix4d().setTranslation( 1, 2, 3 );
+    assertSame( value.setRotation( rotation ), value );
+    assertEquals( value.properties(), Matrix4d.PROPERTY_AFFINE );
+    assertMatEquals( value,
+                     fromJoml( new org.joml.Matrix4d().rotation( new org.joml.Quaterniond( rotation.x,
+                                                                                            rotation.y,
+                                                                                            rotation.z,
+                                                                                            rotation.w ) ) ) );
+
+    final Vector3d expected = rotation.transform( new Vector3d( 4, -5, 6 ) );
+    assertVecEquals( new Vector3d( 4, -5, 6 ).mul( value ), expected.x, expected.y, expected.z );
+
+    assertIdentityMatrix( new Matrix4d().setRotation( new Quaterniond() ) );
+    assertMatEquals( new Matrix4d().setRotation( new Quaterniond().setAxisAngle( 1, 0, 0, 0.4 ) ),
+                     new Matrix4d().rotateX( 0.4 ) );
+  }
+
+  @Test
+  public void rotate()
+  {
+    final Quaterniond rotation = new Quaterniond().setAxisAngle( new Vector3d( 1, 2, 3 ).normalize(), 0.7 );
+    final Matrix4d value = createGeneralMatrix();
+    final Matrix4d expected = new Matrix4d();
+    Matrix4d.multiply( expected, new Matrix4d().setRotation( rotation ), value );
+
+    assertSame( value.rotate( rotation ), value );
+    assertMatEquals( value, expected );
+
+    final Matrix4d affine = new Matrix4d().setTranslation( 1, 2, 3 );
+    affine.rotate( new Quaterniond().setAxisAngle( 0, 1, 0, 0.4 ) );
+    assertEquals( affine.properties(), Matrix4d.PROPERTY_AFFINE );
+    assertMatEquals( affine, new Matrix4d().setTranslation( 1, 2, 3 ).rotateY( 0.4 ) );
+  }
+
+  @Test
+  public void setTranslationRotationScale()
+  {
+    final Quaterniond rotation = new Quaterniond().setAxisAngle( new Vector3d( 1, 2, 3 ).normalize(), 0.7 );
+    final Matrix4d matrix = new Matrix4d();
+    assertSame( matrix.setTranslationRotationScale( new Vector3d( 1, 2, 3 ), rotation, new Vector3d( 2, 3, 4 ) ),
+                matrix );
+    assertMatEquals( matrix, trs( 1, 2, 3, rotation, 2, 3, 4 ) );
+    assertEquals( matrix.properties(), Matrix4d.PROPERTY_AFFINE );
+
+    // The point is scaled, then rotated and then translated
+    final Vector3d expected = rotation.transform( new Vector3d( 2, 6, 12 ) ).add( 1, 2, 3 );
+    final Vector3d actual = new Vector3d( 1, 2, 3 ).mulPosition( matrix );
+    assertVecEquals( actual, expected.x, expected.y, expected.z );
+
+    matrix.setTranslationRotationScale( 1, 2, 3, 0, 0, 0, 1, 1, 1, 1 );
+    assertMatEquals( matrix, new Matrix4d().setTranslation( 1, 2, 3 ) );
+    assertEquals( matrix.properties(), Matrix4d.PROPERTY_TRANSLATION | Matrix4d.PROPERTY_AFFINE );
+
+    matrix.setTranslationRotationScale( 0, 0, 0, 0, 0, 0, 1, 1, 1, 1 );
+    assertIdentityMatrix( matrix );
+    assertEquals( matrix.properties(),
+                  Matrix4d.PROPERTY_IDENTITY | Matrix4d.PROPERTY_TRANSLATION | Matrix4d.PROPERTY_AFFINE );
+  }
+
   @Test
   public void setPerspective()
   {
@@ -596,6 +794,405 @@ public final class Matrix4dTest
     assertTrue( result == matrix3 );
   }
 
+  @Test
+  public void transformPositions()
+  {
+    final Matrix4d matrix = new Matrix4d().setTranslation( 1, 2, 3 ).rotateZ( Math.PI / 2 ).scale( 2 );
+
+    // Interleaved source with a stride of 4 and packed target
+    final double[] source = new double[]{ 9, 1, 2, 3, 9, 4, 5, 6, 9 };
+    final double[] target = new double[ 7 ];
+    assertSame( matrix.transformPositions( source, 1, 4, target, 1, 3, 2 ), target );
+    assertEquals( target[ 0 ], 0.0 );
+    assertPosition( target, 1, new Vector3d( 1, 2, 3 ).mulPosition( matrix ) );
+    assertPosition( target, 4, new Vector3d( 4, 5, 6 ).mulPosition( matrix ) );
+    // Source is unchanged
+    assertArray( source, "[9.0, 1.0, 2.0, 3.0, 9.0, 4.0, 5.0, 6.0, 9.0]" );
+
+    // In place
+    assertSame( matrix.transformPositions( source, 1, 4, 2 ), source );
+    assertPosition( source, 1, new Vector3d( 1, 2, 3 ).mulPosition( matrix ) );
+    assertPosition( source, 5, new Vector3d( 4, 5, 6 ).mulPosition( matrix ) );
+    assertEquals( source[ 4 ], 9.0 );
+
+    final float[] floatSource = new float[]{ 1, 2, 3, 4, 5, 6 };
+    final float[] floatTarget = new float[ 6 ];
+    assertSame( matrix.transformPositions( floatSource, 0, 3, floatTarget, 0, 3, 2 ), floatTarget );
+    assertPosition( floatTarget, 0, new Vector3d( 1, 2, 3 ).mulPosition( matrix ) );
+    assertPosition( floatTarget, 3, new Vector3d( 4, 5, 6 ).mulPosition( matrix ) );
+
+    assertSame( matrix.transformPositions( floatSource, 0, 3, 2 ), floatSource );
+    assertPosition( floatSource, 0, new Vector3d( 1, 2, 3 ).mulPosition( matrix ) );
+    assertPosition( floatSource, 3, new Vector3d( 4, 5, 6 ).mulPosition( matrix ) );
+  }
+
+  @Test
+  public void transformDirections()
+  {
+    final Matrix4d matrix = new Matrix4d().setTranslation( 1, 2, 3 ).rotateZ( Math.PI / 2 ).scale( 2 );
+
+    final double[] source = new double[]{ 1, 2, 3, 4, 5, 6 };
+    final double[] target = new double[ 6 ];
+    assertSame( matrix.transformDirections( source, 0, 3, target, 0, 3, 2 ), target );
+    assertPosition( target, 0, new Vector3d( 1, 2, 3 ).mulDirection( matrix ) );
+    assertPosition( target, 3, new Vector3d( 4, 5, 6 ).mulDirection( matrix ) );
+
+    assertSame( matrix.transformDirections( source, 0, 3, 2 ), source );
+    assertPosition( source, 0, new Vector3d( 1, 2, 3 ).mulDirection( matrix ) );
+    assertPosition( source, 3, new Vector3d( 4, 5, 6 ).mulDirection( matrix ) );
+
+    final float[] floatSource = new float[]{ 1, 2, 3, 4, 5, 6 };
+    final float[] floatTarget = new float[ 6 ];
+    assertSame( matrix.transformDirections( floatSource, 0, 3, floatTarget, 0, 3, 2 ), floatTarget );
+    assertPosition( floatTarget, 0, new Vector3d( 1, 2, 3 ).mulDirection( matrix ) );
+    assertPosition( floatTarget, 3, new Vector3d( 4, 5, 6 ).mulDirection( matrix ) );
+
+    assertSame( matrix.transformDirections( floatSource, 0, 3, 2 ), floatSource );
+    assertPosition( floatSource, 0, new Vector3d( 1, 2, 3 ).mulDirection( matrix ) );
+    assertPosition( floatSource, 3, new Vector3d( 4, 5, 6 ).mulDirection( matrix ) );
+  }
+
+  @Test
+  public void transformProjective()
+  {
+    final Matrix4d matrix = new Matrix4d().setPerspective( Math.PI / 2, 1.4, 1, 10 ).translate( 1, 2, -5 );
+
+    final double[] source = new double[]{ 1, 2, 3, 4, 5, 6 };
+    final double[] target = new double[ 6 ];
+    assertSame( matrix.transformProjective( source, 0, 3, target, 0, 3, 2 ), target );
+    assertPosition( target, 0, new Vector3d( 1, 2, 3 ).mul( matrix ) );
+    assertPosition( target, 3, new Vector3d( 4, 5, 6 ).mul( matrix ) );
+
+    assertSame( matrix.transformProjective( source, 0, 3, 2 ), source );
+    assertPosition( source, 0, new Vector3d( 1, 2, 3 ).mul( matrix ) );
+    assertPosition( source, 3, new Vector3d( 4, 5, 6 ).mul( matrix ) );
+
+    final float[] floatSource = new float[]{ 1, 2, 3, 4, 5, 6 };
+    final float[] floatTarget = new float[ 6 ];
+    assertSame( matrix.transformProjective( floatSource, 0, 3, floatTarget, 0, 3, 2 ), floatTarget );
+    assertPosition( floatTarget, 0, new Vector3d( 1, 2, 3 ).mul( matrix ) );
+    assertPosition( floatTarget, 3, new Vector3d( 4, 5, 6 ).mul( matrix ) );
+
+    assertSame( matrix.transformProjective( floatSource, 0, 3, 2 ), floatSource );
+    assertPosition( floatSource, 0, new Vector3d( 1, 2, 3 ).mul( matrix ) );
+    assertPosition( floatSource, 3, new Vector3d( 4, 5, 6 ).mul( matrix ) );
+  }
+
+  @Test
+  public void transformToClip()
+  {
+    final Matrix4d matrix = new Matrix4d().setPerspective( Math.PI / 2, 1.4, 1, 10 ).translate( 1, 2, -5 );
+
+    final double[] source = new double[]{ 1, 2, 3, 4, 5, 6 };
+    final double[] target = new double[ 1 + 2 * 5 ];
+    assertSame( matrix.transformToClip( source, 0, 3, target, 1, 5, 2 ), target );
+    final Vector4d expected1 = new Vector4d( 1, 2, 3, 1 ).mul( matrix );
+    final Vector4d expected2 = new Vector4d( 4, 5, 6, 1 ).mul( matrix );
+    assertVecEquals( new Vector4d( target[ 1 ], target[ 2 ], target[ 3 ], target[ 4 ] ),
+                     expected1.x,
+                     expected1.y,
+                     expected1.z,
+                     expected1.w );
+    assertEquals( target[ 5 ], 0.0 );
+    assertVecEquals( new Vector4d( target[ 6 ], target[ 7 ], target[ 8 ], target[ 9 ] ),
+                     expected2.x,
+                     expected2.y,
+                     expected2.z,
+                     expected2.w );
+  }
+
+  private void assertPosition( @Nonnull final double[] data, final int offset, @Nonnull final Vector3d expected )
+  {
+    assertVecEquals( new Vector3d( data[ offset ], data[ offset + 1 ], data[ offset + 2 ] ),
+                     expected.x,
+                     expected.y,
+                     expected.z );
+  }
+
+  private void assertPosition( @Nonnull final float[] data, final int offset, @Nonnull final Vector3d expected )
+  {
+    assertVecEquals( new Vector3f( data[ offset ], data[ offset + 1 ], data[ offset + 2 ] ),
+                     (float) expected.x,
+                     (float) expected.y,
+                     (float) expected.z );
+  }
+
+  @Test
+  public void transpose()
+  {
+    final Matrix4d value =
+      new Matrix4d( 1, 2, 3, 4,
+                    5, 6, 7, 8,
+                    9, 10, 11, 12,
+                    13, 14, 15, 16 );
+    assertSame( value.transpose(), value );
+    assertMatEquals( value,
+                     1, 5, 9, 13,
+                     2, 6, 10, 14,
+                     3, 7, 11, 15,
+                     4, 8, 12, 16 );
+  }
+
+  @Test
+  public void determinant()
+  {
+    assertEquals( new Matrix4d().determinant(), 1.0 );
+    assertEquals( new Matrix4d().setScale( 2, 3, 4 ).determinant(), 24.0, 0.00001 );
+    assertEquals( new Matrix4d( 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16 ).determinant(), 0.0, 0.00001 );
+
+    final Matrix4d value = createGeneralMatrix();
+    assertEquals( value.determinant(), toJoml( value ).determinant(), 0.00001 );
+  }
+
+  @Test
+  public void invert()
+  {
+    final Matrix4d value = createGeneralMatrix();
+    final Matrix4d expected = fromJoml( toJoml( value ).invert() );
+
+    final Matrix4d original = value.dup();
+    assertSame( value.invert(), value );
+    assertMatEquals( value, expected );
+    assertIdentityMatrix( value.dup().multiply( original ) );
+
+    assertIdentityMatrix( new Matrix4d().invert() );
+  }
+
+  @Test
+  public void invertAffine()
+  {
+    final Matrix4d value = new Matrix4d().setTranslation( 1, 2, 3 ).rotateX( 0.3 ).rotateY( 1.2 ).scale( 2, 3, 4 );
+    final Matrix4d expected = value.dup().invert();
+
+    final Matrix4d original = value.dup();
+    assertSame( value.invertAffine(), value );
+    assertMatEquals( value, expected );
+    assertIdentityMatrix( value.dup().multiply( original ) );
+  }
+
+  @Test
+  public void invertRigid()
+  {
+    final Matrix4d value = new Matrix4d().setTranslation( 1, 2, 3 ).rotateX( 0.3 ).rotateY( 1.2 ).rotateZ( -0.7 );
+    final Matrix4d expected = value.dup().invert();
+
+    final Matrix4d original = value.dup();
+    assertSame( value.invertRigid(), value );
+    assertMatEquals( value, expected );
+    assertIdentityMatrix( value.dup().multiply( original ) );
+  }
+
+  @Test
+  public void normal()
+  {
+    final Matrix4d value = new Matrix4d().setTranslation( 1, 2, 3 ).rotateX( 0.3 ).rotateY( 1.2 ).scale( 2, 3, 4 );
+    final Matrix4d expected = fromJoml( toJoml( value ).normal() );
+
+    final Matrix4d original = value.dup();
+    assertSame( value.normal(), value );
+    assertMatEquals( value, expected );
+    assertEquals( value.properties(), Matrix4d.PROPERTY_AFFINE );
+
+    // A normal transformed by the normal matrix stays perpendicular to a tangent transformed by the matrix
+    final Vector3d tangent = new Vector3d( 1, -1, 0 ).mulDirection( original );
+    final Vector3d normal = new Vector3d( 1, 1, 1 ).mulDirection( value );
+    assertEquals( tangent.dot( normal ), 0, 0.00001 );
+
+    assertIdentityMatrix( new Matrix4d().setTranslation( 1, 2, 3 ).normal() );
+    assertMatEquals( createGeneralMatrix().normal(), fromJoml( toJoml( createGeneralMatrix() ).normal() ) );
+  }
+
+  @Test
+  public void version()
+  {
+    final Matrix4d matrix = new Matrix4d();
+    assertEquals( matrix.version(), 0 );
+    final Matrix4d other = new Matrix4d().setTranslation( 1, 2, 3 ).rotateX( 0.2 );
+
+    assertVersionChanged( matrix, () -> matrix.set( other ) );
+    assertVersionChanged( matrix, () -> matrix.set( 1, 0, 0, 2, 0, 1, 0, 0, 0, 0, 1, 0, 0, 0, 0, 1 ) );
+    assertVersionChanged( matrix, matrix::setIdentity );
+    assertVersionChanged( matrix, () -> matrix.setTranslation( 1, 2, 3 ) );
+    assertVersionChanged( matrix, () -> matrix.translate( 1, 2, 3 ) );
+    assertVersionChanged( matrix, () -> matrix.setScale( 2 ) );
+    assertVersionChanged( matrix, () -> matrix.scale( 2 ) );
+    assertVersionChanged( matrix, () -> matrix.rotateX( 0.1 ) );
+    assertVersionChanged( matrix, () -> matrix.rotateY( 0.1 ) );
+    assertVersionChanged( matrix, () -> matrix.rotateZ( 0.1 ) );
+    assertVersionChanged( matrix, () -> matrix.setRotation( new Quaterniond( 0, 0, 0, 1 ) ) );
+    assertVersionChanged( matrix, () -> matrix.rotate( new Quaterniond( 0, 0, 0, 1 ) ) );
+    assertVersionChanged( matrix, () -> matrix.multiply( other ) );
+    assertVersionChanged( matrix, matrix::transpose );
+    assertVersionChanged( matrix, matrix::invert );
+    assertVersionChanged( matrix, matrix::invertAffine );
+    assertVersionChanged( matrix, matrix::invertRigid );
+    assertVersionChanged( matrix, matrix::normal );
+    assertVersionChanged( matrix, () -> matrix.setTranslation( 1, 2, 3 ).invert() );
+    assertVersionChanged( matrix, () -> matrix.setPerspective( 1, 1, 1, 10 ) );
+    assertVersionChanged( matrix, () -> matrix.setOrthographic( -1, 1, -1, 1, 1, 10 ) );
+    assertVersionChanged( matrix, () -> matrix.lookAt( 1, 2, 3, 0, 0, 0, 0, 1, 0 ) );
+    assertVersionChanged( matrix, () -> Matrix4d.multiply( matrix, other, other ) );
+    assertVersionChanged( matrix, () -> matrix.set( DoubleBuffer.wrap( other.toArray() ), 0 ) );
+    assertVersionChanged( matrix, matrix::determineProperties );
+
+    // Methods that do not modify the matrix do not change the version
+    final int version = matrix.version();
+    matrix.determinant();
+    matrix.toArray();
+    matrix.transformPositions( new double[ 3 ], 0, 3, 1 );
+    Matrix4d.multiply( new Matrix4d(), matrix, other );
+    assertEquals( matrix.version(), version );
+  }
+
+  private void assertVersionChanged( @Nonnull final Matrix4d matrix, @Nonnull final Runnable action )
+  {
+    final int version = matrix.version();
+    action.run();
+    assertNotEquals( matrix.version(), version );
+  }
+
+  @Nonnull
+  private Matrix4d createGeneralMatrix()
+  {
+    return createPerspectiveViewMatrix().scale( 2, 1, 3 );
+  }
+
+  @Nonnull
+  private org.joml.Matrix4d toJoml( @Nonnull final Matrix4d matrix )
+  {
+    return new org.joml.Matrix4d().set( matrix.toArray() );
+  }
+
+  @Nonnull
+  private Matrix4d fromJoml( @Nonnull final org.joml.Matrix4d matrix )
+  {
+    return new Matrix4d( matrix.m00(), matrix.m10(), matrix.m20(), matrix.m30(),
+                         matrix.m01(), matrix.m11(), matrix.m21(), matrix.m31(),
+                         matrix.m02(), matrix.m12(), matrix.m22(), matrix.m32(),
+                         matrix.m03(), matrix.m13(), matrix.m23(), matrix.m33() );
+  }
+
+  @Test
+  public void properties()
+  {
+    final int identity = Matrix4d.PROPERTY_IDENTITY | Matrix4d.PROPERTY_TRANSLATION | Matrix4d.PROPERTY_AFFINE;
+    final int translation = Matrix4d.PROPERTY_TRANSLATION | Matrix4d.PROPERTY_AFFINE;
+
+    assertEquals( new Matrix4d().properties(), identity );
+    assertEquals( new Matrix4d().setIdentity().properties(), identity );
+    assertEquals( new Matrix4d( 1, 0, 0, 0, 0, 1, 0, 0, 0, 0, 1, 0, 0, 0, 0, 1 ).properties(), identity );
+    assertEquals( new Matrix4d().setTranslation( 1, 2, 3 ).properties(), translation );
+    assertEquals( new Matrix4d().translate( 1, 2, 3 ).properties(), translation );
+    assertEquals( new Matrix4d().setTranslation( 1, 2, 3 ).translate( 4, 5, 6 ).properties(), translation );
+    assertEquals( new Matrix4d().setScale( 2 ).properties(), Matrix4d.PROPERTY_AFFINE );
+    assertEquals( new Matrix4d().setTranslation( 1, 2, 3 ).scale( 2 ).properties(), Matrix4d.PROPERTY_AFFINE );
+    assertEquals( new Matrix4d().rotateX( 1 ).properties(), Matrix4d.PROPERTY_AFFINE );
+    assertEquals( new Matrix4d().rotateY( 1 ).properties(), Matrix4d.PROPERTY_AFFINE );
+    assertEquals( new Matrix4d().rotateZ( 1 ).properties(), Matrix4d.PROPERTY_AFFINE );
+    assertEquals( new Matrix4d().lookAt( 1, 2, 3, 7, -2, 5, 0, 1, 0 ).properties(), Matrix4d.PROPERTY_AFFINE );
+    assertEquals( new Matrix4d().setPerspective( Math.PI / 3, 1.4, 1, 10 ).properties(),
+                  Matrix4d.PROPERTY_PERSPECTIVE );
+    assertEquals( new Matrix4d().setPerspective( Math.PI / 3, 1.4, 1, 10 ).scale( 2 ).properties(),
+                  Matrix4d.PROPERTY_PERSPECTIVE );
+    assertEquals( createGeneralMatrix().properties(), 0 );
+    assertEquals( createGeneralMatrix().transpose().properties(), 0 );
+
+    final Matrix4d value = new Matrix4d().setTranslation( 1, 2, 3 );
+    assertEquals( value.dup().properties(), translation );
+    assertEquals( new Matrix4d( value ).properties(), translation );
+    assertEquals( new Matrix4d().set( value ).properties(), translation );
+    assertEquals( value.dup().invert().properties(), translation );
+    assertEquals( new Matrix4d().rotateX( 1 ).invert().properties(), Matrix4d.PROPERTY_AFFINE );
+    assertEquals( createGeneralMatrix().invert().properties(), 0 );
+  }
+
+  @Test
+  public void properties_componentsModifiedDirectly()
+  {
+    // The properties are not redetermined so the tracked flags are stale
+    final Matrix4d value = new Matrix4d();
+    value.m30 = 5;
+    assertEquals( value.properties(), Matrix4d.PROPERTY_TRANSLATION | Matrix4d.PROPERTY_AFFINE );
+
+    final Matrix4d result = new Matrix4d();
+    Matrix4d.multiply( result, value, new Matrix4d().setTranslation( 1, 2, 3 ) );
+    assertMatEquals( result, new Matrix4d().setTranslation( 6, 2, 3 ) );
+    Matrix4d.multiply( result, new Matrix4d().setTranslation( 1, 2, 3 ), value );
+    assertMatEquals( result, new Matrix4d().setTranslation( 6, 2, 3 ) );
+
+    assertEquals( value.dup().invert().m30, -5.0 );
+    assertEquals( value.determinant(), 1.0 );
+
+    final Matrix4d affine = new Matrix4d().setScale( 2 );
+    affine.m03 = 1;
+    assertEquals( affine.properties(), 0 );
+    assertEquals( affine.determinant(), new Matrix4d( affine ).determineProperties().determinant() );
+    assertMatEquals( affine.dup().invert(), new Matrix4d( affine ).determineProperties().invert() );
+  }
+
+  @Test
+  public void determineProperties()
+  {
+    final Matrix4d value = new Matrix4d();
+    value.m30 = 2;
+    assertSame( value.determineProperties(), value );
+    assertEquals( value.properties(), Matrix4d.PROPERTY_TRANSLATION | Matrix4d.PROPERTY_AFFINE );
+
+    value.m00 = 3;
+    value.determineProperties();
+    assertEquals( value.properties(), Matrix4d.PROPERTY_AFFINE );
+
+    value.m03 = 1;
+    value.determineProperties();
+    assertEquals( value.properties(), 0 );
+
+    value.set( 1, 0, 0, 0,
+               0, 1, 0, 0,
+               0, 0, 1, 0,
+               0, 0, 0, 1 );
+    assertEquals( value.properties(),
+                  Matrix4d.PROPERTY_IDENTITY | Matrix4d.PROPERTY_TRANSLATION | Matrix4d.PROPERTY_AFFINE );
+  }
+
+  @Test
+  public void multiply_usingProperties()
+  {
+    final Matrix4d[] matrices = new Matrix4d[]{
+      new Matrix4d(),
+      new Matrix4d().setTranslation( 1, -2, 3 ),
+      new Matrix4d().setTranslation( 1, -2, 3 ).rotateY( 0.5 ).scale( 2, 3, 4 ),
+      new Matrix4d().lookAt( 1, 2, 3, 7, -2, 5, 0, 1, 0 ),
+      new Matrix4d().setPerspective( Math.PI / 3, 1.4, 1, 10 ),
+      createGeneralMatrix()
+    };
+    for ( final Matrix4d left : matrices )
+    {
+      for ( final Matrix4d right : matrices )
+      {
+        final Matrix4d result = new Matrix4d();
+        Matrix4d.multiply( result, left, right );
+
+        assertMatEquals( result, fromJoml( toJoml( right ).mul( toJoml( left ) ) ) );
+        // Every property claimed by the result must actually hold
+        assertEquals( result.properties() & ~result.dup().determineProperties().properties(), 0 );
+      }
+    }
+  }
+
+  @Test
+  public void invert_usingProperties()
+  {
+    final Matrix4d translation = new Matrix4d().setTranslation( 1, -2, 3 );
+    assertSame( translation.invert(), translation );
+    assertMatEquals( translation, new Matrix4d().setTranslation( -1, 2, -3 ) );
+
+    final Matrix4d affine = new Matrix4d().setTranslation( 1, -2, 3 ).rotateY( 0.5 ).scale( 2, 3, 4 );
+    assertEquals( affine.determinant(), toJoml( affine ).determinant(), 0.00001 );
+    final Matrix4d expected = fromJoml( toJoml( affine ).invert() );
+    assertSame( affine.invert(), affine );
+    assertMatEquals( affine, expected );
+  }
+
   @Test
   public void setOrthographic()
   {
@@ -608,15 +1205,15 @@ public final class Matrix4dTest
       assertMatEquals( value, result );
 
       assertEquals( value.asString(),
-                    "0.0125 0.0 0.0 0.0\n" +
-                    "0.0 0.0125 0.0 0.0\n" +
-                    "0.0 0.0 -0.004 0.0\n" +
-                    "0.0 0.0 -0.2 1.0\n" );
+                    "0.0125 0.0 0.0 -0.0\n" +
+                    "0.0 0.0125 0.0 -0.0\n" +
+                    "0.0 0.0 -0.004 -0.2\n" +
+                    "0.0 0.0 0.0 1.0\n" );
       assertMatEquals( value,
                        0.0125, 0, 0, 0,
                        0, 0.0125, 0, 0,
-                       0, 0, -0.004, 0,
-                       0, 0, -0.2, 1 );
+                       0, 0, -0.004, -0.2,
+                       0, 0, 0, 1 );
     }
 
     {
@@ -628,15 +1225,26 @@ public final class Matrix4dTest
       assertMatEquals( value, result );
 
       assertEquals( value.asString(),
-                    "0.0125 0.0 0.0 0.0\n" +
-                    "0.0 0.0125 0.0 0.0\n" +
-                    "0.0 0.0 -0.002 0.0\n" +
-                    "0.0 0.0 0.4 1.0\n" );
+                    "0.0125 0.0 0.0 -0.0\n" +
+                    "0.0 0.0125 0.0 -0.0\n" +
+                    "0.0 0.0 -0.002 0.4\n" +
+                    "0.0 0.0 0.0 1.0\n" );
       assertMatEquals( value,
                        0.0125, 0, 0, 0,
                        0, 0.0125, 0, 0,
-                       0, 0, -0.002, 0,
-                       0, 0, 0.4, 1 );
+                       0, 0, -0.002, 0.4,
+                       0, 0, 0, 1 );
+    }
+
+    {
+      final Matrix4d value = new Matrix4d().setOrthographic( -20, 60, 50, -10, 1, 100 );
+      assertMatEquals( value, new org.joml.Matrix4d().ortho( -20, 60, -10, 50, 1, 100, false ) );
+
+      // The translation is stored in the last column so positions are transformed as with any other matrix
+      final Vector3d position = new Vector3d( 60, -10, -100 ).mul( value );
+      assertEquals( position.x, 1, 0.00001 );
+      assertEquals( position.y, -1, 0.00001 );
+      assertEquals( position.z, 1, 0.00001 );
     }
   }
 }
@@ -0,0 +1,110 @@
+package org.realityforge.vecmath;
+
+import javax.annotation.Nonnull;
+import org.testng.annotations.Test;
+import static org.testng.Assert.*;
+
+public final class Matrix4fArrayTest
+  extends AbstractTest
+{
+  @Test
+  public void construct()
+  {
+    final Matrix4fArray array = new Matrix4fArray( 3 );
+    assertEquals( array.size(), 3 );
+    assertEquals( array.components.length, 3 * Matrix4f.COMPONENTS );
+    assertTrue( array.get( 0, new Matrix4f() ).isEqualTo( new Matrix4f() ) );
+    assertTrue( array.get( 2, new Matrix4f() ).isEqualTo( new Matrix4f() ) );
+  }
+
+  @Test
+  public void getAndSet()
+  {
+    final Matrix4fArray array = new Matrix4fArray( 3 );
+    final Matrix4f value = new Matrix4f( createPerspectiveViewMatrix() );
+
+    assertSame( array.set( 1, value ), array );
+    assertEquals( array.components[ Matrix4f.COMPONENTS ], value.m00 );
+    assertEquals( array.components[ Matrix4f.COMPONENTS + 1 ], value.m01 );
+
+    final Matrix4f target = new Matrix4f();
+    assertSame( array.get( 1, target ), target );
+    assertTrue( target.isEqualTo( value ) );
+
+    assertSame( array.set( 2, createPerspectiveViewMatrix() ), array );
+    assertTrue( array.get( 2, target ).isEqualTo( value ) );
+
+    assertSame( array.setIdentity( 1 ), array );
+    assertTrue( array.get( 1, target ).isEqualTo( new Matrix4f() ) );
+  }
+
+  @Test
+  public void transformations()
+  {
+    final Matrix4fArray array = new Matrix4fArray( 2 ).set( 1, createPerspectiveViewMatrix() );
+    final Matrix4d expected = createPerspectiveViewMatrix();
+
+    assertSame( array.translate( 1, 1, -2, 3 ), array );
+    expected.translate( 1, -2, 3 );
+    assertMatEquals( array, 1, expected );
+
+    assertSame( array.rotateX( 1, 0.3 ), array );
+    expected.rotateX( 0.3 );
+    assertMatEquals( array, 1, expected );
+
+    assertSame( array.rotateY( 1, -1.1 ), array );
+    expected.rotateY( -1.1 );
+    assertMatEquals( array, 1, expected );
+
+    assertSame( array.rotateZ( 1, 2.5 ), array );
+    expected.rotateZ( 2.5 );
+    assertMatEquals( array, 1, expected );
+
+    assertSame( array.scale( 1, 2, 3, 4 ), array );
+    expected.scale( 2, 3, 4 );
+    assertMatEquals( array, 1, expected );
+
+    assertSame( array.scale( 1, 0.5f ), array );
+    expected.scale( 0.5 );
+    assertMatEquals( array, 1, expected );
+
+    // Make sure the other matrices are unchanged
+    assertMatEquals( array, 0, new Matrix4d() );
+  }
+
+  @Test
+  public void multiply()
+  {
+    final Matrix4d value = createPerspectiveViewMatrix();
+    final Matrix4d right = new Matrix4d().rotateY( 0.7 ).translate( 4, 5, 6 );
+    final Matrix4fArray array = new Matrix4fArray( 3 ).set( 0, value ).set( 2, right );
+
+    assertSame( array.multiply( 0, new Matrix4f( right ) ), array );
+    assertMatEquals( array, 0, value.dup().multiply( right ) );
+
+    array.set( 0, value );
+    assertSame( array.multiply( 0, array, 2 ), array );
+    assertMatEquals( array, 0, value.dup().multiply( right ) );
+
+    // The matrix may be multiplied by itself
+    array.set( 0, value );
+    array.multiply( 0, array, 0 );
+    assertMatEquals( array, 0, value.dup().multiply( value ) );
+
+    array.set( 0, value );
+    assertSame( array.multiply( new Matrix4f( right ) ), array );
+    assertMatEquals( array, 0, value.dup().multiply( right ) );
+    assertMatEquals( array, 1, right );
+    assertMatEquals( array, 2, right.dup().multiply( right ) );
+  }
+
+  private void assertMatEquals( @Nonnull final Matrix4fArray array, final int index, @Nonnull final Matrix4d expected )
+  {
+    final float[] actual = array.components;
+    final double[] expectedComponents = expected.toArray();
+    for ( int i = 0; i < Matrix4f.COMPONENTS; i++ )
+    {
+      assertEquals( actual[ index * Matrix4f.COMPONENTS + i ], expectedComponents[ i ], 0.0001 );
+    }
+  }
+}
@@ -0,0 +1,154 @@
+package org.realityforge.vecmath;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+import org.testng.annotations.Test;
+import static org.testng.Assert.*;
+
+public final class Matrix4fTest
+  extends AbstractTest
+{
+  @Test
+  public void testToString()
+  {
+    assertEquals( new Matrix4f().toString(),
+                  "1.0 0.0 0.0 0.0\n" +
+                  "0.0 1.0 0.0 0.0\n" +
+                  "0.0 0.0 1.0 0.0\n" +
+                  "0.0 0.0 0.0 1.0\n" );
+    assertDefaultToStringWhenDebugToStringDisabled( new Matrix4f() );
+  }
+
+  @Test
+  public void isEqualTo()
+  {
+    final Matrix4f value1 = new Matrix4f( 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16 );
+    final Matrix4f value2 = new Matrix4f( 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16 );
+    final Matrix4f value3 = new Matrix4f();
+    assertTrue( value1.isEqualTo( value1 ) );
+    assertTrue( value1.isEqualTo( value2 ) );
+    assertFalse( value1.isEqualTo( value3 ) );
+  }
+
+  @Test
+  public void testHashCode()
+  {
+    VecmathTestUtil.enableObjectEquals();
+    final Matrix4f value1 = new Matrix4f( 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16 );
+    final Matrix4f value2 = new Matrix4f( 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16 );
+    final Matrix4f value3 = new Matrix4f( 2, 3, 5, 7, 11, 13, 17, 19, 23, 29, 31, 37, 41, 43, 47, 53 );
+    assertEquals( value1, value2 );
+    assertEquals( value1.hashCode(), value2.hashCode() );
+    assertNotEquals( value1, value3 );
+    assertNotEquals( value1.hashCode(), value3.hashCode() );
+  }
+
+  @Test
+  public void constructors()
+  {
+    assertEquals( new Matrix4f().toArray(), new Matrix4d().setIdentity().toArray( new float[ 16 ] ) );
+
+    final Matrix4f value = new Matrix4f( 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16 );
+    assertEquals( value.m00, 1F );
+    assertEquals( value.m10, 2F );
+    assertEquals( value.m30, 4F );
+    assertEquals( value.m01, 5F );
+    assertEquals( value.m33, 16F );
+    assertTrue( new Matrix4f( value ).isEqualTo( value ) );
+    assertNotSame( value.dup(), value );
+    assertTrue( value.dup().isEqualTo( value ) );
+
+    final Matrix4d source = new Matrix4d().setTranslation( 1, 2, 3 ).rotateY( 0.3 ).scale( 2 );
+    assertEquals( new Matrix4f( source ).toArray(), source.toArray( new float[ 16 ] ) );
+  }
+
+  @Test
+  public void set()
+  {
+    final Matrix4f value = new Matrix4f();
+    assertSame( value.set( 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16 ), value );
+    assertEquals( value.toArray(),
+                  new float[]{ 1, 5, 9, 13, 2, 6, 10, 14, 3, 7, 11, 15, 4, 8, 12, 16 } );
+
+    assertSame( value.setIdentity(), value );
+    assertTrue( value.isEqualTo( new Matrix4f() ) );
+
+    final Matrix4f other = new Matrix4f( 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16 );
+    assertSame( value.set( other ), value );
+    assertTrue( value.isEqualTo( other ) );
+
+    final Matrix4d source = new Matrix4d().setPerspective( Math.PI / 3, 1.4, 0.1, 100 );
+    assertSame( value.set( source ), value );
+    assertEquals( value.toArray(), source.toArray( new float[ 16 ] ) );
+  }
+
+  @Test
+  public void multiply()
+  {
+    final Matrix4d left = new Matrix4d().setPerspective( Math.PI / 3, 1.4, 1, 10 );
+    final Matrix4d right = new Matrix4d().setTranslation( 1, 2, 3 ).rotateY( 0.3 ).scale( 2 );
+    final Matrix4d expected = new Matrix4d();
+    Matrix4d.multiply( expected, left, right );
+
+    final Matrix4f result = new Matrix4f();
+    Matrix4f.multiply( result, new Matrix4f( left ), new Matrix4f( right ) );
+    assertFloatsEquals( result.toArray(), expected.toArray( new float[ 16 ] ) );
+
+    final Matrix4f value = new Matrix4f( left );
+    assertSame( value.multiply( new Matrix4f( right ) ), value );
+    assertFloatsEquals( value.toArray(), expected.toArray( new float[ 16 ] ) );
+  }
+
+  @Test
+  public void toArray()
+  {
+    final Matrix4f value = new Matrix4f( 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16 );
+    final float[] target = new float[ 18 ];
+    assertSame( value.toArray( target, 2 ), target );
+    assertEquals( Arrays.copyOfRange( target, 2, 18 ),
+                  new float[]{ 1, 5, 9, 13, 2, 6, 10, 14, 3, 7, 11, 15, 4, 8, 12, 16 } );
+    assertEquals( target[ 0 ], 0F );
+    assertEquals( target[ 1 ], 0F );
+  }
+
+  @Test
+  public void get_FloatBuffer()
+  {
+    final Matrix4f value = new Matrix4f( 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16 );
+    final FloatBuffer buffer = FloatBuffer.allocate( 18 );
+    buffer.position( 1 );
+    assertSame( value.get( buffer, 2 ), buffer );
+    assertEquals( buffer.position(), 1 );
+    final float[] contents = new float[ 16 ];
+    buffer.position( 2 );
+    buffer.get( contents );
+    assertEquals( contents, value.toArray() );
+  }
+
+  @Test
+  public void get_ByteBuffer()
+  {
+    final Matrix4f value = new Matrix4f( 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16 );
+    for ( final ByteOrder order : new ByteOrder[]{ ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN } )
+    {
+      final ByteBuffer buffer = ByteBuffer.allocate( Matrix4f.BYTES + 8 ).order( order );
+      assertSame( value.get( buffer, 8 ), buffer );
+      assertEquals( buffer.position(), 0 );
+      final float[] contents = new float[ 16 ];
+      buffer.position( 8 );
+      buffer.asFloatBuffer().get( contents );
+      assertEquals( contents, value.toArray() );
+    }
+  }
+
+  private void assertFloatsEquals( final float[] actual, final float[] expected )
+  {
+    assertEquals( actual.length, expected.length );
+    for ( int i = 0; i < actual.length; i++ )
+    {
+      assertEquals( actual[ i ], expected[ i ], 0.0001F, "Component " + i );
+    }
+  }
+}
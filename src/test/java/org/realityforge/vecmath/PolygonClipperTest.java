@@ -0,0 +1,162 @@
+package org.realityforge.vecmath;
+
+import org.testng.annotations.Test;
+import static org.testng.Assert.*;
+
+public final class PolygonClipperTest
+  extends AbstractTest
+{
+  @Test
+  public void clip_inside()
+  {
+    final PolygonClipper clipper = new PolygonClipper();
+    final double[] source = new double[]{ 0, 0, 0, 1, 0.5, 0, 0, 1, 0, 0.5, 0.5, 2 };
+    final double[] target = new double[ 1 + ( 3 + PolygonClipper.MAX_ADDED_VERTICES ) * 4 ];
+    assertEquals( clipper.clip( source, 0, 3, target, 1 ), 3 );
+    for ( int i = 0; i < source.length; i++ )
+    {
+      assertEquals( target[ i + 1 ], source[ i ] );
+    }
+  }
+
+  @Test
+  public void clip_outside()
+  {
+    final PolygonClipper clipper = new PolygonClipper();
+    final double[] target = new double[ ( 3 + PolygonClipper.MAX_ADDED_VERTICES ) * 4 ];
+    // Entirely to the right of the view volume
+    assertEquals( clipper.clip( new double[]{ 2, 0, 0, 1, 3, 0, 0, 1, 2, 0.5, 0, 1 }, 0, 3, target, 0 ), 0 );
+    // Entirely behind the viewer
+    assertEquals( clipper.clip( new double[]{ 0, 0, 0, -1, 0.5, 0, 0, -1, 0, 0.5, 0, -1 }, 0, 3, target, 0 ), 0 );
+    // Each vertex is outside a different plane but the triangle does not intersect the view volume
+    assertEquals( clipper.clip( new double[]{ 2, 1.5, 0, 1, 1.5, 2, 0, 1, 3, 3, 0, 1 }, 0, 3, target, 0 ), 0 );
+  }
+
+  @Test
+  public void clip_singlePlane()
+  {
+    final PolygonClipper clipper = new PolygonClipper();
+    // A triangle with one vertex beyond the right plane x = w
+    final double[] source = new double[]{ 0, 0, 0, 1, 3, 0, 0, 1, 0, 0.5, 0, 1 };
+    final double[] target = new double[ ( 3 + PolygonClipper.MAX_ADDED_VERTICES ) * 4 ];
+    assertEquals( clipper.clip( source, 0, 3, target, 0 ), 4 );
+    assertVertex( target, 0, 0, 0, 0, 1 );
+    assertVertex( target, 1, 1, 0, 0, 1 );
+    assertVertex( target, 2, 1, 1.0 / 3.0, 0, 1 );
+    assertVertex( target, 3, 0, 0.5, 0, 1 );
+  }
+
+  @Test
+  public void clip_behindViewer()
+  {
+    final PolygonClipper clipper = new PolygonClipper();
+    final Matrix4d projection = new Matrix4d().setPerspective( Math.PI / 2, 1, 1, 10 );
+    // A triangle that extends from in front of the near plane to behind the viewer
+    final double[] positions = new double[]{ 0, 0, -5, 1, 0, 5, -1, 0, 5 };
+    final double[] source = projection.transformToClip( positions, 0, 3, new double[ 12 ], 0, 4, 3 );
+    final double[] target = new double[ ( 3 + PolygonClipper.MAX_ADDED_VERTICES ) * 4 ];
+    final int count = clipper.clip( source, 0, 3, target, 0 );
+    assertEquals( count, 3 );
+    for ( int i = 0; i < count; i++ )
+    {
+      final int o = i * 4;
+      final double w = target[ o + 3 ];
+      assertTrue( w > 0 );
+      assertTrue( Math.abs( target[ o ] ) <= w + 0.00001 );
+      assertTrue( Math.abs( target[ o + 1 ] ) <= w + 0.00001 );
+      assertTrue( Math.abs( target[ o + 2 ] ) <= w + 0.00001 );
+    }
+    // The vertex in front of the near plane is retained and the others are on the near plane
+    assertVertex( target, 1, source[ 0 ], source[ 1 ], source[ 2 ], source[ 3 ] );
+    assertEquals( target[ 2 ], -target[ 3 ], 0.00001 );
+    assertEquals( target[ 10 ], -target[ 11 ], 0.00001 );
+  }
+
+  @Test
+  public void clip_sameArray()
+  {
+    final PolygonClipper clipper = new PolygonClipper();
+    final double[] data = new double[ ( 3 + PolygonClipper.MAX_ADDED_VERTICES ) * 4 ];
+    System.arraycopy( new double[]{ 0, 0, 0, 1, 3, 0, 0, 1, 0, 0.5, 0, 1 }, 0, data, 0, 12 );
+    assertEquals( clipper.clip( data, 0, 3, data, 0 ), 4 );
+    assertVertex( data, 2, 1, 1.0 / 3.0, 0, 1 );
+  }
+
+  @Test
+  public void clip_allPlanes()
+  {
+    final PolygonClipper clipper = new PolygonClipper();
+    // A triangle through the center of the view volume that crosses every plane
+    final double[] source = new double[]{ -10, -10, -10, 1, 10, -10, 10, 1, 0, 10, 0, 1 };
+    final double[] target = new double[ ( 3 + PolygonClipper.MAX_ADDED_VERTICES ) * 4 ];
+    final int count = clipper.clip( source, 0, 3, target, 0 );
+    assertTrue( count >= 3 && count <= 3 + PolygonClipper.MAX_ADDED_VERTICES );
+    for ( int i = 0; i < count; i++ )
+    {
+      final int o = i * 4;
+      assertTrue( Math.abs( target[ o ] ) <= 1.00001 );
+      assertTrue( Math.abs( target[ o + 1 ] ) <= 1.00001 );
+      assertTrue( Math.abs( target[ o + 2 ] ) <= 1.00001 );
+    }
+  }
+
+  @Test
+  public void clipTriangles()
+  {
+    final PolygonClipper clipper = new PolygonClipper();
+    final double[] source = new double[]{
+      // Inside
+      0, 0, 0, 1, 0.5, 0, 0, 1, 0, 0.5, 0, 1,
+      // Outside
+      2, 0, 0, 1, 3, 0, 0, 1, 2, 0.5, 0, 1,
+      // Clipped into a quad
+      0, 0, 0, 1, 3, 0, 0, 1, 0, 0.5, 0, 1
+    };
+    final double[] target = new double[ 3 * PolygonClipper.MAX_TRIANGLES_PER_TRIANGLE * 3 * 4 ];
+    assertEquals( clipper.clipTriangles( source, 0, 3, target, 0 ), 3 );
+    assertVertex( target, 0, 0, 0, 0, 1 );
+    assertVertex( target, 1, 0.5, 0, 0, 1 );
+    assertVertex( target, 2, 0, 0.5, 0, 1 );
+
+    // The quad is emitted as a fan around its first vertex
+    assertVertex( target, 3, 0, 0, 0, 1 );
+    assertVertex( target, 4, 1, 0, 0, 1 );
+    assertVertex( target, 5, 1, 1.0 / 3.0, 0, 1 );
+    assertVertex( target, 6, 0, 0, 0, 1 );
+    assertVertex( target, 7, 1, 1.0 / 3.0, 0, 1 );
+    assertVertex( target, 8, 0, 0.5, 0, 1 );
+  }
+
+  @Test
+  public void clipTriangles_fan()
+  {
+    final PolygonClipper clipper = new PolygonClipper();
+    // A triangle clipped into a polygon with many vertices
+    final double[] source = new double[]{ -3, -0.5, 0, 1, 3, -0.5, 0, 1, 0, 1.5, 0, 1 };
+    final double[] polygon = new double[ ( 3 + PolygonClipper.MAX_ADDED_VERTICES ) * 4 ];
+    final int count = clipper.clip( source, 0, 3, polygon, 0 );
+    assertEquals( count, 6 );
+
+    final double[] target = new double[ PolygonClipper.MAX_TRIANGLES_PER_TRIANGLE * 3 * 4 ];
+    assertEquals( clipper.clipTriangles( source, 0, 1, target, 0 ), count - 2 );
+    for ( int i = 0; i < count - 2; i++ )
+    {
+      assertVertex( target, i * 3, polygon[ 0 ], polygon[ 1 ], polygon[ 2 ], polygon[ 3 ] );
+      final int o1 = ( i + 1 ) * 4;
+      assertVertex( target, i * 3 + 1, polygon[ o1 ], polygon[ o1 + 1 ], polygon[ o1 + 2 ], polygon[ o1 + 3 ] );
+      final int o2 = ( i + 2 ) * 4;
+      assertVertex( target, i * 3 + 2, polygon[ o2 ], polygon[ o2 + 1 ], polygon[ o2 + 2 ], polygon[ o2 + 3 ] );
+    }
+  }
+
+  private void assertVertex( final double[] data,
+                             final int index,
+                             final double x,
+                             final double y,
+                             final double z,
+                             final double w )
+  {
+    final int o = index * 4;
+    assertVecEquals( new Vector4d( data[ o ], data[ o + 1 ], data[ o + 2 ], data[ o + 3 ] ), x, y, z, w );
+  }
+}
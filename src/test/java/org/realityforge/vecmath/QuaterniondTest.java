@@ -0,0 +1,256 @@
+package org.realityforge.vecmath;
+
+import javax.annotation.Nonnull;
+import org.testng.annotations.Test;
+import static org.testng.Assert.*;
+
+public final class QuaterniondTest
+  extends AbstractTest
+{
+  @Test
+  public void testToString()
+  {
+    assertEquals( new Quaterniond().toString(), "(0.0, 0.0, 0.0, 1.0)" );
+    assertDefaultToStringWhenDebugToStringDisabled( new Quaterniond() );
+  }
+
+  @Test
+  public void asString()
+  {
+    assertEquals( new Quaterniond().asString(), "(0.0, 0.0, 0.0, 1.0)" );
+    VecmathTestUtil.disableDebugToString();
+    assertEquals( new Quaterniond().asString(), "(0.0, 0.0, 0.0, 1.0)" );
+  }
+
+  @Test
+  public void isEqualTo()
+  {
+    final Quaterniond value1 = new Quaterniond( 1, 2, 3, 4 );
+    final Quaterniond value2 = new Quaterniond( 1, 2, 3, 4 );
+    final Quaterniond value3 = new Quaterniond( 5, 6, 7, 8 );
+    assertTrue( value1.isEqualTo( value1 ) );
+    assertTrue( value1.isEqualTo( value2 ) );
+    assertFalse( value1.isEqualTo( value3 ) );
+  }
+
+  @Test
+  public void testHashCode()
+  {
+    VecmathTestUtil.enableObjectEquals();
+    final Quaterniond value1 = new Quaterniond( 1, 2, 3, 4 );
+    final Quaterniond value2 = new Quaterniond( 1, 2, 3, 4 );
+    final Quaterniond value3 = new Quaterniond( 5, 6, 7, 8 );
+    assertEquals( value1, value1 );
+    assertEquals( value1.hashCode(), value1.hashCode() );
+    assertEquals( value1, value2 );
+    assertNotEquals( value1, value3 );
+    assertNotEquals( value1.hashCode(), value3.hashCode() );
+  }
+
+  @Test
+  public void testHashCode_whenObjectEqualsDisabled()
+  {
+    final Quaterniond value1 = new Quaterniond( 1, 2, 3, 4 );
+    final Quaterniond value2 = new Quaterniond( 1, 2, 3, 4 );
+
+    assertEquals( value1, value1 );
+    assertEquals( value1.hashCode(), value1.hashCode() );
+    assertNotEquals( value1, value2 );
+  }
+
+  @Test
+  public void constructors()
+  {
+    assertQuatEquals( new Quaterniond(), 0, 0, 0, 1 );
+    assertQuatEquals( new Quaterniond( 1, 2, 3, 4 ), 1, 2, 3, 4 );
+    assertQuatEquals( new Quaterniond( new Quaterniond( 1, 2, 3, 4 ) ), 1, 2, 3, 4 );
+  }
+
+  @Test
+  public void dup()
+  {
+    final Quaterniond value = new Quaterniond( 1, 2, 3, 4 );
+    final Quaterniond result = value.dup();
+    assertNotSame( result, value );
+    assertQuatEquals( result, 1, 2, 3, 4 );
+  }
+
+  @Test
+  public void set()
+  {
+    final Quaterniond value = new Quaterniond();
+    assertSame( value.set( 1, 2, 3, 4 ), value );
+    assertQuatEquals( value, 1, 2, 3, 4 );
+    assertSame( value.set( new Quaterniond( 5, 6, 7, 8 ) ), value );
+    assertQuatEquals( value, 5, 6, 7, 8 );
+    assertSame( value.setIdentity(), value );
+    assertQuatEquals( value, 0, 0, 0, 1 );
+  }
+
+  @Test
+  public void setAxisAngle()
+  {
+    final Quaterniond value = new Quaterniond().setAxisAngle( 0, 0, 1, Math.PI / 2 );
+    assertQuatEquals( value, 0, 0, Math.sqrt( 0.5 ), Math.sqrt( 0.5 ) );
+    assertVecEquals( value.transform( new Vector3d( 1, 0, 0 ) ), 0, 1, 0 );
+
+    final Vector3d axis = new Vector3d( 1, 2, 3 ).normalize();
+    final org.joml.Quaterniond expected = new org.joml.Quaterniond().fromAxisAngleRad( axis.x, axis.y, axis.z, 0.7 );
+    assertQuatEquals( new Quaterniond().setAxisAngle( axis, 0.7 ), expected );
+  }
+
+  @Test
+  public void mul()
+  {
+    final Quaterniond value1 = new Quaterniond().setAxisAngle( 0, 1, 0, 0.3 );
+    final Quaterniond value2 = new Quaterniond().setAxisAngle( 1, 0, 0, 1.2 );
+    final org.joml.Quaterniond expected = toJoml( value1 ).mul( toJoml( value2 ) );
+
+    assertSame( value1.mul( value2 ), value1 );
+    assertQuatEquals( value1, expected );
+    // Make sure the state of value2 is unchanged
+    assertQuatEquals( value2, Math.sin( 0.6 ), 0, 0, Math.cos( 0.6 ) );
+
+    // The rotation of the right operand is applied first
+    final Quaterniond rotateZ = new Quaterniond().setAxisAngle( 0, 0, 1, Math.PI / 2 );
+    final Quaterniond rotateX = new Quaterniond().setAxisAngle( 1, 0, 0, Math.PI / 2 );
+    final Quaterniond result = new Quaterniond().mul( rotateX, rotateZ );
+    assertVecEquals( result.transform( new Vector3d( 1, 0, 0 ) ), 0, 0, 1 );
+  }
+
+  @Test
+  public void rotateXYZ()
+  {
+    final Quaterniond value = new Quaterniond().setAxisAngle( new Vector3d( 1, 2, 3 ).normalize(), 0.4 );
+    final org.joml.Quaterniond expected = toJoml( value );
+
+    assertSame( value.rotateX( 0.3 ), value );
+    expected.rotateX( 0.3 );
+    assertQuatEquals( value, expected );
+
+    assertSame( value.rotateY( -1.1 ), value );
+    expected.rotateY( -1.1 );
+    assertQuatEquals( value, expected );
+
+    assertSame( value.rotateZ( 2.5 ), value );
+    expected.rotateZ( 2.5 );
+    assertQuatEquals( value, expected );
+  }
+
+  @Test
+  public void conjugateAndInvert()
+  {
+    final Quaterniond value = new Quaterniond().setAxisAngle( new Vector3d( 1, 2, 3 ).normalize(), 0.4 );
+
+    final Quaterniond conjugate = value.dup();
+    assertSame( conjugate.conjugate(), conjugate );
+    assertQuatEquals( conjugate, -value.x, -value.y, -value.z, value.w );
+    assertQuatEquals( conjugate.dup().mul( value ), 0, 0, 0, 1 );
+
+    final Quaterniond scaled = new Quaterniond( 1, 2, 3, 4 );
+    assertSame( scaled.invert(), scaled );
+    assertQuatEquals( scaled.dup().mul( new Quaterniond( 1, 2, 3, 4 ) ), 0, 0, 0, 1 );
+  }
+
+  @Test
+  public void lengthAndNormalize()
+  {
+    final Quaterniond value = new Quaterniond( 1, 2, 2, 4 );
+    assertEquals( value.lengthSquared(), 25.0, 0.00001 );
+    assertEquals( value.length(), 5.0, 0.00001 );
+    assertEquals( value.dot( new Quaterniond( 1, 1, 1, 1 ) ), 9.0, 0.00001 );
+    assertSame( value.normalize(), value );
+    assertQuatEquals( value, 0.2, 0.4, 0.4, 0.8 );
+  }
+
+  @Test
+  public void slerp()
+  {
+    final Quaterniond value1 = new Quaterniond().setAxisAngle( 0, 1, 0, 0.3 );
+    final Quaterniond value2 = new Quaterniond().setAxisAngle( new Vector3d( 1, 2, 3 ).normalize(), 2.2 );
+
+    for ( final double factor : new double[]{ 0, 0.25, 0.5, 1 } )
+    {
+      final org.joml.Quaterniond expected = toJoml( value1 ).slerp( toJoml( value2 ), factor );
+      assertQuatEquals( value1.dup().slerp( value2, factor ), expected );
+    }
+
+    // Interpolation follows the shortest path when the quaternions are in opposite hemispheres
+    final Quaterniond negated = new Quaterniond( -value2.x, -value2.y, -value2.z, -value2.w );
+    assertQuatEquals( value1.dup().slerp( negated, 1.0 ), value2.x, value2.y, value2.z, value2.w );
+    assertQuatEquals( new Quaterniond().slerp( value1, negated, 0.5 ),
+                      toJoml( value1 ).slerp( toJoml( value2 ), 0.5 ) );
+
+    // Nearly identical rotations use linear interpolation
+    final Quaterniond same = value1.dup();
+    assertSame( same.slerp( value1, 0.5 ), same );
+    assertQuatEquals( same, value1.x, value1.y, value1.z, value1.w );
+  }
+
+  @Test
+  public void nlerp()
+  {
+    final Quaterniond value1 = new Quaterniond().setAxisAngle( 0, 1, 0, 0.3 );
+    final Quaterniond value2 = new Quaterniond().setAxisAngle( new Vector3d( 1, 2, 3 ).normalize(), 2.2 );
+
+    for ( final double factor : new double[]{ 0, 0.25, 0.5, 1 } )
+    {
+      final org.joml.Quaterniond expected = toJoml( value1 ).nlerp( toJoml( value2 ), factor );
+      final Quaterniond result = value1.dup();
+      assertSame( result.nlerp( value2, factor ), result );
+      assertQuatEquals( result, expected );
+      assertEquals( result.length(), 1.0, 0.00001 );
+    }
+  }
+
+  @Test
+  public void transform()
+  {
+    final Quaterniond value = new Quaterniond().setAxisAngle( new Vector3d( 1, 2, 3 ).normalize(), 0.9 );
+    final Vector3d vector = new Vector3d( 4, -5, 6 );
+    final org.joml.Vector3d expected = toJoml( value ).transform( new org.joml.Vector3d( 4, -5, 6 ) );
+
+    assertSame( value.transform( vector ), vector );
+    assertVecEquals( vector, expected.x, expected.y, expected.z );
+  }
+
+  @Test
+  public void setFromNormalized()
+  {
+    final Vector3d axis = new Vector3d( 1, 2, 3 ).normalize();
+    // Exercise each of the branches selected by the largest diagonal element
+    for ( final Quaterniond expected : new Quaterniond[]{
+      new Quaterniond().setAxisAngle( axis, 0.5 ),
+      new Quaterniond().setAxisAngle( 1, 0, 0, 3.0 ),
+      new Quaterniond().setAxisAngle( 0, 1, 0, 3.0 ),
+      new Quaterniond().setAxisAngle( 0, 0, 1, 3.0 ) } )
+    {
+      final Matrix4d matrix = new Matrix4d().setRotation( expected ).translate( 1, 2, 3 );
+      final Quaterniond value = new Quaterniond();
+      assertSame( value.setFromNormalized( matrix ), value );
+      assertQuatEquals( value, expected.x, expected.y, expected.z, expected.w );
+    }
+  }
+
+  @Test
+  public void toArray()
+  {
+    final Quaterniond value = new Quaterniond( 1, 2, 3, 4 );
+    assertArray( value.toArray(), "[1.0, 2.0, 3.0, 4.0]" );
+
+    final double[] target = new double[ 6 ];
+    assertSame( value.toArray( target, 2 ), target );
+    assertArray( target, "[0.0, 0.0, 1.0, 2.0, 3.0, 4.0]" );
+  }
+
+  @Nonnull
+  private org.joml.Quaterniond toJoml( @Nonnull final Quaterniond value )
+  {
+    return new org.joml.Quaterniond( value.x, value.y, value.z, value.w );
+  }
+
+  private void assertQuatEquals( @Nonnull final Quaterniond actual, @Nonnull final org.joml.Quaterniond expected )
+  {
+    assertQuatEquals( actual, expected.x, expected.y, expected.z, expected.w );
+  }
+}
@@ -0,0 +1,161 @@
+package org.realityforge.vecmath;
+
+import java.util.concurrent.atomic.AtomicReference;
+import org.testng.annotations.Test;
+import static org.testng.Assert.*;
+
+public final class ScratchTest
+  extends AbstractTest
+{
+  @Test
+  public void get()
+    throws Exception
+  {
+    final Scratch scratch = Scratch.get();
+    assertSame( Scratch.get(), scratch );
+
+    final AtomicReference<Scratch> other = new AtomicReference<>();
+    final Thread thread = new Thread( () -> other.set( Scratch.get() ) );
+    thread.start();
+    thread.join();
+    assertNotNull( other.get() );
+    assertNotSame( other.get(), scratch );
+  }
+
+  @Test
+  public void allocate()
+  {
+    final Scratch scratch = new Scratch();
+    assertEquals( scratch.depth(), 0 );
+    assertEquals( scratch.push(), 1 );
+    assertEquals( scratch.depth(), 1 );
+
+    final Vector2d vector2d = scratch.vector2d();
+    final Vector3d vector3d = scratch.vector3d();
+    final Vector3f vector3f = scratch.vector3f();
+    final Vector4d vector4d = scratch.vector4d();
+    final Matrix4d matrix4d = scratch.matrix4d();
+    assertVecEquals( vector2d, 0, 0 );
+    assertVecEquals( vector3d, 0, 0, 0 );
+    assertVecEquals( vector3f, 0, 0, 0 );
+    assertVecEquals( vector4d, 0, 0, 0, 0 );
+    assertIdentityMatrix( matrix4d );
+    assertNotSame( scratch.vector3d(), vector3d );
+
+    vector2d.set( 1, 2 );
+    vector3d.set( 1, 2, 3 );
+    vector3f.set( 1, 2, 3 );
+    vector4d.set( 1, 2, 3, 4 );
+    matrix4d.setTranslation( 1, 2, 3 );
+    scratch.pop();
+    assertEquals( scratch.depth(), 0 );
+
+    // Instances are reused and reset after the frame is closed
+    scratch.push();
+    assertSame( scratch.vector2d(), vector2d );
+    assertSame( scratch.vector3d(), vector3d );
+    assertSame( scratch.vector3f(), vector3f );
+    assertSame( scratch.vector4d(), vector4d );
+    assertSame( scratch.matrix4d(), matrix4d );
+    assertVecEquals( vector2d, 0, 0 );
+    assertVecEquals( vector3d, 0, 0, 0 );
+    assertVecEquals( vector3f, 0, 0, 0 );
+    assertVecEquals( vector4d, 0, 0, 0, 0 );
+    assertIdentityMatrix( matrix4d );
+    assertEquals( matrix4d.properties(),
+                  Matrix4d.PROPERTY_IDENTITY | Matrix4d.PROPERTY_TRANSLATION | Matrix4d.PROPERTY_AFFINE );
+    scratch.pop();
+  }
+
+  @Test
+  public void nestedFrames()
+  {
+    final Scratch scratch = new Scratch();
+    final int outer = scratch.push();
+    final Vector3d vector1 = scratch.vector3d().set( 1, 2, 3 );
+
+    final int inner = scratch.push();
+    assertEquals( inner, 2 );
+    final Vector3d vector2 = scratch.vector3d();
+    assertNotSame( vector2, vector1 );
+    scratch.pop( inner );
+
+    // The outer frame is untouched by closing the inner frame
+    assertVecEquals( vector1, 1, 2, 3 );
+    assertSame( scratch.vector3d(), vector2 );
+    scratch.pop( outer );
+    assertEquals( scratch.depth(), 0 );
+  }
+
+  @Test
+  public void poolGrowth()
+  {
+    final Scratch scratch = new Scratch();
+    final Matrix4d[] matrices = new Matrix4d[ 100 ];
+    for ( int i = 0; i < 40; i++ )
+    {
+      scratch.push();
+    }
+    for ( int i = 0; i < matrices.length; i++ )
+    {
+      matrices[ i ] = scratch.matrix4d();
+    }
+    for ( int i = 0; i < 40; i++ )
+    {
+      scratch.pop();
+    }
+    scratch.push();
+    for ( final Matrix4d matrix : matrices )
+    {
+      assertSame( scratch.matrix4d(), matrix );
+    }
+    scratch.pop();
+  }
+
+  @Test
+  public void releasedTemporariesArePoisoned()
+  {
+    final Scratch scratch = new Scratch();
+    scratch.push();
+    final Vector3d vector3d = scratch.vector3d().set( 1, 2, 3 );
+    final Vector3f vector3f = scratch.vector3f().set( 1, 2, 3 );
+    final Matrix4d matrix4d = scratch.matrix4d();
+    scratch.pop();
+
+    assertTrue( Double.isNaN( vector3d.x ) );
+    assertTrue( Double.isNaN( vector3d.z ) );
+    assertTrue( Float.isNaN( vector3f.y ) );
+    assertTrue( Double.isNaN( matrix4d.m00 ) );
+    assertEquals( matrix4d.properties(), 0 );
+  }
+
+  @Test
+  public void popWithoutPush()
+  {
+    final Scratch scratch = new Scratch();
+    final IllegalStateException exception = expectThrows( IllegalStateException.class, scratch::pop );
+    assertEquals( exception.getMessage(), "Scratch.pop() invoked when no frame is open" );
+  }
+
+  @Test
+  public void popUnbalancedFrame()
+  {
+    final Scratch scratch = new Scratch();
+    final int frame = scratch.push();
+    scratch.push();
+    final IllegalStateException exception = expectThrows( IllegalStateException.class, () -> scratch.pop( frame ) );
+    assertEquals( exception.getMessage(),
+                  "Scratch.pop(1) invoked but the most recently opened frame is at depth 2" );
+    assertEquals( scratch.depth(), 2 );
+  }
+
+  @Test
+  public void allocateOutsideFrame()
+  {
+    final Scratch scratch = new Scratch();
+    final IllegalStateException exception = expectThrows( IllegalStateException.class, scratch::vector3d );
+    assertEquals( exception.getMessage(),
+                  "Scratch allocation attempted when no frame is open. " +
+                  "Scratch.push() must be invoked before allocating temporaries" );
+  }
+}
@@ -0,0 +1,163 @@
+package org.realityforge.vecmath;
+
+import java.util.Random;
+import javax.annotation.Nonnull;
+import org.testng.annotations.Test;
+import static org.testng.Assert.*;
+
+public final class TransformHierarchyTest
+  extends AbstractTest
+{
+  @Test
+  public void add()
+  {
+    final TransformHierarchy hierarchy = new TransformHierarchy( 1 );
+    assertEquals( hierarchy.size(), 0 );
+    assertFalse( hierarchy.isDirty() );
+
+    final int root = hierarchy.add( TransformHierarchy.NO_PARENT );
+    final int child = hierarchy.add( root );
+    final int grandChild = hierarchy.add( child );
+    assertEquals( hierarchy.size(), 3 );
+    assertEquals( hierarchy.parent( root ), TransformHierarchy.NO_PARENT );
+    assertEquals( hierarchy.parent( grandChild ), child );
+    assertEquals( hierarchy.depth( root ), 0 );
+    assertEquals( hierarchy.depth( grandChild ), 2 );
+    assertTrue( hierarchy.isDirty() );
+
+    assertVecEquals( hierarchy.getTranslation( grandChild, new Vector3d() ), 0, 0, 0 );
+    assertQuatEquals( hierarchy.getRotation( grandChild, new Quaterniond() ), 0, 0, 0, 1 );
+    assertVecEquals( hierarchy.getScale( grandChild, new Vector3d() ), 1, 1, 1 );
+
+    hierarchy.update();
+    assertFalse( hierarchy.isDirty() );
+    assertIdentityMatrix( hierarchy.getWorld( grandChild, new Matrix4d() ) );
+  }
+
+  @Test
+  public void update()
+  {
+    final TransformHierarchy hierarchy = new TransformHierarchy();
+    final int root = hierarchy.add( TransformHierarchy.NO_PARENT );
+    final int child = hierarchy.add( root );
+    final int sibling = hierarchy.add( root );
+    final int grandChild = hierarchy.add( child );
+
+    hierarchy.setScale( root, 2, 2, 2 );
+    hierarchy.setTranslation( child, 1, 0, 0 );
+    hierarchy.setRotation( child, new Quaterniond().rotateZ( Math.PI / 2 ) );
+    hierarchy.setTranslation( sibling, 0, 0, 5 );
+    hierarchy.setTranslation( grandChild, 1, 0, 0 );
+    hierarchy.update();
+
+    // The child is translated in the scaled space of the root
+    assertVecEquals( new Vector3d().mulPosition( hierarchy.getWorld( child, new Matrix4d() ) ), 2, 0, 0 );
+    assertVecEquals( new Vector3d().mulPosition( hierarchy.getWorld( sibling, new Matrix4d() ) ), 0, 0, 10 );
+    // The grand child is translated in the rotated space of the child
+    assertVecEquals( new Vector3d().mulPosition( hierarchy.getWorld( grandChild, new Matrix4d() ) ), 2, 2, 0 );
+
+    assertWorldMatrices( hierarchy );
+  }
+
+  @Test
+  public void update_dirtySubtree()
+  {
+    final TransformHierarchy hierarchy = new TransformHierarchy();
+    final int root = hierarchy.add( TransformHierarchy.NO_PARENT );
+    final int child = hierarchy.add( root );
+    final int sibling = hierarchy.add( root );
+    final int grandChild = hierarchy.add( child );
+    hierarchy.setTranslation( root, 1, 2, 3 );
+    hierarchy.update();
+
+    final double[] worlds = hierarchy.worldComponents();
+    final Matrix4d siblingWorld = hierarchy.getWorld( sibling, new Matrix4d() );
+    // Corrupt the world matrix of the sibling so that it is possible to observe whether it is recomputed
+    worlds[ sibling * Matrix4d.COMPONENTS ] = 42;
+
+    hierarchy.setTranslation( child, 0, 1, 0 );
+    assertTrue( hierarchy.isDirty() );
+    hierarchy.update();
+    assertFalse( hierarchy.isDirty() );
+
+    assertVecEquals( new Vector3d().mulPosition( hierarchy.getWorld( grandChild, new Matrix4d() ) ), 1, 3, 3 );
+    assertEquals( worlds[ sibling * Matrix4d.COMPONENTS ], 42.0 );
+
+    // Updating a clean hierarchy does not recompute any matrices
+    hierarchy.update();
+    assertEquals( worlds[ sibling * Matrix4d.COMPONENTS ], 42.0 );
+
+    hierarchy.setTranslation( root, 1, 2, 3 );
+    hierarchy.update();
+    assertMatEquals( hierarchy.getWorld( sibling, new Matrix4d() ), siblingWorld );
+  }
+
+  @Test
+  public void update_addAfterUpdate()
+  {
+    final TransformHierarchy hierarchy = new TransformHierarchy();
+    final int root = hierarchy.add( TransformHierarchy.NO_PARENT );
+    hierarchy.setTranslation( root, 1, 0, 0 );
+    hierarchy.update();
+
+    final int child = hierarchy.add( root );
+    hierarchy.setTranslation( child, 0, 1, 0 );
+    final int grandChild = hierarchy.add( child );
+    hierarchy.update();
+
+    assertVecEquals( new Vector3d().mulPosition( hierarchy.getWorld( grandChild, new Matrix4d() ) ), 1, 1, 0 );
+    assertWorldMatrices( hierarchy );
+  }
+
+  @Test
+  public void updateParallel()
+  {
+    final Random random = new Random( 42 );
+    final TransformHierarchy sequential = new TransformHierarchy();
+    final TransformHierarchy parallel = new TransformHierarchy();
+    final int count = TransformHierarchy.PARALLEL_THRESHOLD * 8;
+    for ( int i = 0; i < count; i++ )
+    {
+      // The first few nodes are roots and the remainder form a few wide levels
+      final int parent = i < 4 ? TransformHierarchy.NO_PARENT : random.nextInt( Math.min( i, count / 8 ) );
+      sequential.add( parent );
+      parallel.add( parent );
+      final double x = random.nextDouble();
+      final double y = random.nextDouble();
+      final double z = random.nextDouble();
+      final Quaterniond rotation = new Quaterniond().rotateX( x ).rotateY( y ).rotateZ( z );
+      sequential.setTranslation( i, x, y, z ).setRotation( i, rotation ).setScale( i, 1 + x, 1 + y, 1 + z );
+      parallel.setTranslation( i, x, y, z ).setRotation( i, rotation ).setScale( i, 1 + x, 1 + y, 1 + z );
+    }
+
+    sequential.update();
+    parallel.updateParallel();
+    assertFalse( parallel.isDirty() );
+    assertEquals( parallel.worldComponents(), sequential.worldComponents() );
+
+    sequential.setTranslation( 1, 3, 2, 1 ).update();
+    parallel.setTranslation( 1, 3, 2, 1 ).updateParallel();
+    assertEquals( parallel.worldComponents(), sequential.worldComponents() );
+
+    assertWorldMatrices( parallel );
+  }
+
+  /**
+   * Assert that the world matrix of every node is the product of the local matrix and the world matrix of the parent.
+   */
+  private void assertWorldMatrices( @Nonnull final TransformHierarchy hierarchy )
+  {
+    final int size = hierarchy.size();
+    final Matrix4d[] expected = new Matrix4d[ size ];
+    for ( int i = 0; i < size; i++ )
+    {
+      final Matrix4d local =
+        new Matrix4d().setTranslationRotationScale( hierarchy.getTranslation( i, new Vector3d() ),
+                                                    hierarchy.getRotation( i, new Quaterniond() ),
+                                                    hierarchy.getScale( i, new Vector3d() ) );
+      final int parent = hierarchy.parent( i );
+      expected[ i ] = TransformHierarchy.NO_PARENT == parent ? local : local.multiply( expected[ parent ] );
+      assertMatEquals( hierarchy.getWorld( i, new Matrix4d() ), expected[ i ] );
+    }
+  }
+}
@@ -0,0 +1,80 @@
+package org.realityforge.vecmath;
+
+import org.testng.annotations.Test;
+import static org.testng.Assert.*;
+
+public final class TransformTest
+  extends AbstractTest
+{
+  @Test
+  public void testToString()
+  {
+    final Transform transform = new Transform().setTranslation( 1, 2, 3 ).setScale( 2 );
+    assertEquals( transform.toString(), "[T=(1.0, 2.0, 3.0) R=(0.0, 0.0, 0.0, 1.0) S=(2.0, 2.0, 2.0)]" );
+    assertDefaultToStringWhenDebugToStringDisabled( transform );
+  }
+
+  @Test
+  public void identity()
+  {
+    final Transform transform = new Transform();
+    assertFalse( transform.isDirty() );
+    assertIdentityMatrix( transform.matrix() );
+    assertVecEquals( transform.getTranslation( new Vector3d() ), 0, 0, 0 );
+    assertQuatEquals( transform.getRotation( new Quaterniond() ), 0, 0, 0, 1 );
+    assertVecEquals( transform.getScale( new Vector3d() ), 1, 1, 1 );
+  }
+
+  @Test
+  public void components()
+  {
+    final Quaterniond rotation = new Quaterniond().setAxisAngle( 0, 1, 0, 0.5 );
+    final Transform transform =
+      new Transform( new Vector3d( 1, 2, 3 ), rotation, new Vector3d( 2, 3, 4 ) );
+    assertTrue( transform.isDirty() );
+    assertVecEquals( transform.getTranslation( new Vector3d() ), 1, 2, 3 );
+    assertQuatEquals( transform.getRotation( new Quaterniond() ), rotation.x, rotation.y, rotation.z, rotation.w );
+    assertVecEquals( transform.getScale( new Vector3d() ), 2, 3, 4 );
+
+    assertMatEquals( transform.matrix(), trs( 1, 2, 3, rotation, 2, 3, 4 ) );
+    assertFalse( transform.isDirty() );
+
+    assertSame( transform.translate( 1, 1, 1 ), transform );
+    assertTrue( transform.isDirty() );
+    assertVecEquals( transform.getTranslation( new Vector3d() ), 2, 3, 4 );
+    assertMatEquals( transform.matrix(), trs( 2, 3, 4, rotation, 2, 3, 4 ) );
+
+    assertSame( transform.setIdentity(), transform );
+    assertIdentityMatrix( transform.matrix() );
+
+    final Transform other = new Transform().set( new Transform( new Vector3d( 1, 2, 3 ), rotation, new Vector3d( 1, 1, 1 ) ) );
+    assertMatEquals( other.matrix(), new Matrix4d().setTranslation( 1, 2, 3 ).rotate( rotation ) );
+  }
+
+  @Test
+  public void matrixOnlyComposedWhenChanged()
+  {
+    final Transform transform = new Transform().setTranslation( 1, 2, 3 );
+    final Matrix4d matrix = transform.matrix();
+    final int version = matrix.version();
+
+    assertSame( transform.matrix(), matrix );
+    assertEquals( matrix.version(), version );
+
+    // Setting the same values does not dirty the transform
+    transform.setTranslation( 1, 2, 3 ).setRotation( 0, 0, 0, 1 ).setScale( 1 );
+    assertFalse( transform.isDirty() );
+    assertSame( transform.matrix(), matrix );
+    assertEquals( matrix.version(), version );
+
+    transform.setScale( 2, 1, 1 );
+    assertTrue( transform.isDirty() );
+    assertSame( transform.matrix(), matrix );
+    assertNotEquals( matrix.version(), version );
+    assertMatEquals( matrix, trs( 1, 2, 3, new Quaterniond(), 2, 1, 1 ) );
+
+    transform.setRotation( new Quaterniond().setAxisAngle( 1, 0, 0, 0.3 ) );
+    assertTrue( transform.isDirty() );
+    assertMatEquals( transform.matrix(), trs( 1, 2, 3, new Quaterniond().rotateX( 0.3 ), 2, 1, 1 ) );
+  }
+}
@@ -0,0 +1,149 @@
+package org.realityforge.vecmath;
+
+import java.util.Random;
+import org.testng.annotations.Test;
+import static org.testng.Assert.*;
+
+public final class Vector2dArrayTest
+  extends AbstractTest
+{
+  @Test
+  public void construct()
+  {
+    final Vector2dArray array = new Vector2dArray( 3 );
+    assertEquals( array.size(), 3 );
+    assertEquals( array.x.length, 3 );
+    assertEquals( array.y.length, 3 );
+    assertVecEquals( array.get( 0, new Vector2d() ), 0, 0 );
+    assertVecEquals( array.get( 2, new Vector2d() ), 0, 0 );
+  }
+
+  @Test
+  public void getAndSet()
+  {
+    final Vector2dArray array = new Vector2dArray( 3 );
+
+    assertSame( array.set( 0, 1, 2 ), array );
+    assertSame( array.set( 2, new Vector2d( 4, 5 ) ), array );
+
+    final Vector2d target = new Vector2d();
+    assertSame( array.get( 0, target ), target );
+    assertVecEquals( target, 1, 2 );
+    assertVecEquals( array.get( 1, target ), 0, 0 );
+    assertVecEquals( array.get( 2, target ), 4, 5 );
+  }
+
+  @Test
+  public void add()
+  {
+    final Vector2dArray array = createArray();
+    final Vector2dArray other = new Vector2dArray( 2 ).set( 0, 1, 1 ).set( 1, 2, 2 );
+
+    assertSame( array.add( other ), array );
+    assertVecEquals( array.get( 0, new Vector2d() ), 2, 3 );
+    assertVecEquals( array.get( 1, new Vector2d() ), 5, 6 );
+
+    assertSame( array.add( new Vector2d( 1, 2 ) ), array );
+    assertVecEquals( array.get( 0, new Vector2d() ), 3, 5 );
+    assertVecEquals( array.get( 1, new Vector2d() ), 6, 8 );
+  }
+
+  @Test
+  public void sub()
+  {
+    final Vector2dArray array = createArray();
+    final Vector2dArray other = new Vector2dArray( 2 ).set( 0, 1, 1 ).set( 1, 2, 2 );
+
+    assertSame( array.sub( other ), array );
+    assertVecEquals( array.get( 0, new Vector2d() ), 0, 1 );
+    assertVecEquals( array.get( 1, new Vector2d() ), 1, 2 );
+
+    assertSame( array.sub( new Vector2d( 1, 2 ) ), array );
+    assertVecEquals( array.get( 0, new Vector2d() ), -1, -1 );
+    assertVecEquals( array.get( 1, new Vector2d() ), 0, 0 );
+  }
+
+  @Test
+  public void mul()
+  {
+    final Vector2dArray array = createArray();
+
+    assertSame( array.mul( 2 ), array );
+    assertVecEquals( array.get( 0, new Vector2d() ), 2, 4 );
+    assertVecEquals( array.get( 1, new Vector2d() ), 6, 8 );
+  }
+
+  @Test
+  public void normalize()
+  {
+    final Vector2dArray array = createArray();
+
+    assertSame( array.normalize(), array );
+    assertTrue( array.get( 0, new Vector2d() ).isEqualTo( new Vector2d( 1, 2 ).normalize() ) );
+    assertTrue( array.get( 1, new Vector2d() ).isEqualTo( new Vector2d( 3, 4 ).normalize() ) );
+  }
+
+  @Test
+  public void lerp()
+  {
+    final Vector2dArray array = createArray();
+    final Vector2dArray other = new Vector2dArray( 2 ).set( 0, 5, 10 ).set( 1, -1, 0 );
+    assertSame( array.lerp( other, 0.25 ), array );
+    assertTrue( array.get( 0, new Vector2d() ).isEqualTo( new Vector2d( 1, 2 ).lerp( new Vector2d( 5, 10 ), 0.25 ) ) );
+    assertTrue( array.get( 1, new Vector2d() ).isEqualTo( new Vector2d( 3, 4 ).lerp( new Vector2d( -1, 0 ), 0.25 ) ) );
+
+    final Vector2dArray result = new Vector2dArray( 2 );
+    assertSame( result.lerp( createArray(), other, 1.0 ), result );
+    assertTrue( result.get( 0, new Vector2d() ).isEqualTo( new Vector2d( 5, 10 ) ) );
+    assertTrue( result.get( 1, new Vector2d() ).isEqualTo( new Vector2d( -1, 0 ) ) );
+  }
+
+  @Test
+  public void bulkOperationsMatchSingleVectorOperations()
+  {
+    // The bulk kernels are expected to produce bit-identical results to the single vector operations
+    final int size = 1027;
+    final Random random = new Random( 42 );
+    final Vector2dArray array1 = new Vector2dArray( size );
+    final Vector2dArray array2 = new Vector2dArray( size );
+    for ( int i = 0; i < size; i++ )
+    {
+      array1.set( i, random.nextDouble() * 200 - 100, random.nextDouble() * 200 - 100 );
+      array2.set( i, random.nextDouble() * 200 - 100, random.nextDouble() * 200 - 100 );
+    }
+    final double[] dots = array1.dot( array2, new double[ size ] );
+    final Vector2dArray lerped = new Vector2dArray( size ).lerp( array1, array2, 0.3 );
+    final Vector2dArray normalized = new Vector2dArray( size ).lerp( array1, array1, 0 ).normalize();
+
+    final Vector2d value1 = new Vector2d();
+    final Vector2d value2 = new Vector2d();
+    final Vector2d actual = new Vector2d();
+    for ( int i = 0; i < size; i++ )
+    {
+      array1.get( i, value1 );
+      array2.get( i, value2 );
+      assertEquals( dots[ i ], value1.dot( value2 ) );
+      assertTrue( lerped.get( i, actual ).isEqualTo( value1.dup().lerp( value2, 0.3 ) ) );
+      assertTrue( normalized.get( i, actual ).isEqualTo( value1.dup().normalize() ) );
+    }
+  }
+
+  @Test
+  public void dot()
+  {
+    final Vector2dArray array = createArray();
+    final Vector2dArray other = new Vector2dArray( 2 ).set( 0, 4, 5 ).set( 1, 1, 0 );
+
+    final double[] target = new double[ 2 ];
+    assertSame( array.dot( other, target ), target );
+    assertArray( target, "[14.0, 3.0]" );
+
+    assertSame( array.dot( new Vector2d( 0, 1 ), target ), target );
+    assertArray( target, "[2.0, 4.0]" );
+  }
+
+  private Vector2dArray createArray()
+  {
+    return new Vector2dArray( 2 ).set( 0, 1, 2 ).set( 1, 3, 4 );
+  }
+}
@@ -1,5 +1,9 @@
 package org.realityforge.vecmath;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
 import javax.annotation.Nonnull;
 import org.testng.annotations.Test;
 import static org.testng.Assert.*;
@@ -33,6 +37,24 @@ public final class Vector2dTest
     assertFalse( value1.isEqualTo( value3 ) );
   }
 
+  @Test
+  public void isEqualTo_epsilon()
+  {
+    final Vector2d value = new Vector2d( 1, 2 );
+    assertTrue( value.isEqualTo( new Vector2d( 1, 2 ), 0.0 ) );
+    assertTrue( value.isEqualTo( new Vector2d( 1.05, 1.95 ), 0.1 ) );
+    assertFalse( value.isEqualTo( new Vector2d( 1.05, 2.2 ), 0.1 ) );
+  }
+
+  @Test
+  public void isEqualToUlps()
+  {
+    final Vector2d value = new Vector2d( 1, 2 );
+    assertTrue( value.isEqualToUlps( new Vector2d( Math.nextUp( 1.0 ), Math.nextDown( 2.0 ) ), 1 ) );
+    assertFalse( value.isEqualToUlps( new Vector2d( Math.nextUp( 1.0 ), Math.nextDown( 2.0 ) ), 0 ) );
+    assertFalse( value.isEqualToUlps( new Vector2d( 1, Math.nextUp( Math.nextUp( 2.0 ) ) ), 1 ) );
+  }
+
   @Test
   public void testHashCode()
   {
@@ -279,4 +301,36 @@ public final class Vector2dTest
     // Now with an offset
     assertArray( value.toArray( new double[ 6 ], 2 ), "[0.0, 0.0, 1.0, 2.0, 0.0, 0.0]" );
   }
+
+  @Test
+  public void buffers()
+  {
+    final Vector2d value = new Vector2d( 1.5, 2 );
+
+    final DoubleBuffer doubles = DoubleBuffer.allocate( Vector2d.COMPONENTS + 2 );
+    assertSame( value.get( doubles, 2 ), doubles );
+    assertEquals( doubles.position(), 0 );
+    assertTrue( new Vector2d().set( doubles, 2 ).isEqualTo( value ) );
+
+    final FloatBuffer floats = FloatBuffer.allocate( Vector2d.COMPONENTS + 2 );
+    assertSame( value.get( floats, 2 ), floats );
+    assertEquals( floats.position(), 0 );
+    assertEquals( floats.get( 2 ), 1.5F );
+    assertTrue( new Vector2d().set( floats, 2 ).isEqualTo( value ) );
+
+    for ( final ByteOrder order : new ByteOrder[]{ ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN } )
+    {
+      final ByteBuffer bytes = ByteBuffer.allocateDirect( Vector2d.BYTES + 8 ).order( order );
+      assertSame( value.get( bytes, 8 ), bytes );
+      assertEquals( bytes.position(), 0 );
+      assertEquals( bytes.getDouble( 8 ), 1.5 );
+      assertTrue( new Vector2d().set( bytes, 8 ).isEqualTo( value ) );
+
+      final ByteBuffer floatBytes = ByteBuffer.allocateDirect( Vector2d.FLOAT_BYTES + 4 ).order( order );
+      assertSame( value.getFloats( floatBytes, 4 ), floatBytes );
+      assertEquals( floatBytes.position(), 0 );
+      assertEquals( floatBytes.getFloat( 4 ), 1.5F );
+      assertTrue( new Vector2d().setFloats( floatBytes, 4 ).isEqualTo( value ) );
+    }
+  }
 }
@@ -0,0 +1,219 @@
+package org.realityforge.vecmath;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import org.testng.annotations.Test;
+import static org.testng.Assert.*;
+
+public final class Vector2fTest
+  extends AbstractTest
+{
+  @Test
+  public void testToString()
+  {
+    assertEquals( new Vector2f().toString(), "(0.0, 0.0)" );
+    assertDefaultToStringWhenDebugToStringDisabled( new Vector2f() );
+  }
+
+  @Test
+  public void asString()
+  {
+    assertEquals( new Vector2f().asString(), "(0.0, 0.0)" );
+    VecmathTestUtil.disableDebugToString();
+    assertEquals( new Vector2f().asString(), "(0.0, 0.0)" );
+  }
+
+  @Test
+  public void isEqualTo()
+  {
+    final Vector2f value1 = new Vector2f( 1F, 2F );
+    final Vector2f value2 = new Vector2f( 1F, 2F );
+    final Vector2f value3 = new Vector2f( 4F, 5F );
+    assertTrue( value1.isEqualTo( value1 ) );
+    assertTrue( value1.isEqualTo( value2 ) );
+    assertFalse( value1.isEqualTo( value3 ) );
+  }
+
+  @Test
+  public void isEqualTo_epsilon()
+  {
+    final Vector2f value = new Vector2f( 1, 2 );
+    assertTrue( value.isEqualTo( new Vector2f( 1, 2 ), 0.0f ) );
+    assertTrue( value.isEqualTo( new Vector2f( 1.05f, 1.95f ), 0.1f ) );
+    assertFalse( value.isEqualTo( new Vector2f( 1.05f, 2.2f ), 0.1f ) );
+  }
+
+  @Test
+  public void isEqualToUlps()
+  {
+    final Vector2f value = new Vector2f( 1, 2 );
+    assertTrue( value.isEqualToUlps( new Vector2f( Math.nextUp( 1.0f ), Math.nextDown( 2.0f ) ), 1 ) );
+    assertFalse( value.isEqualToUlps( new Vector2f( Math.nextUp( 1.0f ), Math.nextDown( 2.0f ) ), 0 ) );
+    assertFalse( value.isEqualToUlps( new Vector2f( 1, Math.nextUp( Math.nextUp( 2.0f ) ) ), 1 ) );
+  }
+
+  @Test
+  public void testHashCode()
+  {
+    VecmathTestUtil.enableObjectEquals();
+    final Vector2f value1 = new Vector2f( 1F, 2F );
+    final Vector2f value2 = new Vector2f( 1F, 2F );
+    final Vector2f value3 = new Vector2f( 4F, 5F );
+    assertEquals( value1, value1 );
+    assertEquals( value1.hashCode(), value1.hashCode() );
+    assertEquals( value1, value2 );
+    assertEquals( value1.hashCode(), value2.hashCode() );
+    assertNotEquals( value1, value3 );
+    assertNotEquals( value1.hashCode(), value3.hashCode() );
+  }
+
+  @Test
+  public void testHashCode_whenObjectEqualsDisabled()
+  {
+    final Vector2f value1 = new Vector2f( 1F, 2F );
+    final Vector2f value2 = new Vector2f( 1F, 2F );
+    assertEquals( value1, value1 );
+    assertNotEquals( value1, value2 );
+    assertNotEquals( value1.hashCode(), value2.hashCode() );
+  }
+
+  @Test
+  public void constructors()
+  {
+    assertVecEquals( new Vector2f(), 0F, 0F );
+    assertVecEquals( new Vector2f( 1F, 2F ), 1F, 2F );
+    assertVecEquals( new Vector2f( new Vector2f( 1F, 2F ) ), 1F, 2F );
+    assertVecEquals( new Vector2f( new Vector2d( 1.5, 2 ) ), 1.5F, 2F );
+  }
+
+  @Test
+  public void dup()
+  {
+    final Vector2f value = new Vector2f( 1F, 2F );
+    final Vector2f dup = value.dup();
+    assertVecEquals( dup, 1F, 2F );
+    assertNotSame( dup, value );
+  }
+
+  @Test
+  public void set()
+  {
+    final Vector2f value = new Vector2f( 1F, 2F );
+
+    assertSame( value.set( new Vector2f() ), value );
+    assertVecEquals( value, 0F, 0F );
+
+    assertSame( value.set( 1F, 2F ), value );
+    assertVecEquals( value, 1F, 2F );
+
+    assertSame( value.set( new Vector2d( 0.1, 0.2 ) ), value );
+    assertEquals( value.x, 0.1F );
+    assertEquals( value.y, 0.2F );
+  }
+
+  @Test
+  public void add()
+  {
+    final Vector2f value = new Vector2f( 1F, 2F );
+
+    assertSame( value.add( new Vector2f( 4F, 5F ) ), value );
+    assertVecEquals( value, 5F, 7F );
+
+    assertSame( value.add( 5F, 3F ), value );
+    assertVecEquals( value, 10F, 10F );
+
+    assertSame( value.add( new Vector2f( 1F, 2F ), new Vector2f( 1F, 2F ) ), value );
+    assertVecEquals( value, 2F, 4F );
+  }
+
+  @Test
+  public void sub()
+  {
+    final Vector2f value = new Vector2f( 1F, 2F );
+
+    assertSame( value.sub( new Vector2f( 4F, 5F ) ), value );
+    assertVecEquals( value, -3F, -3F );
+
+    assertSame( value.sub( 5F, 3F ), value );
+    assertVecEquals( value, -8F, -6F );
+
+    assertSame( value.sub( new Vector2f( 1F, 2F ), new Vector2f( 1F, 2F ) ), value );
+    assertVecEquals( value, 0F, 0F );
+  }
+
+  @Test
+  public void mulAndDiv()
+  {
+    final Vector2f value = new Vector2f( 1F, 2F );
+
+    assertSame( value.mul( 2 ), value );
+    assertVecEquals( value, 2F, 4F );
+
+    assertSame( value.div( 4 ), value );
+    assertVecEquals( value, 0.5F, 1F );
+  }
+
+  @Test
+  public void length()
+  {
+    assertEquals( new Vector2f( 3F, 4F ).lengthSquared(), 25F );
+    assertEquals( new Vector2f( 3F, 4F ).length(), 5F );
+    assertVecEquals( new Vector2f( 3F, 4F ).normalize(), 0.6F, 0.8F );
+  }
+
+  @Test
+  public void dot()
+  {
+    assertEquals( new Vector2f( 1F, 0F ).dot( new Vector2f( 0F, 1F ) ), 0F );
+    assertEquals( new Vector2f( 1F, 2F ).dot( new Vector2f( 4F, 5F ) ), 14F );
+  }
+
+  @Test
+  public void angle()
+  {
+    assertEquals( new Vector2f( 1F, 0F ).angle( new Vector2f( 0F, 1F ) ), (float) ( Math.PI / 2 ), 0.00001 );
+    assertEquals( new Vector2f( 0F, 1F ).angle( new Vector2f( 1F, 0F ) ), (float) ( Math.PI / -2 ), 0.00001 );
+    assertEquals( new Vector2f( 1F, 0F ).angle( new Vector2f( 33F, 0F ) ), 0F );
+    assertEquals( new Vector2f( 1F, 2F ).angle( new Vector2f( 4F, 5F ) ), -0.21109333F, 0.00001 );
+  }
+
+  @Test
+  public void lerp()
+  {
+    assertVecEquals( new Vector2f( 9, 4 ).lerp( new Vector2f( 2, -2 ), 0.32F ), 6.76F, 2.08F );
+    assertVecEquals( new Vector2f().lerp( new Vector2f( 9, 4 ), new Vector2f( 2, -2 ), 0.32F ), 6.76F, 2.08F );
+  }
+
+  @Test
+  public void toArray()
+  {
+    final Vector2f value = new Vector2f( 1, 2 );
+
+    assertEquals( value.toArray(), new float[]{ 1, 2 } );
+
+    // Now with an offset
+    assertEquals( value.toArray( new float[ 6 ], 2 ), new float[]{ 0, 0, 1, 2, 0, 0 } );
+  }
+
+  @Test
+  public void buffers()
+  {
+    final Vector2f value = new Vector2f( 1.5F, 2 );
+
+    final FloatBuffer floats = FloatBuffer.allocate( Vector2f.COMPONENTS + 2 );
+    assertSame( value.get( floats, 2 ), floats );
+    assertEquals( floats.position(), 0 );
+    assertEquals( floats.get( 2 ), 1.5F );
+    assertTrue( new Vector2f().set( floats, 2 ).isEqualTo( value ) );
+
+    for ( final ByteOrder order : new ByteOrder[]{ ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN } )
+    {
+      final ByteBuffer bytes = ByteBuffer.allocateDirect( Vector2f.BYTES + 4 ).order( order );
+      assertSame( value.get( bytes, 4 ), bytes );
+      assertEquals( bytes.position(), 0 );
+      assertEquals( bytes.getFloat( 4 ), 1.5F );
+      assertTrue( new Vector2f().set( bytes, 4 ).isEqualTo( value ) );
+    }
+  }
+}
@@ -0,0 +1,105 @@
+package org.realityforge.vecmath;
+
+import java.nio.IntBuffer;
+import org.testng.annotations.Test;
+import static org.testng.Assert.*;
+
+public final class Vector2iTest
+  extends AbstractTest
+{
+  @Test
+  public void testToString()
+  {
+    assertEquals( new Vector2i( 1, -2 ).toString(), "(1, -2)" );
+    assertDefaultToStringWhenDebugToStringDisabled( new Vector2i() );
+  }
+
+  @Test
+  public void testHashCode()
+  {
+    VecmathTestUtil.enableObjectEquals();
+    final Vector2i value1 = new Vector2i( 1, 2 );
+    final Vector2i value2 = new Vector2i( 1, 2 );
+    final Vector2i value3 = new Vector2i( 2, 1 );
+    assertEquals( value1, value2 );
+    assertEquals( value1.hashCode(), value2.hashCode() );
+    assertNotEquals( value1, value3 );
+    assertNotEquals( value1.hashCode(), value3.hashCode() );
+  }
+
+  @Test
+  public void constructorsAndSet()
+  {
+    assertVecEquals( new Vector2i(), 0, 0 );
+    assertVecEquals( new Vector2i( new Vector2i( 1, 2 ) ), 1, 2 );
+
+    final Vector2i value = new Vector2i( 1, 2 );
+    assertNotSame( value.dup(), value );
+    assertVecEquals( value.dup(), 1, 2 );
+    assertSame( value.set( new Vector2i() ), value );
+    assertVecEquals( value, 0, 0 );
+    assertSame( value.set( 4, 5 ), value );
+    assertVecEquals( value, 4, 5 );
+
+    assertVecEquals( new Vector2d().set( value ), 4, 5 );
+  }
+
+  @Test
+  public void floor()
+  {
+    final Vector2i value = new Vector2i();
+    assertSame( value.floor( new Vector2d( 1.5, -0.5 ) ), value );
+    assertVecEquals( value, 1, -1 );
+    assertSame( value.floor( new Vector2d( 31.9, -32.1 ), 32 ), value );
+    assertVecEquals( value, 0, -2 );
+  }
+
+  @Test
+  public void arithmetic()
+  {
+    final Vector2i value = new Vector2i( 1, 2 );
+    assertVecEquals( value.add( new Vector2i( 4, 5 ) ), 5, 7 );
+    assertVecEquals( value.add( 5, 3 ), 10, 10 );
+    assertVecEquals( value.add( new Vector2i( 1, 2 ), new Vector2i( 1, 2 ) ), 2, 4 );
+    assertVecEquals( value.sub( new Vector2i( 4, 5 ) ), -2, -1 );
+    assertVecEquals( value.sub( 5, 3 ), -7, -4 );
+    assertVecEquals( value.sub( new Vector2i( 1, 2 ), new Vector2i( 3, 2 ) ), -2, 0 );
+    assertVecEquals( value.mul( 3 ), -6, 0 );
+    assertVecEquals( value.floorDiv( 4 ), -2, 0 );
+    assertEquals( new Vector2i( 3, 4 ).lengthSquared(), 25L );
+    assertEquals( new Vector2i( 3, 4 ).gridDistance( new Vector2i( -1, 2 ) ), 6 );
+  }
+
+  @Test
+  public void pack()
+  {
+    assertPackRoundTrip( 0, 0 );
+    assertPackRoundTrip( 1, -1 );
+    assertPackRoundTrip( -1, 1 );
+    assertPackRoundTrip( Integer.MAX_VALUE, Integer.MIN_VALUE );
+    assertPackRoundTrip( Integer.MIN_VALUE, Integer.MAX_VALUE );
+
+    assertEquals( new Vector2i( 1, 2 ).pack(), Vector2i.pack( 1, 2 ) );
+    assertNotEquals( Vector2i.pack( 0, -1 ), Vector2i.pack( -1, 0 ) );
+  }
+
+  private void assertPackRoundTrip( final int x, final int y )
+  {
+    final Vector2i value = new Vector2i();
+    assertSame( value.unpack( Vector2i.pack( x, y ) ), value );
+    assertVecEquals( value, x, y );
+  }
+
+  @Test
+  public void toArrayAndBuffers()
+  {
+    final Vector2i value = new Vector2i( 1, 2 );
+    assertEquals( value.toArray(), new int[]{ 1, 2 } );
+    assertEquals( value.toArray( new int[ 5 ], 2 ), new int[]{ 0, 0, 1, 2, 0 } );
+
+    final IntBuffer ints = IntBuffer.allocate( Vector2i.COMPONENTS + 2 );
+    assertSame( value.get( ints, 2 ), ints );
+    assertEquals( ints.position(), 0 );
+    assertTrue( new Vector2i().set( ints, 2 ).isEqualTo( value ) );
+  }
+}
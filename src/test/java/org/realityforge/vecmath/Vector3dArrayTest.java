@@ -0,0 +1,161 @@
+package org.realityforge.vecmath;
+
+import java.util.Random;
+import org.testng.annotations.Test;
+import static org.testng.Assert.*;
+
+public final class Vector3dArrayTest
+  extends AbstractTest
+{
+  @Test
+  public void construct()
+  {
+    final Vector3dArray array = new Vector3dArray( 3 );
+    assertEquals( array.size(), 3 );
+    assertEquals( array.x.length, 3 );
+    assertEquals( array.y.length, 3 );
+    assertEquals( array.z.length, 3 );
+    assertVecEquals( array.get( 0, new Vector3d() ), 0, 0, 0 );
+    assertVecEquals( array.get( 2, new Vector3d() ), 0, 0, 0 );
+  }
+
+  @Test
+  public void getAndSet()
+  {
+    final Vector3dArray array = new Vector3dArray( 3 );
+
+    assertSame( array.set( 0, 1, 2, 3 ), array );
+    assertSame( array.set( 2, new Vector3d( 4, 5, 6 ) ), array );
+
+    final Vector3d target = new Vector3d();
+    assertSame( array.get( 0, target ), target );
+    assertVecEquals( target, 1, 2, 3 );
+    assertVecEquals( array.get( 1, target ), 0, 0, 0 );
+    assertVecEquals( array.get( 2, target ), 4, 5, 6 );
+  }
+
+  @Test
+  public void add()
+  {
+    final Vector3dArray array = createArray();
+    final Vector3dArray other = new Vector3dArray( 2 ).set( 0, 1, 1, 1 ).set( 1, 2, 2, 2 );
+
+    assertSame( array.add( other ), array );
+    assertVecEquals( array.get( 0, new Vector3d() ), 2, 3, 4 );
+    assertVecEquals( array.get( 1, new Vector3d() ), 6, 7, 8 );
+
+    assertSame( array.add( new Vector3d( 1, 2, 3 ) ), array );
+    assertVecEquals( array.get( 0, new Vector3d() ), 3, 5, 7 );
+    assertVecEquals( array.get( 1, new Vector3d() ), 7, 9, 11 );
+  }
+
+  @Test
+  public void sub()
+  {
+    final Vector3dArray array = createArray();
+    final Vector3dArray other = new Vector3dArray( 2 ).set( 0, 1, 1, 1 ).set( 1, 2, 2, 2 );
+
+    assertSame( array.sub( other ), array );
+    assertVecEquals( array.get( 0, new Vector3d() ), 0, 1, 2 );
+    assertVecEquals( array.get( 1, new Vector3d() ), 2, 3, 4 );
+
+    assertSame( array.sub( new Vector3d( 1, 2, 3 ) ), array );
+    assertVecEquals( array.get( 0, new Vector3d() ), -1, -1, -1 );
+    assertVecEquals( array.get( 1, new Vector3d() ), 1, 1, 1 );
+  }
+
+  @Test
+  public void mul()
+  {
+    final Vector3dArray array = createArray();
+
+    assertSame( array.mul( 2 ), array );
+    assertVecEquals( array.get( 0, new Vector3d() ), 2, 4, 6 );
+    assertVecEquals( array.get( 1, new Vector3d() ), 8, 10, 12 );
+  }
+
+  @Test
+  public void normalize()
+  {
+    final Vector3dArray array = createArray();
+
+    assertSame( array.normalize(), array );
+    assertTrue( array.get( 0, new Vector3d() ).isEqualTo( new Vector3d( 1, 2, 3 ).normalize() ) );
+    assertTrue( array.get( 1, new Vector3d() ).isEqualTo( new Vector3d( 4, 5, 6 ).normalize() ) );
+  }
+
+  @Test
+  public void lerp()
+  {
+    final Vector3dArray array = createArray();
+    final Vector3dArray other = new Vector3dArray( 2 ).set( 0, 5, 10, 7 ).set( 1, -4, 1, 0 );
+    assertSame( array.lerp( other, 0.25 ), array );
+    assertTrue( array.get( 0, new Vector3d() ).isEqualTo( new Vector3d( 1, 2, 3 ).lerp( new Vector3d( 5, 10, 7 ), 0.25 ) ) );
+    assertTrue( array.get( 1, new Vector3d() ).isEqualTo( new Vector3d( 4, 5, 6 ).lerp( new Vector3d( -4, 1, 0 ), 0.25 ) ) );
+
+    final Vector3dArray result = new Vector3dArray( 2 );
+    assertSame( result.lerp( createArray(), other, 1.0 ), result );
+    assertTrue( result.get( 0, new Vector3d() ).isEqualTo( new Vector3d( 5, 10, 7 ) ) );
+    assertTrue( result.get( 1, new Vector3d() ).isEqualTo( new Vector3d( -4, 1, 0 ) ) );
+  }
+
+  @Test
+  public void bulkOperationsMatchSingleVectorOperations()
+  {
+    // The bulk kernels are expected to produce bit-identical results to the single vector operations
+    final int size = 1027;
+    final Random random = new Random( 42 );
+    final Vector3dArray array1 = new Vector3dArray( size );
+    final Vector3dArray array2 = new Vector3dArray( size );
+    for ( int i = 0; i < size; i++ )
+    {
+      array1.set( i, random.nextDouble() * 200 - 100, random.nextDouble() * 200 - 100, random.nextDouble() * 200 - 100 );
+      array2.set( i, random.nextDouble() * 200 - 100, random.nextDouble() * 200 - 100, random.nextDouble() * 200 - 100 );
+    }
+    final double[] dots = array1.dot( array2, new double[ size ] );
+    final Vector3dArray lerped = new Vector3dArray( size ).lerp( array1, array2, 0.3 );
+    final Vector3dArray normalized = new Vector3dArray( size ).lerp( array1, array1, 0 ).normalize();
+
+    final Vector3d value1 = new Vector3d();
+    final Vector3d value2 = new Vector3d();
+    final Vector3d actual = new Vector3d();
+    for ( int i = 0; i < size; i++ )
+    {
+      array1.get( i, value1 );
+      array2.get( i, value2 );
+      assertEquals( dots[ i ], value1.dot( value2 ) );
+      assertTrue( lerped.get( i, actual ).isEqualTo( value1.dup().lerp( value2, 0.3 ) ) );
+      assertTrue( normalized.get( i, actual ).isEqualTo( value1.dup().normalize() ) );
+    }
+  }
+
+  @Test
+  public void dot()
+  {
+    final Vector3dArray array = createArray();
+    final Vector3dArray other = new Vector3dArray( 2 ).set( 0, 4, 5, 6 ).set( 1, 1, 0, 0 );
+
+    final double[] target = new double[ 2 ];
+    assertSame( array.dot( other, target ), target );
+    assertArray( target, "[32.0, 4.0]" );
+
+    assertSame( array.dot( new Vector3d( 0, 0, 1 ), target ), target );
+    assertArray( target, "[3.0, 6.0]" );
+  }
+
+  @Test
+  public void mul_Matrix4d()
+  {
+    final Matrix4d matrix = new Matrix4d().setPerspective( Math.PI / 2, 1.4, 1, 10 ).translate( 1, 2, 3 );
+    final Vector3dArray array = createArray();
+
+    assertSame( array.mul( matrix ), array );
+    assertTrue( array.get( 0, new Vector3d() ).isEqualTo( new Vector3d( 1, 2, 3 ).mul( matrix ) ) );
+    assertTrue( array.get( 1, new Vector3d() ).isEqualTo( new Vector3d( 4, 5, 6 ).mul( matrix ) ) );
+  }
+
+  private Vector3dArray createArray()
+  {
+    return new Vector3dArray( 2 ).set( 0, 1, 2, 3 ).set( 1, 4, 5, 6 );
+  }
+}
@@ -0,0 +1,121 @@
+package org.realityforge.vecmath;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import javax.annotation.Nonnull;
+import org.testng.annotations.Test;
+import static org.testng.Assert.*;
+
+public final class Vector3dCursorTest
+  extends AbstractTest
+{
+  @Test
+  public void testToString()
+  {
+    final Vector3dCursor cursor = Vector3dCursor.wrap( new double[]{ 1, 2, 3 } );
+    assertEquals( cursor.toString(), "(1.0, 2.0, 3.0)" );
+    assertEquals( cursor.asString(), "(1.0, 2.0, 3.0)" );
+    assertDefaultToStringWhenDebugToStringDisabled( cursor );
+  }
+
+  @Test
+  public void wrapArray()
+  {
+    final double[] array = new double[]{ 1, 2, 3, 4, 5, 6 };
+    final Vector3dCursor cursor = Vector3dCursor.wrap( array );
+    assertEquals( cursor.count(), 2 );
+    assertEquals( cursor.index(), 0 );
+    assertEquals( cursor.getX(), 1.0 );
+    assertEquals( cursor.getY(), 2.0 );
+    assertEquals( cursor.getZ(), 3.0 );
+
+    assertSame( cursor.moveTo( 1 ), cursor );
+    assertEquals( cursor.index(), 1 );
+    assertVecEquals( cursor.get( new Vector3d() ), 4, 5, 6 );
+
+    assertSame( cursor.set( 7, 8, 9 ), cursor );
+    assertArray( array, "[1.0, 2.0, 3.0, 7.0, 8.0, 9.0]" );
+    assertSame( cursor.moveTo( 0 ).set( new Vector3d( 10, 11, 12 ) ), cursor );
+    assertArray( array, "[10.0, 11.0, 12.0, 7.0, 8.0, 9.0]" );
+  }
+
+  @Test
+  public void wrapArray_offsetAndStride()
+  {
+    final double[] array = new double[]{ 0, 1, 2, 3, 0, 4, 5, 6, 0 };
+    final Vector3dCursor cursor = Vector3dCursor.wrap( array, 1, 4, 2 );
+    assertEquals( cursor.count(), 2 );
+    assertVecEquals( cursor.get( new Vector3d() ), 1, 2, 3 );
+    cursor.moveTo( 1 ).add( 1, 1, 1 );
+    assertArray( array, "[0.0, 1.0, 2.0, 3.0, 0.0, 5.0, 6.0, 7.0, 0.0]" );
+  }
+
+  @Test
+  public void operations()
+  {
+    final double[] array = new double[ 7 ];
+    final DoubleBuffer doubles = DoubleBuffer.allocate( 7 );
+    final ByteBuffer bigEndian = ByteBuffer.allocate( 8 + Vector3d.BYTES );
+    final ByteBuffer littleEndian = ByteBuffer.allocateDirect( 8 + Vector3d.BYTES ).order( ByteOrder.LITTLE_ENDIAN );
+    assertOperations( Vector3dCursor.wrap( array, 4, 3, 1 ) );
+    assertOperations( Vector3dCursor.wrap( doubles, 4, 3, 1 ) );
+    assertOperations( Vector3dCursor.wrap( bigEndian, 8, Vector3d.BYTES, 1 ) );
+    assertOperations( Vector3dCursor.wrap( littleEndian, 8, Vector3d.BYTES, 1 ) );
+
+    // Buffers are written using absolute indexes
+    assertEquals( doubles.position(), 0 );
+    assertEquals( bigEndian.position(), 0 );
+    final Vector3d expected = new Vector3d();
+    Vector3dCursor.wrap( array, 4, 3, 1 ).get( expected );
+    assertEquals( doubles.get( 4 ), expected.x );
+    assertEquals( bigEndian.getDouble( 16 ), expected.y );
+    assertEquals( littleEndian.getDouble( 24 ), expected.z );
+  }
+
+  @Test
+  public void mul_Matrix4d()
+  {
+    final Matrix4d affine = new Matrix4d().rotateY( 0.3 ).translate( 1, 2, 3 );
+    final Matrix4d perspective = new Matrix4d().setPerspective( Math.PI / 3, 1.4, 1, 10 );
+    final Vector3d value = new Vector3d( 1, -2, 3 );
+    final Vector3dCursor cursor = Vector3dCursor.wrap( new double[ 3 ] );
+
+    assertSame( cursor.set( value ).mul( affine ), cursor );
+    assertTrue( cursor.get( new Vector3d() ).isEqualTo( value.dup().mul( affine ) ) );
+    assertSame( cursor.set( value ).mul( perspective ), cursor );
+    assertTrue( cursor.get( new Vector3d() ).isEqualTo( value.dup().mul( perspective ) ) );
+    assertSame( cursor.set( value ).mulPosition( affine ), cursor );
+    assertTrue( cursor.get( new Vector3d() ).isEqualTo( value.dup().mulPosition( affine ) ) );
+    assertSame( cursor.set( value ).mulDirection( affine ), cursor );
+    assertTrue( cursor.get( new Vector3d() ).isEqualTo( value.dup().mulDirection( affine ) ) );
+  }
+
+  private void assertOperations( @Nonnull final Vector3dCursor cursor )
+  {
+    final Vector3d other = new Vector3d( 4, -5, 6 );
+    final Vector3d expected = new Vector3d( 1, 2, 3 );
+    assertSame( cursor.set( 1, 2, 3 ), cursor );
+
+    assertSame( cursor.add( other ), cursor );
+    assertVecEquals( cursor.get( new Vector3d() ), expected.add( other ).x, expected.y, expected.z );
+    assertSame( cursor.sub( 1, 1, 1 ), cursor );
+    assertSame( cursor.sub( other ), cursor );
+    expected.sub( 1, 1, 1 ).sub( other );
+    assertSame( cursor.mul( 2.5 ), cursor );
+    expected.mul( 2.5 );
+    assertTrue( cursor.get( new Vector3d() ).isEqualTo( expected ) );
+
+    assertEquals( cursor.dot( other ), expected.dot( other ) );
+    assertEquals( cursor.lengthSquared(), expected.lengthSquared() );
+    assertEquals( cursor.length(), expected.length() );
+
+    assertSame( cursor.lerp( other, 0.25 ), cursor );
+    expected.lerp( other, 0.25 );
+    assertTrue( cursor.get( new Vector3d() ).isEqualTo( expected ) );
+
+    assertSame( cursor.normalize(), cursor );
+    expected.normalize();
+    assertTrue( cursor.get( new Vector3d() ).isEqualTo( expected ) );
+  }
+}
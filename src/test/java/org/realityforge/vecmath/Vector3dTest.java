@@ -1,5 +1,10 @@
 package org.realityforge.vecmath;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.util.Arrays;
 import javax.annotation.Nonnull;
 import org.testng.annotations.Test;
 import static org.testng.Assert.*;
@@ -33,6 +38,34 @@ public final class Vector3dTest
     assertFalse( value1.isEqualTo( value3 ) );
   }
 
+  @Test
+  public void isEqualTo_epsilon()
+  {
+    final Vector3d value = new Vector3d( 1, 2, 3 );
+    assertTrue( value.isEqualTo( new Vector3d( 1, 2, 3 ), 0.0 ) );
+    assertTrue( value.isEqualTo( new Vector3d( 1.05, 1.95, 3.08 ), 0.1 ) );
+    assertFalse( value.isEqualTo( new Vector3d( 1.05, 1.95, 3.2 ), 0.1 ) );
+  }
+
+  @Test
+  public void isEqualToUlps()
+  {
+    final Vector3d value = new Vector3d( 1, 2, 3 );
+    final Vector3d other = new Vector3d( Math.nextUp( 1.0 ), Math.nextDown( 2.0 ), 3 );
+    assertTrue( value.isEqualToUlps( other, 1 ) );
+    assertFalse( value.isEqualToUlps( other, 0 ) );
+    assertFalse( value.isEqualToUlps( other.set( 1, 2, Math.nextUp( Math.nextUp( 3.0 ) ) ), 1 ) );
+
+    // Values of differing sign are only equal when both are near zero
+    final Vector3d zero = new Vector3d( 0, 0, 0 );
+    assertTrue( zero.isEqualToUlps( new Vector3d( -0.0, Double.MIN_VALUE, -Double.MIN_VALUE ), 1 ) );
+    assertTrue( new Vector3d( Double.MIN_VALUE, 0, 0 ).isEqualToUlps( new Vector3d( -Double.MIN_VALUE, 0, 0 ), 2 ) );
+    assertFalse( new Vector3d( Double.MIN_VALUE, 0, 0 ).isEqualToUlps( new Vector3d( -Double.MIN_VALUE, 0, 0 ), 1 ) );
+    assertFalse( new Vector3d( Double.MAX_VALUE, 0, 0 ).isEqualToUlps( new Vector3d( -Double.MAX_VALUE, 0, 0 ),
+                                                                       Integer.MAX_VALUE ) );
+    assertFalse( zero.isEqualToUlps( new Vector3d( Double.NaN, 0, 0 ), Integer.MAX_VALUE ) );
+  }
+
   @Test
   public void testHashCode()
   {
@@ -49,6 +82,17 @@ public final class Vector3dTest
     assertNotEquals( value3.hashCode(), value1.hashCode() );
   }
 
+  @Test
+  public void testHashCode_negativeZero()
+  {
+    VecmathTestUtil.enableObjectEquals();
+    final Vector3d value1 = new Vector3d( 0, 1, 0 );
+    final Vector3d value2 = new Vector3d( -0.0, 1, -0.0 );
+    assertEquals( value1, value2 );
+    assertEquals( value1.hashCode(), value2.hashCode() );
+    assertEquals( value1.hashCode(), Arrays.hashCode( new double[]{ 0, 1, 0 } ) );
+  }
+
   @Test
   public void testHashCode_whenObjectEqualsDisabled()
   {
@@ -267,6 +311,34 @@ public final class Vector3dTest
     assertVecEquals( result, x2, y2, z2 );
   }
 
+  @Test
+  public void mulPosition()
+  {
+    final Matrix4d matrix = new Matrix4d().setTranslation( 1, 2, 3 ).rotateZ( Math.PI / 2 ).scale( 2 );
+    final Vector3d value = new Vector3d( 1, 2, 3 );
+    assertSame( value.mulPosition( matrix ), value );
+    assertVecEquals( value, -2, 6, 12 );
+    assertTrue( value.isEqualTo( new Vector3d( 1, 2, 3 ).mul( matrix ) ) );
+  }
+
+  @Test
+  public void mulDirection()
+  {
+    final Matrix4d matrix = new Matrix4d().setTranslation( 1, 2, 3 ).rotateZ( Math.PI / 2 ).scale( 2 );
+    final Vector3d value = new Vector3d( 1, 2, 3 );
+    assertSame( value.mulDirection( matrix ), value );
+    assertVecEquals( value, -4, 2, 6 );
+  }
+
+  @Test
+  public void mul_Matrix3d()
+  {
+    final Matrix4d matrix = new Matrix4d().setTranslation( 1, 2, 3 ).rotateZ( Math.PI / 2 ).scale( 2 );
+    final Vector3d value = new Vector3d( 1, 2, 3 );
+    assertSame( value.mul( new Matrix3d( matrix ) ), value );
+    assertVecEquals( value, -4, 2, 6 );
+  }
+
   @Test
   public void dot()
   {
@@ -369,4 +441,36 @@ public final class Vector3dTest
     // Now with an offset
     assertArray( value.toArray( new double[ 7 ], 2 ), "[0.0, 0.0, 1.0, 2.0, 3.0, 0.0, 0.0]" );
   }
+
+  @Test
+  public void buffers()
+  {
+    final Vector3d value = new Vector3d( 1.5, 2, 3 );
+
+    final DoubleBuffer doubles = DoubleBuffer.allocate( Vector3d.COMPONENTS + 2 );
+    assertSame( value.get( doubles, 2 ), doubles );
+    assertEquals( doubles.position(), 0 );
+    assertTrue( new Vector3d().set( doubles, 2 ).isEqualTo( value ) );
+
+    final FloatBuffer floats = FloatBuffer.allocate( Vector3d.COMPONENTS + 2 );
+    assertSame( value.get( floats, 2 ), floats );
+    assertEquals( floats.position(), 0 );
+    assertEquals( floats.get( 2 ), 1.5F );
+    assertTrue( new Vector3d().set( floats, 2 ).isEqualTo( value ) );
+
+    for ( final ByteOrder order : new ByteOrder[]{ ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN } )
+    {
+      final ByteBuffer bytes = ByteBuffer.allocateDirect( Vector3d.BYTES + 8 ).order( order );
+      assertSame( value.get( bytes, 8 ), bytes );
+      assertEquals( bytes.position(), 0 );
+      assertEquals( bytes.getDouble( 8 ), 1.5 );
+      assertTrue( new Vector3d().set( bytes, 8 ).isEqualTo( value ) );
+
+      final ByteBuffer floatBytes = ByteBuffer.allocateDirect( Vector3d.FLOAT_BYTES + 4 ).order( order );
+      assertSame( value.getFloats( floatBytes, 4 ), floatBytes );
+      assertEquals( floatBytes.position(), 0 );
+      assertEquals( floatBytes.getFloat( 4 ), 1.5F );
+      assertTrue( new Vector3d().setFloats( floatBytes, 4 ).isEqualTo( value ) );
+    }
+  }
 }
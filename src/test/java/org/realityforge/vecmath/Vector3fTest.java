@@ -1,5 +1,8 @@
 package org.realityforge.vecmath;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
 import javax.annotation.Nonnull;
 import org.testng.annotations.Test;
 import static org.testng.Assert.*;
@@ -33,6 +36,28 @@ public final class Vector3fTest
     assertFalse( value1.isEqualTo( value3 ) );
   }
 
+  @Test
+  public void isEqualTo_epsilon()
+  {
+    final Vector3f value = new Vector3f( 1, 2, 3 );
+    assertTrue( value.isEqualTo( new Vector3f( 1, 2, 3 ), 0.0f ) );
+    assertTrue( value.isEqualTo( new Vector3f( 1.05f, 1.95f, 3.05f ), 0.1f ) );
+    assertFalse( value.isEqualTo( new Vector3f( 1.05f, 1.95f, 3.2f ), 0.1f ) );
+  }
+
+  @Test
+  public void isEqualToUlps()
+  {
+    final Vector3f value = new Vector3f( 1, 2, 3 );
+    final Vector3f other = new Vector3f( Math.nextUp( 1.0f ), Math.nextDown( 2.0f ), 3 );
+    assertTrue( value.isEqualToUlps( other, 1 ) );
+    assertFalse( value.isEqualToUlps( other, 0 ) );
+    assertFalse( value.isEqualToUlps( other.set( 1, 2, Math.nextUp( Math.nextUp( 3.0f ) ) ), 1 ) );
+    assertTrue( new Vector3f( Float.MIN_VALUE, 0, 0 ).isEqualToUlps( new Vector3f( -Float.MIN_VALUE, -0.0f, 0 ), 2 ) );
+    assertFalse( new Vector3f( Float.MIN_VALUE, 0, 0 ).isEqualToUlps( new Vector3f( -Float.MIN_VALUE, 0, 0 ), 1 ) );
+    assertFalse( new Vector3f( Float.NaN, 0, 0 ).isEqualToUlps( new Vector3f( Float.NaN, 0, 0 ), Integer.MAX_VALUE ) );
+  }
+
   @Test
   public void testHashCode()
   {
@@ -341,9 +366,62 @@ public final class Vector3fTest
   {
     final Vector3f value = new Vector3f( 1, 2, 3 );
 
-    assertArray( value.toArray(), "[1.0, 2.0, 3.0]" );
+    assertEquals( value.toArray(), new float[]{ 1, 2, 3 } );
 
     // Now with an offset
+    assertEquals( value.toArray( new float[ 7 ], 2 ), new float[]{ 0, 0, 1, 2, 3, 0, 0 } );
     assertArray( value.toArray( new double[ 7 ], 2 ), "[0.0, 0.0, 1.0, 2.0, 3.0, 0.0, 0.0]" );
   }
+
+  @Test
+  public void narrowing()
+  {
+    assertVecEquals( new Vector3f( new Vector3d( 1.5, 2, 3 ) ), 1.5F, 2, 3 );
+    final Vector3f value = new Vector3f();
+    assertSame( value.set( new Vector3d( 0.1, 0.2, 0.3 ) ), value );
+    assertEquals( value.x, 0.1F );
+    assertEquals( value.y, 0.2F );
+    assertEquals( value.z, 0.3F );
+  }
+
+  @Test
+  public void mulPosition_Matrix4f()
+  {
+    final Matrix4d m = new Matrix4d().setTranslation( 1, 2, 3 ).rotateZ( Math.PI / 2 );
+    final Vector3f value = new Vector3f( 1, 0, 0 );
+    assertSame( value.mulPosition( new Matrix4f( m ) ), value );
+    final Vector3d expected = new Vector3d( 1, 0, 0 ).mulPosition( m );
+    assertVecEquals( value, (float) expected.x, (float) expected.y, (float) expected.z );
+  }
+
+  @Test
+  public void mulDirection_Matrix4f()
+  {
+    final Matrix4d m = new Matrix4d().setTranslation( 1, 2, 3 ).rotateZ( Math.PI / 2 );
+    final Vector3f value = new Vector3f( 1, 0, 0 );
+    assertSame( value.mulDirection( new Matrix4f( m ) ), value );
+    final Vector3d expected = new Vector3d( 1, 0, 0 ).mulDirection( m );
+    assertVecEquals( value, (float) expected.x, (float) expected.y, (float) expected.z );
+  }
+
+  @Test
+  public void buffers()
+  {
+    final Vector3f value = new Vector3f( 1.5F, 2, 3 );
+
+    final FloatBuffer floats = FloatBuffer.allocate( Vector3f.COMPONENTS + 2 );
+    assertSame( value.get( floats, 2 ), floats );
+    assertEquals( floats.position(), 0 );
+    assertEquals( floats.get( 2 ), 1.5F );
+    assertTrue( new Vector3f().set( floats, 2 ).isEqualTo( value ) );
+
+    for ( final ByteOrder order : new ByteOrder[]{ ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN } )
+    {
+      final ByteBuffer bytes = ByteBuffer.allocateDirect( Vector3f.BYTES + 4 ).order( order );
+      assertSame( value.get( bytes, 4 ), bytes );
+      assertEquals( bytes.position(), 0 );
+      assertEquals( bytes.getFloat( 4 ), 1.5F );
+      assertTrue( new Vector3f().set( bytes, 4 ).isEqualTo( value ) );
+    }
+  }
 }
@@ -0,0 +1,192 @@
+package org.realityforge.vecmath;
+
+import java.nio.IntBuffer;
+import java.util.HashSet;
+import java.util.Set;
+import org.testng.annotations.Test;
+import static org.testng.Assert.*;
+
+public final class Vector3iTest
+  extends AbstractTest
+{
+  @Test
+  public void testToString()
+  {
+    assertEquals( new Vector3i( 1, -2, 3 ).toString(), "(1, -2, 3)" );
+    assertDefaultToStringWhenDebugToStringDisabled( new Vector3i() );
+  }
+
+  @Test
+  public void asString()
+  {
+    assertEquals( new Vector3i().asString(), "(0, 0, 0)" );
+    VecmathTestUtil.disableDebugToString();
+    assertEquals( new Vector3i().asString(), "(0, 0, 0)" );
+  }
+
+  @Test
+  public void isEqualTo()
+  {
+    final Vector3i value1 = new Vector3i( 1, 2, 3 );
+    final Vector3i value2 = new Vector3i( 1, 2, 3 );
+    final Vector3i value3 = new Vector3i( 1, 2, 4 );
+    assertTrue( value1.isEqualTo( value1 ) );
+    assertTrue( value1.isEqualTo( value2 ) );
+    assertFalse( value1.isEqualTo( value3 ) );
+  }
+
+  @Test
+  public void testHashCode()
+  {
+    VecmathTestUtil.enableObjectEquals();
+    final Vector3i value1 = new Vector3i( 1, 2, 3 );
+    final Vector3i value2 = new Vector3i( 1, 2, 3 );
+    final Vector3i value3 = new Vector3i( 3, 2, 1 );
+    assertEquals( value1, value2 );
+    assertEquals( value1.hashCode(), value2.hashCode() );
+    assertNotEquals( value1, value3 );
+    assertNotEquals( value1.hashCode(), value3.hashCode() );
+  }
+
+  @Test
+  public void testHashCode_whenObjectEqualsDisabled()
+  {
+    final Vector3i value1 = new Vector3i( 1, 2, 3 );
+    final Vector3i value2 = new Vector3i( 1, 2, 3 );
+    assertEquals( value1, value1 );
+    assertNotEquals( value1, value2 );
+    assertNotEquals( value1.hashCode(), value2.hashCode() );
+  }
+
+  @Test
+  public void constructorsAndSet()
+  {
+    assertVecEquals( new Vector3i(), 0, 0, 0 );
+    assertVecEquals( new Vector3i( 1, 2, 3 ), 1, 2, 3 );
+    assertVecEquals( new Vector3i( new Vector3i( 1, 2, 3 ) ), 1, 2, 3 );
+
+    final Vector3i value = new Vector3i( 1, 2, 3 );
+    final Vector3i dup = value.dup();
+    assertVecEquals( dup, 1, 2, 3 );
+    assertNotSame( dup, value );
+
+    assertSame( value.set( new Vector3i() ), value );
+    assertVecEquals( value, 0, 0, 0 );
+    assertSame( value.set( 4, 5, 6 ), value );
+    assertVecEquals( value, 4, 5, 6 );
+
+    assertVecEquals( new Vector3d().set( value ), 4, 5, 6 );
+  }
+
+  @Test
+  public void floor()
+  {
+    final Vector3i value = new Vector3i();
+    assertSame( value.floor( new Vector3d( 1.5, -0.5, -2 ) ), value );
+    assertVecEquals( value, 1, -1, -2 );
+
+    assertSame( value.floor( 0.99, -0.01, 3.0 ), value );
+    assertVecEquals( value, 0, -1, 3 );
+
+    assertSame( value.floor( new Vector3d( 15.9, -0.1, 16 ), 16 ), value );
+    assertVecEquals( value, 0, -1, 1 );
+  }
+
+  @Test
+  public void arithmetic()
+  {
+    final Vector3i value = new Vector3i( 1, 2, 3 );
+
+    assertSame( value.add( new Vector3i( 4, 5, 6 ) ), value );
+    assertVecEquals( value, 5, 7, 9 );
+    assertSame( value.add( 5, 3, 1 ), value );
+    assertVecEquals( value, 10, 10, 10 );
+    assertSame( value.add( new Vector3i( 1, 2, 3 ), new Vector3i( 1, 2, 3 ) ), value );
+    assertVecEquals( value, 2, 4, 6 );
+
+    assertSame( value.sub( new Vector3i( 4, 5, 6 ) ), value );
+    assertVecEquals( value, -2, -1, 0 );
+    assertSame( value.sub( 5, 3, 1 ), value );
+    assertVecEquals( value, -7, -4, -1 );
+    assertSame( value.sub( new Vector3i( 1, 2, 3 ), new Vector3i( 3, 2, 1 ) ), value );
+    assertVecEquals( value, -2, 0, 2 );
+
+    assertSame( value.mul( 3 ), value );
+    assertVecEquals( value, -6, 0, 6 );
+  }
+
+  @Test
+  public void floorDiv()
+  {
+    final Vector3i value = new Vector3i( 15, -1, -16 );
+    assertSame( value.floorDiv( 16 ), value );
+    assertVecEquals( value, 0, -1, -1 );
+    assertVecEquals( new Vector3i( 16, -17, 0 ).floorDiv( 16 ), 1, -2, 0 );
+  }
+
+  @Test
+  public void distances()
+  {
+    assertEquals( new Vector3i( 1, 2, 3 ).lengthSquared(), 14L );
+    assertEquals( new Vector3i( Integer.MAX_VALUE, 0, 0 ).lengthSquared(), (long) Integer.MAX_VALUE * Integer.MAX_VALUE );
+    assertEquals( new Vector3i( 1, 2, 3 ).gridDistance( new Vector3i( -1, 2, 7 ) ), 6 );
+  }
+
+  @Test
+  public void pack()
+  {
+    assertPackRoundTrip( 0, 0, 0 );
+    assertPackRoundTrip( 1, -1, 2 );
+    assertPackRoundTrip( -1, -1, -1 );
+    assertPackRoundTrip( Vector3i.MAX_PACKED_VALUE, Vector3i.MIN_PACKED_VALUE, Vector3i.MAX_PACKED_VALUE );
+    assertPackRoundTrip( Vector3i.MIN_PACKED_VALUE, Vector3i.MAX_PACKED_VALUE, Vector3i.MIN_PACKED_VALUE );
+
+    assertEquals( new Vector3i( 1, 2, 3 ).pack(), Vector3i.pack( 1, 2, 3 ) );
+
+    // Every coordinate in a region produces a distinct key
+    final Set<Long> keys = new HashSet<>();
+    for ( int x = -2; x <= 2; x++ )
+    {
+      for ( int y = -2; y <= 2; y++ )
+      {
+        for ( int z = -2; z <= 2; z++ )
+        {
+          assertTrue( keys.add( Vector3i.pack( x, y, z ) ) );
+        }
+      }
+    }
+  }
+
+  @Test
+  public void pack_outOfRange()
+  {
+    expectThrows( AssertionError.class, () -> Vector3i.pack( Vector3i.MAX_PACKED_VALUE + 1, 0, 0 ) );
+    expectThrows( AssertionError.class, () -> Vector3i.pack( 0, 0, Vector3i.MIN_PACKED_VALUE - 1 ) );
+  }
+
+  private void assertPackRoundTrip( final int x, final int y, final int z )
+  {
+    final Vector3i value = new Vector3i();
+    assertSame( value.unpack( Vector3i.pack( x, y, z ) ), value );
+    assertVecEquals( value, x, y, z );
+  }
+
+  @Test
+  public void toArray()
+  {
+    final Vector3i value = new Vector3i( 1, 2, 3 );
+    assertEquals( value.toArray(), new int[]{ 1, 2, 3 } );
+    assertEquals( value.toArray( new int[ 7 ], 2 ), new int[]{ 0, 0, 1, 2, 3, 0, 0 } );
+  }
+
+  @Test
+  public void buffers()
+  {
+    final Vector3i value = new Vector3i( 1, 2, 3 );
+    final IntBuffer ints = IntBuffer.allocate( Vector3i.COMPONENTS + 2 );
+    assertSame( value.get( ints, 2 ), ints );
+    assertEquals( ints.position(), 0 );
+    assertEquals( ints.get( 2 ), 1 );
+    assertTrue( new Vector3i().set( ints, 2 ).isEqualTo( value ) );
+  }
+}
@@ -0,0 +1,151 @@
+package org.realityforge.vecmath;
+
+import java.util.Random;
+import org.testng.annotations.Test;
+import static org.testng.Assert.*;
+
+public final class Vector4dArrayTest
+  extends AbstractTest
+{
+  @Test
+  public void construct()
+  {
+    final Vector4dArray array = new Vector4dArray( 3 );
+    assertEquals( array.size(), 3 );
+    assertEquals( array.x.length, 3 );
+    assertEquals( array.y.length, 3 );
+    assertEquals( array.z.length, 3 );
+    assertEquals( array.w.length, 3 );
+    assertVecEquals( array.get( 0, new Vector4d() ), 0, 0, 0, 0 );
+    assertVecEquals( array.get( 2, new Vector4d() ), 0, 0, 0, 0 );
+  }
+
+  @Test
+  public void getAndSet()
+  {
+    final Vector4dArray array = new Vector4dArray( 3 );
+
+    assertSame( array.set( 0, 1, 2, 3, 4 ), array );
+    assertSame( array.set( 2, new Vector4d( 5, 6, 7, 8 ) ), array );
+
+    final Vector4d target = new Vector4d();
+    assertSame( array.get( 0, target ), target );
+    assertVecEquals( target, 1, 2, 3, 4 );
+    assertVecEquals( array.get( 1, target ), 0, 0, 0, 0 );
+    assertVecEquals( array.get( 2, target ), 5, 6, 7, 8 );
+  }
+
+  @Test
+  public void add()
+  {
+    final Vector4dArray array = createArray();
+    final Vector4dArray other = new Vector4dArray( 2 ).set( 0, 1, 1, 1, 1 ).set( 1, 2, 2, 2, 2 );
+
+    assertSame( array.add( other ), array );
+    assertVecEquals( array.get( 0, new Vector4d() ), 2, 3, 4, 5 );
+    assertVecEquals( array.get( 1, new Vector4d() ), 7, 8, 9, 10 );
+
+    assertSame( array.add( new Vector4d( 1, 2, 3, 4 ) ), array );
+    assertVecEquals( array.get( 0, new Vector4d() ), 3, 5, 7, 9 );
+    assertVecEquals( array.get( 1, new Vector4d() ), 8, 10, 12, 14 );
+  }
+
+  @Test
+  public void sub()
+  {
+    final Vector4dArray array = createArray();
+    final Vector4dArray other = new Vector4dArray( 2 ).set( 0, 1, 1, 1, 1 ).set( 1, 2, 2, 2, 2 );
+
+    assertSame( array.sub( other ), array );
+    assertVecEquals( array.get( 0, new Vector4d() ), 0, 1, 2, 3 );
+    assertVecEquals( array.get( 1, new Vector4d() ), 3, 4, 5, 6 );
+
+    assertSame( array.sub( new Vector4d( 1, 2, 3, 4 ) ), array );
+    assertVecEquals( array.get( 0, new Vector4d() ), -1, -1, -1, -1 );
+    assertVecEquals( array.get( 1, new Vector4d() ), 2, 2, 2, 2 );
+  }
+
+  @Test
+  public void mul()
+  {
+    final Vector4dArray array = createArray();
+
+    assertSame( array.mul( 2 ), array );
+    assertVecEquals( array.get( 0, new Vector4d() ), 2, 4, 6, 8 );
+    assertVecEquals( array.get( 1, new Vector4d() ), 10, 12, 14, 16 );
+  }
+
+  @Test
+  public void normalize()
+  {
+    final Vector4dArray array = createArray();
+
+    assertSame( array.normalize(), array );
+    assertTrue( array.get( 0, new Vector4d() ).isEqualTo( new Vector4d( 1, 2, 3, 4 ).normalize() ) );
+    assertTrue( array.get( 1, new Vector4d() ).isEqualTo( new Vector4d( 5, 6, 7, 8 ).normalize() ) );
+  }
+
+  @Test
+  public void lerp()
+  {
+    final Vector4dArray array = createArray();
+    final Vector4dArray other = new Vector4dArray( 2 ).set( 0, 5, 10, 7, 0 ).set( 1, -5, 2, 3, 8 );
+    assertSame( array.lerp( other, 0.25 ), array );
+    assertTrue( array.get( 0, new Vector4d() ).isEqualTo( new Vector4d( 1, 2, 3, 4 ).lerp( new Vector4d( 5, 10, 7, 0 ), 0.25 ) ) );
+    assertTrue( array.get( 1, new Vector4d() ).isEqualTo( new Vector4d( 5, 6, 7, 8 ).lerp( new Vector4d( -5, 2, 3, 8 ), 0.25 ) ) );
+
+    final Vector4dArray result = new Vector4dArray( 2 );
+    assertSame( result.lerp( createArray(), other, 1.0 ), result );
+    assertTrue( result.get( 0, new Vector4d() ).isEqualTo( new Vector4d( 5, 10, 7, 0 ) ) );
+    assertTrue( result.get( 1, new Vector4d() ).isEqualTo( new Vector4d( -5, 2, 3, 8 ) ) );
+  }
+
+  @Test
+  public void bulkOperationsMatchSingleVectorOperations()
+  {
+    // The bulk kernels are expected to produce bit-identical results to the single vector operations
+    final int size = 1027;
+    final Random random = new Random( 42 );
+    final Vector4dArray array1 = new Vector4dArray( size );
+    final Vector4dArray array2 = new Vector4dArray( size );
+    for ( int i = 0; i < size; i++ )
+    {
+      array1.set( i, random.nextDouble() * 200 - 100, random.nextDouble() * 200 - 100, random.nextDouble() * 200 - 100, random.nextDouble() * 200 - 100 );
+      array2.set( i, random.nextDouble() * 200 - 100, random.nextDouble() * 200 - 100, random.nextDouble() * 200 - 100, random.nextDouble() * 200 - 100 );
+    }
+    final double[] dots = array1.dot( array2, new double[ size ] );
+    final Vector4dArray lerped = new Vector4dArray( size ).lerp( array1, array2, 0.3 );
+    final Vector4dArray normalized = new Vector4dArray( size ).lerp( array1, array1, 0 ).normalize();
+
+    final Vector4d value1 = new Vector4d();
+    final Vector4d value2 = new Vector4d();
+    final Vector4d actual = new Vector4d();
+    for ( int i = 0; i < size; i++ )
+    {
+      array1.get( i, value1 );
+      array2.get( i, value2 );
+      assertEquals( dots[ i ], value1.dot( value2 ) );
+      assertTrue( lerped.get( i, actual ).isEqualTo( value1.dup().lerp( value2, 0.3 ) ) );
+      assertTrue( normalized.get( i, actual ).isEqualTo( value1.dup().normalize() ) );
+    }
+  }
+
+  @Test
+  public void dot()
+  {
+    final Vector4dArray array = createArray();
+    final Vector4dArray other = new Vector4dArray( 2 ).set( 0, 5, 6, 7, 8 ).set( 1, 1, 0, 0, 0 );
+
+    final double[] target = new double[ 2 ];
+    assertSame( array.dot( other, target ), target );
+    assertArray( target, "[70.0, 5.0]" );
+
+    assertSame( array.dot( new Vector4d( 0, 0, 0, 1 ), target ), target );
+    assertArray( target, "[4.0, 8.0]" );
+  }
+
+  private Vector4dArray createArray()
+  {
+    return new Vector4dArray( 2 ).set( 0, 1, 2, 3, 4 ).set( 1, 5, 6, 7, 8 );
+  }
+}
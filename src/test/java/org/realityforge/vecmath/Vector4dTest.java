@@ -1,5 +1,9 @@
 package org.realityforge.vecmath;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
 import javax.annotation.Nonnull;
 import org.testng.annotations.Test;
 import static org.testng.Assert.*;
@@ -33,6 +37,25 @@ public final class Vector4dTest
     assertFalse( value1.isEqualTo( value3 ) );
   }
 
+  @Test
+  public void isEqualTo_epsilon()
+  {
+    final Vector4d value = new Vector4d( 1, 2, 3, 4 );
+    assertTrue( value.isEqualTo( new Vector4d( 1, 2, 3, 4 ), 0.0 ) );
+    assertTrue( value.isEqualTo( new Vector4d( 1.05, 1.95, 3.08, 4 ), 0.1 ) );
+    assertFalse( value.isEqualTo( new Vector4d( 1.05, 1.95, 3.1, 4.2 ), 0.1 ) );
+  }
+
+  @Test
+  public void isEqualToUlps()
+  {
+    final Vector4d value = new Vector4d( 1, 2, 3, 4 );
+    final Vector4d other = new Vector4d( 1, 2, Math.nextUp( 3.0 ), Math.nextDown( 4.0 ) );
+    assertTrue( value.isEqualToUlps( other, 1 ) );
+    assertFalse( value.isEqualToUlps( other, 0 ) );
+    assertFalse( value.isEqualToUlps( other.set( 1, 2, 3, Math.nextUp( Math.nextUp( 4.0 ) ) ), 1 ) );
+  }
+
   @Test
   public void testHashCode()
   {
@@ -139,6 +162,25 @@ public final class Vector4dTest
     assertVecEquals( value, 2, 4, 6, 8 );
   }
 
+  @Test
+  public void mul_Matrix4d()
+  {
+    final Matrix4d matrix = new Matrix4d().setPerspective( Math.PI / 2, 1.4, 1, 10 ).translate( 1, 2, -5 );
+    final Vector4d value = new Vector4d( 1, 2, 3, 1 );
+    assertSame( value.mul( matrix ), value );
+
+    // Perspective division of the homogeneous result matches the projective transform of the position
+    final Vector3d expected = new Vector3d( 1, 2, 3 ).mul( matrix );
+    assertEquals( value.x / value.w, expected.x, 0.00001 );
+    assertEquals( value.y / value.w, expected.y, 0.00001 );
+    assertEquals( value.z / value.w, expected.z, 0.00001 );
+
+    // A direction is not translated
+    final Matrix4d translation = new Matrix4d().setTranslation( 1, 2, 3 ).scale( 2 );
+    assertVecEquals( new Vector4d( 1, 2, 3, 0 ).mul( translation ), 2, 4, 6, 0 );
+    assertVecEquals( new Vector4d( 1, 2, 3, 1 ).mul( translation ), 4, 8, 12, 1 );
+  }
+
   @Test
   public void div()
   {
@@ -301,4 +343,36 @@ public final class Vector4dTest
     // Now with an offset
     assertArray( value.toArray( new double[ 7 ], 2 ), "[0.0, 0.0, 1.0, 2.0, 3.0, 4.0, 0.0]" );
   }
+
+  @Test
+  public void buffers()
+  {
+    final Vector4d value = new Vector4d( 1.5, 2, 3, 4 );
+
+    final DoubleBuffer doubles = DoubleBuffer.allocate( Vector4d.COMPONENTS + 2 );
+    assertSame( value.get( doubles, 2 ), doubles );
+    assertEquals( doubles.position(), 0 );
+    assertTrue( new Vector4d().set( doubles, 2 ).isEqualTo( value ) );
+
+    final FloatBuffer floats = FloatBuffer.allocate( Vector4d.COMPONENTS + 2 );
+    assertSame( value.get( floats, 2 ), floats );
+    assertEquals( floats.position(), 0 );
+    assertEquals( floats.get( 2 ), 1.5F );
+    assertTrue( new Vector4d().set( floats, 2 ).isEqualTo( value ) );
+
+    for ( final ByteOrder order : new ByteOrder[]{ ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN } )
+    {
+      final ByteBuffer bytes = ByteBuffer.allocateDirect( Vector4d.BYTES + 8 ).order( order );
+      assertSame( value.get( bytes, 8 ), bytes );
+      assertEquals( bytes.position(), 0 );
+      assertEquals( bytes.getDouble( 8 ), 1.5 );
+      assertTrue( new Vector4d().set( bytes, 8 ).isEqualTo( value ) );
+
+      final ByteBuffer floatBytes = ByteBuffer.allocateDirect( Vector4d.FLOAT_BYTES + 4 ).order( order );
+      assertSame( value.getFloats( floatBytes, 4 ), floatBytes );
+      assertEquals( floatBytes.position(), 0 );
+      assertEquals( floatBytes.getFloat( 4 ), 1.5F );
+      assertTrue( new Vector4d().setFloats( floatBytes, 4 ).isEqualTo( value ) );
+    }
+  }
 }
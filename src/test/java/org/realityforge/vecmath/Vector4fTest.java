@@ -0,0 +1,222 @@
+package org.realityforge.vecmath;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import org.testng.annotations.Test;
+import static org.testng.Assert.*;
+
+public final class Vector4fTest
+  extends AbstractTest
+{
+  @Test
+  public void testToString()
+  {
+    assertEquals( new Vector4f().toString(), "(0.0, 0.0, 0.0, 0.0)" );
+    assertDefaultToStringWhenDebugToStringDisabled( new Vector4f() );
+  }
+
+  @Test
+  public void asString()
+  {
+    assertEquals( new Vector4f().asString(), "(0.0, 0.0, 0.0, 0.0)" );
+    VecmathTestUtil.disableDebugToString();
+    assertEquals( new Vector4f().asString(), "(0.0, 0.0, 0.0, 0.0)" );
+  }
+
+  @Test
+  public void isEqualTo()
+  {
+    final Vector4f value1 = new Vector4f( 1F, 2F, 3F, 4F );
+    final Vector4f value2 = new Vector4f( 1F, 2F, 3F, 4F );
+    final Vector4f value3 = new Vector4f( 1F, 2F, 3F, 5F );
+    assertTrue( value1.isEqualTo( value1 ) );
+    assertTrue( value1.isEqualTo( value2 ) );
+    assertFalse( value1.isEqualTo( value3 ) );
+  }
+
+  @Test
+  public void isEqualTo_epsilon()
+  {
+    final Vector4f value = new Vector4f( 1, 2, 3, 4 );
+    assertTrue( value.isEqualTo( new Vector4f( 1, 2, 3, 4 ), 0.0f ) );
+    assertTrue( value.isEqualTo( new Vector4f( 1.05f, 1.95f, 3.05f, 4.05f ), 0.1f ) );
+    assertFalse( value.isEqualTo( new Vector4f( 1.05f, 1.95f, 3.05f, 4.2f ), 0.1f ) );
+  }
+
+  @Test
+  public void isEqualToUlps()
+  {
+    final Vector4f value = new Vector4f( 1, 2, 3, 4 );
+    final Vector4f other = new Vector4f( Math.nextUp( 1.0f ), Math.nextDown( 2.0f ), 3, 4 );
+    assertTrue( value.isEqualToUlps( other, 1 ) );
+    assertFalse( value.isEqualToUlps( other, 0 ) );
+    assertFalse( value.isEqualToUlps( other.set( 1, 2, 3, Math.nextUp( Math.nextUp( 4.0f ) ) ), 1 ) );
+  }
+
+  @Test
+  public void testHashCode()
+  {
+    VecmathTestUtil.enableObjectEquals();
+    final Vector4f value1 = new Vector4f( 1F, 2F, 3F, 4F );
+    final Vector4f value2 = new Vector4f( 1F, 2F, 3F, 4F );
+    final Vector4f value3 = new Vector4f( 5F, 6F, 7F, 8F );
+    assertEquals( value1, value1 );
+    assertEquals( value1, value2 );
+    assertEquals( value1.hashCode(), value2.hashCode() );
+    assertNotEquals( value1, value3 );
+    assertNotEquals( value1.hashCode(), value3.hashCode() );
+  }
+
+  @Test
+  public void testHashCode_whenObjectEqualsDisabled()
+  {
+    final Vector4f value1 = new Vector4f( 1F, 2F, 3F, 4F );
+    final Vector4f value2 = new Vector4f( 1F, 2F, 3F, 4F );
+    assertEquals( value1, value1 );
+    assertNotEquals( value1, value2 );
+    assertNotEquals( value1.hashCode(), value2.hashCode() );
+  }
+
+  @Test
+  public void constructors()
+  {
+    assertVecEquals( new Vector4f(), 0F, 0F, 0F, 0F );
+    assertVecEquals( new Vector4f( 1F, 2F, 3F, 4F ), 1F, 2F, 3F, 4F );
+    assertVecEquals( new Vector4f( new Vector4f( 1F, 2F, 3F, 4F ) ), 1F, 2F, 3F, 4F );
+    assertVecEquals( new Vector4f( new Vector4d( 1.5, 2, 3, 4 ) ), 1.5F, 2F, 3F, 4F );
+  }
+
+  @Test
+  public void dup()
+  {
+    final Vector4f value = new Vector4f( 1F, 2F, 3F, 4F );
+    final Vector4f dup = value.dup();
+    assertVecEquals( dup, 1F, 2F, 3F, 4F );
+    assertNotSame( dup, value );
+  }
+
+  @Test
+  public void set()
+  {
+    final Vector4f value = new Vector4f( 1F, 2F, 3F, 4F );
+
+    assertSame( value.set( new Vector4f() ), value );
+    assertVecEquals( value, 0F, 0F, 0F, 0F );
+
+    assertSame( value.set( 1F, 2F, 3F, 4F ), value );
+    assertVecEquals( value, 1F, 2F, 3F, 4F );
+
+    assertSame( value.set( new Vector4d( 0.1, 0.2, 0.3, 0.4 ) ), value );
+    assertEquals( value.x, 0.1F );
+    assertEquals( value.w, 0.4F );
+  }
+
+  @Test
+  public void add()
+  {
+    final Vector4f value = new Vector4f( 1F, 2F, 3F, 4F );
+
+    assertSame( value.add( new Vector4f( 4F, 5F, 6F, 7F ) ), value );
+    assertVecEquals( value, 5F, 7F, 9F, 11F );
+
+    assertSame( value.add( 5F, 3F, 1F, -1F ), value );
+    assertVecEquals( value, 10F, 10F, 10F, 10F );
+
+    assertSame( value.add( new Vector4f( 1F, 2F, 3F, 4F ), new Vector4f( 1F, 2F, 3F, 4F ) ), value );
+    assertVecEquals( value, 2F, 4F, 6F, 8F );
+  }
+
+  @Test
+  public void sub()
+  {
+    final Vector4f value = new Vector4f( 1F, 2F, 3F, 4F );
+
+    assertSame( value.sub( new Vector4f( 4F, 5F, 6F, 7F ) ), value );
+    assertVecEquals( value, -3F, -3F, -3F, -3F );
+
+    assertSame( value.sub( 5F, 3F, 1F, -1F ), value );
+    assertVecEquals( value, -8F, -6F, -4F, -2F );
+
+    assertSame( value.sub( new Vector4f( 1F, 2F, 3F, 4F ), new Vector4f( 1F, 2F, 3F, 4F ) ), value );
+    assertVecEquals( value, 0F, 0F, 0F, 0F );
+  }
+
+  @Test
+  public void mulAndDiv()
+  {
+    final Vector4f value = new Vector4f( 1F, 2F, 3F, 4F );
+
+    assertSame( value.mul( 2 ), value );
+    assertVecEquals( value, 2F, 4F, 6F, 8F );
+
+    assertSame( value.div( 4 ), value );
+    assertVecEquals( value, 0.5F, 1F, 1.5F, 2F );
+  }
+
+  @Test
+  public void mul_Matrix4f()
+  {
+    final Matrix4d m = new Matrix4d().setPerspective( Math.PI / 3, 1.5, 0.1, 100 );
+    final Vector4d expected = new Vector4d( 1, 2, -3, 1 ).mul( m );
+    final Vector4f value = new Vector4f( 1, 2, -3, 1 );
+    assertSame( value.mul( new Matrix4f( m ) ), value );
+    assertVecEquals( value, (float) expected.x, (float) expected.y, (float) expected.z, (float) expected.w );
+  }
+
+  @Test
+  public void length()
+  {
+    assertEquals( new Vector4f( 1F, 2F, 2F, 4F ).lengthSquared(), 25F );
+    assertEquals( new Vector4f( 1F, 2F, 2F, 4F ).length(), 5F );
+    assertVecEquals( new Vector4f( 1F, 2F, 2F, 4F ).normalize(), 0.2F, 0.4F, 0.4F, 0.8F );
+  }
+
+  @Test
+  public void dotAndAngle()
+  {
+    assertEquals( new Vector4f( 1F, 2F, 3F, 4F ).dot( new Vector4f( 5F, 6F, 7F, 8F ) ), 70F );
+    assertEquals( new Vector4f( 1F, 0F, 0F, 0F ).angle( new Vector4f( 0F, 0F, 0F, 1F ) ), (float) ( Math.PI / 2 ) );
+    assertEquals( new Vector4f( 1F, 0F, 0F, 0F ).angle( new Vector4f( -3F, 0F, 0F, 0F ) ), (float) Math.PI );
+  }
+
+  @Test
+  public void lerp()
+  {
+    assertVecEquals( new Vector4f( 9, 4, 3, 0 ).lerp( new Vector4f( 2, -2, 9, 1 ), 0.32F ), 6.76F, 2.08F, 4.92F, 0.32F );
+    assertVecEquals( new Vector4f().lerp( new Vector4f( 9, 4, 3, 0 ), new Vector4f( 2, -2, 9, 1 ), 0.32F ),
+                     6.76F, 2.08F, 4.92F, 0.32F );
+  }
+
+  @Test
+  public void toArray()
+  {
+    final Vector4f value = new Vector4f( 1, 2, 3, 4 );
+
+    assertEquals( value.toArray(), new float[]{ 1, 2, 3, 4 } );
+
+    // Now with an offset
+    assertEquals( value.toArray( new float[ 8 ], 2 ), new float[]{ 0, 0, 1, 2, 3, 4, 0, 0 } );
+  }
+
+  @Test
+  public void buffers()
+  {
+    final Vector4f value = new Vector4f( 1.5F, 2, 3, 4 );
+
+    final FloatBuffer floats = FloatBuffer.allocate( Vector4f.COMPONENTS + 2 );
+    assertSame( value.get( floats, 2 ), floats );
+    assertEquals( floats.position(), 0 );
+    assertEquals( floats.get( 2 ), 1.5F );
+    assertTrue( new Vector4f().set( floats, 2 ).isEqualTo( value ) );
+
+    for ( final ByteOrder order : new ByteOrder[]{ ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN } )
+    {
+      final ByteBuffer bytes = ByteBuffer.allocateDirect( Vector4f.BYTES + 4 ).order( order );
+      assertSame( value.get( bytes, 4 ), bytes );
+      assertEquals( bytes.position(), 0 );
+      assertEquals( bytes.getFloat( 4 ), 1.5F );
+      assertTrue( new Vector4f().set( bytes, 4 ).isEqualTo( value ) );
+    }
+  }
+}